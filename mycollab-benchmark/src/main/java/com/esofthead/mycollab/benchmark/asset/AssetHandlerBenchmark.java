@@ -0,0 +1,149 @@
+/**
+ * This file is part of mycollab-benchmark.
+ *
+ * mycollab-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.benchmark.asset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.esofthead.mycollab.core.utils.MimeTypesUtil;
+import com.esofthead.mycollab.module.file.servlet.AssetCache;
+
+/**
+ * Compares the work of an asset request before the asset cache (class loader
+ * lookups, mime type detection and stream copy) against the cached assets,
+ * over a mix of small icons and theme style sheets. The servlet container is
+ * left out, the scores are requests per second of the handler alone.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class AssetHandlerBenchmark {
+	private static final int ICONS = 200;
+
+	private static final int STYLE_SHEETS = 10;
+
+	private File baseFolder;
+
+	private ClassLoader classLoader;
+
+	private AssetCache assetCache;
+
+	private String[] paths;
+
+	private int index;
+
+	private final OutputStream out = NullOutputStream.NULL_OUTPUT_STREAM;
+
+	@Setup
+	public void setUp() throws IOException {
+		baseFolder = new File(FileUtils.getTempDirectory(), "assetBenchmark"
+				+ System.nanoTime());
+		Random random = new Random(0);
+		paths = new String[ICONS + STYLE_SHEETS];
+		for (int i = 0; i < ICONS; i++) {
+			byte[] icon = new byte[1024 + random.nextInt(2048)];
+			random.nextBytes(icon);
+			paths[i] = "icons/16/icon" + i + ".png";
+			FileUtils.writeByteArrayToFile(new File(baseFolder, "assets/"
+					+ paths[i]), icon);
+		}
+		for (int i = 0; i < STYLE_SHEETS; i++) {
+			// theme files are only found by the second lookup
+			paths[ICONS + i] = "styles" + i + ".css";
+			FileUtils.writeStringToFile(new File(baseFolder,
+					"VAADIN/themes/mycollab/" + paths[ICONS + i]), StringUtils
+					.repeat(".v-button-" + i + " { color: #333; }\n", 1000),
+					StandardCharsets.UTF_8);
+		}
+
+		classLoader = new URLClassLoader(new URL[] { baseFolder.toURI()
+				.toURL() }, null);
+		assetCache = new AssetCache(classLoader);
+		assetCache.warmUp();
+	}
+
+	@TearDown
+	public void tearDown() {
+		FileUtils.deleteQuietly(baseFolder);
+	}
+
+	private String nextPath() {
+		index = (index + 1) % paths.length;
+		return paths[index];
+	}
+
+	@Benchmark
+	public String classLoaderAsset() throws IOException {
+		String path = nextPath();
+		InputStream inputStream = classLoader.getResourceAsStream("assets/"
+				+ path);
+		if (inputStream == null) {
+			inputStream = classLoader
+					.getResourceAsStream("VAADIN/themes/mycollab/" + path);
+		}
+		String mimeType = MimeTypesUtil.detectMimeType(path);
+		try {
+			byte[] buffer = new byte[8192];
+			int length;
+			while ((length = inputStream.read(buffer)) > 0) {
+				out.write(buffer, 0, length);
+			}
+		} finally {
+			inputStream.close();
+		}
+		return mimeType;
+	}
+
+	@Benchmark
+	public String cachedAsset() throws IOException {
+		AssetCache.Asset asset = assetCache.getAsset(nextPath());
+		asset.newContent(false).writeTo(out, 0, -1);
+		return asset.getMimeType();
+	}
+
+	@Benchmark
+	public String cachedGzipAsset() throws IOException {
+		AssetCache.Asset asset = assetCache.getAsset(nextPath());
+		asset.newContent(true).writeTo(out, 0, -1);
+		return asset.getMimeType();
+	}
+}
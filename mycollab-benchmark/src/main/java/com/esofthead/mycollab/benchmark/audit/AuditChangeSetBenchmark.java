@@ -0,0 +1,151 @@
+/**
+ * This file is part of mycollab-benchmark.
+ *
+ * mycollab-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.benchmark.audit;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.beanutils.PropertyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.esofthead.mycollab.common.domain.AuditChangeItem;
+import com.esofthead.mycollab.common.service.ibatis.AuditLogServiceImpl.AuditLogUtil;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+import com.esofthead.mycollab.core.utils.BeanAccessor.PropertyAccessor;
+import com.esofthead.mycollab.core.utils.JsonDeSerializer;
+import com.esofthead.mycollab.module.crm.domain.Contact;
+import com.esofthead.mycollab.module.crm.domain.Lead;
+import com.esofthead.mycollab.module.tracker.domain.Bug;
+
+/**
+ * Compares the audit change set computed with bean introspection and
+ * <code>PropertyUtils</code> against the cached {@link BeanAccessor} tables,
+ * for some of the widest audited entities.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class AuditChangeSetBenchmark {
+
+	@Param({ "bug", "lead", "contact" })
+	private String entityType;
+
+	private Object oldValue;
+
+	private Object newValue;
+
+	@Setup
+	public void setUp() throws Exception {
+		Class<?> entityClass;
+		if ("bug".equals(entityType)) {
+			entityClass = Bug.class;
+		} else if ("lead".equals(entityType)) {
+			entityClass = Lead.class;
+		} else {
+			entityClass = Contact.class;
+		}
+
+		oldValue = entityClass.newInstance();
+		newValue = entityClass.newInstance();
+		int index = 0;
+		for (PropertyAccessor property : BeanAccessor.of(entityClass)
+				.getProperties()) {
+			if (!property.isWritable()) {
+				continue;
+			}
+			// every third property is changed by the update
+			boolean changed = (index++ % 3 == 0);
+			property.set(oldValue, sampleValue(property.getType(), 1));
+			property.set(newValue,
+					sampleValue(property.getType(), changed ? 2 : 1));
+		}
+	}
+
+	private static Object sampleValue(Class<?> type, int seed) {
+		if (type == String.class) {
+			return "value " + seed;
+		} else if (type == Integer.class) {
+			return seed;
+		} else if (type == Double.class) {
+			return seed * 1.5;
+		} else if (type == Date.class) {
+			return new Date(1430000000000L + seed * 86400000L);
+		} else if (type == Boolean.class) {
+			return seed % 2 == 0;
+		}
+		return null;
+	}
+
+	@Benchmark
+	public String introspectionChangeSet() throws Exception {
+		List<AuditChangeItem> changeItems = new ArrayList<>();
+		BeanInfo beanInfo = Introspector.getBeanInfo(oldValue.getClass(),
+				Object.class);
+		for (PropertyDescriptor propertyDescriptor : beanInfo
+				.getPropertyDescriptors()) {
+			String fieldName = propertyDescriptor.getName();
+			String oldProp = legacyValue(PropertyUtils.getProperty(oldValue,
+					fieldName));
+			String newProp = legacyValue(PropertyUtils.getProperty(newValue,
+					fieldName));
+			if (!oldProp.equals(newProp)) {
+				AuditChangeItem changeItem = new AuditChangeItem();
+				changeItem.setField(fieldName);
+				changeItem.setNewvalue(newProp);
+				changeItem.setOldvalue(oldProp);
+				changeItems.add(changeItem);
+			}
+		}
+		return JsonDeSerializer.toJson(changeItems);
+	}
+
+	private static String legacyValue(Object obj) {
+		if (obj == null) {
+			return "";
+		} else if (obj instanceof Date) {
+			DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
+			String text = df.format((Date) obj);
+			return text.substring(0, 22) + ":" + text.substring(22);
+		}
+		return obj.toString();
+	}
+
+	@Benchmark
+	public String accessorChangeSet() {
+		return AuditLogUtil.getChangeSet(oldValue, newValue);
+	}
+}
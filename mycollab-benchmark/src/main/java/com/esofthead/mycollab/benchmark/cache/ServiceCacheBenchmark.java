@@ -0,0 +1,171 @@
+/**
+ * This file is part of mycollab-benchmark.
+ *
+ * mycollab-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.benchmark.cache;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.api.BasicCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.esofthead.mycollab.cache.CacheUtils;
+import com.esofthead.mycollab.cache.LocalCacheManager;
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.StringSearchField;
+import com.esofthead.mycollab.core.cache.ServiceCacheKey;
+import com.esofthead.mycollab.core.utils.JsonDeSerializer;
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Compares the JSON string keys with prefix scan eviction used before the
+ * service cache regions against the hashed keys and per service region
+ * eviction, and the key hashing the JSON form of the arguments against the
+ * key hashing the arguments directly.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ServiceCacheBenchmark {
+	private static final String[] SERVICES = { "com.esofthead.ProjectService",
+			"com.esofthead.ProjectTaskService", "com.esofthead.BugService",
+			"com.esofthead.MilestoneService", "com.esofthead.ProjectMemberService" };
+
+	private static final HashFunction JSON_HASH_FUNCTION = Hashing
+			.murmur3_128();
+
+	/**
+	 * Kept below the 10000 entries of the default account cache so the
+	 * legacy layout is not truncated by LRU eviction.
+	 */
+	@Param({ "200", "2000" })
+	private int itemsPerService;
+
+	private Object[] args;
+
+	private String legacyAccount;
+
+	private Integer regionAccount;
+
+	@Setup(Level.Trial)
+	public void setUpArgs() {
+		BenchmarkSearchCriteria criteria = new BenchmarkSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		criteria.setProjectId(new NumberSearchField(12));
+		criteria.setName(new StringSearchField("release"));
+		args = new Object[] { new SearchRequest<>(criteria, 3, 20) };
+		legacyAccount = "legacy";
+		regionAccount = 1;
+	}
+
+	@Setup(Level.Invocation)
+	public void fillCaches() {
+		BasicCache<String, Object> legacyCache = LocalCacheManager
+				.getCache(legacyAccount);
+		for (String service : SERVICES) {
+			for (int i = 0; i < itemsPerService; i++) {
+				legacyCache.put(service + "-find-" + i, i);
+			}
+
+			com.google.common.cache.Cache<Object, Object> region = LocalCacheManager
+					.getServiceCache(regionAccount.toString(), service);
+			for (int i = region.asMap().size(); i < itemsPerService; i++) {
+				region.put(CacheUtils.constructServiceKey("find",
+						new Object[] { i }), i);
+			}
+		}
+	}
+
+	@Benchmark
+	public String legacyParamsKey() {
+		return SERVICES[0] + "-find-" + JsonDeSerializer.toJson(args);
+	}
+
+	/**
+	 * The hashed key as it was built from the JSON form of the arguments,
+	 * to compare with the key hashing the arguments directly.
+	 */
+	@Benchmark
+	public Object jsonHashedServiceKey() {
+		return new ServiceCacheKey("find", JSON_HASH_FUNCTION.hashString(
+				JsonDeSerializer.toJson(args), Charsets.UTF_8));
+	}
+
+	@Benchmark
+	public Object serviceKey() {
+		return CacheUtils.constructServiceKey("find", args);
+	}
+
+	@Benchmark
+	public void legacyPrefixEviction() {
+		BasicCache<String, Object> cache = LocalCacheManager
+				.getCache(legacyAccount);
+		Set<String> keys = cache.keySet();
+		String[] keyArr = keys.toArray(new String[0]);
+		for (String key : keyArr) {
+			if (key.startsWith(SERVICES[1])) {
+				cache.remove(key);
+			}
+		}
+	}
+
+	@Benchmark
+	public void serviceRegionEviction() {
+		CacheUtils.cleanCache(regionAccount, SERVICES[1]);
+	}
+
+	public static class BenchmarkSearchCriteria extends SearchCriteria {
+		private static final long serialVersionUID = 1L;
+
+		private NumberSearchField projectId;
+
+		private StringSearchField name;
+
+		public NumberSearchField getProjectId() {
+			return projectId;
+		}
+
+		public void setProjectId(NumberSearchField projectId) {
+			this.projectId = projectId;
+		}
+
+		public StringSearchField getName() {
+			return name;
+		}
+
+		public void setName(StringSearchField name) {
+			this.name = name;
+		}
+	}
+}
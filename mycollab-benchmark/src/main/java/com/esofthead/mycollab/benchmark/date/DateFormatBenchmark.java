@@ -0,0 +1,87 @@
+/**
+ * This file is part of mycollab-benchmark.
+ *
+ * mycollab-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.benchmark.date;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.esofthead.mycollab.core.utils.DateTimeUtils;
+
+/**
+ * Compares {@link DateTimeUtils#formatDate(Date, String, TimeZone, Locale)}
+ * against a <code>SimpleDateFormat</code> created per call, which is what the
+ * callers must do to format a date safely in a given time zone without a
+ * shared cache, for the patterns of the user date formats.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@Fork(1)
+public class DateFormatBenchmark {
+
+	@Param({ "MM/dd/yyyy", "MM/dd/yyyy hh:mm a", "yyyy-MM-dd'T'HH:mm:ss" })
+	private String pattern;
+
+	private TimeZone timeZone;
+
+	private Locale locale;
+
+	private Date date;
+
+	@Setup
+	public void setUp() {
+		timeZone = TimeZone.getTimeZone("Asia/Ho_Chi_Minh");
+		locale = Locale.US;
+		date = new Date(1430000000000L);
+	}
+
+	@Benchmark
+	public String simpleDateFormatPerCall() {
+		SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
+		format.setTimeZone(timeZone);
+		return format.format(date);
+	}
+
+	@Benchmark
+	public String cachedFormat() {
+		return DateTimeUtils.formatDate(date, pattern, timeZone, locale);
+	}
+
+	@Benchmark
+	public Date parseW3C() {
+		return DateTimeUtils.convertDateByFormatW3C("2015-04-25T22:13:20");
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * This file is part of mycollab-benchmark.
+ *
+ * mycollab-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.benchmark.export;
+
+import static net.sf.dynamicreports.report.builder.DynamicReports.cmp;
+import static net.sf.dynamicreports.report.builder.DynamicReports.col;
+import static net.sf.dynamicreports.report.builder.DynamicReports.export;
+import static net.sf.dynamicreports.report.builder.DynamicReports.report;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.dynamicreports.jasper.builder.JasperReportBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esofthead.mycollab.common.TableViewField;
+import com.esofthead.mycollab.module.project.domain.SimpleTask;
+import com.esofthead.mycollab.reporting.BeanDataSource;
+import com.esofthead.mycollab.reporting.ColumnBuilderClassMapper;
+import com.esofthead.mycollab.reporting.CsvTabularWriter;
+import com.esofthead.mycollab.reporting.RpParameterBuilder;
+import com.esofthead.mycollab.reporting.TableViewFieldDecorator;
+import com.esofthead.mycollab.reporting.TabularColumn;
+import com.esofthead.mycollab.reporting.TabularExporter;
+import com.esofthead.mycollab.reporting.XlsxTabularWriter;
+import com.esofthead.mycollab.reporting.expression.DateExpression;
+import com.esofthead.mycollab.reporting.expression.MValue;
+import com.esofthead.mycollab.reporting.expression.PercentageNumberExpression;
+import com.esofthead.mycollab.reporting.expression.StringExpression;
+
+/**
+ * Compares the CSV and Excel export of a task table through a report with
+ * the tabular writers. Run with <code>-prof gc</code> to compare the memory
+ * allocated by each export.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TabularExportBenchmark {
+	private static final String[] FIELDS = { "taskkey", "taskname",
+			"assignUserFullName", "startdate", "deadline",
+			"percentagecomplete" };
+
+	@Param({ "10000", "100000" })
+	private int rows;
+
+	private List<SimpleTask> tasks;
+
+	private List<TabularColumn> columns;
+
+	@Setup
+	public void setUp() {
+		Map<String, MValue> fieldBuilders = new HashMap<>();
+		fieldBuilders.put("startdate", new DateExpression("startdate"));
+		fieldBuilders.put("deadline", new DateExpression("deadline"));
+		fieldBuilders.put("percentagecomplete", new PercentageNumberExpression(
+				"percentagecomplete"));
+		ColumnBuilderClassMapper.put(SimpleTask.class, fieldBuilders);
+
+		List<TableViewField> viewFields = new ArrayList<>();
+		for (String field : FIELDS) {
+			viewFields.add(new TableViewField(null, field, 120));
+		}
+		List<TableViewFieldDecorator> fields = new RpParameterBuilder(
+				viewFields).getFields();
+		columns = TabularColumn.buildColumns(SimpleTask.class, fields,
+				Arrays.asList(FIELDS));
+
+		tasks = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			SimpleTask task = new SimpleTask();
+			task.setTaskkey(i);
+			task.setTaskname("Task, \"number\" " + i);
+			task.setAssignUserFullName("User " + (i % 50));
+			task.setStartdate(new Date(1430000000000L + i * 60000L));
+			task.setDeadline(new Date(1430000000000L + i * 3600000L));
+			task.setPercentagecomplete((double) (i % 100));
+			tasks.add(task);
+		}
+	}
+
+	private JasperReportBuilder buildReport() {
+		JasperReportBuilder reportBuilder = report().setLocale(Locale.US)
+				.addField("taskkey", Integer.class)
+				.addField("taskname", String.class)
+				.addField("assignUserFullName", String.class)
+				.addField("startdate", Date.class)
+				.addField("deadline", Date.class)
+				.addField("percentagecomplete", Double.class);
+		reportBuilder.addColumn(
+				col.componentColumn("taskkey",
+						cmp.text(new StringExpression("taskkey"))),
+				col.componentColumn("taskname",
+						cmp.text(new StringExpression("taskname"))),
+				col.componentColumn("assignUserFullName",
+						cmp.text(new StringExpression("assignUserFullName"))),
+				col.componentColumn("startdate",
+						cmp.text(new DateExpression("startdate"))),
+				col.componentColumn("deadline",
+						cmp.text(new DateExpression("deadline"))),
+				col.componentColumn("percentagecomplete", cmp
+						.text(new PercentageNumberExpression(
+								"percentagecomplete"))));
+		reportBuilder.setDataSource(new BeanDataSource<>(tasks));
+		return reportBuilder;
+	}
+
+	@Benchmark
+	public long reportCsv() throws Exception {
+		CountingOutputStream outStream = new CountingOutputStream();
+		JasperReportBuilder reportBuilder = buildReport();
+		reportBuilder.setIgnorePagination(true).ignorePageWidth();
+		reportBuilder.toCsv(export.csvExporter(outStream));
+		return outStream.count;
+	}
+
+	@Benchmark
+	public long reportXlsx() throws Exception {
+		CountingOutputStream outStream = new CountingOutputStream();
+		JasperReportBuilder reportBuilder = buildReport();
+		reportBuilder.ignorePageWidth().ignorePagination();
+		reportBuilder.toXlsx(export.xlsxExporter(outStream)
+				.setDetectCellType(true).setIgnorePageMargins(true)
+				.setWhitePageBackground(false)
+				.setRemoveEmptySpaceBetweenColumns(true));
+		return outStream.count;
+	}
+
+	@Benchmark
+	public long tabularCsv() throws Exception {
+		CountingOutputStream outStream = new CountingOutputStream();
+		new TabularExporter(columns).export(new CsvTabularWriter(outStream,
+				Locale.US), tasks);
+		return outStream.count;
+	}
+
+	@Benchmark
+	public long tabularXlsx() throws Exception {
+		CountingOutputStream outStream = new CountingOutputStream();
+		new TabularExporter(columns).export(new XlsxTabularWriter(outStream),
+				tasks);
+		return outStream.count;
+	}
+
+	/**
+	 * Discards the export, so only the cost of producing it is measured.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * This file is part of mycollab-caching.
+ *
+ * mycollab-caching is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-caching is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-caching.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit/miss/eviction/invalidation counters of the service cache, grouped by service
+ * interface.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+public class CacheStatistics {
+	private static final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+	public static void hit(Class<?> serviceInterface) {
+		getCounter(serviceInterface).hits.incrementAndGet();
+	}
+
+	public static void miss(Class<?> serviceInterface) {
+		getCounter(serviceInterface).misses.incrementAndGet();
+	}
+
+	public static void evict(Class<?> serviceInterface) {
+		getCounter(serviceInterface).evictions.incrementAndGet();
+	}
+
+	/**
+	 * 
+	 * @param serviceName
+	 *            name of the service interface
+	 * @param entries
+	 *            number of cache items removed by an eviction
+	 */
+	public static void invalidate(String serviceName, int entries) {
+		getCounter(serviceName).invalidatedEntries.addAndGet(entries);
+	}
+
+	public static Counter getCounter(Class<?> serviceInterface) {
+		return getCounter(serviceInterface.getName());
+	}
+
+	public static Counter getCounter(String name) {
+		Counter counter = counters.get(name);
+		if (counter == null) {
+			counter = new Counter();
+			Counter existing = counters.putIfAbsent(name, counter);
+			if (existing != null) {
+				counter = existing;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 *
+	 * @return snapshot of all counters, sorted by service interface name
+	 */
+	public static Map<String, Counter> getStatistics() {
+		return new TreeMap<>(counters);
+	}
+
+	public static void reset() {
+		counters.clear();
+	}
+
+	public static class Counter {
+		private final AtomicLong hits = new AtomicLong();
+		private final AtomicLong misses = new AtomicLong();
+		private final AtomicLong evictions = new AtomicLong();
+		private final AtomicLong invalidatedEntries = new AtomicLong();
+
+		public long getHits() {
+			return hits.get();
+		}
+
+		public long getMisses() {
+			return misses.get();
+		}
+
+		public long getEvictions() {
+			return evictions.get();
+		}
+
+		public long getInvalidatedEntries() {
+			return invalidatedEntries.get();
+		}
+
+		public double getHitRatio() {
+			long total = hits.get() + misses.get();
+			return (total == 0) ? 0 : (double) hits.get() / total;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"hits=%d, misses=%d, evictions=%d, invalidated=%d, ratio=%.2f",
+					getHits(), getMisses(), getEvictions(),
+					getInvalidatedEntries(), getHitRatio());
+		}
+	}
+}
@@ -0,0 +1,355 @@
+/**
+ * This file is part of mycollab-caching.
+ *
+ * mycollab-caching is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-caching is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-caching.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SearchField;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SetSearchField;
+import com.esofthead.mycollab.core.cache.CacheScope;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+
+/**
+ * Entities a cache item depends on, or entities changed by an evicting
+ * method. Every cache item belongs to an account and a service, which are
+ * given by its cache region, and is tagged with the projects and the items
+ * it depends on when they are known. A cache item which is not tagged with
+ * any project depends on the whole account.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public final class CacheTags {
+	public static final CacheTags ACCOUNT = new CacheTags(null, null);
+
+	private final Set<Integer> projectIds;
+
+	private final Set<Object> itemIds;
+
+	private CacheTags(Set<Integer> projectIds, Set<Object> itemIds) {
+		this.projectIds = projectIds;
+		this.itemIds = itemIds;
+	}
+
+	public static CacheTags ofProjects(Collection<Integer> projectIds) {
+		return new CacheTags(new HashSet<>(projectIds), null);
+	}
+
+	/**
+	 * 
+	 * @return the projects of the tags, null if they depend on the whole
+	 *         account
+	 */
+	public Set<Integer> getProjectIds() {
+		return projectIds;
+	}
+
+	public Set<Object> getItemIds() {
+		return itemIds;
+	}
+
+	public boolean isAccountWide() {
+		return projectIds == null;
+	}
+
+	/**
+	 * A cache item is kept when the changed items belong to other projects.
+	 * The items listed by the cache item are compared too, so a list keeps
+	 * being invalidated by an item which was moved out of its project.
+	 * 
+	 * @param scope
+	 *            the entities changed by an evicting method
+	 * @return true if the cache item tagged by this instance is not affected
+	 *         by the change
+	 */
+	public boolean isIndependentOf(CacheTags scope) {
+		if (projectIds == null || scope.projectIds == null
+				|| !Collections.disjoint(projectIds, scope.projectIds)) {
+			return false;
+		}
+		return itemIds == null || scope.itemIds == null
+				|| Collections.disjoint(itemIds, scope.itemIds);
+	}
+
+	/**
+	 * Lists and counts depend on the project filter of their search criteria.
+	 * A single item depends on its project, it can not be changed by the
+	 * items of another project.
+	 * 
+	 * @param args
+	 *            arguments of the cached method
+	 * @param result
+	 *            value returned by the cached method
+	 * @param scope
+	 *            project properties of the service
+	 * @return
+	 */
+	public static CacheTags forItem(Object[] args, Object result,
+			CacheScope scope) {
+		Set<Integer> projectIds = null;
+		for (Object arg : args) {
+			projectIds = getCriteriaProjects(arg, scope.criteriaFields());
+			if (projectIds != null) {
+				break;
+			}
+		}
+
+		Set<Object> itemIds = null;
+		if (result instanceof Collection) {
+			itemIds = new HashSet<>();
+			for (Object element : (Collection<?>) result) {
+				Object id = isBean(element) ? getProperty(element, "id")
+						: null;
+				if (id == null) {
+					itemIds = null;
+					break;
+				}
+				itemIds.add(id);
+			}
+		} else if (isBean(result)) {
+			if (projectIds == null) {
+				Object projectId = getProperty(result, scope.projectField());
+				if (projectId instanceof Integer) {
+					projectIds = Collections.singleton((Integer) projectId);
+				}
+			}
+			Object id = getProperty(result, "id");
+			if (id != null) {
+				itemIds = Collections.singleton(id);
+			}
+		}
+
+		return (projectIds == null) ? ACCOUNT : new CacheTags(projectIds,
+				itemIds);
+	}
+
+	/**
+	 * The scope is known when every entity or criteria argument of the
+	 * evicting method has a project. Plain values such as keys and user names
+	 * are ignored, a method changing entities by their keys only has an
+	 * account wide scope.
+	 * 
+	 * @param args
+	 *            arguments of the evicting method
+	 * @param scope
+	 *            project properties of the service
+	 * @return
+	 */
+	public static CacheTags forEviction(Object[] args, CacheScope scope) {
+		Set<Integer> projectIds = new HashSet<>();
+		Set<Object> itemIds = new HashSet<>();
+		boolean scoped = false;
+		for (Object arg : args) {
+			if (arg == null || isPlainValue(arg)) {
+				continue;
+			}
+
+			if (arg instanceof SearchRequest
+					|| arg instanceof SearchCriteria) {
+				Set<Integer> criteriaProjects = getCriteriaProjects(arg,
+						scope.criteriaFields());
+				if (criteriaProjects == null) {
+					return ACCOUNT;
+				}
+				projectIds.addAll(criteriaProjects);
+			} else if (arg instanceof Collection) {
+				for (Object element : (Collection<?>) arg) {
+					if (!addEntity(element, scope.projectField(), projectIds,
+							itemIds)) {
+						return ACCOUNT;
+					}
+				}
+			} else if (!addEntity(arg, scope.projectField(), projectIds,
+					itemIds)) {
+				return ACCOUNT;
+			}
+			scoped = true;
+		}
+		return (scoped && !projectIds.isEmpty()) ? new CacheTags(projectIds,
+				itemIds) : ACCOUNT;
+	}
+
+	private static boolean addEntity(Object entity, String projectField,
+			Set<Integer> projectIds, Set<Object> itemIds) {
+		if (!isBean(entity)) {
+			return false;
+		}
+
+		Object projectId = getProperty(entity, projectField);
+		if (!(projectId instanceof Integer)) {
+			return false;
+		}
+		projectIds.add((Integer) projectId);
+
+		Object id = getProperty(entity, "id");
+		if (id != null) {
+			itemIds.add(id);
+		}
+		return true;
+	}
+
+	/**
+	 * Only the project fields combined with AND restrict the search to their
+	 * projects.
+	 */
+	private static Set<Integer> getCriteriaProjects(Object arg,
+			String[] criteriaFields) {
+		if (arg instanceof SearchRequest) {
+			arg = ((SearchRequest<?>) arg).getSearchCriteria();
+		}
+		if (!(arg instanceof SearchCriteria)) {
+			return null;
+		}
+
+		BeanAccessor beanAccessor = BeanAccessor.of(arg.getClass());
+		for (String field : criteriaFields) {
+			if (!beanAccessor.isReadable(field)) {
+				continue;
+			}
+
+			Object searchField = beanAccessor.get(arg, field);
+			if (!(searchField instanceof SearchField)
+					|| !SearchField.AND.equals(((SearchField) searchField)
+							.getOperation())) {
+				continue;
+			}
+
+			if (searchField instanceof NumberSearchField) {
+				NumberSearchField numberField = (NumberSearchField) searchField;
+				if (numberField.getValue() instanceof Integer
+						&& NumberSearchField.EQUAL.equals(numberField
+								.getCompareOperator())) {
+					return Collections.singleton((Integer) numberField
+							.getValue());
+				}
+			} else if (searchField instanceof SetSearchField) {
+				Set<Integer> projectIds = new HashSet<>();
+				for (Object value : ((SetSearchField<?>) searchField)
+						.getValues()) {
+					if (!(value instanceof Integer)) {
+						return null;
+					}
+					projectIds.add((Integer) value);
+				}
+				return projectIds;
+			}
+		}
+		return null;
+	}
+
+	private static Object getProperty(Object bean, String name) {
+		BeanAccessor beanAccessor = BeanAccessor.of(bean.getClass());
+		return beanAccessor.isReadable(name) ? beanAccessor.get(bean, name)
+				: null;
+	}
+
+	private static boolean isPlainValue(Object value) {
+		return value instanceof Number || value instanceof String
+				|| value instanceof Boolean || value instanceof Date
+				|| value instanceof Enum || value instanceof Character;
+	}
+
+	private static boolean isBean(Object value) {
+		return value != null && !isPlainValue(value)
+				&& !(value instanceof Collection) && !value.getClass().isArray()
+				&& !value.getClass().getName().startsWith("java.");
+	}
+
+	/**
+	 * Value of a cache region with the tags of the cache item. The services
+	 * return mutable beans and lists, so the value is kept as a serialized
+	 * snapshot and every read gets its own copy: a caller changing the value
+	 * it was given does not change the cache item. Immutable values are kept
+	 * as they are.
+	 * <p>
+	 * The copy is not free: a miss serializes the value and every hit
+	 * deserializes it, so a hit on a large list still creates all of its
+	 * beans. The cache saves the query, not the object creation. A value
+	 * which is not serializable can not be copied and is not cached at all,
+	 * the aspect logs it once per method.
+	 */
+	public static final class TaggedValue {
+		private final Object value;
+
+		private final byte[] snapshot;
+
+		private final CacheTags tags;
+
+		private TaggedValue(Object value, byte[] snapshot, CacheTags tags) {
+			this.value = value;
+			this.snapshot = snapshot;
+			this.tags = tags;
+		}
+
+		/**
+		 * 
+		 * @param value
+		 * @param tags
+		 * @return the cache value of <code>value</code>, null if it is
+		 *         neither immutable nor serializable
+		 */
+		public static TaggedValue of(Object value, CacheTags tags) {
+			if (isImmutableValue(value)) {
+				return new TaggedValue(value, null, tags);
+			}
+			if (!(value instanceof Serializable)) {
+				return null;
+			}
+
+			try {
+				return new TaggedValue(null,
+						SerializationUtils.serialize((Serializable) value),
+						tags);
+			} catch (SerializationException e) {
+				return null;
+			}
+		}
+
+		public Object getValue() {
+			return (snapshot != null) ? SerializationUtils
+					.deserialize(snapshot) : value;
+		}
+
+		public CacheTags getTags() {
+			return tags;
+		}
+
+		private static boolean isImmutableValue(Object value) {
+			return value instanceof String || value instanceof Integer
+					|| value instanceof Long || value instanceof Double
+					|| value instanceof Float || value instanceof Short
+					|| value instanceof Byte || value instanceof BigDecimal
+					|| value instanceof BigInteger
+					|| value instanceof Boolean || value instanceof Enum
+					|| value instanceof Character;
+		}
+	}
+}
@@ -16,12 +16,15 @@
  */
 package com.esofthead.mycollab.cache;
 
+import java.util.Iterator;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.esofthead.mycollab.core.cache.ServiceCacheKey;
 import com.esofthead.mycollab.core.persistence.service.IService;
+import com.esofthead.mycollab.core.persistence.service.TotalCountCache;
 import com.esofthead.mycollab.core.utils.ClassUtils;
-import com.esofthead.mycollab.core.utils.JsonDeSerializer;
 
 /**
  * 
@@ -32,8 +35,9 @@ import com.esofthead.mycollab.core.utils.JsonDeSerializer;
 public class CacheUtils {
 	private static final Logger LOG = LoggerFactory.getLogger(CacheUtils.class);
 
-	public static String constructParamsKey(Object[] args) {
-		return JsonDeSerializer.toJson(args);
+	public static ServiceCacheKey constructServiceKey(String methodName,
+			Object[] args) {
+		return ServiceCacheKey.construct(methodName, args);
 	}
 
 	public static Class<?> getEnclosingServiceInterface(Class<?> serviceClass) {
@@ -47,9 +51,11 @@ public class CacheUtils {
 		return getEnclosingServiceInterface(serviceClass).getName();
 	}
 
-	public static void cleanCache(Integer accountId, String prefixKey) {
-		LOG.debug("Remove cache account {}  and key {}", accountId, prefixKey);
-		LocalCacheManager.removeCacheItems(accountId.toString(), prefixKey);
+	public static void cleanCache(Integer accountId, String serviceName) {
+		LOG.debug("Remove cache account {}  and service {}", accountId,
+				serviceName);
+		LocalCacheManager.removeServiceCache(accountId.toString(), serviceName);
+		TotalCountCache.evict(accountId, serviceName);
 	}
 
 	public static void cleanCaches(Integer accountId, Class<?>... classes) {
@@ -58,6 +64,55 @@ public class CacheUtils {
 		}
 	}
 
+	/**
+	 * Removes the cache items of service <code>serviceName</code> which may
+	 * depend on the entities of <code>scope</code>. The whole cache region of
+	 * the service is dropped for an account wide scope. The total counts of
+	 * the service are dropped whatever the scope, they are not tagged.
+	 * 
+	 * @param accountId
+	 * @param serviceName
+	 * @param scope
+	 * @return number of removed cache items
+	 */
+	public static int cleanCache(Integer accountId, String serviceName,
+			CacheTags scope) {
+		TotalCountCache.evict(accountId, serviceName);
+		com.google.common.cache.Cache<Object, Object> region = LocalCacheManager
+				.findServiceCache(accountId.toString(), serviceName);
+		if (region == null) {
+			return 0;
+		}
+
+		if (scope.isAccountWide()) {
+			int entries = (int) region.size();
+			cleanCache(accountId, serviceName);
+			return entries;
+		}
+
+		LOG.debug("Remove cache account {}, service {} and projects {}",
+				accountId, serviceName, scope.getProjectIds());
+		int entries = 0;
+		Iterator<Object> iterator = region.asMap().values().iterator();
+		while (iterator.hasNext()) {
+			Object value = iterator.next();
+			CacheTags tags = (value instanceof CacheTags.TaggedValue) ? ((CacheTags.TaggedValue) value)
+					.getTags() : CacheTags.ACCOUNT;
+			if (!tags.isIndependentOf(scope)) {
+				iterator.remove();
+				entries++;
+			}
+		}
+		return entries;
+	}
+
+	public static void cleanCaches(Integer accountId, CacheTags scope,
+			Class<?>... classes) {
+		for (Class<?> prefKey : classes) {
+			cleanCache(accountId, prefKey.getName(), scope);
+		}
+	}
+
 	public static boolean isInBlackList(Class<?> cls) {
 		return (cls != null)
 				&& (cls.getAnnotation(IgnoreCacheClass.class) != null);
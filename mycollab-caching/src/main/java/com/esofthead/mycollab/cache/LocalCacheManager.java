@@ -17,16 +17,17 @@
 package com.esofthead.mycollab.cache;
 
 import java.io.InputStream;
-import java.util.Set;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
 import org.infinispan.commons.api.BasicCache;
 import org.infinispan.context.Flag;
 import org.infinispan.manager.DefaultCacheManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.CacheBuilder;
+
 /**
  * 
  * @author MyCollab Ltd.
@@ -39,6 +40,8 @@ public class LocalCacheManager {
 
 	private static String GLOBAL_CACHE = "global";
 
+	private static final int MAX_SERVICE_CACHE_ENTRIES = 1000;
+
 	private static DefaultCacheManager instance;
 
 	static {
@@ -79,19 +82,51 @@ public class LocalCacheManager {
 		return instance;
 	}
 
-	static void removeCacheItems(String id, String prefixKey) {
-		BasicCache<String, Object> cache = instance.getCache(id);
-		LOG.debug("Remove cache has prefix {} in group {}", prefixKey, id);
-		Set<String> keys = cache.keySet();
-		if (CollectionUtils.isNotEmpty(keys)) {
-
-			String[] keyArr = keys.toArray(new String[0]);
-			for (int i = 0; i < keyArr.length; i++) {
-				if (keyArr[i].startsWith(prefixKey)) {
-					LOG.debug("Remove cache key {}", keyArr[i]);
-					cache.remove(keyArr[i]);
-				}
+	/**
+	 * Account caches are split into one region per service interface, so the
+	 * cache items of a service can be dropped without scanning the keys of
+	 * the whole account cache.
+	 * 
+	 * @param id
+	 * @param serviceName
+	 * @return the cache region of service <code>serviceName</code> in group
+	 *         <code>id</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public static com.google.common.cache.Cache<Object, Object> getServiceCache(
+			String id, String serviceName) {
+		Cache<String, Object> cache = instance.getCache(id);
+		com.google.common.cache.Cache<Object, Object> region = (com.google.common.cache.Cache<Object, Object>) cache
+				.get(serviceName);
+		if (region == null) {
+			region = CacheBuilder.newBuilder()
+					.maximumSize(MAX_SERVICE_CACHE_ENTRIES).build();
+			Object existingRegion = cache.putIfAbsent(serviceName, region);
+			if (existingRegion != null) {
+				region = (com.google.common.cache.Cache<Object, Object>) existingRegion;
 			}
 		}
+		return region;
+	}
+
+	/**
+	 * 
+	 * @param id
+	 * @param serviceName
+	 * @return the cache region of service <code>serviceName</code> in group
+	 *         <code>id</code>, null if nothing has been cached for the service
+	 */
+	@SuppressWarnings("unchecked")
+	static com.google.common.cache.Cache<Object, Object> findServiceCache(
+			String id, String serviceName) {
+		Cache<String, Object> cache = instance.getCache(id);
+		return (com.google.common.cache.Cache<Object, Object>) cache
+				.get(serviceName);
+	}
+
+	static void removeServiceCache(String id, String serviceName) {
+		LOG.debug("Remove cache of service {} in group {}", serviceName, id);
+		BasicCache<String, Object> cache = getCache(id);
+		cache.remove(serviceName);
 	}
 }
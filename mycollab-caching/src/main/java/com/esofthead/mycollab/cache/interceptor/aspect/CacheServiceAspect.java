@@ -0,0 +1,365 @@
+/**
+ * This file is part of mycollab-caching.
+ *
+ * mycollab-caching is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-caching is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-caching.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.cache.interceptor.aspect;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.beanutils.PropertyUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.esofthead.mycollab.cache.CacheStatistics;
+import com.esofthead.mycollab.cache.CacheTags;
+import com.esofthead.mycollab.cache.CacheUtils;
+import com.esofthead.mycollab.cache.LocalCacheManager;
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.cache.CacheArgs;
+import com.esofthead.mycollab.core.cache.CacheEvict;
+import com.esofthead.mycollab.core.cache.CacheKey;
+import com.esofthead.mycollab.core.cache.ServiceCacheKey;
+import com.esofthead.mycollab.core.cache.CacheScope;
+import com.esofthead.mycollab.core.cache.Cacheable;
+import com.google.common.cache.Cache;
+
+/**
+ * Serves the service methods annotated with {@link Cacheable} from the
+ * account cache and cleans the cache of the service and of its dependent
+ * services when a method annotated with {@link CacheEvict} is invoked. The
+ * account is resolved from the argument annotated with {@link CacheKey}, the
+ * cache items are tagged with their projects so a change of a project keeps
+ * the cache items of the other projects. Inside a transaction the cache is
+ * cleaned again after the commit. Every call is given its own copy of the
+ * cached value, see {@link CacheTags.TaggedValue}. The aspect is off in the
+ * tests unless the <code>cache</code> profile is active too.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@Aspect
+@Component
+@Profile({ "!test", "cache" })
+public class CacheServiceAspect {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(CacheServiceAspect.class);
+
+	private static final CacheMethod NO_CACHE_METHOD = new CacheMethod(
+			CacheMethod.NONE, -1, null, new Class<?>[0]);
+
+	private static final CacheScope DEFAULT_SCOPE = DefaultScope.class
+			.getAnnotation(CacheScope.class);
+
+	private final ConcurrentMap<Method, CacheMethod> cacheMethods = new ConcurrentHashMap<>();
+
+	private final Set<Method> uncachedMethods = Collections
+			.newSetFromMap(new ConcurrentHashMap<Method, Boolean>());
+
+	@Around("execution(public * com.esofthead.mycollab..service..*.*(..))")
+	public Object cacheServiceMethod(ProceedingJoinPoint pjp) throws Throwable {
+		Object target = pjp.getThis();
+		if (!(target instanceof Advised)) {
+			return pjp.proceed();
+		}
+
+		Class<?> cls = ((Advised) target).getTargetSource().getTargetClass();
+		Class<?> serviceInterface = CacheUtils
+				.getEnclosingServiceInterface(cls);
+		if (serviceInterface == null
+				|| CacheUtils.isInBlackList(serviceInterface)) {
+			return pjp.proceed();
+		}
+
+		Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+		CacheMethod cacheMethod = getCacheMethod(serviceInterface, method);
+		if (cacheMethod.type == CacheMethod.NONE) {
+			return pjp.proceed();
+		}
+
+		Object[] args = pjp.getArgs();
+		Integer accountId = getAccountId(args[cacheMethod.keyIndex]);
+		if (accountId == null) {
+			return pjp.proceed();
+		}
+
+		if (cacheMethod.type == CacheMethod.CACHEABLE) {
+			return getCachedValue(pjp, serviceInterface, cacheMethod, method,
+					args, accountId);
+		} else {
+			Object result = pjp.proceed();
+			final CacheTags scope = CacheTags.forEviction(args,
+					cacheMethod.scope);
+			evict(accountId, serviceInterface, cacheMethod.dependents, scope);
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				registerEvictionAfterCommit(accountId, serviceInterface,
+						cacheMethod.dependents, scope);
+			}
+			CacheStatistics.evict(serviceInterface);
+			return result;
+		}
+	}
+
+	/**
+	 * The cache items are cleaned once the change is made so the transaction
+	 * does not read them, and again once it is committed: a cache item
+	 * loaded by another thread in the meantime holds the values before the
+	 * commit.
+	 */
+	private static void registerEvictionAfterCommit(final Integer accountId,
+			final Class<?> serviceInterface, final Class<?>[] dependents,
+			final CacheTags scope) {
+		TransactionSynchronizationManager
+				.registerSynchronization(new TransactionSynchronizationAdapter() {
+					@Override
+					public void afterCommit() {
+						evict(accountId, serviceInterface, dependents, scope);
+					}
+				});
+	}
+
+	private static void evict(Integer accountId, Class<?> serviceInterface,
+			Class<?>[] dependents, CacheTags scope) {
+		evict(accountId, serviceInterface.getName(), scope);
+		for (Class<?> dependent : dependents) {
+			evict(accountId, dependent.getName(), scope);
+		}
+	}
+
+	private static void evict(Integer accountId, String serviceName,
+			CacheTags scope) {
+		int entries = CacheUtils.cleanCache(accountId, serviceName, scope);
+		if (entries > 0) {
+			CacheStatistics.invalidate(serviceName, entries);
+		}
+	}
+
+	private Object getCachedValue(ProceedingJoinPoint pjp,
+			Class<?> serviceInterface, CacheMethod cacheMethod, Method method,
+			Object[] args, Integer accountId) throws Throwable {
+		Cache<Object, Object> cache = LocalCacheManager.getServiceCache(
+				accountId.toString(), serviceInterface.getName());
+		ServiceCacheKey key = CacheUtils.constructServiceKey(method.getName(),
+				args);
+
+		Object value = cache.getIfPresent(key);
+		if (value != null) {
+			CacheStatistics.hit(serviceInterface);
+			LOG.debug("Get cache value of key {}", key);
+			return (value instanceof CacheTags.TaggedValue) ? ((CacheTags.TaggedValue) value)
+					.getValue() : value;
+		}
+
+		CacheStatistics.miss(serviceInterface);
+		value = pjp.proceed();
+		if (value != null) {
+			CacheTags.TaggedValue cacheValue = CacheTags.TaggedValue.of(value,
+					CacheTags.forItem(args, value, cacheMethod.scope));
+			if (cacheValue != null) {
+				cache.put(key, cacheValue);
+			} else if (uncachedMethods.add(method)) {
+				LOG.warn(
+						"Value of {} in {} is not serializable, it is never cached",
+						method.getName(), serviceInterface.getName());
+			}
+		}
+		return value;
+	}
+
+	private CacheMethod getCacheMethod(Class<?> serviceInterface,
+			Method method) {
+		CacheMethod cacheMethod = cacheMethods.get(method);
+		if (cacheMethod == null) {
+			cacheMethod = resolveCacheMethod(serviceInterface, method);
+			cacheMethods.putIfAbsent(method, cacheMethod);
+		}
+		return cacheMethod;
+	}
+
+	private static CacheMethod resolveCacheMethod(Class<?> serviceInterface,
+			Method method) {
+		Method interfaceMethod = findAnnotatedMethod(serviceInterface, method);
+		if (interfaceMethod == null) {
+			return NO_CACHE_METHOD;
+		}
+
+		int type = interfaceMethod.isAnnotationPresent(Cacheable.class) ? CacheMethod.CACHEABLE
+				: CacheMethod.EVICT;
+		Annotation[][] paramAnnotations = interfaceMethod
+				.getParameterAnnotations();
+		for (int i = 0; i < paramAnnotations.length; i++) {
+			for (Annotation annotation : paramAnnotations[i]) {
+				if (annotation instanceof CacheKey) {
+					return new CacheMethod(type, i, getScope(serviceInterface),
+							getDependents(serviceInterface, interfaceMethod));
+				}
+			}
+		}
+
+		LOG.warn("Method {} of {} is cache annotated but has no @CacheKey",
+				method.getName(), serviceInterface.getName());
+		return NO_CACHE_METHOD;
+	}
+
+	private static CacheScope getScope(Class<?> serviceInterface) {
+		CacheScope cacheScope = serviceInterface
+				.getAnnotation(CacheScope.class);
+		return (cacheScope != null) ? cacheScope : DEFAULT_SCOPE;
+	}
+
+	/**
+	 * Dependent services are declared by the evicting method, by its service
+	 * interface for all of its evicting methods, or by the legacy
+	 * {@link CacheArgs} annotation.
+	 */
+	private static Class<?>[] getDependents(Class<?> serviceInterface,
+			Method interfaceMethod) {
+		Set<Class<?>> dependents = new LinkedHashSet<>();
+		CacheEvict methodEvict = interfaceMethod
+				.getAnnotation(CacheEvict.class);
+		if (methodEvict == null) {
+			return new Class<?>[0];
+		}
+
+		for (Class<?> dependent : methodEvict.dependents()) {
+			dependents.add(dependent);
+		}
+		CacheArgs cacheArgs = interfaceMethod.getAnnotation(CacheArgs.class);
+		if (cacheArgs != null) {
+			for (Class<?> dependent : cacheArgs.values()) {
+				dependents.add(dependent);
+			}
+		}
+		CacheEvict typeEvict = serviceInterface.getAnnotation(CacheEvict.class);
+		if (typeEvict != null) {
+			for (Class<?> dependent : typeEvict.dependents()) {
+				dependents.add(dependent);
+			}
+		}
+		dependents.remove(serviceInterface);
+		return dependents.toArray(new Class<?>[dependents.size()]);
+	}
+
+	/**
+	 * Annotations of interface methods are not inherited by the
+	 * implementation, and generic interface methods are declared with their
+	 * erased parameter types, so we look for a method of the service
+	 * interface which has the same name and compatible parameters.
+	 */
+	private static Method findAnnotatedMethod(Class<?> serviceInterface,
+			Method method) {
+		if (isCacheAnnotated(method)) {
+			return method;
+		}
+
+		Class<?>[] paramTypes = method.getParameterTypes();
+		for (Method candidate : serviceInterface.getMethods()) {
+			if (!candidate.getName().equals(method.getName())
+					|| !isCacheAnnotated(candidate)) {
+				continue;
+			}
+
+			Class<?>[] candidateTypes = candidate.getParameterTypes();
+			if (candidateTypes.length != paramTypes.length) {
+				continue;
+			}
+
+			boolean match = true;
+			for (int i = 0; i < paramTypes.length; i++) {
+				if (!candidateTypes[i].isAssignableFrom(paramTypes[i])) {
+					match = false;
+					break;
+				}
+			}
+			if (match) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isCacheAnnotated(Method method) {
+		return method.isAnnotationPresent(Cacheable.class)
+				|| method.isAnnotationPresent(CacheEvict.class);
+	}
+
+	private static Integer getAccountId(Object arg) {
+		if (arg == null) {
+			return null;
+		} else if (arg instanceof Integer) {
+			return (Integer) arg;
+		} else if (arg instanceof SearchRequest) {
+			return getAccountId(((SearchRequest<?>) arg).getSearchCriteria());
+		} else if (arg instanceof SearchCriteria) {
+			NumberSearchField accountField = ((SearchCriteria) arg)
+					.getSaccountid();
+			return (accountField != null && accountField.getValue() != null) ? accountField
+					.getValue().intValue() : null;
+		}
+
+		try {
+			Object accountId = PropertyUtils.getProperty(arg, "saccountid");
+			return (accountId instanceof Integer) ? (Integer) accountId : null;
+		} catch (Exception e) {
+			LOG.debug("Can not get account id of {}", arg.getClass()
+					.getName());
+			return null;
+		}
+	}
+
+	private static class CacheMethod {
+		static final int NONE = 0;
+		static final int CACHEABLE = 1;
+		static final int EVICT = 2;
+
+		final int type;
+		final int keyIndex;
+		final CacheScope scope;
+		final Class<?>[] dependents;
+
+		CacheMethod(int type, int keyIndex, CacheScope scope,
+				Class<?>[] dependents) {
+			this.type = type;
+			this.keyIndex = keyIndex;
+			this.scope = scope;
+			this.dependents = dependents;
+		}
+	}
+
+	/**
+	 * Holds the default {@link CacheScope} of the services which are not
+	 * annotated.
+	 */
+	@CacheScope
+	private static class DefaultScope {
+	}
+}
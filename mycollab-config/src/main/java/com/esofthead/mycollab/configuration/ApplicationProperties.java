@@ -58,6 +58,16 @@ public class ApplicationProperties {
 	public static final String MAIL_PASSWORD = "mail.password";
 	public static final String MAIL_IS_TLS = "mail.isTLS";
 	public static final String MAIL_NOREPLY = "mail.noreply";
+	public static final String MAIL_POOL_SIZE = "mail.poolSize";
+	public static final String MAIL_RATE_LIMIT = "mail.rateLimit";
+
+	public static final String EXPORT_MAX_CONCURRENT = "export.maxConcurrent";
+	public static final String EXPORT_MAX_CONCURRENT_PER_ACCOUNT = "export.maxConcurrentPerAccount";
+
+	public static final String IMPORT_BATCH_SIZE = "import.batchSize";
+	public static final String IMPORT_VALIDATION_THREADS = "import.validationThreads";
+
+	public static final String TEMPLATE_RELOAD = "template.reload";
 
 	public static final String ERROR_SENDTO = "error.sendTo";
 	public static final String STORAGE_SYSTEM = "storageSystem";
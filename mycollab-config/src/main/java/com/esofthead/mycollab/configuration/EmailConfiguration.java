@@ -36,6 +36,8 @@ public class EmailConfiguration {
 	@Digits(integer = 6, fraction = 0)
 	private Integer port;
 	private boolean isTls = false;
+	private int poolSize = 0;
+	private double rateLimit = 0;
 
 	public EmailConfiguration() {
 
@@ -89,4 +91,30 @@ public class EmailConfiguration {
 	public void setIsTls(boolean isTls) {
 		this.isTls = isTls;
 	}
+
+	/**
+	 * 
+	 * @return number of SMTP connections kept open to send mails, the mails
+	 *         are sent with a new connection each if it is 0
+	 */
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * 
+	 * @return maximum number of mails sent per second by the pooled
+	 *         connections, no limit if it is 0
+	 */
+	public double getRateLimit() {
+		return rateLimit;
+	}
+
+	public void setRateLimit(double rateLimit) {
+		this.rateLimit = rateLimit;
+	}
 }
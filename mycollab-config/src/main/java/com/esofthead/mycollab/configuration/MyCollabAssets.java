@@ -16,7 +16,17 @@
  */
 package com.esofthead.mycollab.configuration;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.IOUtils;
+
 import com.esofthead.mycollab.core.DeploymentMode;
+import com.esofthead.mycollab.core.MyCollabException;
 
 /**
  * 
@@ -25,6 +35,19 @@ import com.esofthead.mycollab.core.DeploymentMode;
  * 
  */
 public abstract class MyCollabAssets {
+	/**
+	 * Query parameter holding the content fingerprint of a local asset link.
+	 * An asset requested with its current fingerprint can be cached by the
+	 * browser forever.
+	 */
+	public static final String FINGERPRINT_PARAM = "v";
+
+	/**
+	 * Class path folders of the local assets, in lookup order
+	 */
+	public static final String[] ASSET_FOLDERS = { "assets/",
+			"VAADIN/themes/mycollab/" };
+
 	private static MyCollabAssets impl;
 
 	static {
@@ -42,6 +65,24 @@ public abstract class MyCollabAssets {
 		return impl.generateResourceLink(resourceId);
 	}
 
+	/**
+	 * 
+	 * @param content
+	 * @return short hex digest of the asset content
+	 */
+	public static String fingerprint(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+			StringBuilder hex = new StringBuilder();
+			for (int i = 0; i < 8; i++) {
+				hex.append(String.format("%02x", digest[i]));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
 	public static class S3 extends MyCollabAssets {
 		private static String S3_ASSETS = "https://s3.amazonaws.com/mycollab_assets/%s";
 
@@ -54,12 +95,47 @@ public abstract class MyCollabAssets {
 
 	public static class Local extends MyCollabAssets {
 
+		private static final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
 		@Override
 		protected String generateResourceLink(String resourceId) {
-			return String.format(ApplicationProperties
+			String link = String.format(ApplicationProperties
 					.getString(ApplicationProperties.APP_URL),
 					SiteConfiguration.getServerAddress(), SiteConfiguration
 							.getServerPort()) + "assets/" + resourceId;
+			String fingerprint = getFingerprint(resourceId);
+			return (fingerprint != null) ? link + "?" + FINGERPRINT_PARAM
+					+ "=" + fingerprint : link;
+		}
+
+		/**
+		 * 
+		 * @param resourceId
+		 * @return fingerprint of the asset, null if it is not found
+		 */
+		private static String getFingerprint(String resourceId) {
+			String fingerprint = fingerprints.get(resourceId);
+			if (fingerprint == null) {
+				// missing assets are remembered as an empty fingerprint
+				fingerprint = computeFingerprint(resourceId);
+				fingerprints.putIfAbsent(resourceId, fingerprint);
+			}
+			return "".equals(fingerprint) ? null : fingerprint;
+		}
+
+		private static String computeFingerprint(String resourceId) {
+			ClassLoader classLoader = MyCollabAssets.class.getClassLoader();
+			for (String folder : ASSET_FOLDERS) {
+				try (InputStream inputStream = classLoader
+						.getResourceAsStream(folder + resourceId)) {
+					if (inputStream != null) {
+						return fingerprint(IOUtils.toByteArray(inputStream));
+					}
+				} catch (IOException e) {
+					throw new MyCollabException(e);
+				}
+			}
+			return "";
 		}
 
 	}
@@ -42,17 +42,24 @@ import static com.esofthead.mycollab.configuration.ApplicationProperties.DB_USER
 import static com.esofthead.mycollab.configuration.ApplicationProperties.DEFAULT_LOCALE;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.DROPBOX_AUTH_LINK;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.ERROR_SENDTO;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.EXPORT_MAX_CONCURRENT;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.EXPORT_MAX_CONCURRENT_PER_ACCOUNT;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.GOOGLE_DRIVE_LINK;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.IMPORT_BATCH_SIZE;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.IMPORT_VALIDATION_THREADS;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.LOCALES;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_IS_TLS;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_NOREPLY;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_PASSWORD;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_POOL_SIZE;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_PORT;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_RATE_LIMIT;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_SMTPHOST;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.MAIL_USERNAME;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.RUNNING_MODE;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.SERVER_ADDRESS;
 import static com.esofthead.mycollab.configuration.ApplicationProperties.SITE_NAME;
+import static com.esofthead.mycollab.configuration.ApplicationProperties.TEMPLATE_RELOAD;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -89,6 +96,11 @@ public class SiteConfiguration {
     private String dropboxCallbackUrl;
     private String ggDriveCallbackUrl;
     private String appUrl;
+    private int exportMaxConcurrent;
+    private int exportMaxConcurrentPerAccount;
+    private int importBatchSize;
+    private int importValidationThreads;
+    private boolean templateReload;
 
     private Locale defaultLocale;
     private List<Locale> supportedLanguages;
@@ -146,10 +158,33 @@ public class SiteConfiguration {
                 MAIL_IS_TLS, "false"));
         instance.emailConfiguration = new EmailConfiguration(host, user,
                 password, port, isTls);
+        instance.emailConfiguration.setPoolSize(Integer
+                .parseInt(ApplicationProperties.getString(MAIL_POOL_SIZE, "0")));
+        instance.emailConfiguration.setRateLimit(Double
+                .parseDouble(ApplicationProperties.getString(MAIL_RATE_LIMIT,
+                        "0")));
         instance.noreplyEmail = ApplicationProperties.getString(MAIL_NOREPLY,
                 "noreply@mycollab.com");
 
 
+        // load export limits
+        instance.exportMaxConcurrent = Integer.parseInt(ApplicationProperties
+                .getString(EXPORT_MAX_CONCURRENT, "4"));
+        instance.exportMaxConcurrentPerAccount = Integer
+                .parseInt(ApplicationProperties.getString(
+                        EXPORT_MAX_CONCURRENT_PER_ACCOUNT, "2"));
+
+        // load import settings
+        instance.importBatchSize = Integer.parseInt(ApplicationProperties
+                .getString(IMPORT_BATCH_SIZE, "500"));
+        instance.importValidationThreads = Integer
+                .parseInt(ApplicationProperties.getString(
+                        IMPORT_VALIDATION_THREADS, "2"));
+
+        // load template settings
+        instance.templateReload = Boolean.parseBoolean(ApplicationProperties
+                .getString(TEMPLATE_RELOAD, "false"));
+
         // load database configuration
         String driverClass = ApplicationProperties.getString(DB_DRIVER_CLASS);
         String dbUrl = ApplicationProperties.getString(DB_URL);
@@ -192,6 +227,26 @@ public class SiteConfiguration {
         getInstance().emailConfiguration = conf;
     }
 
+    public static int getExportMaxConcurrent() {
+        return getInstance().exportMaxConcurrent;
+    }
+
+    public static int getExportMaxConcurrentPerAccount() {
+        return getInstance().exportMaxConcurrentPerAccount;
+    }
+
+    public static int getImportBatchSize() {
+        return getInstance().importBatchSize;
+    }
+
+    public static int getImportValidationThreads() {
+        return getInstance().importValidationThreads;
+    }
+
+    public static boolean isTemplateReload() {
+        return getInstance().templateReload;
+    }
+
     public static String getNoReplyEmail() {
         return getInstance().noreplyEmail;
     }
@@ -26,7 +26,11 @@ import java.lang.annotation.Target;
  * <b>NOTE: </b> Implement of cache just be presented in premium or ondemand
  * delivery.<br/>
  * This annotation denotes a method has data clean of cache with the key compose
- * by its arguments.
+ * by its arguments.<br/>
+ * Put on a service interface, it declares the services depending on the data
+ * of every evicting method of the interface. Their cache items are
+ * invalidated along with the ones of the service, restricted to the projects
+ * of the changed items when they are known (see {@link CacheScope}).
  * 
  * @author MyCollab Ltd.
  * @since 1.0
@@ -34,6 +38,13 @@ import java.lang.annotation.Target;
  */
 @Inherited
 @Retention(RetentionPolicy.RUNTIME)
-@Target(value = { ElementType.METHOD })
+@Target(value = { ElementType.METHOD, ElementType.TYPE })
 public @interface CacheEvict {
+
+	/**
+	 * 
+	 * @return the service interfaces whose cache items depend on the data
+	 *         changed by the method
+	 */
+	Class<?>[] dependents() default {};
 }
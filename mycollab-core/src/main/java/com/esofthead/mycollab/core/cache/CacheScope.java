@@ -0,0 +1,52 @@
+/**
+ * This file is part of mycollab-core.
+ *
+ * mycollab-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cache items of a service are tagged with the projects they depend on: the
+ * project filter of the search criteria, or the project of the returned item.
+ * A change of an item invalidates only the cache items of its project and the
+ * ones which are not tagged with any project. This annotation names the
+ * properties holding the projects of the entities and of the search criteria
+ * of a service interface, when they differ from the defaults.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.TYPE })
+public @interface CacheScope {
+
+	/**
+	 * 
+	 * @return property of the entities holding their project
+	 */
+	String projectField() default "projectid";
+
+	/**
+	 * 
+	 * @return properties of the search criteria filtering the projects, the
+	 *         first one set restricts the search
+	 */
+	String[] criteriaFields() default { "projectId", "projectid", "projectIds" };
+}
@@ -0,0 +1,89 @@
+/**
+ * This file is part of mycollab-caching.
+ *
+ * mycollab-caching is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-caching is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-caching.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.cache;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Key of a cache item inside the cache region of a service. It keeps the
+ * method name and a 128-bit hash of the method arguments instead of their
+ * whole serialized form.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+public final class ServiceCacheKey {
+	private static final HashFunction PARAMS_HASH_FUNCTION = Hashing
+			.murmur3_128();
+
+	private final String methodName;
+
+	private final HashCode paramsHash;
+
+	public ServiceCacheKey(String methodName, HashCode paramsHash) {
+		this.methodName = methodName;
+		this.paramsHash = paramsHash;
+	}
+
+	/**
+	 * Builds the key of method <code>methodName</code> called with
+	 * <code>args</code>. The service cache and the total counts of the paged
+	 * queries both use it.
+	 * 
+	 * @param methodName
+	 * @param args
+	 * @return
+	 */
+	public static ServiceCacheKey construct(String methodName, Object[] args) {
+		return new ServiceCacheKey(methodName, PARAMS_HASH_FUNCTION.hashObject(
+				args, ServiceCacheKeyFunnel.INSTANCE));
+	}
+
+	public String getMethodName() {
+		return methodName;
+	}
+
+	public HashCode getParamsHash() {
+		return paramsHash;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * methodName.hashCode() + paramsHash.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ServiceCacheKey)) {
+			return false;
+		}
+		ServiceCacheKey other = (ServiceCacheKey) obj;
+		return methodName.equals(other.methodName)
+				&& paramsHash.equals(other.paramsHash);
+	}
+
+	@Override
+	public String toString() {
+		return methodName + "-" + paramsHash;
+	}
+}
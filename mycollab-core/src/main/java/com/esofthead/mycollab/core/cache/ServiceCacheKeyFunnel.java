@@ -0,0 +1,196 @@
+/**
+ * This file is part of mycollab-caching.
+ *
+ * mycollab-caching is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-caching is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-caching.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.esofthead.mycollab.core.MyCollabException;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.PrimitiveSink;
+
+/**
+ * Feeds the arguments of a service method into the hash of its cache key
+ * without serializing them: strings, numbers, dates and enums are put as
+ * they are, collections, maps and arrays element by element, and the other
+ * objects (search requests, criteria and fields) field by field. Every value
+ * is preceded by a tag of its kind, so <code>"1"</code> and <code>1</code> or
+ * an empty list and <code>null</code> do not collide.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+enum ServiceCacheKeyFunnel implements Funnel<Object> {
+	INSTANCE;
+
+	/**
+	 * Guards against object graphs with cycles, the arguments of the cached
+	 * methods are a few levels deep.
+	 */
+	private static final int MAX_DEPTH = 16;
+
+	private static final HashFunction ELEMENT_HASH_FUNCTION = Hashing
+			.murmur3_128();
+
+	private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INTEGER = 2;
+	private static final byte LONG = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte DATE = 6;
+	private static final byte ENUM = 7;
+	private static final byte LIST = 8;
+	private static final byte SET = 9;
+	private static final byte MAP = 10;
+	private static final byte ARRAY = 11;
+	private static final byte OBJECT = 12;
+	private static final byte NUMBER = 13;
+	private static final byte CHARACTER = 14;
+	private static final byte CLASS = 15;
+
+	@Override
+	public void funnel(Object from, PrimitiveSink into) {
+		put(from, into, 0);
+	}
+
+	private static void put(Object value, PrimitiveSink into, int depth) {
+		if (depth > MAX_DEPTH) {
+			throw new MyCollabException(
+					"Can not build the cache key of a too deep argument "
+							+ value.getClass().getName());
+		}
+
+		if (value == null) {
+			into.putByte(NULL);
+		} else if (value instanceof String) {
+			into.putByte(STRING).putString((String) value, Charsets.UTF_8);
+		} else if (value instanceof Integer || value instanceof Short
+				|| value instanceof Byte) {
+			into.putByte(INTEGER).putInt(((Number) value).intValue());
+		} else if (value instanceof Long) {
+			into.putByte(LONG).putLong((Long) value);
+		} else if (value instanceof Double || value instanceof Float) {
+			into.putByte(DOUBLE).putDouble(((Number) value).doubleValue());
+		} else if (value instanceof Number) {
+			into.putByte(NUMBER).putString(value.toString(), Charsets.UTF_8);
+		} else if (value instanceof Boolean) {
+			into.putByte(BOOLEAN).putBoolean((Boolean) value);
+		} else if (value instanceof Character) {
+			into.putByte(CHARACTER).putChar((Character) value);
+		} else if (value instanceof Date) {
+			into.putByte(DATE).putLong(((Date) value).getTime());
+		} else if (value instanceof Enum) {
+			into.putByte(ENUM)
+					.putString(((Enum<?>) value).getDeclaringClass().getName(),
+							Charsets.UTF_8)
+					.putString(((Enum<?>) value).name(), Charsets.UTF_8);
+		} else if (value instanceof Class) {
+			into.putByte(CLASS).putString(((Class<?>) value).getName(),
+					Charsets.UTF_8);
+		} else if (value instanceof Set) {
+			putUnordered(SET, (Set<?>) value, into, depth);
+		} else if (value instanceof Map) {
+			putUnordered(MAP, ((Map<?, ?>) value).entrySet(), into, depth);
+		} else if (value instanceof Map.Entry) {
+			put(((Map.Entry<?, ?>) value).getKey(), into, depth + 1);
+			put(((Map.Entry<?, ?>) value).getValue(), into, depth + 1);
+		} else if (value instanceof Collection) {
+			Collection<?> items = (Collection<?>) value;
+			into.putByte(LIST).putInt(items.size());
+			for (Object item : items) {
+				put(item, into, depth + 1);
+			}
+		} else if (value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			into.putByte(ARRAY).putInt(length);
+			for (int i = 0; i < length; i++) {
+				put(Array.get(value, i), into, depth + 1);
+			}
+		} else {
+			into.putByte(OBJECT).putString(value.getClass().getName(),
+					Charsets.UTF_8);
+			try {
+				for (Field field : getFields(value.getClass())) {
+					put(field.get(value), into, depth + 1);
+				}
+			} catch (IllegalAccessException e) {
+				throw new MyCollabException(e);
+			}
+		}
+	}
+
+	/**
+	 * The iteration order of a set or a map does not depend only on its
+	 * content, so its elements are hashed one by one and their hashes
+	 * combined regardless of the order.
+	 */
+	private static void putUnordered(byte kind, Collection<?> items,
+			PrimitiveSink into, int depth) {
+		into.putByte(kind).putInt(items.size());
+		if (items.isEmpty()) {
+			return;
+		}
+
+		List<HashCode> hashes = new ArrayList<>(items.size());
+		for (Object item : items) {
+			Hasher hasher = ELEMENT_HASH_FUNCTION.newHasher();
+			put(item, hasher, depth + 1);
+			hashes.add(hasher.hash());
+		}
+		into.putBytes(Hashing.combineUnordered(hashes).asBytes());
+	}
+
+	private static Field[] getFields(Class<?> cls) {
+		Field[] fields = FIELDS.get(cls);
+		if (fields == null) {
+			List<Field> instanceFields = new ArrayList<>();
+			for (Class<?> type = cls; type != null && type != Object.class; type = type
+					.getSuperclass()) {
+				for (Field field : type.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (!Modifier.isStatic(modifiers)
+							&& !Modifier.isTransient(modifiers)
+							&& !field.isSynthetic()) {
+						field.setAccessible(true);
+						instanceFields.add(field);
+					}
+				}
+			}
+			fields = instanceFields.toArray(new Field[instanceFields.size()]);
+			FIELDS.putIfAbsent(cls, fields);
+		}
+		return fields;
+	}
+}
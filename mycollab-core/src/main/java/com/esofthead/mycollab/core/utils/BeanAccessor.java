@@ -0,0 +1,247 @@
+/**
+ * This file is part of mycollab-core.
+ *
+ * mycollab-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.utils;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.esofthead.mycollab.core.MyCollabException;
+
+/**
+ * Accessor table of the bean properties of a class. The getters and setters
+ * are introspected once per class and kept as method handles, so reading or
+ * writing a property does not go through the bean introspection of
+ * <code>PropertyUtils</code> again.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public final class BeanAccessor {
+	private static final ConcurrentMap<Class<?>, BeanAccessor> accessors = new ConcurrentHashMap<>();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(
+			Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(
+			void.class, Object.class, Object.class);
+
+	private final Class<?> beanClass;
+
+	private final Map<String, PropertyAccessor> properties;
+
+	private BeanAccessor(Class<?> beanClass) {
+		this.beanClass = beanClass;
+		Map<String, PropertyAccessor> props = new TreeMap<>();
+		try {
+			BeanInfo beanInfo = Introspector.getBeanInfo(beanClass,
+					Object.class);
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			for (PropertyDescriptor descriptor : beanInfo
+					.getPropertyDescriptors()) {
+				MethodHandle getter = toHandle(lookup,
+						descriptor.getReadMethod(), GETTER_TYPE);
+				MethodHandle setter = toHandle(lookup,
+						descriptor.getWriteMethod(), SETTER_TYPE);
+				if (getter != null || setter != null) {
+					props.put(descriptor.getName(), new PropertyAccessor(
+							descriptor.getName(),
+							descriptor.getPropertyType(), getter, setter));
+				}
+			}
+		} catch (IntrospectionException e) {
+			throw new MyCollabException("Can not introspect class "
+					+ beanClass.getName(), e);
+		}
+		this.properties = Collections.unmodifiableMap(props);
+	}
+
+	private static MethodHandle toHandle(MethodHandles.Lookup lookup,
+			Method method, MethodType type) {
+		if (method == null) {
+			return null;
+		}
+
+		try {
+			return lookup.unreflect(method).asType(type);
+		} catch (IllegalAccessException e) {
+			// the method of a non public class or declared by a non public
+			// super class, the handle of an accessible method skips the
+			// access check as reflection does
+			try {
+				method.setAccessible(true);
+				return lookup.unreflect(method).asType(type);
+			} catch (IllegalAccessException | SecurityException ex) {
+				throw new MyCollabException("Can not access method "
+						+ method, ex);
+			}
+		}
+	}
+
+	public static BeanAccessor of(Class<?> beanClass) {
+		BeanAccessor accessor = accessors.get(beanClass);
+		if (accessor == null) {
+			accessor = new BeanAccessor(beanClass);
+			BeanAccessor existingAccessor = accessors.putIfAbsent(beanClass,
+					accessor);
+			if (existingAccessor != null) {
+				accessor = existingAccessor;
+			}
+		}
+		return accessor;
+	}
+
+	public static Object getProperty(Object bean, String name) {
+		return of(bean.getClass()).get(bean, name);
+	}
+
+	public static void setProperty(Object bean, String name, Object value) {
+		of(bean.getClass()).set(bean, name, value);
+	}
+
+	public Class<?> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * 
+	 * @return property accessors of the bean class, sorted by property name
+	 */
+	public Collection<PropertyAccessor> getProperties() {
+		return properties.values();
+	}
+
+	public PropertyAccessor getPropertyAccessor(String name) {
+		return properties.get(name);
+	}
+
+	public boolean isReadable(String name) {
+		PropertyAccessor property = properties.get(name);
+		return property != null && property.isReadable();
+	}
+
+	public boolean isWritable(String name) {
+		PropertyAccessor property = properties.get(name);
+		return property != null && property.isWritable();
+	}
+
+	public Object get(Object bean, String name) {
+		PropertyAccessor property = properties.get(name);
+		if (property == null) {
+			throw new MyCollabException("Class " + beanClass.getName()
+					+ " has no property " + name);
+		}
+		return property.get(bean);
+	}
+
+	public void set(Object bean, String name, Object value) {
+		PropertyAccessor property = properties.get(name);
+		if (property == null) {
+			throw new MyCollabException("Class " + beanClass.getName()
+					+ " has no property " + name);
+		}
+		property.set(bean, value);
+	}
+
+	/**
+	 * Set value of property <code>name</code> if the bean class has a setter
+	 * for it, do nothing otherwise.
+	 * 
+	 * @param bean
+	 * @param name
+	 * @param value
+	 * @return true if the property is set
+	 */
+	public boolean setIfWritable(Object bean, String name, Object value) {
+		if (isWritable(name)) {
+			properties.get(name).set(bean, value);
+			return true;
+		}
+		return false;
+	}
+
+	public static final class PropertyAccessor {
+		private final String name;
+		private final Class<?> type;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		private PropertyAccessor(String name, Class<?> type,
+				MethodHandle getter, MethodHandle setter) {
+			this.name = name;
+			this.type = type;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		public boolean isReadable() {
+			return getter != null;
+		}
+
+		public boolean isWritable() {
+			return setter != null;
+		}
+
+		public Object get(Object bean) {
+			if (getter == null) {
+				throw new MyCollabException("Property " + name
+						+ " is not readable");
+			}
+			try {
+				return (Object) getter.invokeExact(bean);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new MyCollabException(e);
+			}
+		}
+
+		public void set(Object bean, Object value) {
+			if (setter == null) {
+				throw new MyCollabException("Property " + name
+						+ " is not writable");
+			}
+			try {
+				setter.invokeExact(bean, value);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new MyCollabException(e);
+			}
+		}
+	}
+}
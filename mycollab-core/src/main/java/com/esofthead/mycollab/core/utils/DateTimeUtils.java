@@ -16,28 +16,26 @@
  */
 package com.esofthead.mycollab.core.utils;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 import java.util.TimeZone;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.ocpsoft.prettytime.PrettyTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.esofthead.mycollab.core.MyCollabException;
-
 /**
- * Utility class to process date instance
+ * Utility class to process date instance. Dates are formatted and parsed with
+ * immutable {@link FastDateFormat} instances, shared by every thread and
+ * cached per pattern, time zone and locale.
  * 
  * @author MyCollab Ltd.
  * @since 1.0
@@ -47,7 +45,7 @@ public class DateTimeUtils {
 
 	private static DateTimeZone utcZone = DateTimeZone.UTC;
 
-	private static Map<String, SimpleDateFormat> dateFormats = new HashMap<String, SimpleDateFormat>();
+	private static final String W3C_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
 
 	/**
 	 * Trim hour-minute-second of date instance value to zero.
@@ -56,12 +54,7 @@ public class DateTimeUtils {
 	 * @return
 	 */
 	public static Date trimHMSOfDate(Date value) {
-		DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-		try {
-			return df.parse(df.format(value.getTime()));
-		} catch (ParseException e) {
-			throw new MyCollabException(e);
-		}
+		return DateUtils.truncate(value, Calendar.DATE);
 	}
 
 	public static Date getCurrentDateWithoutMS() {
@@ -74,8 +67,7 @@ public class DateTimeUtils {
 	public static Date convertDateByString(String strDate, String format) {
 		if (!StringUtils.isEmpty(strDate)) {
 			try {
-				SimpleDateFormat formatter = new SimpleDateFormat(format);
-				return formatter.parse(strDate);
+				return getDateFormat(format, null, null).parse(strDate);
 			} catch (ParseException e) {
 				LOG.error("Error while parse date", e);
 			}
@@ -95,11 +87,10 @@ public class DateTimeUtils {
 	 * @return
 	 */
 	public static Date convertDateByFormatW3C(String strDate) {
-		String formatW3C = "yyyy-MM-dd'T'HH:mm:ss";
 		if (strDate != null && !strDate.equals("")) {
-			SimpleDateFormat formatter = new SimpleDateFormat(formatW3C);
 			try {
-				return formatter.parse(strDate);
+				return getDateFormat(W3C_DATE_FORMAT, null, null).parse(
+						strDate);
 			} catch (ParseException e) {
 				LOG.error("Error while parse date", e);
 			}
@@ -147,27 +138,38 @@ public class DateTimeUtils {
 
 	public static String formatDate(Date date, String dateFormat,
 			TimeZone timezone) {
+		return formatDate(date, dateFormat, timezone, null);
+	}
+
+	/**
+	 * 
+	 * @param date
+	 * @param dateFormat
+	 * @param timezone
+	 *            time zone of the formatted value, the system default one if
+	 *            it is null
+	 * @param locale
+	 *            locale of the month and day names, the system default one if
+	 *            it is null
+	 * @return
+	 */
+	public static String formatDate(Date date, String dateFormat,
+			TimeZone timezone, Locale locale) {
 		if (date == null) {
 			return "";
 		}
 
-		SimpleDateFormat simpleDateFormat = getDateFormat(dateFormat);
-		if (timezone != null) {
-			simpleDateFormat.setTimeZone(timezone);
-		}
-
-		return simpleDateFormat.format(date);
+		return getDateFormat(dateFormat, timezone, locale).format(date);
 	}
 
-	private static SimpleDateFormat getDateFormat(String format) {
-		SimpleDateFormat dateFormat = dateFormats.get(format);
-		if (dateFormat != null) {
-			return dateFormat;
-		} else {
-			dateFormat = new SimpleDateFormat(format);
-			dateFormats.put(format, dateFormat);
-			return dateFormat;
-		}
+	/**
+	 * The formats are looked up in the cache of {@link FastDateFormat} rather
+	 * than shared <code>SimpleDateFormat</code> instances, which are neither
+	 * thread safe nor bound to a time zone.
+	 */
+	private static FastDateFormat getDateFormat(String format,
+			TimeZone timezone, Locale locale) {
+		return FastDateFormat.getInstance(format, timezone, locale);
 	}
 
 	public static Date convertTimeFromSystemTimezoneToUTC(long timeInMillis) {
@@ -36,4 +36,25 @@ public interface TemplateEngine {
 	 */
 	void evaluate(TemplateContext context, Writer writer, String message,
 			Reader reader);
+
+	/**
+	 * 
+	 * @param templatePath
+	 *            classpath location of the template file
+	 * @return true if there is a template at <code>templatePath</code>
+	 */
+	boolean hasTemplate(String templatePath);
+
+	/**
+	 * Renders the template file at <code>templatePath</code>. The template is
+	 * parsed at its first rendering only, later renderings reuse the parsed
+	 * template unless it has been modified and template reloading is on.
+	 * 
+	 * @param context
+	 * @param writer
+	 * @param templatePath
+	 *            classpath location of the template file
+	 */
+	void renderTemplate(TemplateContext context, Writer writer,
+			String templatePath);
 }
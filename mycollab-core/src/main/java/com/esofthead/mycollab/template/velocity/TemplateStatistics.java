@@ -0,0 +1,116 @@
+/**
+ * This file is part of mycollab-core.
+ *
+ * mycollab-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.template.velocity;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parse and render counters of the templates rendered by
+ * {@link TemplateEngine#renderTemplate(TemplateContext, java.io.Writer, String)}
+ * , grouped by template path.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class TemplateStatistics {
+	private static final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+	public static Counter getCounter(String templatePath) {
+		Counter counter = counters.get(templatePath);
+		if (counter == null) {
+			counter = new Counter();
+			Counter existing = counters.putIfAbsent(templatePath, counter);
+			if (existing != null) {
+				counter = existing;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * @return snapshot of all counters, sorted by template path
+	 */
+	public static Map<String, Counter> getStatistics() {
+		return new TreeMap<>(counters);
+	}
+
+	public static void reset() {
+		counters.clear();
+	}
+
+	public static class Counter {
+		private final AtomicLong parses = new AtomicLong();
+		private final AtomicLong parseMillis = new AtomicLong();
+		private final AtomicLong renders = new AtomicLong();
+		private final AtomicLong renderMillis = new AtomicLong();
+		private final AtomicLong maxRenderMillis = new AtomicLong();
+
+		void recordParse(long millis) {
+			parses.incrementAndGet();
+			parseMillis.addAndGet(millis);
+		}
+
+		void recordRender(long millis) {
+			renders.incrementAndGet();
+			renderMillis.addAndGet(millis);
+
+			long max = maxRenderMillis.get();
+			while (millis > max
+					&& !maxRenderMillis.compareAndSet(max, millis)) {
+				max = maxRenderMillis.get();
+			}
+		}
+
+		public long getParses() {
+			return parses.get();
+		}
+
+		public long getParseMillis() {
+			return parseMillis.get();
+		}
+
+		public long getRenders() {
+			return renders.get();
+		}
+
+		public long getRenderMillis() {
+			return renderMillis.get();
+		}
+
+		public long getMaxRenderMillis() {
+			return maxRenderMillis.get();
+		}
+
+		public double getAverageRenderMillis() {
+			long total = renders.get();
+			return (total == 0) ? 0 : (double) renderMillis.get() / total;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"parses=%d, parseMillis=%d, renders=%d, avgRenderMillis=%.2f, maxRenderMillis=%d",
+					getParses(), getParseMillis(), getRenders(),
+					getAverageRenderMillis(), getMaxRenderMillis());
+		}
+	}
+}
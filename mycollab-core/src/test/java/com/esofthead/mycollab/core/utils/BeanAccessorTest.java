@@ -0,0 +1,127 @@
+/**
+ * This file is part of mycollab-core.
+ *
+ * mycollab-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.esofthead.mycollab.core.MyCollabException;
+
+public class BeanAccessorTest {
+
+	@Test
+	public void testReadAndWriteProperties() {
+		PublicBean bean = new PublicBean();
+		BeanAccessor accessor = BeanAccessor.of(PublicBean.class);
+
+		accessor.set(bean, "name", "Task 1");
+		accessor.set(bean, "count", 3);
+		assertThat(accessor.get(bean, "name")).isEqualTo("Task 1");
+		assertThat(BeanAccessor.getProperty(bean, "count")).isEqualTo(3);
+
+		assertThat(accessor.isReadable("readOnly")).isTrue();
+		assertThat(accessor.isWritable("readOnly")).isFalse();
+		assertThat(accessor.setIfWritable(bean, "readOnly", "x")).isFalse();
+		assertThat(accessor.setIfWritable(bean, "missing", "x")).isFalse();
+		assertThat(accessor.getPropertyAccessor("count").getType()).isEqualTo(
+				int.class);
+		assertThat(accessor.getProperties()).extracting("name").containsExactly(
+				"count", "name", "readOnly");
+	}
+
+	@Test
+	public void testAccessPropertiesOfNonPublicClass() {
+		PrivateBean bean = new PrivateBean();
+		BeanAccessor accessor = BeanAccessor.of(PrivateBean.class);
+
+		assertThat(accessor.isWritable("name")).isTrue();
+		accessor.set(bean, "name", "hidden");
+		assertThat(accessor.get(bean, "name")).isEqualTo("hidden");
+	}
+
+	@Test
+	public void testAccessPropertiesInheritedFromNonPublicClass() {
+		InheritedBean bean = new InheritedBean();
+		BeanAccessor.setProperty(bean, "name", "inherited");
+		assertThat(BeanAccessor.getProperty(bean, "name")).isEqualTo(
+				"inherited");
+	}
+
+	@Test(expected = MyCollabException.class)
+	public void testGetMissingProperty() {
+		BeanAccessor.getProperty(new PublicBean(), "missing");
+	}
+
+	@Test(expected = MyCollabException.class)
+	public void testSetReadOnlyProperty() {
+		BeanAccessor.setProperty(new PublicBean(), "readOnly", "x");
+	}
+
+	public static class PublicBean {
+		private String name;
+
+		private int count;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public String getReadOnly() {
+			return "readOnly";
+		}
+	}
+
+	private static class PrivateBean {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	static class NonPublicParent {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class InheritedBean extends NonPublicParent {
+	}
+}
@@ -18,9 +18,17 @@ package com.esofthead.mycollab.core.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.joda.time.DateTimeZone;
 import org.junit.Assert;
@@ -61,4 +69,55 @@ public class DateTimeUtilsTest {
 		returnDate.setTime(currentTime);
 		assertThat(returnDate).isEqualTo(date);
 	}
+
+	@Test
+	public void testFormatDateWithZoneAndLocale() {
+		Date value = new Date(1356048000000L); // 2012-12-21 00:00 UTC
+		Assert.assertEquals("2012-12-21 00:00", DateTimeUtils.formatDate(
+				value, "yyyy-MM-dd HH:mm", TimeZone.getTimeZone("UTC")));
+		Assert.assertEquals("2012-12-21 07:00", DateTimeUtils.formatDate(
+				value, "yyyy-MM-dd HH:mm",
+				TimeZone.getTimeZone("Asia/Ho_Chi_Minh")));
+		Assert.assertEquals("décembre", DateTimeUtils.formatDate(value,
+				"MMMM", TimeZone.getTimeZone("UTC"), Locale.FRENCH));
+		Assert.assertEquals("", DateTimeUtils.formatDate(null, "yyyy"));
+	}
+
+	@Test
+	public void testFormatDateConcurrently() throws Exception {
+		final String[] zones = { "UTC", "America/New_York",
+				"Asia/Ho_Chi_Minh", "Australia/Sydney" };
+		final String pattern = "yyyy-MM-dd HH:mm:ss Z";
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Void>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				final int seed = i;
+				results.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						for (int j = 0; j < 2000; j++) {
+							Date date = new Date(1356048000000L + (seed * 2000L + j)
+									* 3600000L);
+							TimeZone zone = TimeZone.getTimeZone(zones[(seed + j)
+									% zones.length]);
+							String text = DateTimeUtils.formatDate(date,
+									pattern, zone);
+
+							SimpleDateFormat expected = new SimpleDateFormat(pattern);
+							expected.setTimeZone(zone);
+							Assert.assertEquals(expected.format(date), text);
+							Assert.assertEquals(date, expected.parse(text));
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<Void> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -0,0 +1,92 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.arguments;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A page of search result together with the total count of its criteria.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <T>
+ */
+public class PagedResult<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<T> items;
+
+	private int totalCount;
+
+	private boolean hasMore;
+
+	private boolean approximate;
+
+	public PagedResult() {
+	}
+
+	public PagedResult(List<T> items, int totalCount, boolean hasMore,
+			boolean approximate) {
+		this.items = items;
+		this.totalCount = totalCount;
+		this.hasMore = hasMore;
+		this.approximate = approximate;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(int totalCount) {
+		this.totalCount = totalCount;
+	}
+
+	/**
+	 * 
+	 * @return <code>true</code> if there are rows after this page
+	 */
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+	/**
+	 * 
+	 * @return <code>true</code> if the total count was not counted for this
+	 *         page but reused from a recent count of the same criteria
+	 */
+	public boolean isApproximate() {
+		return approximate;
+	}
+
+	public void setApproximate(boolean approximate) {
+		this.approximate = approximate;
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.arguments;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+
+/**
+ * Position of a keyset (seek) page: the value of the order by column and the
+ * id of the last row of the previous page. The next page starts right after
+ * this row instead of skipping an offset.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class SeekCursor implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Object orderValue;
+
+	private Integer lastId;
+
+	public SeekCursor() {
+	}
+
+	public SeekCursor(Object orderValue, Integer lastId) {
+		this.orderValue = orderValue;
+		this.lastId = lastId;
+	}
+
+	/**
+	 * 
+	 * @param bean
+	 *            last row of the previous page
+	 * @param orderByField
+	 *            order by field of the search criteria, <code>null</code>
+	 *            when the list is ordered by id only
+	 * @return
+	 */
+	public static SeekCursor fromBean(Object bean, String orderByField) {
+		Integer id = (Integer) BeanAccessor.getProperty(bean, "id");
+		Object orderValue = (orderByField == null) ? id : BeanAccessor
+				.getProperty(bean, toPropertyName(orderByField));
+		return new SeekCursor(orderValue, id);
+	}
+
+	/**
+	 * The order by field is a column name, which MySQL compares without case,
+	 * while the generated beans name their properties after the lower case
+	 * column.
+	 * 
+	 * @param orderByField
+	 * @return the bean property of the order by column
+	 */
+	public static String toPropertyName(String orderByField) {
+		return orderByField.toLowerCase(Locale.ENGLISH);
+	}
+
+	public Object getOrderValue() {
+		return orderValue;
+	}
+
+	public void setOrderValue(Object orderValue) {
+		this.orderValue = orderValue;
+	}
+
+	public Integer getLastId() {
+		return lastId;
+	}
+
+	public void setLastId(Integer lastId) {
+		this.lastId = lastId;
+	}
+}
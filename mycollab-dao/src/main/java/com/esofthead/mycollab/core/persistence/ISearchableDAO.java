@@ -35,6 +35,7 @@ package com.esofthead.mycollab.core.persistence;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
@@ -64,6 +65,17 @@ public interface ISearchableDAO<S extends SearchCriteria> {
 	List findPagableListByCriteria(@Param("searchCriteria") S criteria,
 			RowBounds rowBounds);
 
+	/**
+	 * Passes every row of the criteria to <code>handler</code> while they are
+	 * read, in the order of {@link #findPagableListByCriteria(SearchCriteria, RowBounds)}.
+	 * The statement is registered by {@link StreamingStatements}.
+	 * 
+	 * @param criteria
+	 * @param handler
+	 */
+	void streamListByCriteria(@Param("searchCriteria") S criteria,
+			ResultHandler handler);
+
 	/**
 	 * 
 	 * @param criteria
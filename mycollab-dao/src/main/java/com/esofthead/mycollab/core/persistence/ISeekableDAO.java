@@ -0,0 +1,53 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
+
+/**
+ * Searchable DAO which also supports keyset (seek) pagination. Rows are
+ * ordered by the order by field of the criteria and then by id, so a page
+ * can be read right after the last row of the previous one without scanning
+ * the preceding rows.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <S>
+ */
+public interface ISeekableDAO<S extends SearchCriteria> extends
+		ISearchableDAO<S> {
+
+	/**
+	 * 
+	 * @param criteria
+	 * @param cursor
+	 *            last row of the previous page, <code>null</code> to start at
+	 *            <code>offset</code>
+	 * @param offset
+	 * @param limit
+	 * @return
+	 */
+	List findPagableListBySeek(@Param("searchCriteria") S criteria,
+			@Param("cursor") SeekCursor cursor, @Param("offset") int offset,
+			@Param("limit") int limit);
+}
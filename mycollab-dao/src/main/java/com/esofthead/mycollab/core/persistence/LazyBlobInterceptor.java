@@ -0,0 +1,245 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.google.common.base.Optional;
+
+/**
+ * Attaches a {@link LazyBlobLoader} to the rows of the list projections, the
+ * statements whose result map is a {@link LazyBlobRow} type which does not
+ * map the BLOB properties of its {@link LazyBlobReader}. The rows of a list
+ * share one loader. The rows given to a result handler, see
+ * {@link ISearchableDAO#streamListByCriteria(com.esofthead.mycollab.core.arguments.SearchCriteria, ResultHandler)}
+ * , are handed over in chunks of {@link #STREAM_CHUNK_SIZE} rows which share
+ * a loader, so streaming a list does not load the BLOB columns row by row.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+@Intercepts(@Signature(type = Executor.class, method = "query", args = {
+		MappedStatement.class, Object.class, RowBounds.class,
+		ResultHandler.class }))
+public class LazyBlobInterceptor implements Interceptor {
+
+	static final int STREAM_CHUNK_SIZE = 100;
+
+	private final Map<Class<?>, LazyBlobReader<?>> readers = new ConcurrentHashMap<>();
+
+	/**
+	 * Reader of each statement, absent if the statement is not a list
+	 * projection.
+	 */
+	private final Map<String, Optional<LazyBlobReader<?>>> projections = new ConcurrentHashMap<>();
+
+	public void registerReader(LazyBlobReader<?> reader) {
+		readers.put(reader.getRowType(), reader);
+		LazyBlobLoader.registerReader(reader);
+		projections.clear();
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object[] args = invocation.getArgs();
+		MappedStatement statement = (MappedStatement) args[0];
+		LazyBlobReader<?> reader = getProjectionReader(statement);
+		if (reader == null) {
+			return invocation.proceed();
+		}
+
+		ResultHandler resultHandler = (ResultHandler) args[3];
+		if (resultHandler == null) {
+			Object result = invocation.proceed();
+			if (result instanceof List) {
+				attachBlobLoader(reader, (List<?>) result);
+			}
+			return result;
+		}
+
+		ChunkedResultHandler chunkedHandler = new ChunkedResultHandler(reader,
+				resultHandler);
+		args[3] = chunkedHandler;
+		Object result = invocation.proceed();
+		chunkedHandler.flush();
+		return result;
+	}
+
+	private LazyBlobReader<?> getProjectionReader(MappedStatement statement) {
+		Optional<LazyBlobReader<?>> projection = projections.get(statement
+				.getId());
+		if (projection == null) {
+			projection = Optional.<LazyBlobReader<?>> fromNullable(findProjectionReader(statement));
+			projections.put(statement.getId(), projection);
+		}
+		return projection.orNull();
+	}
+
+	private LazyBlobReader<?> findProjectionReader(MappedStatement statement) {
+		if (statement.getResultMaps().isEmpty()) {
+			return null;
+		}
+
+		Class<?> rowType = statement.getResultMaps().get(0).getType();
+		LazyBlobReader<?> reader = null;
+		for (Class<?> type = rowType; type != null && reader == null; type = type
+				.getSuperclass()) {
+			reader = readers.get(type);
+		}
+		if (reader == null
+				|| getMappedProperties(statement).containsAll(
+						reader.getBlobProperties())) {
+			return null;
+		}
+		return reader;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void attachBlobLoader(LazyBlobReader reader, List<?> result) {
+		List<LazyBlobRow> rows = new ArrayList<>(result.size());
+		for (Object row : result) {
+			if (reader.getRowType().isInstance(row)) {
+				rows.add((LazyBlobRow) row);
+			}
+		}
+		if (!rows.isEmpty()) {
+			new LazyBlobLoader(reader, rows).attach();
+		}
+	}
+
+	private static Set<String> getMappedProperties(MappedStatement statement) {
+		Set<String> properties = new HashSet<>();
+		for (ResultMap resultMap : statement.getResultMaps()) {
+			for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+				properties.add(resultMapping.getProperty());
+			}
+		}
+		return properties;
+	}
+
+	@Override
+	public Object plugin(Object target) {
+		return Plugin.wrap(target, this);
+	}
+
+	@Override
+	public void setProperties(Properties properties) {
+	}
+
+	/**
+	 * Keeps the streamed rows until a chunk is complete, attaches a loader to
+	 * the chunk and then gives its rows to the result handler of the caller.
+	 */
+	private static class ChunkedResultHandler implements ResultHandler {
+		private final LazyBlobReader<?> reader;
+
+		private final ResultHandler resultHandler;
+
+		private final List<Object> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+
+		private final ChunkResultContext chunkContext = new ChunkResultContext();
+
+		private ResultContext streamContext;
+
+		ChunkedResultHandler(LazyBlobReader<?> reader,
+				ResultHandler resultHandler) {
+			this.reader = reader;
+			this.resultHandler = resultHandler;
+		}
+
+		@Override
+		public void handleResult(ResultContext context) {
+			streamContext = context;
+			chunk.add(context.getResultObject());
+			if (chunk.size() >= STREAM_CHUNK_SIZE) {
+				flush();
+			}
+		}
+
+		void flush() {
+			if (chunk.isEmpty()) {
+				return;
+			}
+
+			attachBlobLoader(reader, chunk);
+			for (Object row : chunk) {
+				if (chunkContext.isStopped()) {
+					break;
+				}
+				chunkContext.nextResult(row);
+				resultHandler.handleResult(chunkContext);
+			}
+			chunk.clear();
+			if (chunkContext.isStopped() && streamContext != null) {
+				streamContext.stop();
+			}
+		}
+	}
+
+	private static class ChunkResultContext implements ResultContext {
+		private Object resultObject;
+
+		private int resultCount;
+
+		private boolean stopped;
+
+		void nextResult(Object resultObject) {
+			this.resultObject = resultObject;
+			resultCount++;
+		}
+
+		@Override
+		public Object getResultObject() {
+			return resultObject;
+		}
+
+		@Override
+		public int getResultCount() {
+			return resultCount;
+		}
+
+		@Override
+		public boolean isStopped() {
+			return stopped;
+		}
+
+		@Override
+		public void stop() {
+			stopped = true;
+		}
+	}
+}
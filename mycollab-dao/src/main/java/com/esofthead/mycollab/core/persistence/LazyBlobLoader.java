@@ -0,0 +1,106 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.esofthead.mycollab.core.MyCollabException;
+
+/**
+ * Loads the BLOB columns of the rows read by a list projection, which is a
+ * result map of a {@link LazyBlobRow} type without its BLOB properties. The
+ * loader is shared by the rows of one query, so the first row which needs
+ * its BLOB columns loads them for all the rows with a single query of the
+ * {@link LazyBlobReader} of the rows.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <T>
+ */
+public class LazyBlobLoader<T extends LazyBlobRow> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Readers of the registered row types, for the loaders read back from
+	 * their serialized form, such as the snapshots of the service cache.
+	 */
+	private static final Map<Class<?>, LazyBlobReader<?>> registeredReaders = new ConcurrentHashMap<>();
+
+	private transient LazyBlobReader<T> reader;
+
+	private final Class<T> rowType;
+
+	private final List<T> rows;
+
+	public LazyBlobLoader(LazyBlobReader<T> reader, List<T> rows) {
+		this.reader = reader;
+		this.rowType = reader.getRowType();
+		this.rows = new ArrayList<>(rows);
+	}
+
+	static void registerReader(LazyBlobReader<?> reader) {
+		registeredReaders.put(reader.getRowType(), reader);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException,
+			ClassNotFoundException {
+		in.defaultReadObject();
+		reader = (LazyBlobReader<T>) registeredReaders.get(rowType);
+	}
+
+	/**
+	 * Attaches the rows to this loader, they load their BLOB columns through
+	 * it from now on.
+	 */
+	public void attach() {
+		for (T row : rows) {
+			row.attachBlobLoader(this);
+		}
+	}
+
+	/**
+	 * Loads the BLOB columns of the rows which are still attached to this
+	 * loader. The rows are detached first, so their setters do not trigger
+	 * the loading again.
+	 */
+	public synchronized void load() {
+		Map<Integer, T> pendingRows = new LinkedHashMap<>();
+		for (T row : rows) {
+			if (row.detachBlobLoader(this)) {
+				pendingRows.put(row.getId(), row);
+			}
+		}
+		if (pendingRows.isEmpty()) {
+			return;
+		}
+		if (reader == null) {
+			// the reader of the rows has not been registered in this JVM
+			throw new MyCollabException("Can not load the BLOB columns of rows "
+					+ pendingRows.keySet() + " after deserialization");
+		}
+		reader.readBlobs(pendingRows);
+	}
+}
@@ -0,0 +1,52 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads the BLOB columns of the {@link LazyBlobRow} rows of one type. The
+ * readers register themselves in the {@link LazyBlobInterceptor}, which
+ * gives them to the {@link LazyBlobLoader} of the rows it reads.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <T>
+ */
+public interface LazyBlobReader<T extends LazyBlobRow> {
+
+	/**
+	 * @return type of the rows, its subclasses are read too
+	 */
+	Class<T> getRowType();
+
+	/**
+	 * @return names of the properties read by {@link #readBlobs(Map)}
+	 */
+	Collection<String> getBlobProperties();
+
+	/**
+	 * Reads the BLOB columns of the rows in one query and sets them to the
+	 * rows.
+	 * 
+	 * @param rows
+	 *            rows by id
+	 */
+	void readBlobs(Map<Integer, T> rows);
+}
@@ -0,0 +1,48 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence;
+
+/**
+ * Domain type whose BLOB columns are loaded on first access when it is read
+ * by a list projection. Its BLOB getters and setters call
+ * {@link LazyBlobLoader#load()} of the attached loader before they read or
+ * write the field, so an update of a row read from a list does not write
+ * empty BLOB columns. The columns are read by the {@link LazyBlobReader} of
+ * the type.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public interface LazyBlobRow {
+
+	Integer getId();
+
+	/**
+	 * Attaches the row to the loader, unless its BLOB columns have already
+	 * been loaded.
+	 * 
+	 * @param loader
+	 */
+	void attachBlobLoader(LazyBlobLoader<?> loader);
+
+	/**
+	 * @param loader
+	 * @return true if the row was attached to the loader
+	 */
+	boolean detachBlobLoader(LazyBlobLoader<?> loader);
+}
@@ -0,0 +1,95 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registers the statement <code>streamListByCriteria</code> of every
+ * searchable mapper, see
+ * {@link ISearchableDAO#streamListByCriteria(com.esofthead.mycollab.core.arguments.SearchCriteria, org.apache.ibatis.session.ResultHandler)}
+ * . It is a copy of <code>findPagableListByCriteria</code> read with a
+ * forward only result set and the MySQL streaming fetch size, so the driver
+ * does not load the whole result in memory. A mapper can declare its own
+ * <code>streamListByCriteria</code> statement, it is kept as is.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class StreamingStatements {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(StreamingStatements.class);
+
+	private static final String SOURCE_STATEMENT = ".findPagableListByCriteria";
+
+	private static final String STREAMING_STATEMENT = ".streamListByCriteria";
+
+	/**
+	 * Fetch size which makes MySQL Connector/J stream the rows one by one.
+	 */
+	private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+	private StreamingStatements() {
+	}
+
+	public static void register(Configuration configuration) {
+		// short names have no namespace so they do not match. The names are
+		// copied first, adding statements while iterating them fails
+		List<String> sourceIds = new ArrayList<>();
+		for (String statementId : configuration.getMappedStatementNames()) {
+			if (statementId.endsWith(SOURCE_STATEMENT)) {
+				sourceIds.add(statementId);
+			}
+		}
+
+		for (String sourceId : sourceIds) {
+			String streamingId = sourceId.substring(0, sourceId.length()
+					- SOURCE_STATEMENT.length())
+					+ STREAMING_STATEMENT;
+			if (configuration.hasStatement(streamingId, false)) {
+				continue;
+			}
+
+			MappedStatement source = configuration.getMappedStatement(sourceId);
+			// the rows of an item with nested collections are merged while
+			// they follow each other, the result handler can not wait for the
+			// end of the result set
+			MappedStatement streaming = new MappedStatement.Builder(
+					configuration, streamingId, source.getSqlSource(),
+					SqlCommandType.SELECT).resource(source.getResource())
+					.statementType(source.getStatementType())
+					.parameterMap(source.getParameterMap())
+					.resultMaps(source.getResultMaps())
+					.resultSetType(ResultSetType.FORWARD_ONLY)
+					.fetchSize(STREAMING_FETCH_SIZE)
+					.timeout(source.getTimeout()).lang(source.getLang())
+					.resultOrdered(source.hasNestedResultMaps())
+					.flushCacheRequired(false).useCache(false).build();
+			configuration.addMappedStatement(streaming);
+		}
+		LOG.debug("Register {} streaming statements", sourceIds.size());
+	}
+}
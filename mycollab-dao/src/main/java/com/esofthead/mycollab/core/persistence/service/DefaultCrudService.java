@@ -19,15 +19,20 @@ package com.esofthead.mycollab.core.persistence.service;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.esofthead.mycollab.core.MyCollabException;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
 
 /**
  * The generic class that serves the basic operations in data access layer:
@@ -46,6 +51,11 @@ public abstract class DefaultCrudService<K extends Serializable, T> implements
 
 	private Method cacheUpdateMethod;
 
+	private Class<?> crudMapperType;
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
 	@Override
 	public T findByPrimaryKey(K primaryKey, int accountId) {
 		return getCrudMapper().selectByPrimaryKey(primaryKey);
@@ -53,37 +63,91 @@ public abstract class DefaultCrudService<K extends Serializable, T> implements
 
 	@Override
 	public int saveWithSession(T record, String username) {
+		BeanAccessor beanAccessor = BeanAccessor.of(record.getClass());
 		if (!StringUtils.isBlank(username)) {
-			try {
-				PropertyUtils.setProperty(record, "createduser", username);
-			} catch (Exception e) {
+			beanAccessor.setIfWritable(record, "createduser", username);
+		}
+
+		beanAccessor.setIfWritable(record, "createdtime",
+				new GregorianCalendar().getTime());
+		beanAccessor.setIfWritable(record, "lastupdatedtime",
+				new GregorianCalendar().getTime());
+
+		getCrudMapper().insertAndReturnKey(record);
+		if (beanAccessor.isReadable("id")) {
+			Object id = beanAccessor.get(record, "id");
+			return (id instanceof Integer) ? (Integer) id : 0;
+		}
+		return 0;
+	}
+
+	/**
+	 * The batch session joins the transaction of the service, so the rows
+	 * are committed or rolled back with it. The generated keys are set to the
+	 * records once the batch is flushed.
+	 */
+	@Override
+	public void massSaveWithSession(List<T> records, String username,
+			int accountId) {
+		if (records.isEmpty()) {
+			return;
+		}
 
+		Date now = new GregorianCalendar().getTime();
+		for (T record : records) {
+			BeanAccessor beanAccessor = BeanAccessor.of(record.getClass());
+			if (!StringUtils.isBlank(username)) {
+				beanAccessor.setIfWritable(record, "createduser", username);
 			}
+			beanAccessor.setIfWritable(record, "createdtime", now);
+			beanAccessor.setIfWritable(record, "lastupdatedtime", now);
 		}
 
-		try {
-			PropertyUtils.setProperty(record, "createdtime",
-					new GregorianCalendar().getTime());
-			PropertyUtils.setProperty(record, "lastupdatedtime",
-					new GregorianCalendar().getTime());
-		} catch (Exception e) {
+		Class<?> mapperType = getCrudMapperType();
+		if (mapperType == null || sqlSessionFactory == null) {
+			for (T record : records) {
+				getCrudMapper().insertAndReturnKey(record);
+			}
+			return;
 		}
 
-		getCrudMapper().insertAndReturnKey(record);
+		SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH,
+				false);
 		try {
-			return (Integer) PropertyUtils.getProperty(record, "id");
-		} catch (Exception e) {
-			return 0;
+			@SuppressWarnings("unchecked")
+			ICrudGenericDAO<K, T> batchMapper = (ICrudGenericDAO<K, T>) session
+					.getMapper(mapperType);
+			for (T record : records) {
+				batchMapper.insertAndReturnKey(record);
+			}
+			session.flushStatements();
+			session.commit();
+		} finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * The crud mapper is a proxy of the mapper interface, which is looked up
+	 * in the batch session.
+	 */
+	private Class<?> getCrudMapperType() {
+		if (crudMapperType == null) {
+			for (Class<?> mapperInterface : getCrudMapper().getClass()
+					.getInterfaces()) {
+				if (ICrudGenericDAO.class.isAssignableFrom(mapperInterface)) {
+					crudMapperType = mapperInterface;
+					break;
+				}
+			}
 		}
+		return crudMapperType;
 	}
 
 	@Override
 	public int updateWithSession(T record, String username) {
-		try {
-			PropertyUtils.setProperty(record, "lastupdatedtime",
-					new GregorianCalendar().getTime());
-		} catch (Exception e) {
-		}
+		BeanAccessor.of(record.getClass()).setIfWritable(record,
+				"lastupdatedtime", new GregorianCalendar().getTime());
 
 		if (cacheUpdateMethod == null) {
 			findCacheUpdateMethod();
@@ -112,11 +176,8 @@ public abstract class DefaultCrudService<K extends Serializable, T> implements
 	}
 
 	public int updateSelectiveWithSession(@CacheKey T record, String username) {
-		try {
-			PropertyUtils.setProperty(record, "lastupdatedtime",
-					new GregorianCalendar().getTime());
-		} catch (Exception e) {
-		}
+		BeanAccessor.of(record.getClass()).setIfWritable(record,
+				"lastupdatedtime", new GregorianCalendar().getTime());
 		return getCrudMapper().updateByPrimaryKeySelective(record);
 	}
 
@@ -16,12 +16,17 @@
  */
 package com.esofthead.mycollab.core.persistence.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
+import com.esofthead.mycollab.core.arguments.PagedResult;
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 
 /**
@@ -50,6 +55,51 @@ public abstract class DefaultSearchService<S extends SearchCriteria> implements
 						.getNumberOfItems()));
 	}
 
+	@Override
+	public void streamListByCriteria(S criteria, ResultHandler handler) {
+		getSearchMapper().streamListByCriteria(criteria, handler);
+	}
+
+	/**
+	 * Columns of the search mapper which can be used as keyset of
+	 * {@link #findPagableListBySeek(SearchRequest, SeekCursor)}. They must be
+	 * indexed, the seek predicate of the mapper breaks ties by the id and
+	 * keeps the rows whose column is null.
+	 * 
+	 * @return lower case column names
+	 */
+	protected Set<String> getSeekableFields() {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public boolean isSeekable(S criteria) {
+		return SeekQueryHelper.isSeekable(getSearchMapper(),
+				getSeekableFields(), criteria);
+	}
+
+	@Override
+	public List findPagableListBySeek(SearchRequest<S> searchRequest,
+			SeekCursor cursor) {
+		S criteria = searchRequest.getSearchCriteria();
+		if (!isSeekable(criteria)) {
+			return findPagableListByCriteria(searchRequest);
+		}
+
+		return SeekQueryHelper.findPagableListBySeek(getSearchMapper(),
+				criteria, cursor,
+				(searchRequest.getCurrentPage() - 1)
+						* searchRequest.getNumberOfItems(),
+				searchRequest.getNumberOfItems());
+	}
+
+	@Override
+	public PagedResult findPagedResult(SearchRequest<S> searchRequest,
+			SeekCursor cursor) {
+		return PagedResultLoader.findPagedResult(this, getSearchMapper(),
+				searchRequest, cursor);
+	}
+
 	@Override
 	public List findAbsoluteListByCriteria(S searchCriteria, int firstIndex,
 			int numberOftems) {
@@ -18,16 +18,21 @@ package com.esofthead.mycollab.core.persistence.service;
 
 import java.beans.PropertyDescriptor;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.esofthead.mycollab.core.arguments.PagedResult;
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
 import com.esofthead.mycollab.core.arguments.SearchField;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.persistence.IMassUpdateDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 
@@ -48,24 +53,86 @@ public abstract class DefaultService<K extends Serializable, T, S extends Search
 
 	public abstract ISearchableDAO<S> getSearchMapper();
 
+	/**
+	 * Hook to rewrite the criteria before it is passed to the search mapper,
+	 * for instance to resolve a text filter with the search index. The given
+	 * criteria must not be modified, it may be shared with the caller.
+	 * 
+	 * @param criteria
+	 * @return
+	 */
+	protected S prepareSearchCriteria(S criteria) {
+		return criteria;
+	}
+
 	@Override
 	public int getTotalCount(S criteria) {
-		return getSearchMapper().getTotalCount(criteria);
+		return getSearchMapper().getTotalCount(prepareSearchCriteria(criteria));
 	}
 
 	@Override
 	public List findPagableListByCriteria(SearchRequest<S> searchRequest) {
 		return getSearchMapper().findPagableListByCriteria(
-				searchRequest.getSearchCriteria(),
+				prepareSearchCriteria(searchRequest.getSearchCriteria()),
 				new RowBounds((searchRequest.getCurrentPage() - 1)
 						* searchRequest.getNumberOfItems(), searchRequest
 						.getNumberOfItems()));
 	}
 
+	@Override
+	public void streamListByCriteria(S criteria, ResultHandler handler) {
+		getSearchMapper().streamListByCriteria(prepareSearchCriteria(criteria), handler);
+	}
+
+	/**
+	 * Columns of the search mapper which can be used as keyset of
+	 * {@link #findPagableListBySeek(SearchRequest, SeekCursor)}. They must be
+	 * indexed, the seek predicate of the mapper breaks ties by the id and
+	 * keeps the rows whose column is null.
+	 * 
+	 * @return lower case column names
+	 */
+	protected Set<String> getSeekableFields() {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public boolean isSeekable(S criteria) {
+		return SeekQueryHelper.isSeekable(getSearchMapper(),
+				getSeekableFields(), criteria);
+	}
+
+	@Override
+	public List findPagableListBySeek(SearchRequest<S> searchRequest,
+			SeekCursor cursor) {
+		S criteria = searchRequest.getSearchCriteria();
+		if (!isSeekable(criteria)) {
+			return findPagableListByCriteria(searchRequest);
+		}
+
+		return SeekQueryHelper.findPagableListBySeek(getSearchMapper(),
+				prepareSearchCriteria(criteria), cursor,
+				(searchRequest.getCurrentPage() - 1)
+						* searchRequest.getNumberOfItems(),
+				searchRequest.getNumberOfItems());
+	}
+
+	@Override
+	public PagedResult findPagedResult(SearchRequest<S> searchRequest,
+			SeekCursor cursor) {
+		SearchRequest<S> preparedRequest = new SearchRequest<>(
+				prepareSearchCriteria(searchRequest.getSearchCriteria()),
+				searchRequest.getCurrentPage(),
+				searchRequest.getNumberOfItems());
+		return PagedResultLoader.findPagedResult(this, getSearchMapper(),
+				preparedRequest, cursor);
+	}
+
 	@Override
 	public List findAbsoluteListByCriteria(S searchCriteria, int firstIndex,
 			int numberOfItems) {
-		return getSearchMapper().findPagableListByCriteria(searchCriteria,
+		return getSearchMapper().findPagableListByCriteria(
+				prepareSearchCriteria(searchCriteria),
 				new RowBounds(firstIndex, numberOfItems));
 	}
 
@@ -42,6 +42,20 @@ public interface ICrudService<K extends Serializable, T> extends IService {
 	@CacheEvict
 	int saveWithSession(@CacheKey T record, String username);
 
+	/**
+	 * Inserts the records with a batch executor. The records are written
+	 * without the activity, audit and notification of
+	 * {@link #saveWithSession(Object, String)}, callers are expected to
+	 * summarize the operation themselves.
+	 * 
+	 * @param records
+	 * @param username
+	 * @param sAccountId
+	 */
+	@CacheEvict
+	void massSaveWithSession(List<T> records, String username,
+			@CacheKey int sAccountId);
+
 	/**
 	 * 
 	 * @param record
@@ -18,8 +18,12 @@ package com.esofthead.mycollab.core.persistence.service;
 
 import java.util.List;
 
+import org.apache.ibatis.session.ResultHandler;
+
+import com.esofthead.mycollab.core.arguments.PagedResult;
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
@@ -48,6 +52,56 @@ public interface ISearchableService<S extends SearchCriteria> extends IService {
 	@Cacheable
 	List findPagableListByCriteria(@CacheKey SearchRequest<S> searchRequest);
 
+	/**
+	 * Reads all items of the criteria in one query and passes them one by one
+	 * to <code>handler</code>, so exports do not keep the items in memory nor
+	 * page through them. The connection is busy until the method returns, the
+	 * handler must not query the database.
+	 * 
+	 * @param criteria
+	 * @param handler
+	 */
+	void streamListByCriteria(S criteria, ResultHandler handler);
+
+	/**
+	 * Keyset (seek) variant of
+	 * {@link #findPagableListByCriteria(SearchRequest)}. When the order by
+	 * field of the criteria is not seekable, or the cursor is
+	 * <code>null</code>, the current page of the request is used.
+	 * 
+	 * @param searchRequest
+	 * @param cursor
+	 *            last row of the previous page
+	 * @return
+	 */
+	@Cacheable
+	List findPagableListBySeek(@CacheKey SearchRequest<S> searchRequest,
+			SeekCursor cursor);
+
+	/**
+	 * Page of the request together with the total count of its criteria, so
+	 * list views need one call instead of
+	 * {@link #getTotalCount(SearchCriteria)} and
+	 * {@link #findPagableListByCriteria(SearchRequest)}.
+	 * 
+	 * @param searchRequest
+	 * @param cursor
+	 *            last row of the previous page, may be <code>null</code>. It
+	 *            is used only if the criteria is seekable
+	 * @return
+	 */
+	@Cacheable
+	PagedResult findPagedResult(@CacheKey SearchRequest<S> searchRequest,
+			SeekCursor cursor);
+
+	/**
+	 * 
+	 * @param criteria
+	 * @return <code>true</code> if the list of criteria can be paged with
+	 *         {@link #findPagableListBySeek(SearchRequest, SeekCursor)}
+	 */
+	boolean isSeekable(S criteria);
+
 	/**
 	 * 
 	 * @param searchRequest
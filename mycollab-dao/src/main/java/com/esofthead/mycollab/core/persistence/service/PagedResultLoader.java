@@ -0,0 +1,81 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence.service;
+
+import java.util.List;
+
+import org.apache.ibatis.session.RowBounds;
+
+import com.esofthead.mycollab.core.arguments.PagedResult;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
+import com.esofthead.mycollab.core.persistence.ISearchableDAO;
+
+/**
+ * Loads a page and its total count with one query when possible. One more
+ * row than the page size is read: when there is no row after the page, the
+ * total count is known without counting. Otherwise the count of the same
+ * criteria is reused from {@link TotalCountCache} until the service cache
+ * is cleaned, so moving between pages does not count again.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+class PagedResultLoader {
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <S extends SearchCriteria> PagedResult findPagedResult(
+			ISearchableService<S> service, ISearchableDAO<S> mapper,
+			SearchRequest<S> searchRequest, SeekCursor cursor) {
+		S criteria = searchRequest.getSearchCriteria();
+		int numberOfItems = searchRequest.getNumberOfItems();
+		int offset = (searchRequest.getCurrentPage() - 1) * numberOfItems;
+
+		List items;
+		if (service.isSeekable(criteria)) {
+			items = SeekQueryHelper.findPagableListBySeek(mapper, criteria,
+					cursor, offset, numberOfItems + 1);
+		} else {
+			items = mapper.findPagableListByCriteria(criteria, new RowBounds(
+					offset, numberOfItems + 1));
+		}
+
+		boolean hasMore = items.size() > numberOfItems;
+		if (hasMore) {
+			items.remove(numberOfItems);
+		}
+
+		if (!hasMore && (offset == 0 || !items.isEmpty())) {
+			int totalCount = offset + items.size();
+			TotalCountCache.putTotalCount(service, criteria, totalCount);
+			return new PagedResult(items, totalCount, false, false);
+		}
+
+		Integer totalCount = TotalCountCache.getTotalCount(service, criteria);
+		if (totalCount != null) {
+			// the count may be outdated, but never lower than what we read
+			int minCount = offset + items.size() + (hasMore ? 1 : 0);
+			return new PagedResult(items, Math.max(totalCount, minCount),
+					hasMore, true);
+		}
+
+		totalCount = mapper.getTotalCount(criteria);
+		TotalCountCache.putTotalCount(service, criteria, totalCount);
+		return new PagedResult(items, totalCount, hasMore, false);
+	}
+}
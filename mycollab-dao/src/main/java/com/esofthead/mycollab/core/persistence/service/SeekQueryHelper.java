@@ -0,0 +1,66 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence.service;
+
+import java.util.List;
+import java.util.Set;
+
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
+import com.esofthead.mycollab.core.persistence.ISearchableDAO;
+import com.esofthead.mycollab.core.persistence.ISeekableDAO;
+
+/**
+ * Seek (keyset) pagination shared by {@link DefaultService} and
+ * {@link DefaultSearchService}.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+class SeekQueryHelper {
+
+	/**
+	 * 
+	 * @param seekableFields
+	 *            lower case columns which can be used as keyset
+	 * @return true if the mapper supports the seek query and the criteria is
+	 *         ordered by a seekable column
+	 */
+	static boolean isSeekable(ISearchableDAO<?> mapper,
+			Set<String> seekableFields, SearchCriteria criteria) {
+		if (criteria == null || !(mapper instanceof ISeekableDAO)) {
+			return false;
+		}
+		String orderByField = criteria.getOrderByField();
+		return orderByField != null
+				&& seekableFields.contains(SeekCursor
+						.toPropertyName(orderByField));
+	}
+
+	/**
+	 * Reads the rows after <code>cursor</code>, or the rows from
+	 * <code>offset</code> when there is no cursor.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <S extends SearchCriteria> List findPagableListBySeek(
+			ISearchableDAO<S> mapper, S criteria, SeekCursor cursor,
+			int offset, int limit) {
+		return ((ISeekableDAO<S>) mapper).findPagableListBySeek(criteria,
+				cursor, (cursor == null) ? offset : 0, limit);
+	}
+}
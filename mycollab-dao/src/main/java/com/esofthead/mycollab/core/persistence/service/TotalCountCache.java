@@ -0,0 +1,132 @@
+/**
+ * This file is part of mycollab-dao.
+ *
+ * mycollab-dao is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-dao is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-dao.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.core.persistence.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.cache.ServiceCacheKey;
+import com.esofthead.mycollab.core.utils.ClassUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Total counts reused by {@link PagedResultLoader} while moving between the
+ * pages of the same criteria. They are kept in one region per account and
+ * service interface, like the service cache, and are dropped with the
+ * service cache, so a page read after a change is not given the count from
+ * before the change.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public final class TotalCountCache {
+	private static final int COUNT_EXPIRED_SECONDS = 30;
+
+	private static final int MAX_REGION_ENTRIES = 1000;
+
+	/**
+	 * Account of the counts whose criteria has no account.
+	 */
+	private static final String NO_ACCOUNT = "-";
+
+	private static final ConcurrentMap<String, Cache<ServiceCacheKey, Integer>> regions = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<Class<?>, String> serviceNames = new ConcurrentHashMap<>();
+
+	private TotalCountCache() {
+	}
+
+	static Integer getTotalCount(Object service, SearchCriteria criteria) {
+		Cache<ServiceCacheKey, Integer> region = regions.get(getRegionKey(
+				getAccountKey(criteria), getServiceName(service)));
+		return (region != null) ? region.getIfPresent(getCountKey(criteria))
+				: null;
+	}
+
+	static void putTotalCount(Object service, SearchCriteria criteria,
+			int totalCount) {
+		String regionKey = getRegionKey(getAccountKey(criteria),
+				getServiceName(service));
+		Cache<ServiceCacheKey, Integer> region = regions.get(regionKey);
+		if (region == null) {
+			region = CacheBuilder.newBuilder().maximumSize(MAX_REGION_ENTRIES)
+					.expireAfterWrite(COUNT_EXPIRED_SECONDS, TimeUnit.SECONDS)
+					.build();
+			Cache<ServiceCacheKey, Integer> existingRegion = regions.putIfAbsent(
+					regionKey, region);
+			if (existingRegion != null) {
+				region = existingRegion;
+			}
+		}
+		region.put(getCountKey(criteria), totalCount);
+	}
+
+	/**
+	 * Drops the counts of service <code>serviceName</code> in account
+	 * <code>accountId</code>, and the ones whose criteria has no account.
+	 * 
+	 * @param accountId
+	 * @param serviceName
+	 *            name of the service interface
+	 */
+	public static void evict(Integer accountId, String serviceName) {
+		regions.remove(getRegionKey(accountId.toString(), serviceName));
+		regions.remove(getRegionKey(NO_ACCOUNT, serviceName));
+	}
+
+	private static String getRegionKey(String accountKey, String serviceName) {
+		return accountKey + "-" + serviceName;
+	}
+
+	private static String getAccountKey(SearchCriteria criteria) {
+		if (criteria != null && criteria.getSaccountid() != null
+				&& criteria.getSaccountid().getValue() != null) {
+			return criteria.getSaccountid().getValue().toString();
+		}
+		return NO_ACCOUNT;
+	}
+
+	/**
+	 * The key the service cache gives to <code>getTotalCount(criteria)</code>,
+	 * the criteria is hashed without serializing it.
+	 */
+	private static ServiceCacheKey getCountKey(SearchCriteria criteria) {
+		return ServiceCacheKey.construct("getTotalCount",
+				new Object[] { criteria });
+	}
+
+	/**
+	 * The counts are grouped by the service interface, the name the service
+	 * cache is cleaned with.
+	 */
+	private static String getServiceName(Object service) {
+		Class<?> cls = service.getClass();
+		String serviceName = serviceNames.get(cls);
+		if (serviceName == null) {
+			Class<?> serviceInterface = ClassUtils.getInterfaceInstanceOf(cls,
+					IService.class);
+			serviceName = (serviceInterface != null) ? serviceInterface
+					.getName() : cls.getName();
+			serviceNames.putIfAbsent(cls, serviceName);
+		}
+		return serviceName;
+	}
+}
@@ -36,5 +36,8 @@ public enum FileI18nEnum {
 	EXPORT_FILE,
 	NOT_ATTACH_FILE_WARNING,
 	IMPORT_FILE_SUCCESS,
+	IMPORT_FILE_RESULT,
+	IMPORT_FILE_PROGRESS,
+	IMPORT_MAP_FIELD_WARNING,
 	CHOOSE_SUPPORT_FILE_TYPES_WARNING
 }
@@ -28,6 +28,7 @@ public enum GenericI18Enum {
 	NOTIFICATION_RECORD_IS_NOT_EXISTED,
 	NOTIFICATION_NO_PERMISSION_DO_TASK,
 	NOTIFICATION_FEATURE_NOT_AVAILABLE_IN_SUBSCRIPTION,
+	NOTIFICATION_EXPORT_REJECTED,
 	
 	WINDOW_ATTENTION_TITLE,
 	WINDOW_INFORMATION_TITLE,
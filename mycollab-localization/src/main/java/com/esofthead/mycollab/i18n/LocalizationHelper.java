@@ -23,6 +23,7 @@ import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -107,11 +108,13 @@ public class LocalizationHelper {
 		}
 	}
 
-	private static Map<String, String> cacheFile = new HashMap<>();
+	private static Map<String, String> cacheFile = new ConcurrentHashMap<>();
 
 	public static String templatePath(String fileTemplatePath, Locale locale) {
-		String key = (locale != null) ? (fileTemplatePath + locale.toString())
-				: (fileTemplatePath + Locale.US.toString());
+		if (locale == null) {
+			locale = Locale.US;
+		}
+		String key = fileTemplatePath + locale.toString();
 		String filePath = cacheFile.get(key);
 		if (filePath != null) {
 			return filePath;
@@ -25,6 +25,7 @@ import ch.qos.cal10n.LocaleData;
 public enum CrmCommonI18nEnum {
 	WIDGET_ACTIVITY_CREATE_ACTION,
 	WIDGET_ACTIVITY_UPDATE_ACTION,
+	WIDGET_ACTIVITY_IMPORT_ACTION,
 
 	DIALOG_CHANGEL_LOG_TITLE,
 	DIALOG_DELETE_RELATIONSHIP_TITLE,
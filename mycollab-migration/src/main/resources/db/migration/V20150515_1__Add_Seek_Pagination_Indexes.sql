@@ -0,0 +1,7 @@
+ALTER TABLE `m_prj_task`
+ADD INDEX `IDX_m_prj_task_seek_1` (`projectid` ASC, `createdTime` ASC, `id` ASC),
+ADD INDEX `IDX_m_prj_task_seek_2` (`projectid` ASC, `taskkey` ASC, `id` ASC);
+
+ALTER TABLE `m_tracker_bug`
+ADD INDEX `IDX_m_tracker_bug_seek_1` (`projectid` ASC, `createdTime` ASC, `id` ASC),
+ADD INDEX `IDX_m_tracker_bug_seek_2` (`projectid` ASC, `bugkey` ASC, `id` ASC);
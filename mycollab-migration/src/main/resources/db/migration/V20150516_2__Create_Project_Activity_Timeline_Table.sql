@@ -0,0 +1,66 @@
+CREATE TABLE `m_prj_activity_timeline` (
+  `id` INT(11) NOT NULL,
+  `sAccountId` INT(11) NOT NULL,
+  `projectId` INT(10) UNSIGNED NOT NULL,
+  `module` VARCHAR(45) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `type` VARCHAR(45) COLLATE utf8mb4_unicode_ci NOT NULL,
+  `typeId` TEXT COLLATE utf8mb4_unicode_ci NOT NULL,
+  `action` VARCHAR(45) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `createdUser` VARCHAR(45) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `createdTime` DATETIME DEFAULT NULL,
+  `itemKey` INT(11) DEFAULT NULL,
+  `nameField` TEXT COLLATE utf8mb4_unicode_ci,
+  `comment` TEXT COLLATE utf8mb4_unicode_ci,
+  `createdUserFullName` VARCHAR(255) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `createdUserAvatarId` VARCHAR(100) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `projectName` VARCHAR(255) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `projectShortName` VARCHAR(45) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  `auditLogId` INT(10) UNSIGNED DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `INDEX_m_prj_activity_timeline_1` (`projectId`, `createdTime`),
+  KEY `INDEX_m_prj_activity_timeline_2` (`type`, `typeId`(100)),
+  KEY `FK_m_prj_activity_timeline_3_idx` (`auditLogId`),
+  CONSTRAINT `FK_m_prj_activity_timeline_1` FOREIGN KEY (`id`) REFERENCES `s_activitystream` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `FK_m_prj_activity_timeline_2` FOREIGN KEY (`projectId`) REFERENCES `m_prj_project` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `FK_m_prj_activity_timeline_3` FOREIGN KEY (`auditLogId`) REFERENCES `m_audit_log` (`id`) ON DELETE SET NULL ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO `m_prj_activity_timeline` (`id`, `sAccountId`, `projectId`, `module`, `type`, `typeId`, `action`,
+  `createdUser`, `createdTime`, `itemKey`, `nameField`, `comment`, `createdUserFullName`, `createdUserAvatarId`,
+  `projectName`, `projectShortName`, `auditLogId`)
+SELECT activity.id, activity.sAccountId, activity.projectId, activity.module, activity.type, activity.typeId,
+  activity.action, activity.createdUser, activity.createdTime, activity.itemKey,
+  IF(activity.action = 'comment', activity.itemName, activity.nameField),
+  IF(activity.action = 'comment', activity.nameField, NULL),
+  activity.createdUserFullName, activity.createdUserAvatarId, activity.projectName, activity.projectShortName,
+  activity.auditLogId
+FROM (SELECT s_activitystream.id, s_activitystream.sAccountId, s_activitystream.extraTypeId AS projectId,
+    s_activitystream.module, s_activitystream.type, s_activitystream.typeId, s_activitystream.action,
+    s_activitystream.createdUser, s_activitystream.createdTime, s_activitystream.nameField,
+    CASE s_activitystream.type
+      WHEN 'Project-Bug' THEN (SELECT m_tracker_bug.bugkey FROM m_tracker_bug WHERE m_tracker_bug.id = s_activitystream.typeId)
+      WHEN 'Project-Task' THEN (SELECT m_prj_task.taskkey FROM m_prj_task WHERE m_prj_task.id = s_activitystream.typeId)
+      ELSE NULL
+    END AS itemKey,
+    CASE s_activitystream.type
+      WHEN 'Project-Bug' THEN (SELECT m_tracker_bug.summary FROM m_tracker_bug WHERE m_tracker_bug.id = s_activitystream.typeId)
+      WHEN 'Project-Task' THEN (SELECT m_prj_task.taskname FROM m_prj_task WHERE m_prj_task.id = s_activitystream.typeId)
+      WHEN 'Project-Message' THEN (SELECT m_prj_message.title FROM m_prj_message WHERE m_prj_message.id = s_activitystream.typeId)
+      WHEN 'Project-TaskList' THEN (SELECT m_prj_task_list.name FROM m_prj_task_list WHERE m_prj_task_list.id = s_activitystream.typeId)
+      WHEN 'Project-Component' THEN (SELECT m_tracker_component.componentname FROM m_tracker_component WHERE m_tracker_component.id = s_activitystream.typeId)
+      WHEN 'Project-Version' THEN (SELECT m_tracker_version.versionname FROM m_tracker_version WHERE m_tracker_version.id = s_activitystream.typeId)
+      WHEN 'Project-Risk' THEN (SELECT m_prj_risk.riskname FROM m_prj_risk WHERE m_prj_risk.id = s_activitystream.typeId)
+      WHEN 'Project-Problem' THEN (SELECT m_prj_problem.issuename FROM m_prj_problem WHERE m_prj_problem.id = s_activitystream.typeId)
+      ELSE NULL
+    END AS itemName,
+    concat(s_user.firstname, ' ', LTRIM(concat(IFNULL(s_user.middlename, ''), ' ')), s_user.lastname) AS createdUserFullName,
+    s_user.avatarId AS createdUserAvatarId, m_prj_project.name AS projectName, m_prj_project.shortname AS projectShortName,
+    (SELECT MAX(m_audit_log.id) FROM m_audit_log WHERE m_audit_log.activityLogId = s_activitystream.id) AS auditLogId
+  FROM s_activitystream
+    INNER JOIN m_prj_project ON (m_prj_project.id = s_activitystream.extraTypeId)
+    LEFT OUTER JOIN s_user ON (s_user.username = s_activitystream.createdUser)
+  WHERE s_activitystream.module = 'Project'
+  ) AS activity
+WHERE (activity.type NOT IN ('Project-Bug', 'Project-Task') OR activity.itemName IS NOT NULL)
+  AND (activity.action != 'comment'
+    OR (activity.action = 'comment' AND (activity.type = 'Project-Page' OR activity.itemName IS NOT NULL)));
@@ -0,0 +1,21 @@
+CREATE TABLE `m_prj_item_key_sequence` (
+  `projectId` INT(10) UNSIGNED NOT NULL,
+  `type` VARCHAR(45) COLLATE utf8mb4_unicode_ci NOT NULL,
+  `nextKey` INT(11) NOT NULL,
+  PRIMARY KEY (`projectId`, `type`),
+  CONSTRAINT `FK_m_prj_item_key_sequence_1`
+    FOREIGN KEY (`projectId`)
+    REFERENCES `m_prj_project` (`id`)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO `m_prj_item_key_sequence` (`projectId`, `type`, `nextKey`)
+SELECT m_prj_project.id, 'Project-Task',
+  IFNULL((SELECT MAX(m_prj_task.taskkey) FROM m_prj_task WHERE m_prj_task.projectid=m_prj_project.id), 0) + 1
+FROM m_prj_project;
+
+INSERT INTO `m_prj_item_key_sequence` (`projectId`, `type`, `nextKey`)
+SELECT m_prj_project.id, 'Project-Bug',
+  IFNULL((SELECT MAX(m_tracker_bug.bugkey) FROM m_tracker_bug WHERE m_tracker_bug.projectid=m_prj_project.id), 0) + 1
+FROM m_prj_project;
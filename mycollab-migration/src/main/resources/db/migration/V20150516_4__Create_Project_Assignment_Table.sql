@@ -0,0 +1,54 @@
+CREATE TABLE `m_prj_assignment` (
+  `type` VARCHAR(45) COLLATE utf8mb4_unicode_ci NOT NULL,
+  `typeId` INT(11) NOT NULL,
+  `extraTypeId` INT(11) NULL,
+  `sAccountId` INT(11) NOT NULL,
+  `projectId` INT(10) UNSIGNED NOT NULL,
+  `milestoneId` INT(11) NULL,
+  `name` VARCHAR(1000) COLLATE utf8mb4_unicode_ci NULL,
+  `assignUser` VARCHAR(45) COLLATE utf8mb4_unicode_ci NULL,
+  `dueDate` DATETIME NULL,
+  `status` VARCHAR(45) COLLATE utf8mb4_unicode_ci NULL,
+  `priority` VARCHAR(45) COLLATE utf8mb4_unicode_ci NULL,
+  `isOpen` TINYINT(1) NOT NULL DEFAULT 0,
+  `lastUpdatedTime` DATETIME NULL,
+  PRIMARY KEY (`type`, `typeId`),
+  INDEX `IDX_m_prj_assignment_1` (`sAccountId` ASC, `assignUser` ASC, `isOpen` ASC, `lastUpdatedTime` ASC),
+  INDEX `IDX_m_prj_assignment_2` (`projectId` ASC, `isOpen` ASC, `lastUpdatedTime` ASC),
+  INDEX `IDX_m_prj_assignment_3` (`milestoneId` ASC),
+  CONSTRAINT `FK_m_prj_assignment_1`
+    FOREIGN KEY (`projectId`)
+    REFERENCES `m_prj_project` (`id`)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO `m_prj_assignment` (`type`, `typeId`, `extraTypeId`, `sAccountId`, `projectId`, `milestoneId`, `name`,
+  `assignUser`, `dueDate`, `status`, `priority`, `isOpen`, `lastUpdatedTime`)
+SELECT 'Project-Task', m_prj_task.id, m_prj_task.taskkey, m_prj_task.sAccountId, m_prj_task.projectid,
+  m_prj_task_list.milestoneId, m_prj_task.taskname, m_prj_task.assignUser, m_prj_task.deadline,
+  m_prj_task.status, m_prj_task.priority, m_prj_task.status='Open', m_prj_task.lastUpdatedTime
+FROM m_prj_task
+  LEFT OUTER JOIN m_prj_task_list ON (m_prj_task.tasklistid=m_prj_task_list.id);
+
+INSERT INTO `m_prj_assignment` (`type`, `typeId`, `extraTypeId`, `sAccountId`, `projectId`, `milestoneId`, `name`,
+  `assignUser`, `dueDate`, `status`, `priority`, `isOpen`, `lastUpdatedTime`)
+SELECT 'Project-Bug', m_tracker_bug.id, m_tracker_bug.bugkey, m_tracker_bug.sAccountId, m_tracker_bug.projectid,
+  m_tracker_bug.milestoneId, m_tracker_bug.summary, m_tracker_bug.assignuser,
+  m_tracker_bug.duedate, m_tracker_bug.status, m_tracker_bug.priority,
+  m_tracker_bug.status IN ('Open', 'InProgress', 'Reopenned', 'Test Pending'), m_tracker_bug.lastUpdatedTime
+FROM m_tracker_bug;
+
+INSERT INTO `m_prj_assignment` (`type`, `typeId`, `extraTypeId`, `sAccountId`, `projectId`, `milestoneId`, `name`,
+  `assignUser`, `dueDate`, `status`, `priority`, `isOpen`, `lastUpdatedTime`)
+SELECT 'Project-Risk', m_prj_risk.id, NULL, m_prj_risk.sAccountId, m_prj_risk.projectid, NULL, m_prj_risk.riskname,
+  m_prj_risk.assigntouser, m_prj_risk.datedue, m_prj_risk.status, NULL,
+  m_prj_risk.status='Open', m_prj_risk.lastUpdatedTime
+FROM m_prj_risk;
+
+INSERT INTO `m_prj_assignment` (`type`, `typeId`, `extraTypeId`, `sAccountId`, `projectId`, `milestoneId`, `name`,
+  `assignUser`, `dueDate`, `status`, `priority`, `isOpen`, `lastUpdatedTime`)
+SELECT 'Project-Problem', m_prj_problem.id, NULL, m_prj_problem.sAccountId, m_prj_problem.projectid, NULL,
+  m_prj_problem.issuename, m_prj_problem.assigntouser, m_prj_problem.datedue,
+  m_prj_problem.status, m_prj_problem.priority, m_prj_problem.status='Open', m_prj_problem.lastUpdatedTime
+FROM m_prj_problem;
@@ -0,0 +1,2 @@
+ALTER TABLE `m_prj_activity_timeline`
+ADD INDEX `IDX_m_prj_activity_timeline_seek_1` (`sAccountId` ASC, `projectId` ASC, `createdTime` ASC, `id` ASC);
@@ -0,0 +1,2 @@
+ALTER TABLE `s_activitystream`
+ADD COLUMN `itemCount` INT(11) NULL;
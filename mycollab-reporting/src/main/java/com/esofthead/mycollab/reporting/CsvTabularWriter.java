@@ -0,0 +1,169 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import com.esofthead.mycollab.configuration.LocaleHelper;
+import com.esofthead.mycollab.core.format.IDateFormat;
+
+/**
+ * Writes the rows as RFC 4180 comma separated values in UTF-8, with a byte
+ * order mark so spreadsheet applications do not read the file in the ANSI code
+ * page. Dates and percentages are formatted the same way as the report
+ * expressions of the column, in the locale and time zone of the user. A text
+ * starting with <code>=</code>, <code>+</code>, <code>-</code> or
+ * <code>@</code> is prefixed with a quote, so a spreadsheet application does
+ * not evaluate it as a formula.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class CsvTabularWriter implements TabularWriter {
+	private static final char SEPARATOR = ',';
+
+	private static final String LINE_END = "\r\n";
+
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	private final Writer writer;
+
+	private final SimpleDateFormat dateFormat;
+
+	private final SimpleDateFormat dateTimeFormat;
+
+	private final DecimalFormat percentageFormat;
+
+	private List<TabularColumn> columns;
+
+	public CsvTabularWriter(OutputStream outStream, Locale locale,
+			TimeZone timeZone) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outStream,
+				StandardCharsets.UTF_8));
+		IDateFormat localeFormat = LocaleHelper.getDateFormatInstance(locale);
+		this.dateFormat = new SimpleDateFormat(localeFormat.getDateFormat(),
+				locale);
+		this.dateFormat.setTimeZone(timeZone);
+		this.dateTimeFormat = new SimpleDateFormat(
+				localeFormat.getDateTimeFormat(), locale);
+		this.dateTimeFormat.setTimeZone(timeZone);
+		this.percentageFormat = new DecimalFormat("#",
+				DecimalFormatSymbols.getInstance(locale));
+		this.percentageFormat.setRoundingMode(RoundingMode.HALF_EVEN);
+		writer.write(BYTE_ORDER_MARK);
+	}
+
+	@Override
+	public void writeHeader(List<TabularColumn> columns) throws IOException {
+		this.columns = columns;
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+			writeValue(escapeFormula(columns.get(i).getTitle()));
+		}
+		writer.write(LINE_END);
+	}
+
+	@Override
+	public void writeRow(Object bean) throws IOException {
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+			TabularColumn column = columns.get(i);
+			writeValue(formatValue(column, column.getValue(bean)));
+		}
+		writer.write(LINE_END);
+	}
+
+	private String formatValue(TabularColumn column, Object value) {
+		if (value == null) {
+			return "";
+		} else if (value instanceof Date) {
+			return (column.getCellType() == TabularColumn.CellType.DATE_TIME) ? dateTimeFormat
+					.format((Date) value) : dateFormat.format((Date) value);
+		} else if (column.getCellType() == TabularColumn.CellType.PERCENTAGE
+				&& value instanceof Number) {
+			return percentageFormat.format(value) + "%";
+		} else if (value instanceof Number) {
+			return value.toString();
+		}
+		return escapeFormula(value.toString());
+	}
+
+	private static String escapeFormula(String value) {
+		if (value == null || value.isEmpty()) {
+			return value;
+		}
+
+		char first = value.charAt(0);
+		if (first == '=' || first == '+' || first == '-' || first == '@') {
+			return "'" + value;
+		}
+		return value;
+	}
+
+	private void writeValue(String value) throws IOException {
+		if (value == null || value.isEmpty()) {
+			return;
+		}
+
+		boolean quoted = false;
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (ch == SEPARATOR || ch == '"' || ch == '\r' || ch == '\n') {
+				quoted = true;
+				break;
+			}
+		}
+
+		if (!quoted) {
+			writer.write(value);
+			return;
+		}
+
+		writer.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (ch == '"') {
+				writer.write('"');
+			}
+			writer.write(ch);
+		}
+		writer.write('"');
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+}
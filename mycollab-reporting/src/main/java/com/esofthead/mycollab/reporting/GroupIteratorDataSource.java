@@ -16,75 +16,179 @@
  */
 package com.esofthead.mycollab.reporting;
 
-import java.util.List;
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.jasperreports.engine.JRDataSource;
 import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JRField;
 
 import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.esofthead.mycollab.core.MyCollabThread;
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
-import com.esofthead.mycollab.core.arguments.SearchRequest;
 import com.esofthead.mycollab.core.persistence.service.ISearchableService;
 
 /**
+ * Reads the items of the criteria with one streaming query. The query runs in
+ * its own thread and hands the items to the report through a bounded queue,
+ * so the memory used does not depend on the number of exported items. The
+ * query starts at the first read, and the data source must be closed when
+ * the export ends, fails or is cancelled so the reader releases its
+ * connection.
  * 
  * @author MyCollab Ltd.
  * @since 1.0
  * 
  */
 public class GroupIteratorDataSource<SearchService extends ISearchableService<S>, S extends SearchCriteria>
-		implements JRDataSource {
-	private static final int ITEMS_PER_PAGE = 20;
+		implements JRDataSource, Closeable {
 	private static final Logger LOG = LoggerFactory
 			.getLogger(GroupIteratorDataSource.class);
 
-	private int currentIndex = 0;
-	private int currentPage = 0;
+	private static final int QUEUE_SIZE = 200;
 
-	private SearchService searchService;
-	private S searchCriteria;
+	/**
+	 * The reader gives up when the report does not take any item for this
+	 * time, for instance because the export hangs without being closed.
+	 */
+	private static final long QUEUE_TIMEOUT_MINUTES = 5;
 
-	private List<?> currentData;
-	private Object currentItem;
+	private static final Object END_OF_DATA = new Object();
+
+	private final SearchService searchService;
+
+	private final S searchCriteria;
+
+	private final BlockingQueue<Object> items = new ArrayBlockingQueue<>(
+			QUEUE_SIZE);
+
+	private volatile boolean closed = false;
+
+	private volatile Throwable readError;
+
+	private Thread readerThread;
+
+	private volatile boolean finished = false;
 
-	private int totalItems;
+	private Object currentItem;
 
-	public GroupIteratorDataSource(SearchService searchService, S searchCriteria) {
+	public GroupIteratorDataSource(SearchService searchService,
+			S searchCriteria) {
 		this.searchService = searchService;
 		this.searchCriteria = searchCriteria;
+	}
+
+	private synchronized void startReader() {
+		if (readerThread != null || closed) {
+			return;
+		}
 
-		totalItems = searchService.getTotalCount(searchCriteria);
-		SearchRequest<S> searchRequest = new SearchRequest<>(searchCriteria,
-				currentPage, ITEMS_PER_PAGE);
-		currentData = searchService.findPagableListByCriteria(searchRequest);
+		readerThread = new MyCollabThread(new Runnable() {
+			@Override
+			public void run() {
+				long startTime = System.currentTimeMillis();
+				final int[] count = { 0 };
+				try {
+					searchService.streamListByCriteria(searchCriteria,
+							new ResultHandler() {
+								@Override
+								public void handleResult(ResultContext context) {
+									if (put(context.getResultObject())) {
+										count[0]++;
+									} else {
+										context.stop();
+									}
+								}
+							});
+				} catch (Throwable e) {
+					readError = e;
+				} finally {
+					put(END_OF_DATA);
+				}
+				LOG.debug("Read {} items in {} ms", count[0],
+						System.currentTimeMillis() - startTime);
+			}
+		});
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	private boolean put(Object item) {
+		if (closed) {
+			return false;
+		}
+		try {
+			if (items.offer(item, QUEUE_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+				return true;
+			}
+			LOG.warn("Stop reading the report data, it is not consumed");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		closed = true;
+		return false;
 	}
 
 	@Override
 	public boolean next() throws JRException {
-		boolean result = (currentIndex < totalItems);
-		if (result) {
-			if (currentIndex == (currentPage + 1) * ITEMS_PER_PAGE) {
-				currentPage = currentPage + 1;
-				SearchRequest<S> searchRequest = new SearchRequest<>(
-						searchCriteria, currentPage, ITEMS_PER_PAGE);
-				currentData = searchService
-						.findPagableListByCriteria(searchRequest);
-				LOG.debug("Current data {}", currentData.size());
-			}
+		if (finished) {
+			return false;
+		}
 
-			LOG.debug("Current index {} - {} - {} - {}", currentIndex, currentPage, currentData.size(), totalItems);
-			if (currentIndex % ITEMS_PER_PAGE < currentData.size()) {
-				currentItem = currentData.get(currentIndex % ITEMS_PER_PAGE);
-			}
+		startReader();
+		Object item;
+		try {
+			item = items.poll(QUEUE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			close();
+			Thread.currentThread().interrupt();
+			throw new JRException(e);
+		}
 
-			currentIndex = currentIndex + 1;
+		if (item == null) {
+			close();
+			throw new JRException("Timeout while reading the report data");
+		} else if (item == END_OF_DATA) {
+			finished = true;
+			// a reader stopped by close() fails with the interrupt
+			if (readError != null && !closed) {
+				throw new JRException(readError);
+			}
+			return false;
 		}
 
-		return result;
+		currentItem = item;
+		return true;
+	}
+
+	/**
+	 * Stops the query when the report does not need the remaining items. The
+	 * reader stops at its next item, or at once when it waits for the report
+	 * to take an item. It can be called from any thread, for instance when
+	 * the export is cancelled.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		finished = true;
+		items.clear();
+		// wakes up a report waiting for the next item
+		items.offer(END_OF_DATA);
+
+		Thread reader;
+		synchronized (this) {
+			reader = readerThread;
+		}
+		if (reader != null) {
+			reader.interrupt();
+		}
 	}
 
 	@Override
@@ -0,0 +1,141 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+import com.esofthead.mycollab.core.utils.BeanAccessor.PropertyAccessor;
+import com.esofthead.mycollab.reporting.expression.AbstractFieldExpression;
+import com.esofthead.mycollab.reporting.expression.DateExpression;
+import com.esofthead.mycollab.reporting.expression.DateTimeExpression;
+import com.esofthead.mycollab.reporting.expression.HyperlinkValue;
+import com.esofthead.mycollab.reporting.expression.MValue;
+import com.esofthead.mycollab.reporting.expression.PercentageNumberExpression;
+
+/**
+ * A column of a tabular export. The value of the column is read from a bean
+ * property, the property and the cell type are resolved once from the
+ * {@link MValue} registered in {@link ColumnBuilderClassMapper} for the
+ * column, so writing a row does not evaluate any report expression.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public final class TabularColumn {
+
+	public enum CellType {
+		TEXT, DATE, DATE_TIME, PERCENTAGE
+	}
+
+	private final String title;
+
+	private final int width;
+
+	private final CellType cellType;
+
+	private final PropertyAccessor property;
+
+	TabularColumn(String title, int width, CellType cellType,
+			PropertyAccessor property) {
+		this.title = title;
+		this.width = width;
+		this.cellType = cellType;
+		this.property = property;
+	}
+
+	/**
+	 * 
+	 * @param classType
+	 *            class of the exported items
+	 * @param fields
+	 *            visible fields of the table
+	 * @param titles
+	 *            column titles, in the order of <code>fields</code>
+	 * @return
+	 */
+	public static List<TabularColumn> buildColumns(Class<?> classType,
+			List<TableViewFieldDecorator> fields, List<String> titles) {
+		BeanAccessor accessor = BeanAccessor.of(classType);
+		Map<String, MValue> fieldBuilders = ColumnBuilderClassMapper
+				.getListFieldBuilder(classType);
+
+		List<TabularColumn> columns = new ArrayList<>(fields.size());
+		for (int i = 0; i < fields.size(); i++) {
+			TableViewFieldDecorator field = fields.get(i);
+			MValue value = (fieldBuilders != null) ? fieldBuilders.get(field
+					.getField()) : null;
+
+			String propertyName = field.getField();
+			CellType cellType = CellType.TEXT;
+			if (value instanceof HyperlinkValue) {
+				Object linkTitle = ((HyperlinkValue) value).getTitle();
+				if (linkTitle instanceof AbstractFieldExpression) {
+					propertyName = ((AbstractFieldExpression) linkTitle)
+							.getField();
+				}
+			} else if (value instanceof AbstractFieldExpression) {
+				propertyName = ((AbstractFieldExpression) value).getField();
+				if (value instanceof DateTimeExpression) {
+					cellType = CellType.DATE_TIME;
+				} else if (value instanceof DateExpression) {
+					cellType = CellType.DATE;
+				} else if (value instanceof PercentageNumberExpression) {
+					cellType = CellType.PERCENTAGE;
+				}
+			}
+
+			PropertyAccessor property = accessor
+					.getPropertyAccessor(propertyName);
+			if (property != null && !property.isReadable()) {
+				property = null;
+			}
+			columns.add(new TabularColumn(titles.get(i), field
+					.getDefaultWidth(), cellType, property));
+		}
+		return columns;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * 
+	 * @return width of the column in pixels
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	public CellType getCellType() {
+		return cellType;
+	}
+
+	/**
+	 * 
+	 * @param bean
+	 * @return value of the column for the bean, or null if the bean class has
+	 *         no such property
+	 */
+	public Object getValue(Object bean) {
+		return (property != null) ? property.get(bean) : null;
+	}
+}
@@ -0,0 +1,155 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.persistence.service.ISearchableService;
+
+/**
+ * Exports table items to CSV or Excel without building a report. The rows
+ * are written while the items are read, so the export of all items of a
+ * search runs with one streaming query and a constant amount of memory.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class TabularExporter {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(TabularExporter.class);
+
+	private final List<TabularColumn> columns;
+
+	public TabularExporter(List<TabularColumn> columns) {
+		this.columns = columns;
+	}
+
+	public static boolean isSupported(ReportExportType outputForm) {
+		return outputForm == ReportExportType.CSV
+				|| outputForm == ReportExportType.EXCEL;
+	}
+
+	/**
+	 * 
+	 * @param outputForm
+	 * @param outStream
+	 * @param locale
+	 *            locale of the user, used to format the dates of a CSV file
+	 * @param timeZone
+	 *            time zone of the user, the dates are written in this zone
+	 * @return
+	 * @throws IOException
+	 */
+	public static TabularWriter createWriter(ReportExportType outputForm,
+			OutputStream outStream, Locale locale, TimeZone timeZone)
+			throws IOException {
+		if (outputForm == ReportExportType.CSV) {
+			return new CsvTabularWriter(outStream, locale, timeZone);
+		} else if (outputForm == ReportExportType.EXCEL) {
+			return new XlsxTabularWriter(outStream, timeZone);
+		} else {
+			throw new MyCollabException("Do not support tabular output "
+					+ outputForm);
+		}
+	}
+
+	/**
+	 * Writes the items and closes the writer.
+	 * 
+	 * @param writer
+	 * @param items
+	 * @throws IOException
+	 */
+	public void export(TabularWriter writer, Iterable<?> items)
+			throws IOException {
+		try {
+			writer.writeHeader(columns);
+			for (Object item : items) {
+				writer.writeRow(item);
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Writes all items of the search criteria, read with one streaming query,
+	 * and closes the writer.
+	 * 
+	 * @param writer
+	 * @param searchService
+	 * @param searchCriteria
+	 * @throws IOException
+	 */
+	public <S extends SearchCriteria> void export(final TabularWriter writer,
+			ISearchableService<S> searchService, S searchCriteria)
+			throws IOException {
+		long startTime = System.currentTimeMillis();
+		final int[] count = { 0 };
+		try {
+			writer.writeHeader(columns);
+			searchService.streamListByCriteria(searchCriteria,
+					new ResultHandler() {
+						@Override
+						public void handleResult(ResultContext context) {
+							try {
+								writer.writeRow(context.getResultObject());
+								count[0]++;
+							} catch (IOException e) {
+								throw new RowWriteException(e);
+							}
+						}
+					});
+		} catch (RuntimeException e) {
+			// the persistence layer wraps the errors of the result handler
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof RowWriteException) {
+					throw (IOException) cause.getCause();
+				}
+			}
+			throw e;
+		} finally {
+			writer.close();
+		}
+		LOG.debug("Export {} items in {} ms", count[0],
+				System.currentTimeMillis() - startTime);
+	}
+
+	/**
+	 * Carries the error of the output stream through the result handler,
+	 * which can not throw checked exceptions.
+	 */
+	private static class RowWriteException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		RowWriteException(IOException cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the rows of a tabular export to the output stream as soon as they
+ * are given, so the memory used does not depend on the number of rows.
+ * Closing the writer completes the document and closes the output stream.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public interface TabularWriter extends Closeable {
+
+	/**
+	 * Writes the title row. It must be called once, before any other row.
+	 * 
+	 * @param columns
+	 * @throws IOException
+	 */
+	void writeHeader(List<TabularColumn> columns) throws IOException;
+
+	/**
+	 * Writes the values of the header columns for the bean.
+	 * 
+	 * @param bean
+	 * @throws IOException
+	 */
+	void writeRow(Object bean) throws IOException;
+}
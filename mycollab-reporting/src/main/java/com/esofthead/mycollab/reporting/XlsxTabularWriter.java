@@ -0,0 +1,323 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the rows as an Office Open XML workbook with a single sheet. Like the
+ * streaming workbook of POI, the parts of the package which do not depend on
+ * the rows are written first and the rows of the sheet are written to the
+ * zip stream as they are given, with inline strings instead of a shared
+ * string table, so no row is kept in memory. An inline string is never
+ * evaluated as a formula, so texts starting with <code>=</code> are written as
+ * they are.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class XlsxTabularWriter implements TabularWriter {
+	private static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+	private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+	private static final String CONTENT_TYPES = XML_HEADER
+			+ "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+			+ "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+			+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+			+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+			+ "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+			+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+			+ "</Types>";
+
+	private static final String PACKAGE_RELS = XML_HEADER
+			+ "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+			+ "<Relationship Id=\"rId1\" Type=\""
+			+ RELATIONSHIP_NS
+			+ "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+			+ "</Relationships>";
+
+	private static final String WORKBOOK = XML_HEADER + "<workbook xmlns=\""
+			+ SPREADSHEET_NS + "\" xmlns:r=\"" + RELATIONSHIP_NS + "\">"
+			+ "<sheets><sheet name=\"Sheet1\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+			+ "</workbook>";
+
+	private static final String WORKBOOK_RELS = XML_HEADER
+			+ "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+			+ "<Relationship Id=\"rId1\" Type=\""
+			+ RELATIONSHIP_NS
+			+ "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+			+ "<Relationship Id=\"rId2\" Type=\""
+			+ RELATIONSHIP_NS
+			+ "/styles\" Target=\"styles.xml\"/>" + "</Relationships>";
+
+	/**
+	 * Cell formats, in the order of the <code>STYLE_*</code> indexes. Dates
+	 * and percentages use the built in number formats 14, 22 and 9 so they are
+	 * displayed with the regional settings of the reader.
+	 */
+	private static final String STYLES = XML_HEADER
+			+ "<styleSheet xmlns=\""
+			+ SPREADSHEET_NS
+			+ "\">"
+			+ "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+			+ "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+			+ "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+			+ "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+			+ "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+			+ "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+			+ "<cellXfs count=\"5\">"
+			+ "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+			+ "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+			+ "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+			+ "<xf numFmtId=\"22\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+			+ "<xf numFmtId=\"9\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+			+ "</cellXfs>"
+			+ "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+			+ "</styleSheet>";
+
+	private static final int STYLE_HEADER = 1;
+
+	private static final int STYLE_DATE = 2;
+
+	private static final int STYLE_DATE_TIME = 3;
+
+	private static final int STYLE_PERCENTAGE = 4;
+
+	private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+	/**
+	 * Serial number of 1970-01-01 in the 1900 date system of the workbook.
+	 */
+	private static final double EPOCH_SERIAL = 25569;
+
+	/**
+	 * Width in pixels of a character of the default font, used to convert
+	 * the column widths of the table.
+	 */
+	private static final double PIXELS_PER_CHAR = 7;
+
+	private final ZipOutputStream zipStream;
+
+	private final Writer writer;
+
+	private final TimeZone timeZone;
+
+	private List<TabularColumn> columns;
+
+	private String[] columnNames;
+
+	private int rowNum = 0;
+
+	/**
+	 * 
+	 * @param outStream
+	 * @param timeZone
+	 *            time zone of the user, the workbook stores the dates as local
+	 *            date and time without a zone
+	 * @throws IOException
+	 */
+	public XlsxTabularWriter(OutputStream outStream, TimeZone timeZone)
+			throws IOException {
+		this.timeZone = timeZone;
+		this.zipStream = new ZipOutputStream(outStream);
+		this.writer = new BufferedWriter(new OutputStreamWriter(zipStream,
+				StandardCharsets.UTF_8));
+		writeEntry("[Content_Types].xml", CONTENT_TYPES);
+		writeEntry("_rels/.rels", PACKAGE_RELS);
+		writeEntry("xl/workbook.xml", WORKBOOK);
+		writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+		writeEntry("xl/styles.xml", STYLES);
+		zipStream.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+	}
+
+	private void writeEntry(String name, String content) throws IOException {
+		zipStream.putNextEntry(new ZipEntry(name));
+		writer.write(content);
+		writer.flush();
+		zipStream.closeEntry();
+	}
+
+	@Override
+	public void writeHeader(List<TabularColumn> columns) throws IOException {
+		this.columns = columns;
+		columnNames = new String[columns.size()];
+		for (int i = 0; i < columnNames.length; i++) {
+			columnNames[i] = columnName(i);
+		}
+
+		writer.write(XML_HEADER);
+		writer.write("<worksheet xmlns=\"" + SPREADSHEET_NS + "\">");
+		// keep the title row visible while scrolling
+		writer.write("<sheetViews><sheetView workbookViewId=\"0\">"
+				+ "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+				+ "</sheetView></sheetViews>");
+		if (!columns.isEmpty()) {
+			writer.write("<cols>");
+			for (int i = 0; i < columns.size(); i++) {
+				double width = Math.max(
+						Math.ceil(columns.get(i).getWidth() / PIXELS_PER_CHAR),
+						8);
+				writer.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1)
+						+ "\" width=\"" + width + "\" customWidth=\"1\"/>");
+			}
+			writer.write("</cols>");
+		}
+		writer.write("<sheetData>");
+
+		startRow();
+		for (int i = 0; i < columns.size(); i++) {
+			writeString(i, columns.get(i).getTitle(), STYLE_HEADER);
+		}
+		writer.write("</row>");
+	}
+
+	@Override
+	public void writeRow(Object bean) throws IOException {
+		startRow();
+		for (int i = 0; i < columns.size(); i++) {
+			TabularColumn column = columns.get(i);
+			Object value = column.getValue(bean);
+			if (value == null) {
+				continue;
+			}
+
+			if (value instanceof Date) {
+				writeNumber(i, toSerial((Date) value),
+						(column.getCellType() == TabularColumn.CellType.DATE_TIME) ? STYLE_DATE_TIME
+								: STYLE_DATE);
+			} else if (value instanceof Number
+					&& isFinite(((Number) value).doubleValue())) {
+				double number = ((Number) value).doubleValue();
+				if (column.getCellType() == TabularColumn.CellType.PERCENTAGE) {
+					writeNumber(i, number / 100, STYLE_PERCENTAGE);
+				} else {
+					writeNumber(i, number, 0);
+				}
+			} else {
+				writeString(i, value.toString(), 0);
+			}
+		}
+		writer.write("</row>");
+	}
+
+	private void startRow() throws IOException {
+		rowNum++;
+		writer.write("<row r=\"");
+		writer.write(Integer.toString(rowNum));
+		writer.write("\">");
+	}
+
+	private void writeCellStart(int columnIndex, int style) throws IOException {
+		writer.write("<c r=\"");
+		writer.write(columnNames[columnIndex]);
+		writer.write(Integer.toString(rowNum));
+		if (style != 0) {
+			writer.write("\" s=\"");
+			writer.write(Integer.toString(style));
+		}
+		writer.write('"');
+	}
+
+	private void writeNumber(int columnIndex, double value, int style)
+			throws IOException {
+		writeCellStart(columnIndex, style);
+		writer.write("><v>");
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			writer.write(Long.toString((long) value));
+		} else {
+			writer.write(Double.toString(value));
+		}
+		writer.write("</v></c>");
+	}
+
+	private void writeString(int columnIndex, String value, int style)
+			throws IOException {
+		writeCellStart(columnIndex, style);
+		writer.write(" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+		writeEscaped(value);
+		writer.write("</t></is></c>");
+	}
+
+	private void writeEscaped(String value) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case '<':
+				writer.write("&lt;");
+				break;
+			case '>':
+				writer.write("&gt;");
+				break;
+			case '&':
+				writer.write("&amp;");
+				break;
+			case '"':
+				writer.write("&quot;");
+				break;
+			default:
+				// control characters are not allowed in XML 1.0
+				if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') {
+					writer.write(ch);
+				}
+			}
+		}
+	}
+
+	private double toSerial(Date date) {
+		long time = date.getTime();
+		return EPOCH_SERIAL + (double) (time + timeZone.getOffset(time))
+				/ MILLIS_PER_DAY;
+	}
+
+	private static boolean isFinite(double value) {
+		return !Double.isNaN(value) && !Double.isInfinite(value);
+	}
+
+	private static String columnName(int index) {
+		StringBuilder name = new StringBuilder();
+		for (int i = index + 1; i > 0; i = (i - 1) / 26) {
+			name.insert(0, (char) ('A' + (i - 1) % 26));
+		}
+		return name.toString();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (columns == null) {
+			writeHeader(Collections.<TabularColumn> emptyList());
+		}
+		writer.write("</sheetData></worksheet>");
+		writer.flush();
+		zipStream.closeEntry();
+		writer.close();
+	}
+}
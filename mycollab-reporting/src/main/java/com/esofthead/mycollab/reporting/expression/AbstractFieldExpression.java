@@ -24,7 +24,7 @@ import net.sf.dynamicreports.report.base.expression.AbstractSimpleExpression;
  * @since 4.1.2
  * 
  */
-abstract class AbstractFieldExpression extends AbstractSimpleExpression<String>
+public abstract class AbstractFieldExpression extends AbstractSimpleExpression<String>
 		implements MValue {
 	private static final long serialVersionUID = 1L;
 	protected String field;
@@ -32,4 +32,8 @@ abstract class AbstractFieldExpression extends AbstractSimpleExpression<String>
 	AbstractFieldExpression(String field) {
 		this.field = field;
 	}
+
+	public String getField() {
+		return field;
+	}
 }
@@ -42,7 +42,8 @@ public class DateExpression extends AbstractFieldExpression implements MValue {
 		Locale locale = reportParameters.getLocale();
 		Date date = reportParameters.getFieldValue(field);
 		return DateTimeUtils.formatDate(date,
-				LocaleHelper.getDateFormatInstance(locale).getDateFormat());
+				LocaleHelper.getDateFormatInstance(locale).getDateFormat(),
+				null, locale);
 	}
 
 }
@@ -43,7 +43,8 @@ public class DateTimeExpression extends AbstractFieldExpression implements
 		Locale locale = reportParameters.getLocale();
 		Date date = reportParameters.getFieldValue(field);
 		return DateTimeUtils.formatDate(date,
-				LocaleHelper.getDateFormatInstance(locale).getDateTimeFormat());
+				LocaleHelper.getDateFormatInstance(locale).getDateTimeFormat(),
+				null, locale);
 	}
 
 }
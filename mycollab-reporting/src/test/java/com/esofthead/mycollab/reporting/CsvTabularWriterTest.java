@@ -0,0 +1,73 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.esofthead.mycollab.reporting.TabularWriterTestSupport.Item;
+
+public class CsvTabularWriterTest {
+
+	@Test
+	public void testWriteRowsInUserTimeZone() throws Exception {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		CsvTabularWriter writer = new CsvTabularWriter(outStream, Locale.US,
+				TimeZone.getTimeZone("Asia/Tokyo"));
+		writer.writeHeader(TabularWriterTestSupport.columns());
+		writer.writeRow(new Item("Fix \"login\", again",
+				TabularWriterTestSupport.CREATED_TIME, 45.6, -3));
+		writer.writeRow(new Item(null, null, null, null));
+		writer.close();
+
+		byte[] bytes = outStream.toByteArray();
+		Assert.assertEquals((byte) 0xEF, bytes[0]);
+		Assert.assertEquals((byte) 0xBB, bytes[1]);
+		Assert.assertEquals((byte) 0xBF, bytes[2]);
+		Assert.assertEquals("\uFEFFName,Created,Done,Count\r\n"
+				+ "\"Fix \"\"login\"\", again\",05/16/2015 09:30 AM,46%,-3\r\n"
+				+ ",,,\r\n", new String(bytes, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testEscapeFormulas() throws Exception {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		CsvTabularWriter writer = new CsvTabularWriter(outStream, Locale.US,
+				TimeZone.getTimeZone("UTC"));
+		writer.writeHeader(TabularWriterTestSupport.columns());
+		writer.writeRow(new Item("=HYPERLINK(\"http://evil\")", null, null,
+				null));
+		writer.writeRow(new Item("+1", null, null, null));
+		writer.writeRow(new Item("-1", null, null, null));
+		writer.writeRow(new Item("@SUM(A1)", null, null, null));
+		writer.writeRow(new Item("a=b", null, null, null));
+		writer.close();
+
+		String[] lines = new String(outStream.toByteArray(),
+				StandardCharsets.UTF_8).split("\r\n");
+		Assert.assertEquals("\"'=HYPERLINK(\"\"http://evil\"\")\",,,", lines[1]);
+		Assert.assertEquals("'+1,,,", lines[2]);
+		Assert.assertEquals("'-1,,,", lines[3]);
+		Assert.assertEquals("'@SUM(A1),,,", lines[4]);
+		Assert.assertEquals("a=b,,,", lines[5]);
+	}
+}
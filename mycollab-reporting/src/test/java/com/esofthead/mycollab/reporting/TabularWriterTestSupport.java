@@ -0,0 +1,82 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+
+final class TabularWriterTestSupport {
+
+	/**
+	 * 2015-05-16 00:30 UTC, 09:30 in Tokyo
+	 */
+	static final Date CREATED_TIME = new Date(1431736200000L);
+
+	private TabularWriterTestSupport() {
+	}
+
+	static List<TabularColumn> columns() {
+		BeanAccessor accessor = BeanAccessor.of(Item.class);
+		return Arrays.asList(new TabularColumn("Name", 140,
+				TabularColumn.CellType.TEXT, accessor
+						.getPropertyAccessor("name")), new TabularColumn(
+				"Created", 100, TabularColumn.CellType.DATE_TIME, accessor
+						.getPropertyAccessor("createdtime")),
+				new TabularColumn("Done", 60,
+						TabularColumn.CellType.PERCENTAGE, accessor
+								.getPropertyAccessor("percentagecomplete")),
+				new TabularColumn("Count", 60, TabularColumn.CellType.TEXT,
+						accessor.getPropertyAccessor("count")));
+	}
+
+	public static class Item {
+		private String name;
+
+		private Date createdtime;
+
+		private Double percentagecomplete;
+
+		private Integer count;
+
+		public Item(String name, Date createdtime, Double percentagecomplete,
+				Integer count) {
+			this.name = name;
+			this.createdtime = createdtime;
+			this.percentagecomplete = percentagecomplete;
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Date getCreatedtime() {
+			return createdtime;
+		}
+
+		public Double getPercentagecomplete() {
+			return percentagecomplete;
+		}
+
+		public Integer getCount() {
+			return count;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * This file is part of mycollab-reporting.
+ *
+ * mycollab-reporting is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-reporting is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-reporting.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.esofthead.mycollab.reporting.TabularWriterTestSupport.Item;
+
+public class XlsxTabularWriterTest {
+
+	@Test
+	public void testWriteWorkbook() throws Exception {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		XlsxTabularWriter writer = new XlsxTabularWriter(outStream,
+				TimeZone.getTimeZone("Asia/Tokyo"));
+		writer.writeHeader(TabularWriterTestSupport.columns());
+		writer.writeRow(new Item("=1+1 & <b>",
+				TabularWriterTestSupport.CREATED_TIME, 45.0, 3));
+		writer.writeRow(new Item(null, null, null, null));
+		writer.close();
+
+		Map<String, String> entries = readEntries(outStream.toByteArray());
+		Assert.assertTrue(entries.containsKey("[Content_Types].xml"));
+		Assert.assertTrue(entries.containsKey("xl/workbook.xml"));
+		Assert.assertTrue(entries.containsKey("xl/styles.xml"));
+
+		String sheet = entries.get("xl/worksheets/sheet1.xml");
+		Assert.assertTrue(sheet.contains("<c r=\"A1\" s=\"1\" t=\"inlineStr\"><is><t xml:space=\"preserve\">Name</t></is></c>"));
+		// a text is never written as a formula
+		Assert.assertTrue(sheet.contains("<c r=\"A2\" t=\"inlineStr\"><is><t xml:space=\"preserve\">=1+1 &amp; &lt;b&gt;</t></is></c>"));
+		Assert.assertFalse(sheet.contains("<f>"));
+		// 2015-05-16 09:30 in Tokyo
+		Assert.assertTrue(sheet.contains("<c r=\"B2\" s=\"3\"><v>42140.39583"));
+		Assert.assertTrue(sheet.contains("<c r=\"C2\" s=\"4\"><v>0.45</v></c>"));
+		Assert.assertTrue(sheet.contains("<c r=\"D2\"><v>3</v></c>"));
+		Assert.assertTrue(sheet.contains("<row r=\"3\"></row>"));
+		Assert.assertTrue(sheet.endsWith("</worksheet>"));
+	}
+
+	private static Map<String, String> readEntries(byte[] workbook)
+			throws IOException {
+		Map<String, String> entries = new HashMap<>();
+		try (ZipInputStream zipStream = new ZipInputStream(
+				new ByteArrayInputStream(workbook))) {
+			ZipEntry entry;
+			while ((entry = zipStream.getNextEntry()) != null) {
+				ByteArrayOutputStream content = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				int read;
+				while ((read = zipStream.read(buffer)) != -1) {
+					content.write(buffer, 0, read);
+				}
+				entries.put(entry.getName(), new String(content.toByteArray(),
+						StandardCharsets.UTF_8));
+			}
+		}
+		return entries;
+	}
+}
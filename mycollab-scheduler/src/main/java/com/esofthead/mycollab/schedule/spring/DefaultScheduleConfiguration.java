@@ -22,6 +22,8 @@ import com.esofthead.mycollab.schedule.email.user.impl.SendUserInvitationEmailJo
 import com.esofthead.mycollab.schedule.email.user.impl.UserSignUpEmailNotificationJob;
 import com.esofthead.mycollab.schedule.jobs.CrmSendingRelayEmailNotificationJob;
 import com.esofthead.mycollab.schedule.jobs.ProjectSendingRelayEmailNotificationJob;
+import com.esofthead.mycollab.schedule.jobs.ProjectAssignmentReconcileJob;
+import com.esofthead.mycollab.schedule.jobs.ProjectStatisticsReconcileJob;
 import com.esofthead.mycollab.schedule.jobs.SendingErrorReportEmailJob;
 import com.esofthead.mycollab.schedule.jobs.SendingRelayEmailJob;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -80,6 +82,20 @@ public class DefaultScheduleConfiguration {
         return bean;
     }
 
+    @Bean
+    public JobDetailFactoryBean projectStatisticsReconcileJob() {
+        JobDetailFactoryBean bean = new JobDetailFactoryBean();
+        bean.setJobClass(ProjectStatisticsReconcileJob.class);
+        return bean;
+    }
+
+    @Bean
+    public JobDetailFactoryBean projectAssignmentReconcileJob() {
+        JobDetailFactoryBean bean = new JobDetailFactoryBean();
+        bean.setJobClass(ProjectAssignmentReconcileJob.class);
+        return bean;
+    }
+
     @Bean
     public CronTriggerFactoryBean sendingRelayEmailTrigger() {
         CronTriggerFactoryBean bean = new CronTriggerFactoryBean();
@@ -128,6 +144,22 @@ public class DefaultScheduleConfiguration {
         return bean;
     }
 
+    @Bean
+    public CronTriggerFactoryBean projectStatisticsReconcileTrigger() {
+        CronTriggerFactoryBean bean = new CronTriggerFactoryBean();
+        bean.setJobDetail(projectStatisticsReconcileJob().getObject());
+        bean.setCronExpression("0 30 * * * ?");
+        return bean;
+    }
+
+    @Bean
+    public CronTriggerFactoryBean projectAssignmentReconcileTrigger() {
+        CronTriggerFactoryBean bean = new CronTriggerFactoryBean();
+        bean.setJobDetail(projectAssignmentReconcileJob().getObject());
+        bean.setCronExpression("0 45 * * * ?");
+        return bean;
+    }
+
     @Autowired
     private ApplicationContext applicationContext;
 
@@ -147,7 +179,9 @@ public class DefaultScheduleConfiguration {
 
         bean.setTriggers(sendingRelayEmailTrigger().getObject(), projectSendRelayNotificationEmailTrigger().getObject
                 (), crmSendRelayNotificationEmailTrigger().getObject(), sendErrorReportEmailTrigger().getObject(),
-                sendInviteUserEmailTrigger().getObject(), userSignUpNotificationEmailTrigger().getObject());
+                sendInviteUserEmailTrigger().getObject(), userSignUpNotificationEmailTrigger().getObject(),
+                projectStatisticsReconcileTrigger().getObject(),
+                projectAssignmentReconcileTrigger().getObject());
         return bean;
     }
 }
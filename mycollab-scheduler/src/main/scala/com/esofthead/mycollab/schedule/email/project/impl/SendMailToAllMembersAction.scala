@@ -21,7 +21,7 @@ import com.esofthead.mycollab.common.domain.{MailRecipientField, SimpleAuditLog,
 import com.esofthead.mycollab.common.service.AuditLogService
 import com.esofthead.mycollab.configuration.SiteConfiguration
 import com.esofthead.mycollab.module.mail.service.ExtMailService
-import com.esofthead.mycollab.module.mail.{IContentGenerator, MailUtils}
+import com.esofthead.mycollab.module.mail.{HtmlMailMessage, IContentGenerator, MailUtils}
 import com.esofthead.mycollab.module.project.domain.{ProjectNotificationSetting, ProjectRelayEmailNotification}
 import com.esofthead.mycollab.module.project.service.{ProjectMemberService, ProjectNotificationSettingService}
 import com.esofthead.mycollab.module.user.domain.SimpleUser
@@ -77,6 +77,7 @@ abstract class SendMailToAllMembersAction[B] extends SendingRelayEmailNotificati
     if (notifiers != null && notifiers.nonEmpty) {
       onInitAction(notification)
       import scala.collection.JavaConversions._
+      val messages = mutable.ListBuffer[HtmlMailMessage]()
       for (user <- notifiers) {
         val context: MailContext[B] = new MailContext[B](notification, user, siteUrl)
         bean = getBeanInContext(context)
@@ -88,9 +89,10 @@ abstract class SendMailToAllMembersAction[B] extends SendingRelayEmailNotificati
           contentGenerator.putVariable("userName", user.getDisplayName)
           val userMail: MailRecipientField = new MailRecipientField(user.getEmail, user.getUsername)
           val recipients: List[MailRecipientField] = List[MailRecipientField](userMail)
-          extMailService.sendHTMLMail(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getCreateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCreatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
+          messages += new HtmlMailMessage(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getCreateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCreatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
         }
       }
+      extMailService.sendHTMLMails(messages)
     }
   }
 
@@ -99,6 +101,7 @@ abstract class SendMailToAllMembersAction[B] extends SendingRelayEmailNotificati
     if (notifiers != null && notifiers.nonEmpty) {
       onInitAction(notification)
       import scala.collection.JavaConversions._
+      val messages = mutable.ListBuffer[HtmlMailMessage]()
       for (user <- notifiers) {
         val context: MailContext[B] = new MailContext[B](notification, user, siteUrl)
         bean = getBeanInContext(context)
@@ -114,9 +117,10 @@ abstract class SendMailToAllMembersAction[B] extends SendingRelayEmailNotificati
           }
           val userMail: MailRecipientField = new MailRecipientField(user.getEmail, user.getUsername)
           val recipients: List[MailRecipientField] = List[MailRecipientField](userMail)
-          extMailService.sendHTMLMail(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getUpdateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemUpdatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
+          messages += new HtmlMailMessage(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getUpdateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemUpdatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
         }
       }
+      extMailService.sendHTMLMails(messages)
     }
   }
 
@@ -125,6 +129,7 @@ abstract class SendMailToAllMembersAction[B] extends SendingRelayEmailNotificati
     if (notifiers != null && notifiers.nonEmpty) {
       onInitAction(notification)
       import scala.collection.JavaConversions._
+      val messages = mutable.ListBuffer[HtmlMailMessage]()
       for (user <- notifiers) {
         val context: MailContext[B] = new MailContext[B](notification, user, siteUrl)
         bean = getBeanInContext(context)
@@ -134,9 +139,10 @@ abstract class SendMailToAllMembersAction[B] extends SendingRelayEmailNotificati
           contentGenerator.putVariable("comment", context.getEmailNotification)
           val userMail: MailRecipientField = new MailRecipientField(user.getEmail, user.getUsername)
           val recipients: List[MailRecipientField] = List[MailRecipientField](userMail)
-          extMailService.sendHTMLMail(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getCommentSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCommentNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
+          messages += new HtmlMailMessage(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getCommentSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCommentNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
         }
       }
+      extMailService.sendHTMLMails(messages)
     }
   }
 
@@ -20,12 +20,14 @@ import com.esofthead.mycollab.common.domain.{MailRecipientField, SimpleAuditLog,
 import com.esofthead.mycollab.common.service.AuditLogService
 import com.esofthead.mycollab.configuration.SiteConfiguration
 import com.esofthead.mycollab.module.mail.service.ExtMailService
-import com.esofthead.mycollab.module.mail.{IContentGenerator, MailUtils}
+import com.esofthead.mycollab.module.mail.{HtmlMailMessage, IContentGenerator, MailUtils}
 import com.esofthead.mycollab.module.project.domain.ProjectRelayEmailNotification
 import com.esofthead.mycollab.module.user.domain.SimpleUser
 import com.esofthead.mycollab.schedule.email.{ItemFieldMapper, MailContext, SendingRelayEmailNotificationAction}
 import org.springframework.beans.factory.annotation.Autowired
 
+import scala.collection.mutable
+
 /**
  * @author MyCollab Ltd.
  * @since 4.6.0
@@ -46,6 +48,7 @@ abstract class SendMailToFollowersAction[B] extends SendingRelayEmailNotificatio
     if (notifiers != null && notifiers.nonEmpty) {
       onInitAction(notification)
       import scala.collection.JavaConversions._
+      val messages = mutable.ListBuffer[HtmlMailMessage]()
       for (user <- notifiers) {
         val context: MailContext[B] = new MailContext[B](notification, user, siteUrl)
         bean = getBeanInContext(context)
@@ -57,9 +60,10 @@ abstract class SendMailToFollowersAction[B] extends SendingRelayEmailNotificatio
           contentGenerator.putVariable("userName", user.getDisplayName)
           val userMail: MailRecipientField = new MailRecipientField(user.getEmail, user.getUsername)
           val recipients: List[MailRecipientField] = List[MailRecipientField](userMail)
-          extMailService.sendHTMLMail(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getCreateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCreatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
+          messages += new HtmlMailMessage(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getCreateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCreatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
         }
       }
+      extMailService.sendHTMLMails(messages)
     }
   }
 
@@ -68,6 +72,7 @@ abstract class SendMailToFollowersAction[B] extends SendingRelayEmailNotificatio
     if (notifiers != null && notifiers.nonEmpty) {
       onInitAction(notification)
       import scala.collection.JavaConversions._
+      val messages = mutable.ListBuffer[HtmlMailMessage]()
       for (user <- notifiers) {
         val context: MailContext[B] = new MailContext[B](notification, user, siteUrl)
         bean = getBeanInContext(context)
@@ -83,9 +88,10 @@ abstract class SendMailToFollowersAction[B] extends SendingRelayEmailNotificatio
           }
           val userMail: MailRecipientField = new MailRecipientField(user.getEmail, user.getUsername)
           val recipients: List[MailRecipientField] = List[MailRecipientField](userMail)
-          extMailService.sendHTMLMail(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getUpdateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemUpdatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
+          messages += new HtmlMailMessage(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, recipients, null, null, contentGenerator.generateSubjectContent(getUpdateSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemUpdatedNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
         }
       }
+      extMailService.sendHTMLMails(messages)
     }
   }
 
@@ -94,6 +100,7 @@ abstract class SendMailToFollowersAction[B] extends SendingRelayEmailNotificatio
     if (notifiers != null && notifiers.nonEmpty) {
       onInitAction(notification)
       import scala.collection.JavaConversions._
+      val messages = mutable.ListBuffer[HtmlMailMessage]()
       for (user <- notifiers) {
         val context: MailContext[B] = new MailContext[B](notification, user, siteUrl)
         bean = getBeanInContext(context)
@@ -104,9 +111,10 @@ abstract class SendMailToFollowersAction[B] extends SendingRelayEmailNotificatio
           contentGenerator.putVariable("comment", context.getEmailNotification)
           val userMail: MailRecipientField = new MailRecipientField(user.getEmail, user.getUsername)
           val toRecipients: List[MailRecipientField] = List[MailRecipientField](userMail)
-          extMailService.sendHTMLMail(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, toRecipients, null, null, contentGenerator.generateSubjectContent(getCommentSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCommentNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
+          messages += new HtmlMailMessage(SiteConfiguration.getNoReplyEmail, SiteConfiguration.getSiteName, toRecipients, null, null, contentGenerator.generateSubjectContent(getCommentSubject(context)), contentGenerator.generateBodyContent("templates/email/project/itemCommentNotifier.mt", context.getLocale, SiteConfiguration.getDefaultLocale), null)
         }
       }
+      extMailService.sendHTMLMails(messages)
     }
   }
 
@@ -0,0 +1,43 @@
+/**
+ * This file is part of mycollab-scheduler.
+ *
+ * mycollab-scheduler is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-scheduler is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-scheduler.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.schedule.jobs
+
+import com.esofthead.mycollab.module.project.service.ProjectAssignmentService
+import org.quartz.JobExecutionContext
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.config.BeanDefinition
+import org.springframework.context.annotation.Scope
+import org.springframework.stereotype.Component
+
+/**
+ * Rebuilds the assignment index from the tasks, bugs, risks and problems, to
+ * repair the rows of the items which are changed without their services
+ * (cascade deletes of task lists, direct SQL updates ...)
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+class ProjectAssignmentReconcileJob extends GenericQuartzJobBean {
+  @Autowired private val projectAssignmentService: ProjectAssignmentService = null
+
+  @Override
+  def executeJob(context: JobExecutionContext) {
+    projectAssignmentService.reconcileAssignments()
+  }
+}
@@ -297,6 +297,8 @@ public abstract class GenericServerRunner {
         dsProperties.setProperty("prepStmtCacheSize", "250");
         dsProperties.setProperty("prepStmtCacheSqlLimit", "2048");
         dsProperties.setProperty("useServerPrepStmts", "true");
+        // batched inserts are sent as multi-row INSERT statements
+        dsProperties.setProperty("rewriteBatchedStatements", "true");
         dataSource.setDataSourceProperties(dsProperties);
         return dataSource;
     }
@@ -0,0 +1,152 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.esofthead.mycollab.common.domain.criteria.ActivityStreamSearchCriteria;
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchField;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SetSearchField;
+import com.esofthead.mycollab.core.cache.CacheScope;
+import com.esofthead.mycollab.module.project.domain.Risk;
+import com.esofthead.mycollab.module.project.domain.SimpleProject;
+import com.esofthead.mycollab.module.project.domain.SimpleRisk;
+import com.esofthead.mycollab.module.project.domain.criteria.RiskSearchCriteria;
+import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
+import com.esofthead.mycollab.module.project.service.ProjectService;
+
+public class CacheTagsTest {
+	private static final CacheScope DEFAULT_SCOPE = DefaultScope.class
+			.getAnnotation(CacheScope.class);
+
+	@Test
+	public void testListIsTaggedWithCriteriaProject() {
+		RiskSearchCriteria criteria = new RiskSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(1));
+
+		CacheTags tags = CacheTags.forItem(
+				new Object[] { new SearchRequest<>(criteria, 0, 10) },
+				Arrays.asList(newRisk(1, 3), newRisk(1, 4)), DEFAULT_SCOPE);
+		assertThat(tags.isAccountWide()).isFalse();
+		assertThat(tags.getProjectIds()).containsOnly(1);
+		assertThat(tags.getItemIds()).containsOnly(3, 4);
+	}
+
+	@Test
+	public void testListIsTaggedWithProjectsOfCustomCriteriaField() {
+		ActivityStreamSearchCriteria criteria = new ActivityStreamSearchCriteria();
+		criteria.setExtraTypeIds(new SetSearchField<>(1, 2));
+
+		CacheTags tags = CacheTags.forItem(new Object[] { criteria }, 5,
+				ProjectActivityStreamService.class
+						.getAnnotation(CacheScope.class));
+		assertThat(tags.getProjectIds()).containsOnly(1, 2);
+	}
+
+	@Test
+	public void testListOfOrProjectFilterDependsOnAccount() {
+		RiskSearchCriteria criteria = new RiskSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(SearchField.OR, 1));
+
+		CacheTags tags = CacheTags.forItem(new Object[] { criteria }, 5,
+				DEFAULT_SCOPE);
+		assertThat(tags.isAccountWide()).isTrue();
+	}
+
+	@Test
+	public void testItemIsTaggedWithItsProject() {
+		CacheTags tags = CacheTags.forItem(new Object[] { 3, 1 },
+				newRisk(2, 3), DEFAULT_SCOPE);
+		assertThat(tags.getProjectIds()).containsOnly(2);
+		assertThat(tags.getItemIds()).containsOnly(3);
+
+		SimpleProject project = new SimpleProject();
+		project.setId(7);
+		tags = CacheTags.forItem(new Object[] { 7, 1 }, project,
+				ProjectService.class.getAnnotation(CacheScope.class));
+		assertThat(tags.getProjectIds()).containsOnly(7);
+	}
+
+	@Test
+	public void testEvictionScopeOfEntities() {
+		CacheTags scope = CacheTags.forEviction(new Object[] {
+				Arrays.asList(newRisk(1, 3), newRisk(2, 4)), "admin" },
+				DEFAULT_SCOPE);
+		assertThat(scope.getProjectIds()).containsOnly(1, 2);
+		assertThat(scope.getItemIds()).containsOnly(3, 4);
+	}
+
+	@Test
+	public void testEvictionByKeyIsAccountWide() {
+		assertThat(
+				CacheTags.forEviction(new Object[] { 3, "admin", 1 },
+						DEFAULT_SCOPE).isAccountWide()).isTrue();
+
+		Risk riskWithoutProject = new Risk();
+		riskWithoutProject.setId(3);
+		assertThat(
+				CacheTags.forEviction(new Object[] { riskWithoutProject,
+						"admin" }, DEFAULT_SCOPE).isAccountWide()).isTrue();
+	}
+
+	@Test
+	public void testCacheItemsOfOtherProjectsAreIndependent() {
+		CacheTags scope = CacheTags.forEviction(
+				new Object[] { newRisk(1, 3) }, DEFAULT_SCOPE);
+
+		assertThat(
+				CacheTags.ofProjects(Arrays.asList(2)).isIndependentOf(scope))
+				.isTrue();
+		assertThat(
+				CacheTags.ofProjects(Arrays.asList(1, 2))
+						.isIndependentOf(scope)).isFalse();
+		assertThat(CacheTags.ACCOUNT.isIndependentOf(scope)).isFalse();
+		assertThat(
+				CacheTags.ofProjects(Arrays.asList(2)).isIndependentOf(
+						CacheTags.ACCOUNT)).isFalse();
+	}
+
+	@Test
+	public void testListOfItemMovedToAnotherProjectIsInvalidated() {
+		RiskSearchCriteria criteria = new RiskSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(2));
+		CacheTags tags = CacheTags.forItem(new Object[] { criteria },
+				Arrays.asList(newRisk(2, 3)), DEFAULT_SCOPE);
+
+		// risk 3 has been moved to project 1
+		CacheTags scope = CacheTags.forEviction(
+				new Object[] { newRisk(1, 3) }, DEFAULT_SCOPE);
+		assertThat(tags.isIndependentOf(scope)).isFalse();
+	}
+
+	private static SimpleRisk newRisk(int projectId, int id) {
+		SimpleRisk risk = new SimpleRisk();
+		risk.setProjectid(projectId);
+		risk.setId(id);
+		return risk;
+	}
+
+	@CacheScope
+	private static class DefaultScope {
+	}
+}
@@ -0,0 +1,203 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.cache.interceptor.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.esofthead.mycollab.cache.CacheTags;
+import com.esofthead.mycollab.cache.CacheUtils;
+import com.esofthead.mycollab.cache.LocalCacheManager;
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.module.crm.domain.MeetingWithBLOBs;
+import com.esofthead.mycollab.module.crm.service.EventService;
+import com.esofthead.mycollab.module.crm.service.MeetingService;
+import com.esofthead.mycollab.module.project.dao.RiskMapper;
+import com.esofthead.mycollab.module.project.domain.ItemTimeLogging;
+import com.esofthead.mycollab.module.project.domain.Risk;
+import com.esofthead.mycollab.module.project.domain.SimpleRisk;
+import com.esofthead.mycollab.module.project.domain.criteria.RiskSearchCriteria;
+import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
+import com.esofthead.mycollab.module.project.service.ItemTimeLoggingService;
+import com.esofthead.mycollab.module.project.service.ProjectGenericTaskService;
+import com.esofthead.mycollab.module.project.service.ProjectService;
+import com.esofthead.mycollab.module.project.service.RiskService;
+import com.esofthead.mycollab.test.DataSet;
+import com.esofthead.mycollab.test.service.IntergrationServiceTest;
+import com.google.common.cache.Cache;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles(profiles = "cache")
+public class CacheServiceAspectTest extends IntergrationServiceTest {
+
+	@Autowired
+	private RiskService riskService;
+
+	@Autowired
+	private RiskMapper riskMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeetingService meetingService;
+
+	@Autowired
+	private ItemTimeLoggingService itemTimeLoggingService;
+
+	@After
+	public void cleanCaches() {
+		CacheUtils.cleanCaches(1, RiskService.class, ProjectService.class,
+				ProjectGenericTaskService.class,
+				ProjectActivityStreamService.class, MeetingService.class,
+				EventService.class, ItemTimeLoggingService.class);
+	}
+
+	@DataSet
+	@Test
+	public void testCachedValueIsServedUntilEvicted() {
+		assertThat(riskService.findById(1, 1).getRiskname()).isEqualTo("a");
+
+		// changed behind the service, the cache is not evicted
+		Risk risk = new Risk();
+		risk.setId(1);
+		risk.setRiskname("b");
+		riskMapper.updateByPrimaryKeySelective(risk);
+		assertThat(riskService.findById(1, 1).getRiskname()).isEqualTo("a");
+
+		risk = new Risk();
+		risk.setId(1);
+		risk.setRiskname("c");
+		risk.setProjectid(1);
+		risk.setSaccountid(1);
+		riskService.updateSelectiveWithSession(risk, "hainguyen");
+		assertThat(riskService.findById(1, 1).getRiskname()).isEqualTo("c");
+	}
+
+	@DataSet
+	@Test
+	public void testCacheIsEvictedAgainAfterCommit() {
+		final Cache<Object, Object> risks = LocalCacheManager.getServiceCache(
+				"1", RiskService.class.getName());
+		new TransactionTemplate(transactionManager)
+				.execute(new TransactionCallbackWithoutResult() {
+					@Override
+					protected void doInTransactionWithoutResult(
+							TransactionStatus status) {
+						Risk risk = new Risk();
+						risk.setId(1);
+						risk.setRiskname("c");
+						risk.setProjectid(1);
+						risk.setSaccountid(1);
+						riskService.updateSelectiveWithSession(risk,
+								"hainguyen");
+
+						// loaded by another thread before the commit
+						risks.put("risk", CacheTags.TaggedValue.of("a",
+								CacheTags.ACCOUNT));
+					}
+				});
+
+		assertThat(risks.getIfPresent("risk")).isNull();
+	}
+
+	@DataSet
+	@Test
+	public void testCachedValueIsCopied() {
+		SimpleRisk risk = riskService.findById(1, 1);
+		risk.setRiskname("changed");
+
+		SimpleRisk cachedRisk = riskService.findById(1, 1);
+		assertThat(cachedRisk).isNotSameAs(risk);
+		assertThat(cachedRisk.getRiskname()).isEqualTo("a");
+	}
+
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testCachedListIsCopied() {
+		RiskSearchCriteria criteria = new RiskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+
+		List<SimpleRisk> risks = riskService
+				.findPagableListByCriteria(new SearchRequest<>(criteria, 0,
+						Integer.MAX_VALUE));
+		assertThat(risks.size()).isEqualTo(2);
+		risks.clear();
+
+		risks = riskService.findPagableListByCriteria(new SearchRequest<>(
+				criteria, 0, Integer.MAX_VALUE));
+		assertThat(risks).extracting("id").containsOnly(1, 2);
+	}
+
+	@DataSet
+	@Test
+	public void testCrmActivityEvictsEvents() {
+		Cache<Object, Object> events = LocalCacheManager.getServiceCache("1",
+				EventService.class.getName());
+		events.put("events", CacheTags.TaggedValue.of(1, CacheTags.ACCOUNT));
+
+		MeetingWithBLOBs meeting = new MeetingWithBLOBs();
+		meeting.setSubject("meeting");
+		meeting.setSaccountid(1);
+		meetingService.saveWithSession(meeting, "hainguyen");
+
+		assertThat(
+				LocalCacheManager.getServiceCache("1",
+						EventService.class.getName()).getIfPresent("events"))
+				.isNull();
+	}
+
+	@DataSet
+	@Test
+	public void testTimeLoggingBatchEvictsProjectsOfTheLogs() {
+		Cache<Object, Object> projects = LocalCacheManager.getServiceCache(
+				"1", ProjectService.class.getName());
+		projects.put("project1", CacheTags.TaggedValue.of(1,
+				CacheTags.ofProjects(Arrays.asList(1))));
+		projects.put("project2", CacheTags.TaggedValue.of(2,
+				CacheTags.ofProjects(Arrays.asList(2))));
+
+		ItemTimeLogging timeLogging = new ItemTimeLogging();
+		timeLogging.setProjectid(1);
+		timeLogging.setLogvalue(2.0);
+		timeLogging.setLoguser("hainguyen");
+		timeLogging.setLogforday(new GregorianCalendar().getTime());
+		timeLogging.setIsbillable(false);
+		timeLogging.setSaccountid(1);
+		itemTimeLoggingService.batchSaveTimeLogging(Arrays.asList(timeLogging),
+				1);
+
+		assertThat(projects.getIfPresent("project1")).isNull();
+		assertThat(projects.getIfPresent("project2")).isNotNull();
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import com.esofthead.mycollab.common.domain.AuditLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AuditEventQueueTest {
+    @InjectMocks
+    private AuditEventQueue auditEventQueue;
+
+    @Mock
+    private AuditEventWriter auditEventWriter;
+
+    private final List<List<AuditEvent>> writtenBatches = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+    private final List<AuditEvent> rejectedEvents = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                List<AuditEvent> batch = (List<AuditEvent>) invocation.getArguments()[0];
+                for (AuditEvent event : batch) {
+                    if (rejectedEvents.contains(event)) {
+                        throw new RuntimeException("Rejected event");
+                    }
+                }
+                if (firstWriteStarted.getCount() > 0) {
+                    firstWriteStarted.countDown();
+                    releaseFirstWrite.await(10, TimeUnit.SECONDS);
+                }
+                writtenBatches.add(new ArrayList<>(batch));
+                return null;
+            }
+        }).when(auditEventWriter).write(anyListOf(AuditEvent.class));
+        auditEventQueue.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        releaseFirstWrite.countDown();
+        auditEventQueue.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private static AuditEvent newEvent() {
+        AuditEvent event = new AuditEvent(1);
+        event.setAuditLog(new AuditLog());
+        return event;
+    }
+
+    private int countWrittenEvents() {
+        int count = 0;
+        for (List<AuditEvent> batch : writtenBatches) {
+            count += batch.size();
+        }
+        return count;
+    }
+
+    private void waitForWrittenEvents(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (countWrittenEvents() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testEventsAreWrittenInBatches() throws InterruptedException {
+        auditEventQueue.publish(newEvent());
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 450; i++) {
+            auditEventQueue.publish(newEvent());
+        }
+        assertThat(auditEventQueue.getQueueSize()).isEqualTo(450);
+
+        releaseFirstWrite.countDown();
+        waitForWrittenEvents(451);
+
+        assertThat(countWrittenEvents()).isEqualTo(451);
+        int largestBatch = 0;
+        for (List<AuditEvent> batch : writtenBatches) {
+            largestBatch = Math.max(largestBatch, batch.size());
+        }
+        assertThat(largestBatch).isEqualTo(200);
+        assertThat(writtenBatches).hasSize(4);
+    }
+
+    @Test
+    public void testQueuedEventsAreFlushedOnShutdown() throws Exception {
+        auditEventQueue.publish(newEvent());
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            auditEventQueue.publish(newEvent());
+        }
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                releaseFirstWrite.countDown();
+            }
+        }).start();
+        auditEventQueue.destroy();
+
+        assertThat(countWrittenEvents()).isEqualTo(6);
+        assertThat(auditEventQueue.getQueueSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testEventOfRolledBackTransactionIsDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        auditEventQueue.publish(newEvent());
+        assertThat(auditEventQueue.getQueueSize()).isEqualTo(0);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(auditEventQueue.getQueueSize()).isEqualTo(0);
+        verify(auditEventWriter, never()).write(anyListOf(AuditEvent.class));
+    }
+
+    @Test
+    public void testEventOfCommittedTransactionIsQueuedAfterCommit() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        auditEventQueue.publish(newEvent());
+        assertThat(auditEventQueue.getQueueSize()).isEqualTo(0);
+        verify(auditEventWriter, never()).write(anyListOf(AuditEvent.class));
+
+        releaseFirstWrite.countDown();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(auditEventQueue.getQueueSize()).isEqualTo(0);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_COMMITTED);
+        waitForWrittenEvents(1);
+
+        assertThat(countWrittenEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedBatchIsWrittenWithoutTheRejectedEvent() throws InterruptedException {
+        auditEventQueue.publish(newEvent());
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<AuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            AuditEvent event = newEvent();
+            events.add(event);
+            auditEventQueue.publish(event);
+        }
+        AuditEvent rejectedEvent = events.get(3);
+        rejectedEvents.add(rejectedEvent);
+
+        releaseFirstWrite.countDown();
+        waitForWrittenEvents(10);
+
+        assertThat(countWrittenEvents()).isEqualTo(10);
+        for (List<AuditEvent> batch : writtenBatches) {
+            assertThat(batch).doesNotContain(rejectedEvent);
+        }
+    }
+}
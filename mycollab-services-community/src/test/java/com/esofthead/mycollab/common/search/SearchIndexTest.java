@@ -0,0 +1,145 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.esofthead.mycollab.common.domain.SearchHit;
+
+public class SearchIndexTest {
+	private static final int ACCOUNT_ID = 1;
+
+	private SearchIndex searchIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("test");
+		searchIndex = new SearchIndex();
+		ReflectionTestUtils.setField(searchIndex, "environment", environment);
+		searchIndex.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		searchIndex.destroy();
+	}
+
+	private static SearchDocument newDocument(String typeId, String name,
+			String detail) {
+		SearchDocument document = new SearchDocument("Task", typeId);
+		document.setSaccountid(ACCOUNT_ID);
+		document.setExtraTypeId(1);
+		document.setName(name);
+		document.putContent("detail", detail);
+		return document;
+	}
+
+	private List<SearchHit> search(String text) {
+		return searchIndex.search(text, ACCOUNT_ID, Arrays.asList("Task"),
+				null, 10);
+	}
+
+	@Test
+	public void testSearchNameAndContent() {
+		searchIndex.index(newDocument("1", "Write report", "yearly figures"),
+				false);
+		searchIndex.index(newDocument("2", "Review code", "search index"),
+				false);
+
+		assertThat(search("rep")).extracting("typeId").containsExactly("1");
+		assertThat(search("index")).extracting("typeId").containsExactly("2");
+		assertThat(searchIndex.findTypeIds("Task", "review", ACCOUNT_ID, 10))
+				.containsExactly("2");
+		assertThat(searchIndex.search("report", 2, null, null, 10)).isEmpty();
+	}
+
+	@Test
+	public void testSelectiveUpdateKeepsValuesNotYetSearchable() {
+		searchIndex.index(newDocument("1", "Write report", "yearly figures"),
+				false);
+
+		// merged with the document the searcher has not been refreshed with
+		searchIndex.index(newDocument("1", "Write summary", null), true);
+		assertThat(search("figures")).extracting("name").containsExactly(
+				"Write summary");
+
+		// merged with the document read from the searcher
+		SearchDocument document = new SearchDocument("Task", "1");
+		document.putContent("detail", "monthly figures");
+		searchIndex.index(document, true);
+		List<SearchHit> hits = search("monthly");
+		assertThat(hits).extracting("name").containsExactly("Write summary");
+		assertThat(hits).extracting("extraTypeId").containsExactly(1);
+	}
+
+	@Test
+	public void testSelectiveUpdateOfRemovedDocumentIsNotIndexed() {
+		searchIndex.index(newDocument("1", "Write report", "yearly figures"),
+				false);
+		searchIndex.remove("Task", "1");
+
+		// without an account the merged document is not indexed
+		SearchDocument document = new SearchDocument("Task", "1");
+		document.setName("Write summary");
+		searchIndex.index(document, true);
+		assertThat(search("write")).isEmpty();
+	}
+
+	@Test
+	public void testRebuildKeepsDocumentsSearchable() {
+		searchIndex.index(newDocument("1", "Write report", null), false);
+		searchIndex.index(newDocument("2", "Write code", null), false);
+
+		searchIndex.startRebuild();
+		searchIndex.index(newDocument("1", "Write report", null), false);
+		assertThat(search("write")).extracting("typeId").containsOnly("1",
+				"2");
+
+		// task 2 has been removed from the database before the rebuild
+		searchIndex.removeOutdated(ACCOUNT_ID);
+		assertThat(search("write")).extracting("typeId").containsExactly("1");
+
+		searchIndex.markRebuilt();
+		assertThat(searchIndex.isRebuilt()).isTrue();
+	}
+
+	@Test
+	public void testRebuildOfAccountKeepsOtherAccounts() {
+		searchIndex.index(newDocument("1", "Write report", null), false);
+		SearchDocument otherAccountDocument = newDocument("2", "Write code",
+				null);
+		otherAccountDocument.setSaccountid(2);
+		searchIndex.index(otherAccountDocument, false);
+
+		searchIndex.startRebuild();
+		searchIndex.removeOutdated(ACCOUNT_ID);
+
+		assertThat(search("write")).isEmpty();
+		assertThat(searchIndex.search("write", 2, null, null, 10)).extracting(
+				"typeId").containsExactly("2");
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.service;
+
+import com.esofthead.mycollab.common.TooltipCache;
+import com.esofthead.mycollab.module.project.ProjectTypeConstants;
+import com.esofthead.mycollab.module.project.domain.SimpleTask;
+import com.esofthead.mycollab.module.project.service.ProjectTaskService;
+import com.esofthead.mycollab.test.DataSet;
+import com.esofthead.mycollab.test.service.IntergrationServiceTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+public class TooltipServiceTest extends IntergrationServiceTest {
+    @Autowired
+    private TooltipService tooltipService;
+
+    @Autowired
+    private TooltipCache tooltipCache;
+
+    @Autowired
+    private ProjectTaskService projectTaskService;
+
+    @Before
+    public void clearCache() {
+        tooltipCache.invalidateAll();
+    }
+
+    private String getTaskTooltip() {
+        return tooltipService.getTooltip(ProjectTypeConstants.TASK, "1", 1, null, "http://localhost:8080/",
+                TimeZone.getTimeZone("UTC"), Locale.US);
+    }
+
+    @Test
+    @DataSet
+    public void testTooltipIsCached() {
+        String html = getTaskTooltip();
+        assertThat(html).contains("task1");
+        assertThat(getTaskTooltip()).isSameAs(html);
+        assertThat(tooltipCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DataSet
+    public void testUpdateInvalidatesTooltip() {
+        assertThat(getTaskTooltip()).contains("task1");
+
+        SimpleTask task = projectTaskService.findById(1, 1);
+        task.setTaskname("task renamed");
+        projectTaskService.updateWithSession(task, "hainguyen@esofthead.com");
+
+        assertThat(getTaskTooltip()).contains("task renamed");
+    }
+
+    @Test
+    @DataSet
+    public void testVariantsOfItemAreBounded() {
+        for (int i = 0; i < 5 * TooltipCache.MAX_VARIANTS; i++) {
+            String html = tooltipService.getTooltip(ProjectTypeConstants.TASK, "1", 1, null,
+                    "http://localhost:8080/" + i + "/", TimeZone.getTimeZone("UTC"), Locale.US);
+            assertThat(html).contains("task1");
+        }
+        assertThat(tooltipCache.getVariants(ProjectTypeConstants.TASK, "1").size())
+                .isLessThanOrEqualTo(TooltipCache.MAX_VARIANTS);
+    }
+}
@@ -19,6 +19,7 @@ package com.esofthead.mycollab.module.crm.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Assert;
@@ -32,6 +33,7 @@ import com.esofthead.mycollab.core.arguments.SearchField;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
 import com.esofthead.mycollab.core.arguments.SetSearchField;
 import com.esofthead.mycollab.core.arguments.StringSearchField;
+import com.esofthead.mycollab.module.crm.domain.Lead;
 import com.esofthead.mycollab.module.crm.domain.SimpleLead;
 import com.esofthead.mycollab.module.crm.domain.criteria.LeadSearchCriteria;
 import com.esofthead.mycollab.test.DataSet;
@@ -61,6 +63,26 @@ public class LeadServiceTest extends IntergrationServiceTest {
 		Assert.assertEquals(2, leadService.getTotalCount(getCriteria()));
 	}
 
+	@DataSet
+	@Test
+	public void testMassSaveLeads() {
+		Lead lead1 = new Lead();
+		lead1.setFirstname("Nguyen");
+		lead1.setLastname("Imported");
+		lead1.setSaccountid(1);
+		Lead lead2 = new Lead();
+		lead2.setFirstname("Nguyen");
+		lead2.setLastname("Imported Two");
+		lead2.setSaccountid(1);
+
+		leadService.massSaveWithSession(Arrays.asList(lead1, lead2), "linh", 1);
+		assertThat(lead1.getId()).isNotNull();
+		assertThat(lead2.getId()).isNotNull().isNotEqualTo(lead1.getId());
+		assertThat(lead1.getCreateduser()).isEqualTo("linh");
+		assertThat(leadService.findById(lead2.getId(), 1).getLastname())
+				.isEqualTo("Imported Two");
+	}
+
 	private LeadSearchCriteria getCriteria() {
 		LeadSearchCriteria criteria = new LeadSearchCriteria();
 		criteria.setLeadName(new StringSearchField(SearchField.AND, "Nguyen"));
@@ -194,4 +194,43 @@ public class ContentJcrDaoTest extends IntergrationServiceTest {
 				tuple("example/e/a", "page example2"),
 				tuple("example/e/b", "page example3"));
 	}
+
+	@Test
+	public void testSearchResourcesByName() {
+		contentJcrDao.removeResource("search");
+		for (String path : new String[] { "search/docs/report-2015.pdf",
+				"search/docs/annual report.doc", "search/readme.txt",
+				"search/other/reports/summary.txt" }) {
+			Content content = new Content(path);
+			content.setTitle(path);
+			contentJcrDao.saveContent(content, "hainguyen");
+		}
+
+		assertThat(
+				contentJcrDao.getTotalCountOfResourcesByName("search", "REPORT"))
+				.isEqualTo(3);
+		List<Resource> resources = contentJcrDao.searchResourcesByName(
+				"search", "report");
+		assertThat(resources).extracting("path").containsExactly(
+				"search/docs/report-2015.pdf", "search/other/reports",
+				"search/docs/annual report.doc");
+		assertThat(resources.get(1)).isExactlyInstanceOf(Folder.class);
+
+		resources = contentJcrDao.searchResourcesByName("search", "report", 1,
+				1);
+		assertThat(resources).extracting("path").containsExactly(
+				"search/other/reports");
+
+		contentJcrDao.rename("search/docs", "search/papers");
+		assertThat(
+				contentJcrDao.searchResourcesByName("search/papers", "port"))
+				.extracting("path").containsExactly(
+						"search/papers/annual report.doc",
+						"search/papers/report-2015.pdf");
+
+		contentJcrDao.removeResource("search/papers");
+		assertThat(
+				contentJcrDao.getTotalCountOfResourcesByName("search", "report"))
+				.isEqualTo(1);
+	}
 }
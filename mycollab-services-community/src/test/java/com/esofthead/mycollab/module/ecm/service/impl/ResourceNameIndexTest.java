@@ -0,0 +1,96 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.ecm.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ResourceNameIndexTest {
+
+	private ResourceNameIndex resourceNameIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("test");
+		resourceNameIndex = new ResourceNameIndex();
+		ReflectionTestUtils.setField(resourceNameIndex, "environment",
+				environment);
+		resourceNameIndex.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		resourceNameIndex.destroy();
+	}
+
+	@Test
+	public void testSearchUnderFolder() {
+		Map<String, Boolean> resources = new LinkedHashMap<>();
+		resources.put("docs", true);
+		resources.put("docs/report.pdf", false);
+		resources.put("docs/old-report.pdf", false);
+		resources.put("images/report.png", false);
+		resourceNameIndex.build(resources);
+
+		assertThat(resourceNameIndex.isBuilt()).isTrue();
+		assertThat(resourceNameIndex.search("docs", "report", 0, 10))
+				.containsExactly("docs/report.pdf", "docs/old-report.pdf");
+		assertThat(resourceNameIndex.count("", "report")).isEqualTo(3);
+	}
+
+	@Test
+	public void testChangesDuringBuildAreReplayed() {
+		resourceNameIndex.startBuild();
+
+		// made while the repository is walked, the walk below did not see
+		// the new content but still saw the removed and the moved ones
+		resourceNameIndex.add("docs/new.txt", false);
+		resourceNameIndex.remove("docs/removed.txt");
+		resourceNameIndex.move("draft", "final");
+
+		Map<String, Boolean> resources = new LinkedHashMap<>();
+		resources.put("docs", true);
+		resources.put("docs/kept.txt", false);
+		resources.put("docs/removed.txt", false);
+		resources.put("draft", true);
+		resources.put("draft/plan.txt", false);
+		resourceNameIndex.build(resources);
+
+		assertThat(resourceNameIndex.search("", "", 0, 10)).containsOnly(
+				"docs", "docs/kept.txt", "docs/new.txt", "final",
+				"final/plan.txt");
+	}
+
+	@Test
+	public void testCancelledBuildStopsRecording() {
+		resourceNameIndex.startBuild();
+		resourceNameIndex.cancelBuild();
+		resourceNameIndex.add("docs/new.txt", false);
+
+		resourceNameIndex.build(new LinkedHashMap<String, Boolean>());
+		assertThat(resourceNameIndex.count("", "")).isEqualTo(0);
+	}
+}
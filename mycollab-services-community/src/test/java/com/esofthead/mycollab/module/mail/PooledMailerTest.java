@@ -0,0 +1,230 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Provider;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.internet.MimeMessage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.esofthead.mycollab.common.domain.MailRecipientField;
+import com.esofthead.mycollab.configuration.EmailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+public class PooledMailerTest {
+	private GreenMail greenMail;
+
+	private PooledMailer mailer;
+
+	@Before
+	public void setUp() {
+		greenMail = new GreenMail(ServerSetupTest.SMTP);
+		greenMail.start();
+
+		EmailConfiguration configuration = new EmailConfiguration();
+		configuration.setHost("localhost");
+		configuration.setPort(ServerSetupTest.SMTP.getPort());
+		configuration.setPoolSize(3);
+		mailer = new PooledMailer(configuration);
+	}
+
+	@After
+	public void tearDown() {
+		mailer.close();
+		greenMail.stop();
+	}
+
+	private static HtmlMailMessage newMessage(int index) {
+		return new HtmlMailMessage("noreply@mycollab.com", "MyCollab",
+				Arrays.asList(new MailRecipientField("user" + index
+						+ "@mycollab.com", "User " + index)), null, null,
+				"Subject " + index, "<p>Content " + index + "</p>", null);
+	}
+
+	@Test
+	public void testSendBatch() throws Exception {
+		List<HtmlMailMessage> messages = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			messages.add(newMessage(i));
+		}
+		mailer.sendHTMLMails(messages);
+
+		MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+		assertThat(receivedMessages.length).isEqualTo(20);
+		assertThat(mailer.getSentCount()).isEqualTo(20);
+		assertThat(mailer.getFailedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testSslOnConnectPort() {
+		EmailConfiguration configuration = new EmailConfiguration();
+		configuration.setHost("smtp.mycollab.com");
+		configuration.setPort(465);
+		configuration.setIsTls(true);
+		Session session = PooledMailer.createSession(configuration);
+		assertThat(session.getProperty("mail.smtp.ssl.enable")).isEqualTo(
+				"true");
+		assertThat(session.getProperty("mail.smtp.starttls.enable")).isNull();
+
+		configuration.setPort(587);
+		session = PooledMailer.createSession(configuration);
+		assertThat(session.getProperty("mail.smtp.ssl.enable")).isNull();
+		assertThat(session.getProperty("mail.smtp.starttls.enable"))
+				.isEqualTo("true");
+	}
+
+	@Test
+	public void testReconnectAfterServerRestart() throws Exception {
+		mailer.sendHTMLMails(Arrays.asList(newMessage(1)));
+
+		greenMail.stop();
+		greenMail = new GreenMail(ServerSetupTest.SMTP);
+		greenMail.start();
+
+		mailer.sendHTMLMails(Arrays.asList(newMessage(2), newMessage(3)));
+		assertThat(greenMail.getReceivedMessages().length).isEqualTo(2);
+		assertThat(mailer.getSentCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void testSendFailureIsNotRetried() throws Exception {
+		FakeTransport.reset();
+		FakeTransport.sendFailures = 1;
+		PooledMailer fakeMailer = newFakeMailer();
+		try {
+			fakeMailer.sendHTMLMails(Arrays.asList(newMessage(1)));
+		} finally {
+			fakeMailer.close();
+		}
+
+		assertThat(FakeTransport.sendCount).isEqualTo(1);
+		assertThat(fakeMailer.getSentCount()).isEqualTo(0);
+		assertThat(fakeMailer.getFailedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testConnectFailureIsRetried() throws Exception {
+		FakeTransport.reset();
+		FakeTransport.connectFailures = 1;
+		PooledMailer fakeMailer = newFakeMailer();
+		try {
+			fakeMailer.sendHTMLMails(Arrays.asList(newMessage(1)));
+		} finally {
+			fakeMailer.close();
+		}
+
+		assertThat(FakeTransport.connectCount).isEqualTo(2);
+		assertThat(FakeTransport.sendCount).isEqualTo(1);
+		assertThat(fakeMailer.getSentCount()).isEqualTo(1);
+		assertThat(fakeMailer.getFailedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testClosedConnectionIsReplacedBeforeSending() throws Exception {
+		FakeTransport.reset();
+		PooledMailer fakeMailer = newFakeMailer();
+		try {
+			fakeMailer.sendHTMLMails(Arrays.asList(newMessage(1)));
+			FakeTransport.alive = false;
+			fakeMailer.sendHTMLMails(Arrays.asList(newMessage(2)));
+		} finally {
+			fakeMailer.close();
+		}
+
+		assertThat(FakeTransport.connectCount).isEqualTo(2);
+		assertThat(FakeTransport.sendCount).isEqualTo(2);
+		assertThat(fakeMailer.getSentCount()).isEqualTo(2);
+	}
+
+	private static PooledMailer newFakeMailer() {
+		Session session = Session.getInstance(new Properties());
+		session.setProvider(new Provider(Provider.Type.TRANSPORT, "smtp",
+				FakeTransport.class.getName(), "MyCollab", "1.0"));
+
+		EmailConfiguration configuration = new EmailConfiguration();
+		configuration.setHost("localhost");
+		configuration.setPoolSize(1);
+		return new PooledMailer(configuration, session);
+	}
+
+	/**
+	 * Counts the connections and the sent messages, and fails the configured
+	 * number of them.
+	 */
+	public static class FakeTransport extends Transport {
+		static volatile int connectFailures;
+		static volatile int sendFailures;
+		static volatile boolean alive;
+		static volatile int connectCount;
+		static volatile int sendCount;
+
+		public FakeTransport(Session session, URLName urlname) {
+			super(session, urlname);
+		}
+
+		static void reset() {
+			connectFailures = 0;
+			sendFailures = 0;
+			alive = true;
+			connectCount = 0;
+			sendCount = 0;
+		}
+
+		@Override
+		protected boolean protocolConnect(String host, int port, String user,
+				String password) throws MessagingException {
+			connectCount++;
+			if (connectFailures > 0) {
+				connectFailures--;
+				throw new MessagingException("Connection refused");
+			}
+			alive = true;
+			return true;
+		}
+
+		@Override
+		public boolean isConnected() {
+			return super.isConnected() && alive;
+		}
+
+		@Override
+		public void sendMessage(Message message, Address[] addresses)
+				throws MessagingException {
+			sendCount++;
+			if (sendFailures > 0) {
+				sendFailures--;
+				throw new MessagingException("Connection reset");
+			}
+		}
+	}
+}
@@ -18,10 +18,15 @@ package com.esofthead.mycollab.module.project.service;
 
 import com.esofthead.mycollab.core.arguments.DateSearchField;
 import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchField;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
 import com.esofthead.mycollab.core.arguments.SetSearchField;
+import com.esofthead.mycollab.core.arguments.StringSearchField;
 import com.esofthead.mycollab.module.project.domain.ProjectGenericTask;
+import com.esofthead.mycollab.module.project.domain.Risk;
 import com.esofthead.mycollab.module.project.domain.criteria.ProjectGenericTaskSearchCriteria;
+import com.esofthead.mycollab.module.user.domain.User;
+import com.esofthead.mycollab.module.user.service.UserService;
 import com.esofthead.mycollab.test.DataSet;
 import com.esofthead.mycollab.test.service.IntergrationServiceTest;
 import org.junit.Test;
@@ -32,6 +37,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -43,6 +49,12 @@ public class GenericTaskServiceTest extends IntergrationServiceTest {
     @Autowired
     protected ProjectGenericTaskService genericTaskService;
 
+    @Autowired
+    protected RiskService riskService;
+
+    @Autowired
+    protected UserService userService;
+
     @SuppressWarnings("unchecked")
     @DataSet
     @Test
@@ -57,6 +69,27 @@ public class GenericTaskServiceTest extends IntergrationServiceTest {
                 tuple("Project-Risk", "b"), tuple("Project-Bug", "summary 1"));
     }
 
+    @SuppressWarnings("unchecked")
+    @DataSet
+    @Test
+    public void testGenericTaskListWithDescription() {
+        ProjectGenericTaskSearchCriteria criteria = new ProjectGenericTaskSearchCriteria();
+        criteria.setSaccountid(new NumberSearchField(1));
+        List<ProjectGenericTask> tasks = genericTaskService
+                .findPagableListByCriteria(new SearchRequest<>(
+                        criteria, 0, Integer.MAX_VALUE));
+        assertThat(tasks).extracting("description").containsOnly((Object) null);
+
+        criteria.setWithDescription(true);
+        tasks = genericTaskService.findPagableListByCriteria(new SearchRequest<>(
+                criteria, 0, Integer.MAX_VALUE));
+        assertThat(tasks).extracting("type", "name", "description").containsOnly(
+                tuple("Project-Problem", "a", "aaa"),
+                tuple("Project-Problem", "problem a", "aaa"),
+                tuple("Project-Risk", "b", "aaa"),
+                tuple("Project-Bug", "summary 1", null));
+    }
+
     @SuppressWarnings("unchecked")
     @DataSet
     @Test
@@ -97,4 +130,63 @@ public class GenericTaskServiceTest extends IntergrationServiceTest {
                 tuple("Project-Problem", "problem a"),
                 tuple("Project-Risk", "b"));
     }
+
+    @SuppressWarnings("unchecked")
+    @DataSet
+    @Test
+    public void testAssignmentsFollowRiskChanges() {
+        Risk risk = new Risk();
+        risk.setId(1);
+        risk.setRiskname("risk b");
+        risk.setStatus("Open");
+        risk.setSaccountid(1);
+        riskService.updateSelectiveWithSession(risk, "user1");
+
+        ProjectGenericTaskSearchCriteria criteria = new ProjectGenericTaskSearchCriteria();
+        criteria.setIsOpenned(new SearchField());
+        criteria.setSaccountid(new NumberSearchField(1));
+        List<ProjectGenericTask> tasks = genericTaskService
+                .findPagableListByCriteria(new SearchRequest<>(
+                        criteria, 0, Integer.MAX_VALUE));
+        assertThat(tasks).extracting("type", "name").contains(
+                tuple("Project-Risk", "risk b"));
+
+        riskService.removeWithSession(1, "user1", 1);
+        assertThat(genericTaskService.getTotalCount(criteria)).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    @DataSet
+    @Test
+    public void testAssignmentsFollowUserRename() {
+        User user = new User();
+        user.setUsername("user1");
+        user.setEmail("user1@esofthead.com");
+        userService.updateWithSession(user, "user1");
+
+        ProjectGenericTaskSearchCriteria criteria = new ProjectGenericTaskSearchCriteria();
+        criteria.setSaccountid(new NumberSearchField(1));
+        criteria.setAssignUser(new StringSearchField("user1@esofthead.com"));
+        List<ProjectGenericTask> tasks = genericTaskService
+                .findPagableListByCriteria(new SearchRequest<>(
+                        criteria, 0, Integer.MAX_VALUE));
+        assertThat(tasks).extracting("type", "name").containsOnly(
+                tuple("Project-Problem", "a"), tuple("Project-Bug", "summary 1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @DataSet
+    @Test
+    public void testAssignmentsFollowUserRemoval() {
+        userService.massRemoveWithSession(Arrays.asList("user2"), "user1", 1);
+
+        ProjectGenericTaskSearchCriteria criteria = new ProjectGenericTaskSearchCriteria();
+        criteria.setSaccountid(new NumberSearchField(1));
+        List<ProjectGenericTask> tasks = genericTaskService
+                .findPagableListByCriteria(new SearchRequest<>(
+                        criteria, 0, Integer.MAX_VALUE));
+        assertThat(tasks).extracting("type", "name").containsOnly(
+                tuple("Project-Problem", "problem a"),
+                tuple("Project-Risk", "b"), tuple("Project-Bug", "summary 1"));
+    }
 }
@@ -27,11 +27,15 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.esofthead.mycollab.common.ActivityStreamConstants;
 import com.esofthead.mycollab.common.ModuleNameConstants;
+import com.esofthead.mycollab.common.domain.ActivityStreamWithBLOBs;
 import com.esofthead.mycollab.common.domain.criteria.ActivityStreamSearchCriteria;
+import com.esofthead.mycollab.common.service.ActivityStreamService;
 import com.esofthead.mycollab.core.arguments.NumberSearchField;
 import com.esofthead.mycollab.core.arguments.SearchField;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.arguments.SetSearchField;
 import com.esofthead.mycollab.core.arguments.StringSearchField;
 import com.esofthead.mycollab.module.project.domain.Project;
@@ -50,6 +54,9 @@ public class ProjectServiceTest extends IntergrationServiceTest {
 	@Autowired
 	private ProjectActivityStreamService projectActivityStreamService;
 
+	@Autowired
+	private ActivityStreamService activityStreamService;
+
 	@DataSet
 	@Test
 	public void testSaveProject() {
@@ -136,4 +143,57 @@ public class ProjectServiceTest extends IntergrationServiceTest {
 				tuple("Project-Bug", "1", 20), tuple("Project-Task", "1", 10),
 				tuple("Project-Risk", "1", null));
 	}
+
+	@DataSet
+	@Test
+	public void testGetActivityStreamsAfterCursor() {
+		ActivityStreamSearchCriteria criteria = new ActivityStreamSearchCriteria();
+		criteria.setModuleSet(new SetSearchField<>(
+				new String[] { ModuleNameConstants.PRJ }));
+		criteria.setExtraTypeIds(new SetSearchField<>(4));
+		criteria.setSaccountid(new NumberSearchField(1));
+
+		List<ProjectActivityStream> firstPage = projectActivityStreamService
+				.getProjectActivityStreams(new SearchRequest<>(criteria, 1, 2),
+						null);
+		assertThat(firstPage).extracting("id").containsExactly(2, 1);
+
+		SeekCursor cursor = SeekCursor.fromBean(firstPage.get(1), "createdtime");
+		List<ProjectActivityStream> secondPage = projectActivityStreamService
+				.getProjectActivityStreams(new SearchRequest<>(criteria, 2, 2),
+						cursor);
+		assertThat(secondPage).extracting("id").containsExactly(3);
+
+		assertThat(projectActivityStreamService.getProjectActivityStreams(
+				new SearchRequest<>(criteria, 2, 2))).extracting("id")
+				.containsExactly(3);
+	}
+
+	@DataSet
+	@Test
+	public void testSaveActivityAddsTimelineEntry() {
+		ActivityStreamWithBLOBs activityStream = new ActivityStreamWithBLOBs();
+		activityStream.setSaccountid(1);
+		activityStream.setModule(ModuleNameConstants.PRJ);
+		activityStream.setType("Project-Task");
+		activityStream.setTypeid("1");
+		activityStream.setExtratypeid(4);
+		activityStream.setAction(ActivityStreamConstants.ACTION_UPDATE);
+		activityStream.setCreateduser("admin");
+		activityStream.setNamefield("taskname");
+		activityStreamService.save(activityStream);
+
+		ActivityStreamSearchCriteria criteria = new ActivityStreamSearchCriteria();
+		criteria.setModuleSet(new SetSearchField<>(
+				new String[] { ModuleNameConstants.PRJ }));
+		criteria.setExtraTypeIds(new SetSearchField<>(4));
+		criteria.setSaccountid(new NumberSearchField(1));
+		assertThat(projectActivityStreamService.getTotalActivityStream(criteria))
+				.isEqualTo(4);
+
+		List<ProjectActivityStream> streams = projectActivityStreamService
+				.getProjectActivityStreams(new SearchRequest<>(criteria));
+		assertThat(streams).extracting("action", "itemKey", "projectShortName")
+				.contains(tuple("update", 10, "aaa"));
+	}
 }
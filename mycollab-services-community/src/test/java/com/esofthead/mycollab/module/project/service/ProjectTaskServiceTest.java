@@ -18,12 +18,40 @@ package com.esofthead.mycollab.module.project.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.persistence.LazyBlobInterceptor;
+import com.esofthead.mycollab.core.persistence.LazyBlobReader;
+import com.esofthead.mycollab.module.project.dao.TaskMapperExt;
+import com.esofthead.mycollab.module.project.domain.SimpleProject;
 import com.esofthead.mycollab.module.project.domain.SimpleTask;
+import com.esofthead.mycollab.module.project.domain.Task;
+import com.esofthead.mycollab.module.project.domain.criteria.TaskSearchCriteria;
+import com.esofthead.mycollab.module.project.service.ibatis.TaskBlobReader;
 import com.esofthead.mycollab.test.DataSet;
 import com.esofthead.mycollab.test.service.IntergrationServiceTest;
 
@@ -33,6 +61,32 @@ public class ProjectTaskServiceTest extends IntergrationServiceTest {
 	@Autowired
 	private ProjectTaskService projectTaskService;
 
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectStatisticsService projectStatisticsService;
+
+	@Autowired
+	private LazyBlobInterceptor lazyBlobInterceptor;
+
+	@Autowired
+	private TaskBlobReader taskBlobReader;
+
+	@Autowired
+	private TaskMapperExt taskMapperExt;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@After
+	public void restoreBlobReader() {
+		lazyBlobInterceptor.registerReader(taskBlobReader);
+	}
+
 	@DataSet
 	@Test
 	public void testFindById() {
@@ -49,4 +103,207 @@ public class ProjectTaskServiceTest extends IntergrationServiceTest {
 		assertThat(task.getTaskname()).isEqualTo("task1");
 		assertThat(task.getProjectShortname()).isEqualTo("aaa");
 	}
+
+	@DataSet
+	@Test
+	public void testSaveTaskUpdatesProjectStatistics() {
+		Task task = new Task();
+		task.setSaccountid(1);
+		task.setProjectid(1);
+		task.setTaskname("task3");
+		task.setPercentagecomplete(0d);
+		projectTaskService.saveWithSession(task, "hainguyen@esofthead.com");
+
+		SimpleProject project = projectService.findById(1, 1);
+		assertThat(project.getNumTasks()).isEqualTo(3);
+		assertThat(project.getNumOpenTasks()).isEqualTo(1);
+	}
+
+	@DataSet
+	@Test
+	public void testMassOperationsUpdateProjectStatistics() {
+		projectStatisticsService.updateStatistics(1);
+
+		Task record = new Task();
+		record.setStatus("Open");
+		projectTaskService.massUpdateWithSession(record, Arrays.asList(1, 2),
+				1);
+
+		SimpleProject project = projectService.findById(1, 1);
+		assertThat(project.getNumTasks()).isEqualTo(2);
+		assertThat(project.getNumOpenTasks()).isEqualTo(2);
+
+		projectTaskService.massRemoveWithSession(Arrays.asList(1),
+				"hainguyen@esofthead.com", 1);
+
+		project = projectService.findById(1, 1);
+		assertThat(project.getNumTasks()).isEqualTo(1);
+		assertThat(project.getNumOpenTasks()).isEqualTo(1);
+	}
+
+	@DataSet
+	@Test
+	public void testSaveTasksAllocatesNextKeys() {
+		Task task1 = new Task();
+		task1.setSaccountid(2);
+		task1.setProjectid(3);
+		task1.setTaskname("task2");
+		projectTaskService.saveWithSession(task1, "hainguyen@esofthead.com");
+
+		Task task2 = new Task();
+		task2.setSaccountid(2);
+		task2.setProjectid(3);
+		task2.setTaskname("task3");
+		projectTaskService.saveWithSession(task2, "hainguyen@esofthead.com");
+
+		// the keys are reserved in blocks which outlive the data set, so only
+		// their order is known
+		assertThat(task1.getTaskkey()).isGreaterThan(1);
+		assertThat(task2.getTaskkey()).isGreaterThan(task1.getTaskkey());
+	}
+
+	@DataSet
+	@Test
+	public void testStreamTasks() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		criteria.setProjectid(new NumberSearchField(1));
+
+		final List<String> taskNames = new ArrayList<>();
+		projectTaskService.streamListByCriteria(criteria, new ResultHandler() {
+			@Override
+			public void handleResult(ResultContext context) {
+				taskNames.add(((SimpleTask) context.getResultObject())
+						.getTaskname());
+			}
+		});
+		assertThat(taskNames).containsOnly("task1", "task2");
+	}
+
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testListedTasksLoadNotesOnAccess() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		criteria.setProjectid(new NumberSearchField(1));
+
+		List<SimpleTask> tasks = projectTaskService
+				.findPagableListByCriteria(new SearchRequest<>(criteria, 0,
+						Integer.MAX_VALUE));
+		assertThat(tasks).extracting("notes").containsOnly("notes 1",
+				"notes 2");
+	}
+
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testUpdateListedTaskKeepsNotes() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		criteria.setProjectid(new NumberSearchField(1));
+
+		List<SimpleTask> tasks = projectTaskService
+				.findPagableListByCriteria(new SearchRequest<>(criteria, 0,
+						Integer.MAX_VALUE));
+		SimpleTask task = tasks.get(0);
+		task.setTaskname("task renamed");
+		projectTaskService.updateWithSession(task, "hainguyen@esofthead.com");
+
+		SimpleTask updatedTask = projectTaskService.findById(task.getId(), 1);
+		assertThat(updatedTask.getTaskname()).isEqualTo("task renamed");
+		assertThat(updatedTask.getNotes()).isEqualTo("notes " + task.getId());
+	}
+
+	@DataSet
+	@Test
+	public void testStreamedTasksLoadNotesInOneQuery() {
+		final AtomicInteger blobQueries = new AtomicInteger();
+		lazyBlobInterceptor.registerReader(new LazyBlobReader<SimpleTask>() {
+			@Override
+			public Class<SimpleTask> getRowType() {
+				return taskBlobReader.getRowType();
+			}
+
+			@Override
+			public Collection<String> getBlobProperties() {
+				return taskBlobReader.getBlobProperties();
+			}
+
+			@Override
+			public void readBlobs(Map<Integer, SimpleTask> rows) {
+				blobQueries.incrementAndGet();
+				taskBlobReader.readBlobs(rows);
+			}
+		});
+
+		TaskSearchCriteria criteria = new TaskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		criteria.setProjectid(new NumberSearchField(1));
+
+		final List<String> notes = new ArrayList<>();
+		projectTaskService.streamListByCriteria(criteria, new ResultHandler() {
+			@Override
+			public void handleResult(ResultContext context) {
+				notes.add(((SimpleTask) context.getResultObject()).getNotes());
+			}
+		});
+		assertThat(notes).containsOnly("notes 1", "notes 2");
+		assertThat(blobQueries.get()).isEqualTo(1);
+	}
+
+	/**
+	 * Compares the bytes the server sends for the task list of tasks with long
+	 * notes: the list projection, and the list with the notes as it was read
+	 * before the projection (the same rows followed by the query loading their
+	 * notes on first access). The statements run in one transaction so that
+	 * they share the connection whose session status is read.
+	 */
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testListProjectionSendsLessBytes() {
+		final String longNotes = StringUtils.repeat("notes ", 10000);
+		final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.update("UPDATE m_prj_task SET notes = ? WHERE projectid = 1",
+				longNotes);
+
+		final TaskSearchCriteria criteria = new TaskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		criteria.setProjectid(new NumberSearchField(1));
+
+		final long[] bytesSent = new long[2];
+		new TransactionTemplate(transactionManager)
+				.execute(new TransactionCallbackWithoutResult() {
+					@Override
+					protected void doInTransactionWithoutResult(
+							TransactionStatus status) {
+						long start = getBytesSent(jdbcTemplate);
+						long statusBytes = getBytesSent(jdbcTemplate) - start;
+
+						start = getBytesSent(jdbcTemplate);
+						List<SimpleTask> tasks = taskMapperExt
+								.findPagableListByCriteria(criteria,
+										new RowBounds(0, Integer.MAX_VALUE));
+						bytesSent[0] = getBytesSent(jdbcTemplate) - start
+								- statusBytes;
+
+						start = getBytesSent(jdbcTemplate);
+						for (SimpleTask task : tasks) {
+							assertThat(task.getNotes()).isEqualTo(longNotes);
+						}
+						bytesSent[1] = bytesSent[0] + getBytesSent(jdbcTemplate)
+								- start - statusBytes;
+					}
+				});
+
+		long notesBytes = 2L * longNotes.length();
+		assertThat(bytesSent[0]).isLessThan(notesBytes / 10);
+		assertThat(bytesSent[1]).isGreaterThan(notesBytes);
+	}
+
+	private static long getBytesSent(JdbcTemplate jdbcTemplate) {
+		return Long.parseLong(String.valueOf(jdbcTemplate.queryForMap(
+				"SHOW SESSION STATUS LIKE 'Bytes_sent'").get("Value")));
+	}
 }
@@ -31,7 +31,9 @@ import com.esofthead.mycollab.core.arguments.NumberSearchField;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
 import com.esofthead.mycollab.core.arguments.StringSearchField;
 import com.esofthead.mycollab.module.project.domain.SimpleTask;
+import com.esofthead.mycollab.module.project.domain.ProjectGenericTask;
 import com.esofthead.mycollab.module.project.domain.SimpleTaskList;
+import com.esofthead.mycollab.module.project.domain.criteria.ProjectGenericTaskSearchCriteria;
 import com.esofthead.mycollab.module.project.domain.criteria.TaskListSearchCriteria;
 import com.esofthead.mycollab.test.DataSet;
 import com.esofthead.mycollab.test.service.IntergrationServiceTest;
@@ -42,6 +44,9 @@ public class TaskListServiceTest extends IntergrationServiceTest {
 	@Autowired
 	private ProjectTaskListService projectTaskListService;
 
+	@Autowired
+	private ProjectGenericTaskService genericTaskService;
+
 	@SuppressWarnings("unchecked")
 	@DataSet
 	@Test
@@ -66,4 +71,19 @@ public class TaskListServiceTest extends IntergrationServiceTest {
 		SimpleTaskList taskList3 = taskLists.get(1);
 		assertThat(taskList3.getSubTasks().size()).isEqualTo(0);
 	}
+
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testRemoveTaskListRemovesAssignmentsOfItsTasks() {
+		projectTaskListService.removeWithSession(1, "admin", 1);
+
+		ProjectGenericTaskSearchCriteria criteria = new ProjectGenericTaskSearchCriteria();
+		criteria.setSaccountid(new NumberSearchField(1));
+		List<ProjectGenericTask> tasks = genericTaskService
+				.findPagableListByCriteria(new SearchRequest<>(criteria, 0,
+						Integer.MAX_VALUE));
+		assertThat(tasks).extracting("type", "name").containsOnly(
+				tuple("Project-Task", "task3"));
+	}
 }
@@ -19,22 +19,33 @@ package com.esofthead.mycollab.module.tracker.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.domain.GroupItem;
+import com.esofthead.mycollab.common.domain.SearchHit;
+import com.esofthead.mycollab.common.service.GlobalSearchService;
 import com.esofthead.mycollab.core.arguments.DateSearchField;
 import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.PagedResult;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
 import com.esofthead.mycollab.core.arguments.SearchField;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.arguments.SetSearchField;
 import com.esofthead.mycollab.core.arguments.StringSearchField;
+import com.esofthead.mycollab.module.project.ProjectTypeConstants;
 import com.esofthead.mycollab.module.tracker.domain.BugWithBLOBs;
 import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
 import com.esofthead.mycollab.module.tracker.domain.criteria.BugSearchCriteria;
@@ -47,6 +58,12 @@ public class BugServiceTest extends IntergrationServiceTest {
 	@Autowired
 	protected BugService bugService;
 
+	@Autowired
+	protected GlobalSearchService globalSearchService;
+
+	@Autowired
+	private DataSource dataSource;
+
 	@SuppressWarnings("unchecked")
 	@DataSet
 	@Test
@@ -186,4 +203,127 @@ public class BugServiceTest extends IntergrationServiceTest {
 		assertThat(bugService.findById(bugId, 1).getSummary()).isEqualTo(
 				"summary4");
 	}
+
+	@DataSet
+	@Test
+	public void testFindPagedResult() {
+		BugSearchCriteria criteria = new BugSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(1));
+
+		PagedResult firstPage = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 1, 2), null);
+		assertThat(firstPage.getItems().size()).isEqualTo(2);
+		assertThat(firstPage.getTotalCount()).isEqualTo(3);
+		assertThat(firstPage.isHasMore()).isTrue();
+
+		PagedResult lastPage = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 2, 2), null);
+		assertThat(lastPage.getItems().size()).isEqualTo(1);
+		assertThat(lastPage.getTotalCount()).isEqualTo(3);
+		assertThat(lastPage.isHasMore()).isFalse();
+		assertThat(lastPage.isApproximate()).isFalse();
+	}
+
+	@DataSet
+	@Test
+	public void testTotalCountIsEvictedWithServiceCache() {
+		BugSearchCriteria criteria = new BugSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(1));
+
+		PagedResult firstPage = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 1, 1), null);
+		assertThat(firstPage.getTotalCount()).isEqualTo(3);
+
+		bugService.massRemoveWithSession(Arrays.asList(3), "admin", 1);
+		CacheUtils.cleanCache(1, BugService.class.getName());
+
+		PagedResult pageAfterRemoval = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 1, 1), null);
+		assertThat(pageAfterRemoval.getTotalCount()).isEqualTo(2);
+		assertThat(pageAfterRemoval.isApproximate()).isFalse();
+	}
+
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testSeekPagedResult() {
+		BugSearchCriteria criteria = new BugSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(1));
+		criteria.setOrderByField("id");
+		criteria.setSortDirection(SearchCriteria.DESC);
+		assertThat(bugService.isSeekable(criteria)).isTrue();
+
+		List<SimpleBug> firstPage = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 1, 2), null).getItems();
+		assertThat(firstPage).extracting("id").containsExactly(3, 2);
+
+		SeekCursor cursor = SeekCursor.fromBean(firstPage.get(1), "id");
+		List<SimpleBug> secondPage = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 2, 2), cursor).getItems();
+		assertThat(secondPage).extracting("id").containsExactly(1);
+		assertThat(secondPage.get(0).getFixedVersions().size()).isEqualTo(2);
+	}
+
+	@SuppressWarnings("unchecked")
+	@DataSet
+	@Test
+	public void testSeekByMixedCaseFieldWithNullValues() {
+		new JdbcTemplate(dataSource)
+				.update("UPDATE m_tracker_bug SET createdTime = NULL WHERE id = 2");
+
+		BugSearchCriteria criteria = new BugSearchCriteria();
+		criteria.setProjectId(new NumberSearchField(1));
+		criteria.setOrderByField("createdTime");
+		criteria.setSortDirection(SearchCriteria.ASC);
+		assertThat(bugService.isSeekable(criteria)).isTrue();
+
+		// NULLs come first in ascending order
+		List<SimpleBug> page = bugService.findPagedResult(
+				new SearchRequest<>(criteria, 1, 1), null).getItems();
+		assertThat(page).extracting("id").containsExactly(2);
+		page = bugService.findPagedResult(new SearchRequest<>(criteria, 2, 1),
+				SeekCursor.fromBean(page.get(0), "createdTime")).getItems();
+		assertThat(page).extracting("id").containsExactly(1);
+		page = bugService.findPagedResult(new SearchRequest<>(criteria, 3, 1),
+				SeekCursor.fromBean(page.get(0), "createdTime")).getItems();
+		assertThat(page).extracting("id").containsExactly(3);
+
+		criteria.setSortDirection(SearchCriteria.DESC);
+		page = bugService.findPagedResult(new SearchRequest<>(criteria, 1, 2),
+				null).getItems();
+		assertThat(page).extracting("id").containsExactly(3, 1);
+		page = bugService.findPagedResult(new SearchRequest<>(criteria, 2, 2),
+				SeekCursor.fromBean(page.get(1), "createdTime")).getItems();
+		assertThat(page).extracting("id").containsExactly(2);
+	}
+
+	@DataSet
+	@Test
+	public void testGlobalSearch() {
+		assertThat(globalSearchService.rebuildIndex(1)).isGreaterThanOrEqualTo(3);
+
+		List<SearchHit> hits = globalSearchService.search("summ 2",
+				Arrays.asList(ProjectTypeConstants.BUG), 1, 1, 10);
+		assertThat(hits).extracting("typeId").containsExactly("2");
+
+		hits = globalSearchService.search("summary",
+				Arrays.asList(ProjectTypeConstants.BUG), 1, 1, 10);
+		assertThat(hits.size()).isEqualTo(3);
+	}
+
+	@DataSet
+	@Test
+	public void testRebuildIndexOfBugsWithVersionsAndComponents() {
+		// bug 1 is read as several rows, one per version and component
+		assertThat(globalSearchService.rebuildIndex(1)).isGreaterThanOrEqualTo(3);
+
+		List<SearchHit> hits = globalSearchService.search("summary 1",
+				Arrays.asList(ProjectTypeConstants.BUG), 1, 1, 10);
+		assertThat(hits).extracting("typeId").containsExactly("1");
+
+		hits = globalSearchService.search("detail",
+				Arrays.asList(ProjectTypeConstants.BUG), 1, 1, 10);
+		assertThat(hits).extracting("typeId").containsOnly("1", "2", "3");
+		assertThat(hits.size()).isEqualTo(3);
+	}
 }
@@ -0,0 +1,126 @@
+/**
+ * This file is part of mycollab-services-community.
+ *
+ * mycollab-services-community is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services-community is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services-community.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.template.velocity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.esofthead.mycollab.core.MyCollabException;
+
+public class TemplateEngineImplTest {
+	private static final String TEMPLATE_PATH = "templateEngineImplTest.mt";
+
+	private File templateFile;
+
+	private VelocityEngine voEngine;
+
+	@Before
+	public void setUp() throws Exception {
+		// the template is written next to the test classes, so it is found on
+		// the class path as a file whose changes can be detected
+		File classesDir = new File(TemplateEngineImplTest.class
+				.getResource("/").toURI());
+		templateFile = new File(classesDir, TEMPLATE_PATH);
+		writeTemplate("Hello $name");
+
+		voEngine = new VelocityEngine();
+		voEngine.setProperty("resource.loader", "class");
+		voEngine.setProperty("class.resource.loader.class",
+				ClasspathResourceLoader.class.getName());
+		voEngine.setProperty("class.resource.loader.cache", "false");
+		voEngine.init();
+
+		TemplateStatistics.reset();
+	}
+
+	@After
+	public void tearDown() {
+		templateFile.delete();
+	}
+
+	private void writeTemplate(String content) throws Exception {
+		long lastModified = templateFile.lastModified();
+		Files.write(templateFile.toPath(),
+				content.getBytes(StandardCharsets.UTF_8));
+		// file systems may keep the modification time in seconds
+		templateFile.setLastModified(Math.max(lastModified + 2000,
+				System.currentTimeMillis()));
+	}
+
+	private static String render(TemplateEngine templateEngine) {
+		TemplateContext context = new TemplateContext();
+		context.put("name", "MyCollab");
+		StringWriter writer = new StringWriter();
+		templateEngine.renderTemplate(context, writer, TEMPLATE_PATH);
+		return writer.toString();
+	}
+
+	@Test
+	public void testTemplateIsParsedOnce() {
+		TemplateEngine templateEngine = new TemplateEngineImpl(voEngine, false);
+		assertThat(render(templateEngine)).isEqualTo("Hello MyCollab");
+		assertThat(render(templateEngine)).isEqualTo("Hello MyCollab");
+
+		TemplateStatistics.Counter counter = TemplateStatistics
+				.getCounter(TEMPLATE_PATH);
+		assertThat(counter.getParses()).isEqualTo(1);
+		assertThat(counter.getRenders()).isEqualTo(2);
+	}
+
+	@Test
+	public void testModifiedTemplateIsKeptWithoutReload() throws Exception {
+		TemplateEngine templateEngine = new TemplateEngineImpl(voEngine, false);
+		assertThat(render(templateEngine)).isEqualTo("Hello MyCollab");
+
+		writeTemplate("Bye $name");
+		assertThat(render(templateEngine)).isEqualTo("Hello MyCollab");
+		assertThat(TemplateStatistics.getCounter(TEMPLATE_PATH).getParses())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void testModifiedTemplateIsReloaded() throws Exception {
+		TemplateEngine templateEngine = new TemplateEngineImpl(voEngine, true);
+		assertThat(render(templateEngine)).isEqualTo("Hello MyCollab");
+		assertThat(render(templateEngine)).isEqualTo("Hello MyCollab");
+		assertThat(TemplateStatistics.getCounter(TEMPLATE_PATH).getParses())
+				.isEqualTo(1);
+
+		writeTemplate("Bye $name");
+		assertThat(render(templateEngine)).isEqualTo("Bye MyCollab");
+		assertThat(TemplateStatistics.getCounter(TEMPLATE_PATH).getParses())
+				.isEqualTo(2);
+	}
+
+	@Test(expected = MyCollabException.class)
+	public void testMissingTemplate() {
+		TemplateEngine templateEngine = new TemplateEngineImpl(voEngine, false);
+		assertThat(templateEngine.hasTemplate("missingTemplate.mt")).isFalse();
+		templateEngine.renderTemplate(new TemplateContext(),
+				new StringWriter(), "missingTemplate.mt");
+	}
+}
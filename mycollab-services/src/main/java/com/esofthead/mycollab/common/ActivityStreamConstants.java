@@ -27,6 +27,7 @@ public class ActivityStreamConstants {
 	public static final String ACTION_UPDATE = "update";
 	public static final String ACTION_COMMENT = "comment";
 	public static final String ACTION_LOG_TIME = "logtime";
+	public static final String ACTION_IMPORT = "import";
 
 	private ActivityStreamConstants() {
 	}
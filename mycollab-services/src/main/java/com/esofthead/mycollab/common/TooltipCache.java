@@ -0,0 +1,95 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common;
+
+import com.esofthead.mycollab.module.crm.CrmTypeConstants;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendered tooltips, grouped by the entity they describe so a change of the
+ * entity drops its tooltips of every locale and time zone. Tooltips also show
+ * related entities (project, assignee, ...), those are refreshed when the
+ * tooltips of an entity expire.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class TooltipCache {
+    /**
+     * Type of the crm task tooltips, the crm task service is registered
+     * with {@link CrmTypeConstants#TASK}
+     */
+    public static final String CRM_TASK = "CRMTask";
+
+    /**
+     * Variants are keyed by the site url, locale and time zone of the
+     * request, the count kept for an entity is bounded so requests with many
+     * distinct ones can not fill the memory
+     */
+    public static final int MAX_VARIANTS = 16;
+
+    private static final int MAX_ITEMS = 10000;
+
+    private static final int EXPIRE_MINUTES = 10;
+
+    private final Cache<String, ConcurrentMap<String, String>> items = CacheBuilder.newBuilder()
+            .maximumSize(MAX_ITEMS).expireAfterWrite(EXPIRE_MINUTES, TimeUnit.MINUTES).build();
+
+    /**
+     * A map removed by {@link #invalidate(String, Object)} is not reachable
+     * any more, so a tooltip rendered while its entity changes is not kept.
+     *
+     * @param type
+     * @param typeId
+     * @return the rendered tooltips of the entity keyed by variant, created if
+     * absent
+     */
+    public ConcurrentMap<String, String> getVariants(String type, String typeId) {
+        String key = itemKey(type, typeId);
+        ConcurrentMap<String, String> variants = items.getIfPresent(key);
+        if (variants == null) {
+            variants = CacheBuilder.newBuilder().maximumSize(MAX_VARIANTS).<String, String>build().asMap();
+            ConcurrentMap<String, String> existing = items.asMap().putIfAbsent(key, variants);
+            if (existing != null) {
+                variants = existing;
+            }
+        }
+        return variants;
+    }
+
+    public void invalidate(String type, Object typeId) {
+        items.invalidate(itemKey(type, String.valueOf(typeId)));
+    }
+
+    public void invalidateAll() {
+        items.invalidateAll();
+    }
+
+    public long size() {
+        return items.size();
+    }
+
+    private static String itemKey(String type, String typeId) {
+        return (CRM_TASK.equals(type) ? CrmTypeConstants.TASK : type) + ":" + typeId;
+    }
+}
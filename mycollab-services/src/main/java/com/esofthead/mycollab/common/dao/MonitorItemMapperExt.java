@@ -27,4 +27,6 @@ public interface MonitorItemMapperExt extends
 		ISearchableDAO<MonitorSearchCriteria> {
 
     void saveMonitorItems(@Param("monitors") Collection<MonitorItem> monitorItems);
+
+    void saveMonitorItemsIfNotExist(@Param("monitors") Collection<MonitorItem> monitorItems);
 }
@@ -16,9 +16,17 @@
  */
 package com.esofthead.mycollab.common.dao;
 
+import java.util.Collection;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.esofthead.mycollab.common.domain.RelayEmailNotificationWithBLOBs;
 import com.esofthead.mycollab.common.domain.criteria.RelayEmailNotificationSearchCriteria;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 
 public interface RelayEmailNotificationMapperExt extends
 		ISearchableDAO<RelayEmailNotificationSearchCriteria> {
+
+	void saveRelayEmailNotifications(
+			@Param("notifications") Collection<RelayEmailNotificationWithBLOBs> notifications);
 }
@@ -99,6 +99,15 @@ class ActivityStream extends ValuedBean {
     @com.esofthead.mycollab.core.db.metadata.Column("extraTypeId")
     private Integer extratypeid;
 
+    /**
+     * This field was generated by MyBatis Generator.
+     * This field corresponds to the database column s_activitystream.itemCount
+     *
+     * @mbggenerated Sun May 17 10:12:25 ICT 2015
+     */
+    @com.esofthead.mycollab.core.db.metadata.Column("itemCount")
+    private Integer itemcount;
+
     private static final long serialVersionUID = 1;
 
     /**
@@ -292,4 +301,28 @@ class ActivityStream extends ValuedBean {
     public void setExtratypeid(Integer extratypeid) {
         this.extratypeid = extratypeid;
     }
-}
\ No newline at end of file
+
+    /**
+     * This method was generated by MyBatis Generator.
+     * This method returns the value of the database column s_activitystream.itemCount
+     *
+     * @return the value of s_activitystream.itemCount
+     *
+     * @mbggenerated Sun May 17 10:12:25 ICT 2015
+     */
+    public Integer getItemcount() {
+        return itemcount;
+    }
+
+    /**
+     * This method was generated by MyBatis Generator.
+     * This method sets the value of the database column s_activitystream.itemCount
+     *
+     * @param itemcount the value for s_activitystream.itemCount
+     *
+     * @mbggenerated Sun May 17 10:12:25 ICT 2015
+     */
+    public void setItemcount(Integer itemcount) {
+        this.itemcount = itemcount;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.domain;
+
+import java.io.Serializable;
+
+/**
+ * Item found by the global search.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class SearchHit implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String type;
+
+	private String typeId;
+
+	private String name;
+
+	private Integer extraTypeId;
+
+	private String matchedType;
+
+	private String matchedTypeId;
+
+	private float score;
+
+	/**
+	 * 
+	 * @return type of the found item. It is the type of the commented item
+	 *         when a comment matches
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getTypeId() {
+		return typeId;
+	}
+
+	public void setTypeId(String typeId) {
+		this.typeId = typeId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Integer getExtraTypeId() {
+		return extraTypeId;
+	}
+
+	public void setExtraTypeId(Integer extraTypeId) {
+		this.extraTypeId = extraTypeId;
+	}
+
+	/**
+	 * 
+	 * @return type of the indexed entity which matches the query
+	 */
+	public String getMatchedType() {
+		return matchedType;
+	}
+
+	public void setMatchedType(String matchedType) {
+		this.matchedType = matchedType;
+	}
+
+	public String getMatchedTypeId() {
+		return matchedTypeId;
+	}
+
+	public void setMatchedTypeId(String matchedTypeId) {
+		this.matchedTypeId = matchedTypeId;
+	}
+
+	public float getScore() {
+		return score;
+	}
+
+	public void setScore(float score) {
+		this.score = score;
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class SearchIndexStatistics implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private int documents;
+
+	private int deletedDocuments;
+
+	private long sizeInBytes;
+
+	private long indexedCount;
+
+	private long removedCount;
+
+	private long searchCount;
+
+	private double averageSearchMillis;
+
+	private Date rebuiltTime;
+
+	public int getDocuments() {
+		return documents;
+	}
+
+	public void setDocuments(int documents) {
+		this.documents = documents;
+	}
+
+	public int getDeletedDocuments() {
+		return deletedDocuments;
+	}
+
+	public void setDeletedDocuments(int deletedDocuments) {
+		this.deletedDocuments = deletedDocuments;
+	}
+
+	public long getSizeInBytes() {
+		return sizeInBytes;
+	}
+
+	public void setSizeInBytes(long sizeInBytes) {
+		this.sizeInBytes = sizeInBytes;
+	}
+
+	/**
+	 * 
+	 * @return number of documents indexed since the application started
+	 */
+	public long getIndexedCount() {
+		return indexedCount;
+	}
+
+	public void setIndexedCount(long indexedCount) {
+		this.indexedCount = indexedCount;
+	}
+
+	public long getRemovedCount() {
+		return removedCount;
+	}
+
+	public void setRemovedCount(long removedCount) {
+		this.removedCount = removedCount;
+	}
+
+	public long getSearchCount() {
+		return searchCount;
+	}
+
+	public void setSearchCount(long searchCount) {
+		this.searchCount = searchCount;
+	}
+
+	public double getAverageSearchMillis() {
+		return averageSearchMillis;
+	}
+
+	public void setAverageSearchMillis(double averageSearchMillis) {
+		this.averageSearchMillis = averageSearchMillis;
+	}
+
+	/**
+	 * 
+	 * @return time of the last full rebuild, <code>null</code> if the index
+	 *         was never rebuilt
+	 */
+	public Date getRebuiltTime() {
+		return rebuiltTime;
+	}
+
+	public void setRebuiltTime(Date rebuiltTime) {
+		this.rebuiltTime = rebuiltTime;
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import com.esofthead.mycollab.common.domain.ActivityStreamWithBLOBs;
+import com.esofthead.mycollab.common.domain.AuditLog;
+import com.esofthead.mycollab.common.domain.MonitorItem;
+import com.esofthead.mycollab.common.domain.RelayEmailNotificationWithBLOBs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Side effects of a service save/update call: the activity stream entry, the
+ * audit log, the monitor items and the relay notification. They are written
+ * together by {@link AuditEventWriter} so the audit log can refer to the
+ * activity stream entry and the notification can refer to the audit log.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public class AuditEvent {
+    private final Integer sAccountId;
+
+    private ActivityStreamWithBLOBs activity;
+
+    private AuditLog auditLog;
+
+    private List<MonitorItem> monitorItems = new ArrayList<>();
+
+    private RelayEmailNotificationWithBLOBs relayNotification;
+
+    public AuditEvent(Integer sAccountId) {
+        this.sAccountId = sAccountId;
+    }
+
+    public Integer getSaccountid() {
+        return sAccountId;
+    }
+
+    public ActivityStreamWithBLOBs getActivity() {
+        return activity;
+    }
+
+    public void setActivity(ActivityStreamWithBLOBs activity) {
+        this.activity = activity;
+    }
+
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    public List<MonitorItem> getMonitorItems() {
+        return monitorItems;
+    }
+
+    public void addMonitorItem(MonitorItem monitorItem) {
+        monitorItems.add(monitorItem);
+    }
+
+    public RelayEmailNotificationWithBLOBs getRelayNotification() {
+        return relayNotification;
+    }
+
+    public void setRelayNotification(RelayEmailNotificationWithBLOBs relayNotification) {
+        this.relayNotification = relayNotification;
+    }
+
+    /**
+     * Clears the keys generated by a write which has been rolled back, so the
+     * event can be written again.
+     */
+    public void resetGeneratedKeys() {
+        if (activity != null) {
+            activity.setId(null);
+            if (auditLog != null) {
+                auditLog.setActivitylogid(null);
+            }
+        }
+        if (auditLog != null) {
+            auditLog.setId(null);
+            if (relayNotification != null) {
+                relayNotification.setExtratypeid(null);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return activity == null && auditLog == null && monitorItems.isEmpty() && relayNotification == null;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import com.esofthead.mycollab.core.MyCollabThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process queue of {@link AuditEvent} drained by a single writer
+ * thread in batches. When the queue is full the event is written on the
+ * caller thread, so a slow database slows down the producers instead of
+ * dropping events. The remaining events are flushed when the application
+ * context is closed.
+ * <p>
+ * An event published inside a transaction is queued once the transaction
+ * has committed, so a rolled back save does not leave activities, audit logs,
+ * monitor items or notifications behind.
+ * <p>
+ * A batch which can not be written is retried, then written in halves so
+ * only the events the database rejects are dropped.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class AuditEventQueue implements InitializingBean, DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(AuditEventQueue.class);
+
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private static final int BATCH_SIZE = 200;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+
+    private final BlockingQueue<AuditEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
+    private volatile boolean running;
+
+    private Thread writerThread;
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        writerThread = new MyCollabThread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        });
+        writerThread.setName("mycollab-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void publish(final AuditEvent event) {
+        if (event == null || event.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the resources of the committed transaction are still bound in afterCommit, the writer runs
+            // in its own transaction so it does not take part in the committed one
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(event);
+                    }
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (running && queue.offer(event)) {
+            return;
+        }
+
+        LOG.warn("Audit event queue is full or stopped, write the event on the caller thread");
+        writeBatch(new ArrayList<>(Collections.singletonList(event)));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                AuditEvent event = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                batch.add(event);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                if (write(batch)) {
+                    return;
+                } else if (attempt == MAX_ATTEMPTS) {
+                    break;
+                }
+
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            if (batch.size() > 1) {
+                writeInHalves(batch);
+            } else {
+                LOG.error("Drop the audit event which can not be written");
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * The batch still fails after the retries, so the failure comes from some
+     * of its events. Halves are written until the failing events are isolated.
+     */
+    private void writeInHalves(List<AuditEvent> events) {
+        int middle = events.size() / 2;
+        for (List<AuditEvent> half : Arrays.asList(events.subList(0, middle), events.subList(middle, events.size()))) {
+            if (!write(half)) {
+                if (half.size() > 1) {
+                    writeInHalves(half);
+                } else {
+                    LOG.error("Drop the audit event which can not be written");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the events are written
+     */
+    private boolean write(List<AuditEvent> events) {
+        try {
+            auditEventWriter.write(events);
+            return true;
+        } catch (Exception e) {
+            for (AuditEvent event : events) {
+                event.resetGeneratedKeys();
+            }
+            LOG.warn("Error while writing " + events.size() + " audit events", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        List<AuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            writeBatch(batch);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import com.esofthead.mycollab.cache.CacheUtils;
+import com.esofthead.mycollab.common.ModuleNameConstants;
+import com.esofthead.mycollab.common.dao.ActivityStreamMapper;
+import com.esofthead.mycollab.common.dao.AuditLogMapper;
+import com.esofthead.mycollab.common.dao.MonitorItemMapperExt;
+import com.esofthead.mycollab.common.dao.RelayEmailNotificationMapperExt;
+import com.esofthead.mycollab.common.domain.AuditLog;
+import com.esofthead.mycollab.common.domain.MonitorItem;
+import com.esofthead.mycollab.common.domain.RelayEmailNotificationWithBLOBs;
+import com.esofthead.mycollab.common.service.ActivityStreamService;
+import com.esofthead.mycollab.common.service.AuditLogService;
+import com.esofthead.mycollab.module.project.dao.ProjectActivityTimelineMapperExt;
+import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a batch of {@link AuditEvent} in its own transaction, also when it is
+ * called after the transaction of a service call completes, so a batch is
+ * written entirely or not at all. Activity streams
+ * and audit logs are inserted through a batch executor so their generated
+ * keys are available to the rows referring to them, monitor items and relay
+ * notifications are inserted with multi-row INSERT statements. Project
+ * activities are then copied to the project activity timeline.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class AuditEventWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * @param events
+     * @throws RuntimeException if the batch can not be written, the
+     * transaction is then rolled back
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void write(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        final Set<Integer> accountIds = new HashSet<>();
+        SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false);
+        try {
+            ActivityStreamMapper activityStreamMapper = session.getMapper(ActivityStreamMapper.class);
+            for (AuditEvent event : events) {
+                if (event.getActivity() != null) {
+                    activityStreamMapper.insertAndReturnKey(event.getActivity());
+                }
+            }
+            flushStatements(session);
+
+            AuditLogMapper auditLogMapper = session.getMapper(AuditLogMapper.class);
+            for (AuditEvent event : events) {
+                AuditLog auditLog = event.getAuditLog();
+                if (auditLog != null) {
+                    if (event.getActivity() != null) {
+                        auditLog.setActivitylogid(event.getActivity().getId());
+                    }
+                    auditLogMapper.insertAndReturnKey(auditLog);
+                }
+            }
+            flushStatements(session);
+
+            // the timeline entries refer to the audit logs so they are added once both are written
+            List<Integer> projectActivityIds = new ArrayList<>();
+            for (AuditEvent event : events) {
+                if (event.getActivity() != null && ModuleNameConstants.PRJ.equals(event.getActivity().getModule())) {
+                    projectActivityIds.add(event.getActivity().getId());
+                }
+            }
+            if (!projectActivityIds.isEmpty()) {
+                session.getMapper(ProjectActivityTimelineMapperExt.class).insertTimelineEntries(projectActivityIds);
+                flushStatements(session);
+            }
+
+            Map<String, MonitorItem> monitorItems = new LinkedHashMap<>();
+            List<RelayEmailNotificationWithBLOBs> relayNotifications = new ArrayList<>();
+            for (AuditEvent event : events) {
+                accountIds.add(event.getSaccountid());
+                for (MonitorItem monitorItem : event.getMonitorItems()) {
+                    String key = monitorItem.getType() + "-" + monitorItem.getTypeid() + "-" + monitorItem.getUser();
+                    if (!monitorItems.containsKey(key)) {
+                        monitorItems.put(key, monitorItem);
+                    }
+                }
+
+                RelayEmailNotificationWithBLOBs relayNotification = event.getRelayNotification();
+                if (relayNotification != null) {
+                    if (event.getAuditLog() != null) {
+                        relayNotification.setExtratypeid(event.getAuditLog().getId());
+                    }
+                    relayNotifications.add(relayNotification);
+                }
+            }
+
+            if (!monitorItems.isEmpty()) {
+                session.getMapper(MonitorItemMapperExt.class).saveMonitorItemsIfNotExist(monitorItems.values());
+            }
+            if (!relayNotifications.isEmpty()) {
+                session.getMapper(RelayEmailNotificationMapperExt.class).saveRelayEmailNotifications(relayNotifications);
+            }
+            // flushes the statements, the connection is committed with the transaction
+            session.commit();
+        } finally {
+            session.close();
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                for (Integer accountId : accountIds) {
+                    if (accountId != null) {
+                        CacheUtils.cleanCaches(accountId, ActivityStreamService.class, AuditLogService.class,
+                                ProjectActivityStreamService.class);
+                    }
+                }
+            }
+        });
+        LOG.debug("Write {} audit events in {} ms", events.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private static void flushStatements(SqlSession session) {
+        List<BatchResult> results = session.flushStatements();
+        if (LOG.isDebugEnabled()) {
+            for (BatchResult result : results) {
+                LOG.debug("Flush {} statements of {}", result.getParameterObjects().size(),
+                        result.getMappedStatement().getId());
+            }
+        }
+    }
+}
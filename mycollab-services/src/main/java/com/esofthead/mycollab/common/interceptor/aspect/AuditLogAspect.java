@@ -17,22 +17,17 @@
 
 package com.esofthead.mycollab.common.interceptor.aspect;
 
-import com.esofthead.mycollab.cache.LocalCacheManager;
 import com.esofthead.mycollab.common.ActivityStreamConstants;
 import com.esofthead.mycollab.common.MonitorTypeConstants;
 import com.esofthead.mycollab.common.domain.*;
-import com.esofthead.mycollab.common.service.ActivityStreamService;
-import com.esofthead.mycollab.common.service.AuditLogService;
-import com.esofthead.mycollab.common.service.MonitorItemService;
-import com.esofthead.mycollab.common.service.RelayEmailNotificationService;
 import com.esofthead.mycollab.common.service.ibatis.AuditLogServiceImpl.AuditLogUtil;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
 import com.esofthead.mycollab.core.utils.BeanUtility;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.infinispan.commons.api.BasicCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.framework.Advised;
@@ -43,6 +38,8 @@ import org.springframework.stereotype.Component;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author MyCollab Ltd.
@@ -54,20 +51,10 @@ import java.util.GregorianCalendar;
 public class AuditLogAspect {
 
     private static final Logger LOG = LoggerFactory.getLogger(AuditLogAspect.class);
-    private static BasicCache<Object, Object> caches = LocalCacheManager
-            .getCache();
+    private static final Map<Class<?>, Method> findMethods = new ConcurrentHashMap<>();
 
     @Autowired
-    protected AuditLogService auditLogService;
-
-    @Autowired
-    private ActivityStreamService activityStreamService;
-
-    @Autowired
-    protected MonitorItemService monitorItemService;
-
-    @Autowired
-    private RelayEmailNotificationService relayEmailNotificationService;
+    private AuditEventQueue auditEventQueue;
 
     @Before("(execution(public * com.esofthead.mycollab..service..*.updateWithSession(..)) || (execution(public * com.esofthead.mycollab..service..*.updateSelectiveWithSession(..)))) && args(bean, username)")
     public void traceBeforeUpdateActivity(JoinPoint joinPoint, Object bean,
@@ -79,25 +66,22 @@ public class AuditLogAspect {
         Auditable auditAnnotation = cls.getAnnotation(Auditable.class);
         if (auditAnnotation != null) {
             try {
-                int typeid = (Integer) PropertyUtils.getProperty(bean, "id");
-                int sAccountId = (Integer) PropertyUtils.getProperty(bean,
+                int typeid = (Integer) BeanAccessor.getProperty(bean, "id");
+                int sAccountId = (Integer) BeanAccessor.getProperty(bean,
                         "saccountid");
-                // store old value to map, wait until the update process
-                // successfully then add to log item
+                // keep old value for the current call, wait until the update
+                // process successfully then add to log item
+                String type = ClassInfoMap.getType(cls);
+                if (AuditSnapshotStore.hasSnapshot(type, typeid)) {
+                    return;
+                }
 
-                // get old value
                 Object service = advised.getTargetSource().getTarget();
-                Method findMethod;
-                Object oldValue;
-                try {
-                    findMethod = cls.getMethod("findById", int.class, int.class);
-                } catch (Exception e) {
-                    findMethod = cls.getMethod("findByPrimaryKey", Serializable.class, int.class, int.class);
+                Method findMethod = getFindMethod(cls);
+                Object oldValue = findMethod.invoke(service, typeid, sAccountId);
+                if (oldValue != null) {
+                    AuditSnapshotStore.putSnapshot(type, typeid, oldValue);
                 }
-                oldValue = findMethod.invoke(service, typeid, sAccountId);
-                String key = bean.toString() + ClassInfoMap.getType(cls) + typeid;
-
-                caches.put(key, oldValue);
             } catch (Exception e) {
                 LOG.error("Error when save audit for save action of service "
                         + cls.getName(), e);
@@ -105,6 +89,25 @@ public class AuditLogAspect {
         }
     }
 
+    private static Method getFindMethod(Class<?> cls) throws NoSuchMethodException {
+        Method findMethod = findMethods.get(cls);
+        if (findMethod == null) {
+            try {
+                findMethod = cls.getMethod("findById", int.class, int.class);
+            } catch (NoSuchMethodException e) {
+                findMethod = cls.getMethod("findByPrimaryKey", Serializable.class, int.class);
+            }
+            findMethods.put(cls, findMethod);
+        }
+        return findMethod;
+    }
+
+    @AfterThrowing("(execution(public * com.esofthead.mycollab..service..*.updateWithSession(..)) || (execution(public * com.esofthead.mycollab..service..*.updateSelectiveWithSession(..)))) && args(bean, username)")
+    public void discardSnapshotOnError(JoinPoint joinPoint, Object bean, String username) {
+        Advised advised = (Advised) joinPoint.getThis();
+        takeAuditSnapshot(advised.getTargetSource().getTargetClass(), bean);
+    }
+
     @AfterReturning("(execution(public * com.esofthead.mycollab..service..*.updateWithSession(..)) || (execution(public * com.esofthead.mycollab..service..*.updateSelectiveWithSession(..))))  && args(bean, username)")
     public void traceAfterUpdateActivity(JoinPoint joinPoint, Object bean,
                                          String username) {
@@ -112,14 +115,28 @@ public class AuditLogAspect {
         Advised advised = (Advised) joinPoint.getThis();
         Class<?> cls = advised.getTargetSource().getTargetClass();
 
+        Object oldValue = takeAuditSnapshot(cls, bean);
         Traceable traceableAnnotation = cls.getAnnotation(Traceable.class);
-        Integer activityStreamId = null;
+        if (traceableAnnotation == null && cls.getAnnotation(Watchable.class) == null
+                && cls.getAnnotation(NotifyAgent.class) == null) {
+            return;
+        }
+
+        AuditEvent event;
+        try {
+            Integer sAccountId = (Integer) BeanAccessor.getProperty(bean, "saccountid");
+            event = new AuditEvent(sAccountId);
+        } catch (Exception e) {
+            LOG.error("Can not get account of bean " + BeanUtility.printBeanObj(bean), e);
+            return;
+        }
+
         if (traceableAnnotation != null) {
             try {
                 ActivityStreamWithBLOBs activity = TraceableAspect.constructActivity(cls,
                         traceableAnnotation, bean, username,
                         ActivityStreamConstants.ACTION_UPDATE);
-                activityStreamId = activityStreamService.save(activity);
+                event.setActivity(activity);
             } catch (Exception e) {
                 LOG.error(
                         "Error when save activity for save action of service "
@@ -131,13 +148,13 @@ public class AuditLogAspect {
             Watchable watchableAnnotation = cls.getAnnotation(Watchable.class);
             if (watchableAnnotation != null) {
                 String monitorType = ClassInfoMap.getType(cls);
-                Integer sAccountId = (Integer) PropertyUtils.getProperty(bean, "saccountid");
-                int typeId = (Integer) PropertyUtils.getProperty(bean,
+                Integer sAccountId = event.getSaccountid();
+                int typeId = (Integer) BeanAccessor.getProperty(bean,
                         "id");
 
                 Integer extraTypeId = null;
                 if (!"".equals(watchableAnnotation.extraTypeId())) {
-                    extraTypeId = (Integer) PropertyUtils.getProperty(bean,
+                    extraTypeId = (Integer) BeanAccessor.getProperty(bean,
                             watchableAnnotation.extraTypeId());
                 }
 
@@ -148,30 +165,34 @@ public class AuditLogAspect {
                 monitorItem.setExtratypeid(extraTypeId);
                 monitorItem.setUser(username);
                 monitorItem.setSaccountid(sAccountId);
-                monitorItemService.saveWithSession(monitorItem, username);
+                event.addMonitorItem(monitorItem);
 
                 // check whether the current user is in monitor list, if
                 // not add him in
                 if (!watchableAnnotation.userFieldName().equals("")) {
-                    String moreUser = (String) PropertyUtils.getProperty(bean,
+                    String moreUser = (String) BeanAccessor.getProperty(bean,
                             watchableAnnotation.userFieldName());
                     if (moreUser != null && !moreUser.equals(username)) {
-                        monitorItem.setId(null);
-                        monitorItem.setUser(moreUser);
-                        monitorItemService.saveWithSession(monitorItem,
-                                moreUser);
+                        MonitorItem moreUserMonitorItem = new MonitorItem();
+                        moreUserMonitorItem.setMonitorDate(monitorItem.getMonitorDate());
+                        moreUserMonitorItem.setType(monitorType);
+                        moreUserMonitorItem.setTypeid(typeId);
+                        moreUserMonitorItem.setExtratypeid(extraTypeId);
+                        moreUserMonitorItem.setUser(moreUser);
+                        moreUserMonitorItem.setSaccountid(sAccountId);
+                        event.addMonitorItem(moreUserMonitorItem);
                     }
                 }
             }
 
             NotifyAgent notifyAgent = cls.getAnnotation(NotifyAgent.class);
             if (notifyAgent != null) {
-                Integer sAccountId = (Integer) PropertyUtils.getProperty(bean, "saccountid");
-                Integer auditLogId = saveAuditLog(cls, bean, username, sAccountId,
-                        activityStreamId);
-                int typeId = (Integer) PropertyUtils.getProperty(bean,
+                Integer sAccountId = event.getSaccountid();
+                event.setAuditLog(buildAuditLog(cls, bean, username, sAccountId, oldValue));
+                int typeId = (Integer) BeanAccessor.getProperty(bean,
                         "id");
-                // Save notification email
+                // Save notification email, the audit log id is set when
+                // the event is written
                 RelayEmailNotificationWithBLOBs relayNotification = new RelayEmailNotificationWithBLOBs();
                 relayNotification.setChangeby(username);
                 relayNotification.setChangecomment("");
@@ -179,14 +200,8 @@ public class AuditLogAspect {
                 relayNotification.setType(ClassInfoMap.getType(cls));
                 relayNotification.setTypeid("" + typeId);
                 relayNotification.setEmailhandlerbean(notifyAgent.value().getName());
-                if (auditLogId != null) {
-                    relayNotification.setExtratypeid(auditLogId);
-                }
-
                 relayNotification.setAction(MonitorTypeConstants.UPDATE_ACTION);
-
-                relayEmailNotificationService.saveWithSession(
-                        relayNotification, username);
+                event.setRelayNotification(relayNotification);
             }
         } catch (Exception e) {
             LOG.error(
@@ -194,20 +209,32 @@ public class AuditLogAspect {
                             + cls.getName() + "and bean: "
                             + BeanUtility.printBeanObj(bean), e);
         }
+
+        auditEventQueue.publish(event);
+    }
+
+    private static Object takeAuditSnapshot(Class<?> targetCls, Object bean) {
+        if (targetCls.getAnnotation(Auditable.class) == null) {
+            return null;
+        }
+
+        try {
+            int typeid = (Integer) BeanAccessor.getProperty(bean, "id");
+            return AuditSnapshotStore.takeSnapshot(ClassInfoMap.getType(targetCls), typeid);
+        } catch (Exception e) {
+            AuditSnapshotStore.clear();
+            return null;
+        }
     }
 
-    private Integer saveAuditLog(Class<?> targetCls, Object bean,
-                                 String username, Integer sAccountId, Integer activityStreamId) {
+    private AuditLog buildAuditLog(Class<?> targetCls, Object bean,
+                                   String username, Integer sAccountId, Object oldValue) {
         Auditable auditAnnotation = targetCls.getAnnotation(Auditable.class);
         if (auditAnnotation != null) {
-            String key;
             String changeSet = "";
             try {
 
-                int typeid = (Integer) PropertyUtils.getProperty(bean, "id");
-                key = bean.toString() + ClassInfoMap.getType(targetCls) + typeid;
-
-                Object oldValue = caches.get(key);
+                int typeid = (Integer) BeanAccessor.getProperty(bean, "id");
                 if (oldValue != null) {
                     AuditLog auditLog = new AuditLog();
                     auditLog.setPosteduser(username);
@@ -219,11 +246,7 @@ public class AuditLogAspect {
                     changeSet = AuditLogUtil.getChangeSet(oldValue, bean);
                     auditLog.setChangeset(changeSet);
                     auditLog.setObjectClass(oldValue.getClass().getName());
-                    if (activityStreamId != null) {
-                        auditLog.setActivitylogid(activityStreamId);
-                    }
-
-                    return auditLogService.saveWithSession(auditLog, "");
+                    return auditLog;
                 }
             } catch (Exception e) {
                 LOG.error(
@@ -0,0 +1,82 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the state of audited entities before an update for the thread running
+ * the service call. {@link AuditLogAspect} takes the snapshot before
+ * <code>updateWithSession</code> and removes it once the change set is built,
+ * so nothing survives the call (unlike the former copy in the global cache).
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+final class AuditSnapshotStore {
+    private static final ThreadLocal<Map<String, Object>> snapshots = new ThreadLocal<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    private AuditSnapshotStore() {
+    }
+
+    private static String key(String type, int typeId) {
+        return type + "-" + typeId;
+    }
+
+    /**
+     * Register the unchanged state of entity <code>typeId</code> of type
+     * <code>type</code> (see the type constants of each module) before
+     * updating it.
+     *
+     * @param type
+     * @param typeId
+     * @param entity
+     */
+    static void putSnapshot(String type, int typeId, Object entity) {
+        snapshots.get().put(key(type, typeId), entity);
+    }
+
+    static boolean hasSnapshot(String type, int typeId) {
+        return snapshots.get().containsKey(key(type, typeId));
+    }
+
+    /**
+     * Remove and return the snapshot of the entity
+     *
+     * @param type
+     * @param typeId
+     * @return null if there is no snapshot of the entity
+     */
+    static Object takeSnapshot(String type, int typeId) {
+        Map<String, Object> values = snapshots.get();
+        Object value = values.remove(key(type, typeId));
+        if (values.isEmpty()) {
+            snapshots.remove();
+        }
+        return value;
+    }
+
+    static void clear() {
+        snapshots.remove();
+    }
+}
@@ -30,6 +30,10 @@ public class ClassInfoMap {
         mapWrapper.put(cls, classInfo);
     }
 
+    public static boolean hasInfo(Class cls) {
+        return mapWrapper.containsKey(cls);
+    }
+
     public static String getModule(Class cls) {
         return mapWrapper.get(cls).getModule();
     }
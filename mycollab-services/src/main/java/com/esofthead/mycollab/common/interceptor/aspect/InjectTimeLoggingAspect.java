@@ -19,7 +19,6 @@ package com.esofthead.mycollab.common.interceptor.aspect;
 
 import java.util.GregorianCalendar;
 
-import org.apache.commons.beanutils.PropertyUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -27,6 +26,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+
 /**
  * 
  * @author MyCollab Ltd.
@@ -43,25 +44,20 @@ public class InjectTimeLoggingAspect {
 	public void injectDateForSaveMethod(JoinPoint joinPoint, Object bean,
 			String username) {
 
-		try {
-			LOG.debug("Set createtime and lastupdatedtime if enable");
-			PropertyUtils.setProperty(bean, "createdtime",
-					new GregorianCalendar().getTime());
-			PropertyUtils.setProperty(bean, "lastupdatedtime",
-					new GregorianCalendar().getTime());
-		} catch (Exception e) {
-		}
+		LOG.debug("Set createtime and lastupdatedtime if enable");
+		BeanAccessor beanAccessor = BeanAccessor.of(bean.getClass());
+		beanAccessor.setIfWritable(bean, "createdtime",
+				new GregorianCalendar().getTime());
+		beanAccessor.setIfWritable(bean, "lastupdatedtime",
+				new GregorianCalendar().getTime());
 	}
 
 	@Before("(execution(public * com.esofthead.mycollab..service..*.updateWithSession(..)) || (execution(public * com.esofthead.mycollab..service..*.updateSelectiveWithSession(..))))  && args(bean, username)")
 	public void injectDateForUpdateMethod(JoinPoint joinPoint, Object bean,
 			String username) {
 
-		try {
-			LOG.debug("Set createtime and lastupdatedtime if enable");
-			PropertyUtils.setProperty(bean, "lastupdatedtime",
-					new GregorianCalendar().getTime());
-		} catch (Exception e) {
-		}
+		LOG.debug("Set createtime and lastupdatedtime if enable");
+		BeanAccessor.of(bean.getClass()).setIfWritable(bean,
+				"lastupdatedtime", new GregorianCalendar().getTime());
 	}
 }
\ No newline at end of file
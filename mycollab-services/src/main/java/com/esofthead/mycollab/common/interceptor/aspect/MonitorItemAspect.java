@@ -19,10 +19,8 @@ package com.esofthead.mycollab.common.interceptor.aspect;
 import com.esofthead.mycollab.common.MonitorTypeConstants;
 import com.esofthead.mycollab.common.domain.MonitorItem;
 import com.esofthead.mycollab.common.domain.RelayEmailNotificationWithBLOBs;
-import com.esofthead.mycollab.common.service.MonitorItemService;
-import com.esofthead.mycollab.common.service.RelayEmailNotificationService;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
 import com.esofthead.mycollab.core.utils.BeanUtility;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
@@ -46,10 +44,7 @@ public class MonitorItemAspect {
     private static final Logger LOG = LoggerFactory.getLogger(MonitorItemAspect.class);
 
     @Autowired
-    private MonitorItemService monitorItemService;
-
-    @Autowired
-    private RelayEmailNotificationService relayEmailNotificationService;
+    private AuditEventQueue auditEventQueue;
 
     @AfterReturning("execution(public * com.esofthead.mycollab..service..*.saveWithSession(..)) && args(bean, username)")
     public void traceSaveActivity(JoinPoint joinPoint, Object bean,
@@ -57,14 +52,15 @@ public class MonitorItemAspect {
         Advised advised = (Advised) joinPoint.getThis();
         Class<?> cls = advised.getTargetSource().getTargetClass();
         try {
+            AuditEvent event = null;
             Watchable watchableAnnotation = cls.getAnnotation(Watchable.class);
             if (watchableAnnotation != null) {
-                int sAccountId = (Integer) PropertyUtils.getProperty(bean,
+                int sAccountId = (Integer) BeanAccessor.getProperty(bean,
                         "saccountid");
-                int typeId = (Integer) PropertyUtils.getProperty(bean, "id");
+                int typeId = (Integer) BeanAccessor.getProperty(bean, "id");
                 Integer extraTypeId = null;
                 if (!"".equals(watchableAnnotation.extraTypeId())) {
-                    extraTypeId = (Integer) PropertyUtils.getProperty(bean,
+                    extraTypeId = (Integer) BeanAccessor.getProperty(bean,
                             watchableAnnotation.extraTypeId());
                 }
 
@@ -76,27 +72,32 @@ public class MonitorItemAspect {
                 monitorItem.setUser(username);
                 monitorItem.setSaccountid(sAccountId);
 
-                monitorItemService.saveWithSession(monitorItem, username);
+                event = new AuditEvent(sAccountId);
+                event.addMonitorItem(monitorItem);
                 LOG.debug("Save monitor item: "
                         + BeanUtility.printBeanObj(monitorItem));
 
                 if (!watchableAnnotation.userFieldName().equals("")) {
-                    String moreUser = (String) PropertyUtils.getProperty(bean,
+                    String moreUser = (String) BeanAccessor.getProperty(bean,
                             watchableAnnotation.userFieldName());
                     if (moreUser != null && !moreUser.equals(username)) {
-                        monitorItem.setId(null);
-                        monitorItem.setUser(moreUser);
-                        monitorItemService.saveWithSession(monitorItem,
-                                moreUser);
+                        MonitorItem moreUserMonitorItem = new MonitorItem();
+                        moreUserMonitorItem.setMonitorDate(monitorItem.getMonitorDate());
+                        moreUserMonitorItem.setType(monitorItem.getType());
+                        moreUserMonitorItem.setTypeid(typeId);
+                        moreUserMonitorItem.setExtratypeid(extraTypeId);
+                        moreUserMonitorItem.setUser(moreUser);
+                        moreUserMonitorItem.setSaccountid(sAccountId);
+                        event.addMonitorItem(moreUserMonitorItem);
                     }
                 }
             }
 
             NotifyAgent notifyAgent = cls.getAnnotation(NotifyAgent.class);
             if (notifyAgent != null) {
-                int sAccountId = (Integer) PropertyUtils.getProperty(bean,
+                int sAccountId = (Integer) BeanAccessor.getProperty(bean,
                         "saccountid");
-                int typeId = (Integer) PropertyUtils.getProperty(bean, "id");
+                int typeId = (Integer) BeanAccessor.getProperty(bean, "id");
                 RelayEmailNotificationWithBLOBs relayNotification = new RelayEmailNotificationWithBLOBs();
                 relayNotification.setChangeby(username);
                 relayNotification.setChangecomment("");
@@ -105,10 +106,13 @@ public class MonitorItemAspect {
                 relayNotification.setAction(MonitorTypeConstants.CREATE_ACTION);
                 relayNotification.setTypeid("" + typeId);
                 relayNotification.setEmailhandlerbean(notifyAgent.value().getName());
-                relayEmailNotificationService.saveWithSession(
-                        relayNotification, username);
-                // Save notification item
+                if (event == null) {
+                    event = new AuditEvent(sAccountId);
+                }
+                event.setRelayNotification(relayNotification);
             }
+
+            auditEventQueue.publish(event);
         } catch (Exception e) {
             LOG.error(
                     "Error when save relay email notification for save action of service "
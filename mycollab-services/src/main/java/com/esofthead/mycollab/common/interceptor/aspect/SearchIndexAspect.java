@@ -0,0 +1,207 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import com.esofthead.mycollab.common.search.SearchDocument;
+import com.esofthead.mycollab.common.search.SearchIndex;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+import com.esofthead.mycollab.core.utils.DateTimeUtils;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps the {@link SearchIndex} up to date with the entities of the services
+ * annotated with {@link Searchable}. The changes made inside a transaction
+ * are applied to the index once it commits, so a rolled back save leaves the
+ * index as it was.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Aspect
+@Component
+public class SearchIndexAspect {
+    private static final Logger LOG = LoggerFactory
+            .getLogger(SearchIndexAspect.class);
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @AfterReturning("(execution(public * com.esofthead.mycollab..service..*.saveWithSession(..)) || execution(public * com.esofthead.mycollab..service..*.updateWithSession(..))) && args(bean, username, ..)")
+    public void indexSavedItem(JoinPoint joinPoint, Object bean, String username) {
+        indexItem(joinPoint, bean, null, false);
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.massSaveWithSession(..)) && args(beans, username, ..)")
+    public void indexMassSavedItems(JoinPoint joinPoint, List<?> beans, String username) {
+        for (Object bean : beans) {
+            indexItem(joinPoint, bean, null, false);
+        }
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.updateSelectiveWithSession(..)) && args(bean, username)")
+    public void indexSelectiveUpdatedItem(JoinPoint joinPoint, Object bean, String username) {
+        indexItem(joinPoint, bean, null, true);
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.massUpdateWithSession(..)) && args(bean, primaryKeys, ..)")
+    public void indexMassUpdatedItems(JoinPoint joinPoint, Object bean, List<?> primaryKeys) {
+        for (Object primaryKey : primaryKeys) {
+            indexItem(joinPoint, bean, primaryKey, true);
+        }
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.removeWithSession(..)) && args(primaryKey, username, ..)")
+    public void removeIndexedItem(JoinPoint joinPoint, Object primaryKey, String username) {
+        removeItems(joinPoint, new Object[]{primaryKey});
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.massRemoveWithSession(..)) && args(primaryKeys, username, ..)")
+    public void removeIndexedItems(JoinPoint joinPoint, List<?> primaryKeys, String username) {
+        removeItems(joinPoint, primaryKeys.toArray());
+    }
+
+    private void indexItem(JoinPoint joinPoint, Object bean, Object primaryKey, final boolean merge) {
+        final Class<?> cls = getTargetClass(joinPoint);
+        Searchable searchable = cls.getAnnotation(Searchable.class);
+        if (searchable == null) {
+            return;
+        }
+
+        // the document is built now, the bean may be changed once the service call returns
+        final SearchDocument document;
+        try {
+            document = buildDocument(cls, searchable, bean, primaryKey);
+        } catch (Exception e) {
+            LOG.error("Error while indexing item of service " + cls.getName(), e);
+            return;
+        }
+
+        afterCommit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    searchIndex.index(document, merge);
+                } catch (Exception e) {
+                    LOG.error("Error while indexing item of service " + cls.getName(), e);
+                }
+            }
+        });
+    }
+
+    private void removeItems(JoinPoint joinPoint, final Object[] primaryKeys) {
+        final Class<?> cls = getTargetClass(joinPoint);
+        Searchable searchable = cls.getAnnotation(Searchable.class);
+        if (searchable == null) {
+            return;
+        }
+
+        final String type = getType(cls, searchable);
+        afterCommit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (Object primaryKey : primaryKeys) {
+                        searchIndex.remove(type, String.valueOf(primaryKey));
+                    }
+                } catch (Exception e) {
+                    LOG.error("Error while removing indexed items of service " + cls.getName(), e);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Class<?> getTargetClass(JoinPoint joinPoint) {
+        Advised advised = (Advised) joinPoint.getThis();
+        return advised.getTargetSource().getTargetClass();
+    }
+
+    private static String getType(Class<?> cls, Searchable searchable) {
+        return "".equals(searchable.type()) ? ClassInfoMap.getType(cls) : searchable.type();
+    }
+
+    /**
+     * @param cls        service class annotated with {@link Searchable}
+     * @param searchable
+     * @param bean
+     * @param primaryKey id of the entity, read from <code>bean</code> if it is null
+     * @return
+     */
+    public static SearchDocument buildDocument(Class<?> cls, Searchable searchable, Object bean,
+                                               Object primaryKey) {
+        BeanAccessor beanAccessor = BeanAccessor.of(bean.getClass());
+        Object id = (primaryKey != null) ? primaryKey : beanAccessor.get(bean, searchable.idField());
+        SearchDocument document = new SearchDocument(getType(cls, searchable), String.valueOf(id));
+        document.setSaccountid((Integer) beanAccessor.get(bean, "saccountid"));
+
+        StringBuilder name = new StringBuilder();
+        for (String nameField : searchable.nameFields()) {
+            String value = toText(beanAccessor.get(bean, nameField));
+            if (value != null) {
+                name.append((name.length() > 0) ? " " : "").append(value);
+            }
+        }
+        document.setName((name.length() > 0) ? name.toString() : null);
+
+        for (String contentField : searchable.contentFields()) {
+            document.putContent(contentField, toText(beanAccessor.get(bean, contentField)));
+        }
+
+        if (!"".equals(searchable.extraFieldName())) {
+            document.setExtraTypeId((Integer) beanAccessor.get(bean, searchable.extraFieldName()));
+        }
+        if (!"".equals(searchable.targetTypeField())) {
+            document.setTargetType(toText(beanAccessor.get(bean, searchable.targetTypeField())));
+            document.setTargetTypeId(toText(beanAccessor.get(bean, searchable.targetTypeIdField())));
+        }
+        return document;
+    }
+
+    private static String toText(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Date) {
+            return DateTimeUtils.formatDate((Date) value, "MM/dd/yyyy");
+        }
+        return value.toString();
+    }
+}
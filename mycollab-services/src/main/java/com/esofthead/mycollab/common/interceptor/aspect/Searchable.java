@@ -0,0 +1,59 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service whose entities are kept in the full text search index.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.TYPE })
+public @interface Searchable {
+	/**
+	 * 
+	 * @return type of the indexed entities, the type of the service in
+	 *         {@link ClassInfoMap} if it is empty
+	 */
+	String type() default "";
+
+	String idField() default "id";
+
+	/**
+	 * 
+	 * @return fields joined as the display name of the entity
+	 */
+	String[] nameFields();
+
+	String[] contentFields() default {};
+
+	String extraFieldName() default "";
+
+	/**
+	 * Entities attached to another item, such as comments, are found as
+	 * their item. These fields give the type and type id of that item.
+	 */
+	String targetTypeField() default "";
+
+	String targetTypeIdField() default "";
+}
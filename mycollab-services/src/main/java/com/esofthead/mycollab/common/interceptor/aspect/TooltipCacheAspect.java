@@ -0,0 +1,88 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.interceptor.aspect;
+
+import com.esofthead.mycollab.common.TooltipCache;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops the cached tooltips of the entities updated or removed by the services
+ * registered in {@link ClassInfoMap}.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Aspect
+@Component
+public class TooltipCacheAspect {
+
+    @Autowired
+    private TooltipCache tooltipCache;
+
+    @AfterReturning("(execution(public * com.esofthead.mycollab..service..*.updateWithSession(..)) || execution(public * com.esofthead.mycollab..service..*.updateSelectiveWithSession(..))) && args(bean, username, ..)")
+    public void invalidateUpdatedItem(JoinPoint joinPoint, Object bean, String username) {
+        String type = getType(joinPoint);
+        if (type != null) {
+            tooltipCache.invalidate(type, BeanAccessor.of(bean.getClass()).get(bean, "id"));
+        }
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.massUpdateWithSession(..)) && args(bean, primaryKeys, ..)")
+    public void invalidateMassUpdatedItems(JoinPoint joinPoint, Object bean, List<?> primaryKeys) {
+        invalidateItems(joinPoint, primaryKeys);
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.removeWithSession(..)) && args(primaryKey, username, ..)")
+    public void invalidateRemovedItem(JoinPoint joinPoint, Object primaryKey, String username) {
+        String type = getType(joinPoint);
+        if (type != null) {
+            tooltipCache.invalidate(type, primaryKey);
+        }
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.massRemoveWithSession(..)) && args(primaryKeys, username, ..)")
+    public void invalidateRemovedItems(JoinPoint joinPoint, List<?> primaryKeys, String username) {
+        invalidateItems(joinPoint, primaryKeys);
+    }
+
+    private void invalidateItems(JoinPoint joinPoint, List<?> primaryKeys) {
+        String type = getType(joinPoint);
+        if (type != null) {
+            for (Object primaryKey : primaryKeys) {
+                tooltipCache.invalidate(type, primaryKey);
+            }
+        }
+    }
+
+    /**
+     * @return type of the entities of the advised service, null if the service
+     * is not registered in {@link ClassInfoMap}
+     */
+    private static String getType(JoinPoint joinPoint) {
+        Advised advised = (Advised) joinPoint.getThis();
+        Class<?> cls = advised.getTargetSource().getTargetClass();
+        return ClassInfoMap.hasInfo(cls) ? ClassInfoMap.getType(cls) : null;
+    }
+}
@@ -17,10 +17,11 @@
 package com.esofthead.mycollab.common.interceptor.aspect;
 
 import com.esofthead.mycollab.common.ActivityStreamConstants;
+import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.domain.ActivityStreamWithBLOBs;
-import com.esofthead.mycollab.common.service.ActivityStreamService;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
 import com.esofthead.mycollab.core.utils.DateTimeUtils;
-import org.apache.commons.beanutils.PropertyUtils;
+import com.esofthead.mycollab.module.project.dao.ProjectActivityTimelineMapperExt;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
@@ -30,9 +31,9 @@ import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 
 /**
  * @author MyCollab Ltd.
@@ -45,7 +46,10 @@ public class TraceableAspect {
             .getLogger(TraceableAspect.class);
 
     @Autowired
-    private ActivityStreamService activityStreamService;
+    private AuditEventQueue auditEventQueue;
+
+    @Autowired
+    private ProjectActivityTimelineMapperExt projectActivityTimelineMapperExt;
 
     @AfterReturning("execution(public * com.esofthead.mycollab..service..*.saveWithSession(..)) && args(bean, username)")
     public void traceSaveActivity(JoinPoint joinPoint, Object bean,
@@ -60,7 +64,9 @@ public class TraceableAspect {
                 ActivityStreamWithBLOBs activity = constructActivity(cls,
                         traceableAnnotation, bean, username,
                         ActivityStreamConstants.ACTION_CREATE);
-                activityStreamService.save(activity);
+                AuditEvent event = new AuditEvent(activity.getSaccountid());
+                event.setActivity(activity);
+                auditEventQueue.publish(event);
             } catch (Exception e) {
                 LOG.error(
                         "Error when save activity for save action of service "
@@ -70,22 +76,56 @@ public class TraceableAspect {
 
     }
 
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.removeWithSession(..)) && args(primaryKey, username, accountId)")
+    public void traceRemoveActivity(JoinPoint joinPoint, Object primaryKey,
+                                    String username, int accountId) {
+        removeProjectTimelineEntries(joinPoint, primaryKey);
+    }
+
+    @AfterReturning("execution(public * com.esofthead.mycollab..service..*.massRemoveWithSession(..)) && args(primaryKeys, username, accountId)")
+    public void traceMassRemoveActivity(JoinPoint joinPoint, List<?> primaryKeys,
+                                        String username, int accountId) {
+        for (Object primaryKey : primaryKeys) {
+            removeProjectTimelineEntries(joinPoint, primaryKey);
+        }
+    }
+
+    /**
+     * The project activity stream does not display the activities of removed
+     * bugs and tasks, nor the comments of removed items.
+     */
+    private void removeProjectTimelineEntries(JoinPoint joinPoint, Object primaryKey) {
+        Advised advised = (Advised) joinPoint.getThis();
+        Class<?> cls = advised.getTargetSource().getTargetClass();
+        if (primaryKey == null || cls.getAnnotation(Traceable.class) == null) {
+            return;
+        }
+
+        try {
+            if (ModuleNameConstants.PRJ.equals(ClassInfoMap.getModule(cls))) {
+                projectActivityTimelineMapperExt.removeItemEntries(ClassInfoMap.getType(cls),
+                        primaryKey.toString());
+            }
+        } catch (Exception e) {
+            LOG.error("Error when remove activities of removed item of service " + cls.getName(), e);
+        }
+    }
+
     static ActivityStreamWithBLOBs constructActivity(Class<?> cls, Traceable traceableAnnotation,
-                                                     Object bean, String username, String action)
-            throws IllegalAccessException, InvocationTargetException,
-            NoSuchMethodException {
+                                                     Object bean, String username, String action) {
 
+        BeanAccessor beanAccessor = BeanAccessor.of(bean.getClass());
         ActivityStreamWithBLOBs activity = new ActivityStreamWithBLOBs();
         activity.setModule(ClassInfoMap.getModule(cls));
         activity.setType(ClassInfoMap.getType(cls));
-        activity.setTypeid(String.valueOf(PropertyUtils.getProperty(bean,
+        activity.setTypeid(String.valueOf(beanAccessor.get(bean,
                 traceableAnnotation.idField())));
         activity.setCreatedtime(new GregorianCalendar().getTime());
         activity.setAction(action);
-        activity.setSaccountid((Integer) PropertyUtils.getProperty(bean, "saccountid"));
+        activity.setSaccountid((Integer) beanAccessor.get(bean, "saccountid"));
         activity.setCreateduser(username);
 
-        Object nameObj = PropertyUtils.getProperty(bean,
+        Object nameObj = beanAccessor.get(bean,
                 traceableAnnotation.nameField());
         String nameField;
         if (nameObj instanceof Date) {
@@ -96,7 +136,7 @@ public class TraceableAspect {
         activity.setNamefield(nameField);
 
         if (!"".equals(traceableAnnotation.extraFieldName())) {
-            Integer extraTypeId = (Integer) PropertyUtils.getProperty(bean,
+            Integer extraTypeId = (Integer) beanAccessor.get(bean,
                     traceableAnnotation.extraFieldName());
             activity.setExtratypeid(extraTypeId);
         }
@@ -0,0 +1,114 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entity as it is stored in the {@link SearchIndex}.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public class SearchDocument {
+	private String type;
+
+	private String typeId;
+
+	private Integer sAccountId;
+
+	private Integer extraTypeId;
+
+	private String targetType;
+
+	private String targetTypeId;
+
+	private String name;
+
+	private final Map<String, String> contents = new LinkedHashMap<>();
+
+	public SearchDocument(String type, String typeId) {
+		this.type = type;
+		this.typeId = typeId;
+	}
+
+	public String getUid() {
+		return type + "-" + typeId;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getTypeId() {
+		return typeId;
+	}
+
+	public Integer getSaccountid() {
+		return sAccountId;
+	}
+
+	public void setSaccountid(Integer sAccountId) {
+		this.sAccountId = sAccountId;
+	}
+
+	public Integer getExtraTypeId() {
+		return extraTypeId;
+	}
+
+	public void setExtraTypeId(Integer extraTypeId) {
+		this.extraTypeId = extraTypeId;
+	}
+
+	public String getTargetType() {
+		return targetType;
+	}
+
+	public void setTargetType(String targetType) {
+		this.targetType = targetType;
+	}
+
+	public String getTargetTypeId() {
+		return targetTypeId;
+	}
+
+	public void setTargetTypeId(String targetTypeId) {
+		this.targetTypeId = targetTypeId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * 
+	 * @return content fields by property name, a <code>null</code> value
+	 *         means the property was not given
+	 */
+	public Map<String, String> getContents() {
+		return contents;
+	}
+
+	public void putContent(String field, String value) {
+		contents.put(field, value);
+	}
+}
@@ -0,0 +1,668 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.esofthead.mycollab.common.domain.SearchHit;
+import com.esofthead.mycollab.common.domain.SearchIndexStatistics;
+import com.esofthead.mycollab.configuration.FileStorageConfiguration;
+import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.core.MyCollabThread;
+
+/**
+ * Embedded Lucene index of the searchable entities. Changes are visible to
+ * the next search right away (near real time reader) and committed to disk
+ * every {@link #COMMIT_INTERVAL_SECONDS} seconds.
+ * <p>
+ * Documents are stamped with the generation of the index. A rebuild starts a
+ * new generation and re-indexes the entities over the existing documents,
+ * then removes the documents left from the previous generation, so searches
+ * keep seeing a complete index while it is rebuilt.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class SearchIndex implements InitializingBean, DisposableBean {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(SearchIndex.class);
+
+	static final String UID = "uid";
+	static final String TYPE = "type";
+	static final String TYPE_ID = "typeId";
+	static final String ACCOUNT = "saccountid";
+	static final String EXTRA_TYPE_ID = "extraTypeId";
+	static final String TARGET_TYPE = "targetType";
+	static final String TARGET_TYPE_ID = "targetTypeId";
+	static final String NAME = "name";
+	static final String CONTENT = "content";
+	static final String CONTENT_PREFIX = "content.";
+	static final String GENERATION = "generation";
+
+	private static final String REBUILT_TIME = "rebuiltTime";
+
+	private static final long COMMIT_INTERVAL_SECONDS = 10;
+
+	/**
+	 * The searcher is refreshed when more documents are waiting for it, so
+	 * a rebuild does not keep the indexed documents in memory.
+	 */
+	private static final int MAX_UNREFRESHED_DOCUMENTS = 1000;
+
+	@Autowired
+	private Environment environment;
+
+	private Directory directory;
+
+	private Analyzer analyzer;
+
+	private IndexWriter writer;
+
+	private SearcherManager searcherManager;
+
+	private ScheduledExecutorService committer;
+
+	private volatile Date rebuiltTime;
+
+	private volatile String generation = String.valueOf(System
+			.currentTimeMillis());
+
+	/**
+	 * Documents changed since the searcher was last refreshed by uid, a
+	 * removed document is kept with a <code>null</code> value. Selective
+	 * updates merge with them, so they do not have to refresh the searcher.
+	 */
+	private final ConcurrentMap<String, UnrefreshedDocument> unrefreshedDocuments = new ConcurrentHashMap<>();
+	private final AtomicLong changeSequence = new AtomicLong();
+	private volatile long refreshingSequence;
+
+	private final AtomicLong pendingChanges = new AtomicLong();
+	private final AtomicLong indexedCount = new AtomicLong();
+	private final AtomicLong removedCount = new AtomicLong();
+	private final AtomicLong searchCount = new AtomicLong();
+	private final AtomicLong searchNanos = new AtomicLong();
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (environment.acceptsProfiles("test")) {
+			directory = new RAMDirectory();
+		} else {
+			directory = FSDirectory.open(new File(
+					FileStorageConfiguration.baseContentFolder, "search-index"));
+		}
+		analyzer = new StandardAnalyzer();
+		IndexWriterConfig config = new IndexWriterConfig(Version.LUCENE_4_10_0,
+				analyzer);
+		config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+		writer = new IndexWriter(directory, config);
+		searcherManager = new SearcherManager(writer, true, null);
+		searcherManager.addListener(new ReferenceManager.RefreshListener() {
+			@Override
+			public void beforeRefresh() {
+				refreshingSequence = changeSequence.get();
+			}
+
+			@Override
+			public void afterRefresh(boolean didRefresh) {
+				for (Map.Entry<String, UnrefreshedDocument> entry : unrefreshedDocuments
+						.entrySet()) {
+					if (entry.getValue().sequence <= refreshingSequence) {
+						unrefreshedDocuments.remove(entry.getKey(),
+								entry.getValue());
+					}
+				}
+			}
+		});
+
+		String rebuilt = writer.getCommitData().get(REBUILT_TIME);
+		if (rebuilt != null) {
+			rebuiltTime = new Date(Long.parseLong(rebuilt));
+		}
+
+		committer = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new MyCollabThread(runnable);
+						thread.setName("mycollab-search-index-committer");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		committer.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				commit();
+				try {
+					searcherManager.maybeRefresh();
+				} catch (IOException e) {
+					LOG.error("Error while refreshing the search index", e);
+				}
+			}
+		}, COMMIT_INTERVAL_SECONDS, COMMIT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * 
+	 * @param document
+	 * @param merge
+	 *            keep the stored values of the fields which are
+	 *            <code>null</code> in <code>document</code>, used for
+	 *            selective updates
+	 */
+	public void index(SearchDocument document, boolean merge) {
+		try {
+			if (merge) {
+				mergeStoredValues(document);
+			}
+			if (document.getSaccountid() == null) {
+				LOG.debug("Skip indexing {} which has no account",
+						document.getUid());
+				return;
+			}
+			writer.updateDocument(new Term(UID, document.getUid()),
+					toLuceneDocument(document, generation));
+			addUnrefreshed(document.getUid(), document);
+			indexedCount.incrementAndGet();
+			pendingChanges.incrementAndGet();
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
+	public void remove(String type, String typeId) {
+		try {
+			String uid = type + "-" + typeId;
+			writer.deleteDocuments(new Term(UID, uid));
+			addUnrefreshed(uid, null);
+			removedCount.incrementAndGet();
+			pendingChanges.incrementAndGet();
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
+	private void addUnrefreshed(String uid, SearchDocument document)
+			throws IOException {
+		unrefreshedDocuments.put(uid, new UnrefreshedDocument(document,
+				changeSequence.incrementAndGet()));
+		if (unrefreshedDocuments.size() > MAX_UNREFRESHED_DOCUMENTS) {
+			searcherManager.maybeRefresh();
+		}
+	}
+
+	/**
+	 * Starts a new generation, the documents indexed from now on belong to
+	 * it. Only one rebuild may run at a time.
+	 */
+	public void startRebuild() {
+		generation = String.valueOf(Math.max(System.currentTimeMillis(),
+				Long.parseLong(generation) + 1));
+	}
+
+	/**
+	 * Removes the documents which have not been indexed again since
+	 * {@link #startRebuild()}, they belong to removed entities.
+	 * 
+	 * @param sAccountId
+	 *            account which has been rebuilt, <code>null</code> for the
+	 *            whole index
+	 */
+	public void removeOutdated(Integer sAccountId) {
+		BooleanQuery query = new BooleanQuery();
+		if (sAccountId == null) {
+			query.add(new MatchAllDocsQuery(), Occur.MUST);
+		} else {
+			query.add(
+					new TermQuery(new Term(ACCOUNT, sAccountId.toString())),
+					Occur.MUST);
+		}
+		query.add(new TermQuery(new Term(GENERATION, generation)),
+				Occur.MUST_NOT);
+		try {
+			writer.deleteDocuments(query);
+			pendingChanges.incrementAndGet();
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
+	/**
+	 * Commits the index and records that it contains all the searchable
+	 * entities, so it can back the text criteria of the list queries.
+	 */
+	public void markRebuilt() {
+		Date time = new Date();
+		Map<String, String> commitData = new HashMap<>();
+		commitData.put(REBUILT_TIME, String.valueOf(time.getTime()));
+		writer.setCommitData(commitData);
+		pendingChanges.incrementAndGet();
+		commit();
+		rebuiltTime = time;
+	}
+
+	public boolean isRebuilt() {
+		return rebuiltTime != null;
+	}
+
+	public synchronized void commit() {
+		long changes = pendingChanges.getAndSet(0);
+		if (changes == 0) {
+			return;
+		}
+		try {
+			writer.commit();
+		} catch (Exception e) {
+			pendingChanges.addAndGet(changes);
+			LOG.error("Error while committing the search index", e);
+		}
+	}
+
+	/**
+	 * 
+	 * @param text
+	 * @param sAccountId
+	 * @param types
+	 *            types of the matched entities, all types if it is empty
+	 * @param extraTypeId
+	 *            project of the matched entities, may be <code>null</code>
+	 * @param limit
+	 * @return
+	 */
+	public List<SearchHit> search(String text, int sAccountId,
+			Collection<String> types, Integer extraTypeId, int limit) {
+		Query textQuery = buildTextQuery(text, true);
+		if (textQuery == null) {
+			return Collections.emptyList();
+		}
+
+		BooleanQuery query = new BooleanQuery();
+		query.add(textQuery, Occur.MUST);
+		query.add(new TermQuery(new Term(ACCOUNT, String.valueOf(sAccountId))),
+				Occur.MUST);
+		if (types != null && !types.isEmpty()) {
+			BooleanQuery typeQuery = new BooleanQuery();
+			for (String type : types) {
+				typeQuery.add(new TermQuery(new Term(TYPE, type)), Occur.SHOULD);
+			}
+			query.add(typeQuery, Occur.MUST);
+		}
+		if (extraTypeId != null) {
+			query.add(new TermQuery(new Term(EXTRA_TYPE_ID, extraTypeId
+					.toString())), Occur.MUST);
+		}
+
+		List<SearchHit> hits = new ArrayList<>();
+		for (ScoredDocument scoredDocument : execute(query, limit).documents) {
+			hits.add(toSearchHit(scoredDocument));
+		}
+		return hits;
+	}
+
+	/**
+	 * 
+	 * @param type
+	 * @param text
+	 * @param sAccountId
+	 * @param maxHits
+	 * @return ids of the entities of <code>type</code> whose name matches
+	 *         <code>text</code>, or <code>null</code> if there are more than
+	 *         <code>maxHits</code> of them
+	 */
+	public List<String> findTypeIds(String type, String text, int sAccountId,
+			int maxHits) {
+		Query textQuery = buildTextQuery(text, false);
+		if (textQuery == null) {
+			return null;
+		}
+
+		BooleanQuery query = new BooleanQuery();
+		query.add(textQuery, Occur.MUST);
+		query.add(new TermQuery(new Term(TYPE, type)), Occur.MUST);
+		query.add(new TermQuery(new Term(ACCOUNT, String.valueOf(sAccountId))),
+				Occur.MUST);
+
+		SearchResult result = execute(query, maxHits);
+		if (result.totalHits > maxHits) {
+			return null;
+		}
+		List<String> typeIds = new ArrayList<>(result.documents.size());
+		for (ScoredDocument scoredDocument : result.documents) {
+			typeIds.add(scoredDocument.document.get(TYPE_ID));
+		}
+		return typeIds;
+	}
+
+	public SearchIndexStatistics getStatistics() {
+		SearchIndexStatistics statistics = new SearchIndexStatistics();
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				DirectoryReader reader = (DirectoryReader) searcher
+						.getIndexReader();
+				statistics.setDocuments(reader.numDocs());
+				statistics.setDeletedDocuments(reader.numDeletedDocs());
+			} finally {
+				searcherManager.release(searcher);
+			}
+
+			long size = 0;
+			for (String file : directory.listAll()) {
+				size += directory.fileLength(file);
+			}
+			statistics.setSizeInBytes(size);
+		} catch (IOException e) {
+			LOG.error("Error while reading the search index statistics", e);
+		}
+
+		statistics.setIndexedCount(indexedCount.get());
+		statistics.setRemovedCount(removedCount.get());
+		long searches = searchCount.get();
+		statistics.setSearchCount(searches);
+		statistics.setAverageSearchMillis((searches == 0) ? 0 : searchNanos
+				.get() / (searches * 1000000d));
+		statistics.setRebuiltTime(rebuiltTime);
+		return statistics;
+	}
+
+	private void mergeStoredValues(SearchDocument document) throws IOException {
+		UnrefreshedDocument unrefreshed = unrefreshedDocuments.get(document
+				.getUid());
+		if (unrefreshed != null) {
+			if (unrefreshed.document != null) {
+				mergeValues(document, unrefreshed.document);
+			}
+			return;
+		}
+
+		// the document has not changed since the searcher was refreshed
+		IndexSearcher searcher = searcherManager.acquire();
+		try {
+			TopDocs topDocs = searcher.search(new TermQuery(new Term(UID,
+					document.getUid())), 1);
+			if (topDocs.totalHits > 0) {
+				mergeValues(document,
+						toSearchDocument(searcher.doc(topDocs.scoreDocs[0].doc)));
+			}
+		} finally {
+			searcherManager.release(searcher);
+		}
+	}
+
+	private static void mergeValues(SearchDocument document,
+			SearchDocument stored) {
+		if (document.getSaccountid() == null) {
+			document.setSaccountid(stored.getSaccountid());
+		}
+		if (document.getExtraTypeId() == null) {
+			document.setExtraTypeId(stored.getExtraTypeId());
+		}
+		if (document.getTargetType() == null) {
+			document.setTargetType(stored.getTargetType());
+			document.setTargetTypeId(stored.getTargetTypeId());
+		}
+		if (document.getName() == null) {
+			document.setName(stored.getName());
+		}
+		for (Map.Entry<String, String> content : stored.getContents()
+				.entrySet()) {
+			if (document.getContents().get(content.getKey()) == null) {
+				document.putContent(content.getKey(), content.getValue());
+			}
+		}
+	}
+
+	private static SearchDocument toSearchDocument(Document stored) {
+		SearchDocument document = new SearchDocument(stored.get(TYPE),
+				stored.get(TYPE_ID));
+		document.setSaccountid(Integer.valueOf(stored.get(ACCOUNT)));
+		if (stored.get(EXTRA_TYPE_ID) != null) {
+			document.setExtraTypeId(Integer.valueOf(stored.get(EXTRA_TYPE_ID)));
+		}
+		document.setTargetType(stored.get(TARGET_TYPE));
+		document.setTargetTypeId(stored.get(TARGET_TYPE_ID));
+		document.setName(stored.get(NAME));
+		for (IndexableField field : stored.getFields()) {
+			String fieldName = field.name();
+			if (fieldName.startsWith(CONTENT_PREFIX)) {
+				document.putContent(
+						fieldName.substring(CONTENT_PREFIX.length()),
+						field.stringValue());
+			}
+		}
+		return document;
+	}
+
+	private static Document toLuceneDocument(SearchDocument document,
+			String generation) {
+		Document doc = new Document();
+		doc.add(new StringField(UID, document.getUid(), Field.Store.YES));
+		doc.add(new StringField(GENERATION, generation, Field.Store.NO));
+		doc.add(new StringField(TYPE, document.getType(), Field.Store.YES));
+		doc.add(new StringField(TYPE_ID, document.getTypeId(), Field.Store.YES));
+		doc.add(new StringField(ACCOUNT, document.getSaccountid().toString(),
+				Field.Store.YES));
+		if (document.getExtraTypeId() != null) {
+			doc.add(new StringField(EXTRA_TYPE_ID, document.getExtraTypeId()
+					.toString(), Field.Store.YES));
+		}
+		if (document.getTargetType() != null
+				&& document.getTargetTypeId() != null) {
+			doc.add(new StringField(TARGET_TYPE, document.getTargetType(),
+					Field.Store.YES));
+			doc.add(new StringField(TARGET_TYPE_ID,
+					document.getTargetTypeId(), Field.Store.YES));
+		}
+		if (document.getName() != null) {
+			doc.add(new TextField(NAME, document.getName(), Field.Store.YES));
+		}
+		for (Map.Entry<String, String> content : document.getContents()
+				.entrySet()) {
+			if (content.getValue() != null) {
+				doc.add(new StoredField(CONTENT_PREFIX + content.getKey(),
+						content.getValue()));
+				doc.add(new TextField(CONTENT, content.getValue(),
+						Field.Store.NO));
+			}
+		}
+		return doc;
+	}
+
+	private static SearchHit toSearchHit(ScoredDocument scoredDocument) {
+		Document doc = scoredDocument.document;
+		SearchHit hit = new SearchHit();
+		hit.setMatchedType(doc.get(TYPE));
+		hit.setMatchedTypeId(doc.get(TYPE_ID));
+		if (doc.get(TARGET_TYPE) != null) {
+			hit.setType(doc.get(TARGET_TYPE));
+			hit.setTypeId(doc.get(TARGET_TYPE_ID));
+		} else {
+			hit.setType(doc.get(TYPE));
+			hit.setTypeId(doc.get(TYPE_ID));
+		}
+		hit.setName(doc.get(NAME));
+		String extraTypeId = doc.get(EXTRA_TYPE_ID);
+		if (extraTypeId != null) {
+			hit.setExtraTypeId(Integer.valueOf(extraTypeId));
+		}
+		hit.setScore(scoredDocument.score);
+		return hit;
+	}
+
+	/**
+	 * Every word of <code>text</code> must match the beginning of a word of
+	 * the name, or of the content when <code>withContent</code> is set.
+	 * Whole word matches of the name rank first.
+	 */
+	private Query buildTextQuery(String text, boolean withContent) {
+		List<String> tokens = analyze(text);
+		if (tokens.isEmpty()) {
+			return null;
+		}
+
+		BooleanQuery query = new BooleanQuery();
+		for (String token : tokens) {
+			BooleanQuery tokenQuery = new BooleanQuery();
+			TermQuery nameTerm = new TermQuery(new Term(NAME, token));
+			nameTerm.setBoost(3);
+			tokenQuery.add(nameTerm, Occur.SHOULD);
+			PrefixQuery namePrefix = new PrefixQuery(new Term(NAME, token));
+			namePrefix.setBoost(2);
+			tokenQuery.add(namePrefix, Occur.SHOULD);
+			if (withContent) {
+				tokenQuery.add(new PrefixQuery(new Term(CONTENT, token)),
+						Occur.SHOULD);
+			}
+			query.add(tokenQuery, Occur.MUST);
+		}
+		return query;
+	}
+
+	private List<String> analyze(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+			CharTermAttribute term = stream
+					.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while (stream.incrementToken()) {
+				tokens.add(term.toString());
+			}
+			stream.end();
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+		return tokens;
+	}
+
+	private SearchResult execute(Query query, int limit) {
+		long start = System.nanoTime();
+		try {
+			searcherManager.maybeRefresh();
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				TopDocs topDocs = searcher.search(query, Math.max(limit, 1));
+				SearchResult result = new SearchResult(topDocs.totalHits);
+				for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+					result.documents.add(new ScoredDocument(searcher
+							.doc(scoreDoc.doc), scoreDoc.score));
+				}
+				return result;
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		} finally {
+			searchCount.incrementAndGet();
+			searchNanos.addAndGet(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		committer.shutdown();
+		commit();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+
+	private static class UnrefreshedDocument {
+		final SearchDocument document;
+		final long sequence;
+
+		UnrefreshedDocument(SearchDocument document, long sequence) {
+			this.document = document;
+			this.sequence = sequence;
+		}
+	}
+
+	private static class SearchResult {
+		final int totalHits;
+		final List<ScoredDocument> documents = new ArrayList<>();
+
+		SearchResult(int totalHits) {
+			this.totalHits = totalHits;
+		}
+	}
+
+	private static class ScoredDocument {
+		final Document document;
+		final float score;
+
+		ScoredDocument(Document document, float score) {
+			this.document = document;
+			this.score = score;
+		}
+	}
+}
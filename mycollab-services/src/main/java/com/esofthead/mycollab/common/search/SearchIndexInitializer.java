@@ -0,0 +1,74 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.search;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import com.esofthead.mycollab.common.service.GlobalSearchService;
+import com.esofthead.mycollab.core.MyCollabThread;
+
+/**
+ * Builds the search index of all accounts in background the first time the
+ * server starts with an empty index. Until the build completes, the list
+ * queries keep their <code>LIKE</code> filters.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+@Profile("!test")
+public class SearchIndexInitializer implements
+		ApplicationListener<ContextRefreshedEvent> {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(SearchIndexInitializer.class);
+
+	private final AtomicBoolean started = new AtomicBoolean(false);
+
+	@Autowired
+	private SearchIndex searchIndex;
+
+	@Autowired
+	private GlobalSearchService globalSearchService;
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (searchIndex.isRebuilt() || !started.compareAndSet(false, true)) {
+			return;
+		}
+
+		Thread thread = new MyCollabThread(new Runnable() {
+			@Override
+			public void run() {
+				long start = System.currentTimeMillis();
+				int count = globalSearchService.rebuildIndex(null);
+				LOG.info("Indexed {} documents in {} ms", count,
+						System.currentTimeMillis() - start);
+			}
+		});
+		thread.setName("mycollab-search-index-builder");
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
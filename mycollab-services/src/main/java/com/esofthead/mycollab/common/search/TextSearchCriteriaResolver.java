@@ -0,0 +1,104 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.esofthead.mycollab.core.arguments.CollectionValueSearchField;
+import com.esofthead.mycollab.core.arguments.NoValueSearchField;
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SearchField;
+import com.esofthead.mycollab.core.arguments.StringSearchField;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+
+/**
+ * Replaces the <code>LIKE '%...%'</code> name filter of a search criteria
+ * by the ids of the entities the {@link SearchIndex} finds, so the list
+ * queries do not scan the whole table.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class TextSearchCriteriaResolver {
+	/**
+	 * Above this number of matches the id list would cost more than the
+	 * <code>LIKE</code> filter, which is kept.
+	 */
+	private static final int MAX_MATCHED_IDS = 1000;
+
+	@Autowired
+	private SearchIndex searchIndex;
+
+	/**
+	 * 
+	 * @param criteria
+	 * @param textField
+	 *            property of <code>criteria</code> holding the name filter
+	 * @param type
+	 *            indexed type of the entities
+	 * @param idColumn
+	 *            id column of the entities in the list queries
+	 * @return a copy of <code>criteria</code> filtered by id, or
+	 *         <code>criteria</code> itself if the index can not be used
+	 */
+	public <S extends SearchCriteria> S resolve(S criteria, String textField,
+			String type, String idColumn) {
+		if (criteria == null || !searchIndex.isRebuilt()) {
+			return criteria;
+		}
+
+		StringSearchField textSearchField = (StringSearchField) BeanAccessor
+				.getProperty(criteria, textField);
+		NumberSearchField accountField = criteria.getSaccountid();
+		if (textSearchField == null || textSearchField.getValue() == null
+				|| accountField == null || accountField.getValue() == null) {
+			return criteria;
+		}
+
+		List<String> typeIds = searchIndex.findTypeIds(type,
+				textSearchField.getValue(), accountField.getValue().intValue(),
+				MAX_MATCHED_IDS);
+		if (typeIds == null) {
+			return criteria;
+		}
+
+		SearchField idField;
+		if (typeIds.isEmpty()) {
+			idField = new NoValueSearchField(textSearchField.getOperation(),
+					"1 = 0");
+		} else {
+			List<Integer> ids = new ArrayList<>(typeIds.size());
+			for (String typeId : typeIds) {
+				ids.add(Integer.valueOf(typeId));
+			}
+			idField = new CollectionValueSearchField(
+					textSearchField.getOperation(), idColumn + " IN", ids);
+		}
+
+		S indexedCriteria = SerializationUtils.clone(criteria);
+		BeanAccessor.setProperty(indexedCriteria, textField, null);
+		indexedCriteria.addExtraField(idField);
+		return indexedCriteria;
+	}
+}
@@ -0,0 +1,53 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.service;
+
+import com.esofthead.mycollab.common.domain.SearchHit;
+import com.esofthead.mycollab.common.domain.SearchIndexStatistics;
+import com.esofthead.mycollab.core.persistence.service.IService;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full text search over the entities of the services annotated with
+ * {@link com.esofthead.mycollab.common.interceptor.aspect.Searchable}.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public interface GlobalSearchService extends IService {
+    /**
+     * @param query
+     * @param types       types of the matched entities, all types if it is null
+     * @param projectId   limit the search to a project, may be null
+     * @param sAccountId
+     * @param limit
+     * @return hits ordered by relevance
+     */
+    List<SearchHit> search(String query, Collection<String> types, Integer projectId, int sAccountId, int limit);
+
+    /**
+     * Clears and rebuilds the index from the database.
+     *
+     * @param sAccountId account to reindex, all accounts if it is null
+     * @return number of indexed entities
+     */
+    int rebuildIndex(Integer sAccountId);
+
+    SearchIndexStatistics getStatistics();
+}
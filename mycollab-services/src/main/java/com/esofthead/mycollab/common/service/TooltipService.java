@@ -0,0 +1,52 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.service;
+
+import com.esofthead.mycollab.core.persistence.service.IService;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Renders the tooltips shown when hovering the links of projects, project
+ * items, crm items and users. Rendered tooltips are cached per entity, locale
+ * and time zone until the entity is changed.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public interface TooltipService extends IService {
+    /**
+     * Type of the user tooltips, their <code>typeId</code> is the user name
+     */
+    String USER = "User";
+
+    /**
+     * @param type       project or crm type constant, {@link com.esofthead.mycollab.common.TooltipCache#CRM_TASK}
+     *                   or {@link #USER}
+     * @param typeId     id of the entity, path of pages and user name of users
+     * @param sAccountId
+     * @param username   user requesting the tooltip, pages are only shown when
+     *                   they are accessible by this user
+     * @param siteURL
+     * @param timeZone
+     * @param locale
+     * @return html of the tooltip, null if the type is not supported
+     */
+    String getTooltip(String type, String typeId, Integer sAccountId, String username, String siteURL,
+                      TimeZone timeZone, Locale locale);
+}
@@ -16,6 +16,9 @@
  */
 package com.esofthead.mycollab.common.service.ibatis;
 
+import java.util.Collections;
+
+import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.dao.ActivityStreamMapper;
 import com.esofthead.mycollab.common.dao.ActivityStreamMapperExt;
 import com.esofthead.mycollab.common.domain.ActivityStreamWithBLOBs;
@@ -24,6 +27,7 @@ import com.esofthead.mycollab.common.service.ActivityStreamService;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 import com.esofthead.mycollab.core.persistence.service.DefaultService;
+import com.esofthead.mycollab.module.project.dao.ProjectActivityTimelineMapperExt;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -44,6 +48,9 @@ public class ActivityStreamServiceImpl extends
 	@Autowired
 	protected ActivityStreamMapperExt activityStreamMapperExt;
 
+	@Autowired
+	private ProjectActivityTimelineMapperExt projectActivityTimelineMapperExt;
+
 	@Override
 	public ICrudGenericDAO<Integer, ActivityStreamWithBLOBs> getCrudMapper() {
 		return activityStreamMapper;
@@ -54,9 +61,26 @@ public class ActivityStreamServiceImpl extends
 		return activityStreamMapperExt;
 	}
 
+	@Override
+	public int saveWithSession(ActivityStreamWithBLOBs activityStream,
+			String username) {
+		int activityId = super.saveWithSession(activityStream, username);
+		addToProjectTimeline(activityStream);
+		return activityId;
+	}
+
 	@Override
 	public Integer save(ActivityStreamWithBLOBs activityStream) {
 		activityStreamMapper.insertAndReturnKey(activityStream);
+		addToProjectTimeline(activityStream);
 		return activityStream.getId();
 	}
+
+	private void addToProjectTimeline(ActivityStreamWithBLOBs activityStream) {
+		if (ModuleNameConstants.PRJ.equals(activityStream.getModule())
+				&& activityStream.getId() != null) {
+			projectActivityTimelineMapperExt.insertTimelineEntries(Collections
+					.singletonList(activityStream.getId()));
+		}
+	}
 }
\ No newline at end of file
@@ -16,16 +16,11 @@
  */
 package com.esofthead.mycollab.common.service.ibatis;
 
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +36,8 @@ import com.esofthead.mycollab.common.service.AuditLogService;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 import com.esofthead.mycollab.core.persistence.service.DefaultService;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+import com.esofthead.mycollab.core.utils.BeanAccessor.PropertyAccessor;
 import com.esofthead.mycollab.core.utils.JsonDeSerializer;
 
 /**
@@ -72,29 +69,25 @@ public class AuditLogServiceImpl extends
 	}
 
 	public static class AuditLogUtil {
+		private static final FastDateFormat W3C_DATE_FORMAT = FastDateFormat
+				.getInstance("yyyy-MM-dd'T'HH:mm:ssZZ");
 
 		static public String getChangeSet(Object oldObj, Object newObj) {
-			Class cl = oldObj.getClass();
+			BeanAccessor oldAccessor = BeanAccessor.of(oldObj.getClass());
+			BeanAccessor newAccessor = BeanAccessor.of(newObj.getClass());
 			List<AuditChangeItem> changeItems = new ArrayList<>();
 
 			try {
-				BeanInfo beanInfo = Introspector.getBeanInfo(cl, Object.class);
-
-				for (PropertyDescriptor propertyDescriptor : beanInfo
-						.getPropertyDescriptors()) {
-
-					String fieldName = propertyDescriptor.getName();
-					String oldProp = getValue(PropertyUtils.getProperty(oldObj,
-							fieldName));
-
-					Object newPropVal;
-					try {
-						newPropVal = PropertyUtils.getProperty(newObj,
-								fieldName);
-					} catch (Exception e) {
+				for (PropertyAccessor property : oldAccessor.getProperties()) {
+					String fieldName = property.getName();
+					if (!property.isReadable()
+							|| !newAccessor.isReadable(fieldName)) {
 						continue;
 					}
-					String newProp = getValue(newPropVal);
+
+					String oldProp = getValue(property.get(oldObj));
+					String newProp = getValue(newAccessor.get(newObj,
+							fieldName));
 
 					if (!oldProp.equals(newProp)) {
 						AuditChangeItem changeItem = new AuditChangeItem();
@@ -126,9 +119,7 @@ public class AuditLogServiceImpl extends
 		}
 
 		static private String formatDateW3C(Date date) {
-			DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-			String text = df.format(date);
-			return text.substring(0, 22) + ":" + text.substring(22);
+			return W3C_DATE_FORMAT.format(date);
 		}
 	}
 
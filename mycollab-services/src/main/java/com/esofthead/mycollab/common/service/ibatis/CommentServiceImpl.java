@@ -26,6 +26,7 @@ import com.esofthead.mycollab.common.domain.ActivityStreamWithBLOBs;
 import com.esofthead.mycollab.common.domain.CommentWithBLOBs;
 import com.esofthead.mycollab.common.domain.RelayEmailNotificationWithBLOBs;
 import com.esofthead.mycollab.common.domain.criteria.CommentSearchCriteria;
+import com.esofthead.mycollab.common.interceptor.aspect.Searchable;
 import com.esofthead.mycollab.common.service.ActivityStreamService;
 import com.esofthead.mycollab.common.service.CommentService;
 import com.esofthead.mycollab.common.service.RelayEmailNotificationService;
@@ -47,6 +48,8 @@ import org.springframework.stereotype.Service;
  * @since 1.0
  */
 @Service
+@Searchable(type = "Comment", nameFields = "comment", extraFieldName = "extratypeid",
+        targetTypeField = "type", targetTypeIdField = "typeid")
 public class CommentServiceImpl extends
         DefaultService<Integer, CommentWithBLOBs, CommentSearchCriteria> implements
         CommentService {
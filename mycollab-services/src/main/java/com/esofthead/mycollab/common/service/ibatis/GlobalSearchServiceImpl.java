@@ -0,0 +1,160 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.service.ibatis;
+
+import com.esofthead.mycollab.common.domain.SearchHit;
+import com.esofthead.mycollab.common.domain.SearchIndexStatistics;
+import com.esofthead.mycollab.common.interceptor.aspect.SearchIndexAspect;
+import com.esofthead.mycollab.common.interceptor.aspect.Searchable;
+import com.esofthead.mycollab.common.search.SearchIndex;
+import com.esofthead.mycollab.common.service.GlobalSearchService;
+import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.core.arguments.NumberSearchField;
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.persistence.ISearchableDAO;
+import com.esofthead.mycollab.core.persistence.service.DefaultService;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Service
+public class GlobalSearchServiceImpl implements GlobalSearchService {
+    private static final Logger LOG = LoggerFactory.getLogger(GlobalSearchServiceImpl.class);
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public List<SearchHit> search(String query, Collection<String> types, Integer projectId, int sAccountId,
+                                  int limit) {
+        return searchIndex.search(query, sAccountId, types, projectId, limit);
+    }
+
+    /**
+     * Indexes the entities over the existing documents, so the searches and
+     * the list queries backed by the index see a complete index during the
+     * rebuild, then removes the documents of the entities which do not exist
+     * any more.
+     */
+    @Override
+    public synchronized int rebuildIndex(Integer sAccountId) {
+        long start = System.currentTimeMillis();
+        searchIndex.startRebuild();
+        int count = 0;
+        for (Object service : applicationContext.getBeansWithAnnotation(Searchable.class).values()) {
+            count += reindexService(service, sAccountId);
+        }
+        searchIndex.removeOutdated(sAccountId);
+
+        if (sAccountId == null) {
+            searchIndex.markRebuilt();
+        } else {
+            searchIndex.commit();
+        }
+        LOG.info("Indexed {} items of account {} in {} ms", count, (sAccountId == null) ? "all" : sAccountId,
+                System.currentTimeMillis() - start);
+        return count;
+    }
+
+    /**
+     * Streams every entity of the service through its streamListByCriteria
+     * statement, see {@link ISearchableDAO#streamListByCriteria}. It reads
+     * the rows with a forward only cursor and is result ordered, which
+     * MyBatis requires to pass the items of a nested result map such as the
+     * bug versions and components to a result handler.
+     */
+    private int reindexService(Object service, Integer sAccountId) {
+        final DefaultService<?, ?, ?> target = getTarget(service);
+        final Class<?> cls = target.getClass();
+        final Searchable searchable = cls.getAnnotation(Searchable.class);
+
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(cls, DefaultService.class);
+        SearchCriteria criteria;
+        try {
+            criteria = (SearchCriteria) typeArguments[2].newInstance();
+        } catch (Exception e) {
+            throw new MyCollabException(e);
+        }
+        criteria.setSaccountid((sAccountId == null) ? null : new NumberSearchField(sAccountId));
+
+        Class<?> mapperInterface = getMapperInterface(target.getSearchMapper());
+        Map<String, Object> params = new HashMap<>();
+        params.put("searchCriteria", criteria);
+
+        final int[] count = {0};
+        SqlSession session = sqlSessionFactory.openSession();
+        try {
+            session.select(mapperInterface.getName() + ".streamListByCriteria", params, new ResultHandler() {
+                @Override
+                public void handleResult(ResultContext context) {
+                    searchIndex.index(SearchIndexAspect.buildDocument(cls, searchable,
+                            context.getResultObject(), null), false);
+                    count[0]++;
+                }
+            });
+        } finally {
+            session.close();
+        }
+        return count[0];
+    }
+
+    private static Class<?> getMapperInterface(ISearchableDAO<?> mapper) {
+        for (Class<?> mapperInterface : mapper.getClass().getInterfaces()) {
+            if (ISearchableDAO.class.isAssignableFrom(mapperInterface)) {
+                return mapperInterface;
+            }
+        }
+        throw new MyCollabException("Can not find the mapper interface of " + mapper);
+    }
+
+    private static DefaultService<?, ?, ?> getTarget(Object service) {
+        try {
+            Object target = (service instanceof Advised) ? ((Advised) service).getTargetSource().getTarget() : service;
+            return (DefaultService<?, ?, ?>) target;
+        } catch (Exception e) {
+            throw new MyCollabException(e);
+        }
+    }
+
+    @Override
+    public SearchIndexStatistics getStatistics() {
+        return searchIndex.getStatistics();
+    }
+}
@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.common.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.dao.TagMapper;
 import com.esofthead.mycollab.common.domain.Tag;
 import com.esofthead.mycollab.common.domain.TagExample;
@@ -54,7 +53,6 @@ public class TagServiceImpl extends DefaultCrudService<Integer, Tag> implements
             return 0;
         }
         tagMapper.insertAndReturnKey(record);
-        CacheUtils.cleanCaches(record.getSaccountid(), TagService.class);
         return record.getId();
     }
 
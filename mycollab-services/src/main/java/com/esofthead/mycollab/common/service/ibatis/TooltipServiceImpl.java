@@ -0,0 +1,178 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.common.service.ibatis;
+
+import com.esofthead.mycollab.common.TooltipCache;
+import com.esofthead.mycollab.common.service.TooltipService;
+import com.esofthead.mycollab.module.crm.CrmTooltipGenerator;
+import com.esofthead.mycollab.module.crm.CrmTypeConstants;
+import com.esofthead.mycollab.module.crm.domain.*;
+import com.esofthead.mycollab.module.crm.service.*;
+import com.esofthead.mycollab.module.page.domain.Page;
+import com.esofthead.mycollab.module.project.ProjectTooltipGenerator;
+import com.esofthead.mycollab.module.project.ProjectTypeConstants;
+import com.esofthead.mycollab.module.project.domain.*;
+import com.esofthead.mycollab.module.project.domain.SimpleTask;
+import com.esofthead.mycollab.module.project.service.*;
+import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
+import com.esofthead.mycollab.module.tracker.domain.SimpleComponent;
+import com.esofthead.mycollab.module.tracker.domain.SimpleVersion;
+import com.esofthead.mycollab.module.tracker.service.BugService;
+import com.esofthead.mycollab.module.tracker.service.ComponentService;
+import com.esofthead.mycollab.module.tracker.service.VersionService;
+import com.esofthead.mycollab.module.user.CommonTooltipGenerator;
+import com.esofthead.mycollab.module.user.domain.SimpleUser;
+import com.esofthead.mycollab.module.user.service.UserService;
+import com.esofthead.mycollab.spring.ApplicationContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The services of the entities are looked up when a tooltip is rendered, this
+ * service is used by the web tier only and must not pull every entity service
+ * in its dependencies.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Service
+public class TooltipServiceImpl implements TooltipService {
+    private static final Logger LOG = LoggerFactory.getLogger(TooltipServiceImpl.class);
+
+    @Autowired
+    private TooltipCache tooltipCache;
+
+    @Override
+    public String getTooltip(String type, String typeId, Integer sAccountId, String username, String siteURL,
+                             TimeZone timeZone, Locale locale) {
+        ConcurrentMap<String, String> variants = tooltipCache.getVariants(type, typeId);
+        // pages depend on the permissions of the requesting user
+        String variant = sAccountId + "|" + locale + "|" + timeZone.getID() + "|" + siteURL
+                + (ProjectTypeConstants.PAGE.equals(type) ? "|" + username : "");
+        String html = variants.get(variant);
+        if (html == null) {
+            html = generateTooltip(type, typeId, sAccountId, username, siteURL, timeZone, locale);
+            if (html != null) {
+                variants.put(variant, html);
+            }
+        }
+        return html;
+    }
+
+    private static String generateTooltip(String type, String typeId, Integer sAccountId, String username,
+                                          String siteURL, TimeZone timeZone, Locale locale) {
+        if (ProjectTypeConstants.PROJECT.equals(type)) {
+            ProjectService service = ApplicationContextUtil.getSpringBean(ProjectService.class);
+            SimpleProject project = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipProject(locale, project, siteURL, timeZone);
+        } else if (ProjectTypeConstants.MESSAGE.equals(type)) {
+            MessageService service = ApplicationContextUtil.getSpringBean(MessageService.class);
+            SimpleMessage message = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipMessage(locale, message, siteURL, timeZone);
+        } else if (ProjectTypeConstants.MILESTONE.equals(type)) {
+            MilestoneService service = ApplicationContextUtil.getSpringBean(MilestoneService.class);
+            SimpleMilestone mileStone = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipMilestone(locale, mileStone, siteURL, timeZone);
+        } else if (ProjectTypeConstants.TASK_LIST.equals(type)) {
+            ProjectTaskListService service = ApplicationContextUtil.getSpringBean(ProjectTaskListService.class);
+            SimpleTaskList taskList = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipTaskList(locale, taskList, siteURL, timeZone);
+        } else if (ProjectTypeConstants.BUG.equals(type)) {
+            BugService service = ApplicationContextUtil.getSpringBean(BugService.class);
+            SimpleBug bug = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipBug(locale, bug, siteURL, timeZone);
+        } else if (ProjectTypeConstants.TASK.equals(type)) {
+            ProjectTaskService service = ApplicationContextUtil.getSpringBean(ProjectTaskService.class);
+            SimpleTask task = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipTask(locale, task, siteURL, timeZone);
+        } else if (ProjectTypeConstants.RISK.equals(type)) {
+            RiskService service = ApplicationContextUtil.getSpringBean(RiskService.class);
+            SimpleRisk risk = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipRisk(locale, risk, siteURL, timeZone);
+        } else if (ProjectTypeConstants.PROBLEM.equals(type)) {
+            ProblemService service = ApplicationContextUtil.getSpringBean(ProblemService.class);
+            SimpleProblem problem = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipProblem(locale, problem, siteURL, timeZone);
+        } else if (ProjectTypeConstants.BUG_VERSION.equals(type)) {
+            VersionService service = ApplicationContextUtil.getSpringBean(VersionService.class);
+            SimpleVersion version = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipVersion(locale, version, siteURL, timeZone);
+        } else if (ProjectTypeConstants.BUG_COMPONENT.equals(type)) {
+            ComponentService service = ApplicationContextUtil.getSpringBean(ComponentService.class);
+            SimpleComponent component = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipComponent(locale, component, siteURL, timeZone);
+        } else if (ProjectTypeConstants.PAGE.equals(type)) {
+            ProjectPageService pageService = ApplicationContextUtil.getSpringBean(ProjectPageService.class);
+            Page page = pageService.getPage(typeId, username);
+            return ProjectTooltipGenerator.generateToolTipPage(locale, page, siteURL, timeZone);
+        } else if (ProjectTypeConstants.STANDUP.equals(type)) {
+            StandupReportService service = ApplicationContextUtil.getSpringBean(StandupReportService.class);
+            SimpleStandupReport standup = service.findById(Integer.parseInt(typeId), sAccountId);
+            return ProjectTooltipGenerator.generateToolTipStandUp(locale, standup, siteURL, timeZone);
+        } else if (CrmTypeConstants.ACCOUNT.equals(type)) {
+            AccountService service = ApplicationContextUtil.getSpringBean(AccountService.class);
+            SimpleAccount account = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateToolTipAccount(locale, account, siteURL);
+        } else if (CrmTypeConstants.CONTACT.equals(type)) {
+            ContactService service = ApplicationContextUtil.getSpringBean(ContactService.class);
+            SimpleContact contact = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateToolTipContact(locale, contact, siteURL, timeZone);
+        } else if (CrmTypeConstants.CAMPAIGN.equals(type)) {
+            CampaignService service = ApplicationContextUtil.getSpringBean(CampaignService.class);
+            SimpleCampaign campaign = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateTooltipCampaign(locale, campaign, siteURL, timeZone);
+        } else if (CrmTypeConstants.LEAD.equals(type)) {
+            LeadService service = ApplicationContextUtil.getSpringBean(LeadService.class);
+            SimpleLead lead = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateTooltipLead(locale, lead, siteURL, timeZone);
+        } else if (CrmTypeConstants.OPPORTUNITY.equals(type)) {
+            OpportunityService service = ApplicationContextUtil.getSpringBean(OpportunityService.class);
+            SimpleOpportunity opportunity = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateTooltipOpportunity(locale, opportunity, siteURL, timeZone);
+        } else if (CrmTypeConstants.CASE.equals(type)) {
+            CaseService service = ApplicationContextUtil.getSpringBean(CaseService.class);
+            SimpleCase cases = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateTooltipCases(locale, cases, siteURL, timeZone);
+        } else if (CrmTypeConstants.MEETING.equals(type)) {
+            MeetingService service = ApplicationContextUtil.getSpringBean(MeetingService.class);
+            SimpleMeeting meeting = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateToolTipMeeting(locale, meeting, siteURL, timeZone);
+        } else if (CrmTypeConstants.CALL.equals(type)) {
+            CallService service = ApplicationContextUtil.getSpringBean(CallService.class);
+            SimpleCall call = service.findById(Integer.parseInt(typeId), sAccountId);
+            return CrmTooltipGenerator.generateToolTipCall(locale, call, siteURL, timeZone);
+        } else if (TooltipCache.CRM_TASK.equals(type)) {
+            TaskService service = ApplicationContextUtil.getSpringBean(TaskService.class);
+            com.esofthead.mycollab.module.crm.domain.SimpleTask crmTask = service.findById(Integer.parseInt(typeId),
+                    sAccountId);
+            return CrmTooltipGenerator.generateToolTipCrmTask(locale, crmTask, siteURL, timeZone);
+        } else if (USER.equals(type)) {
+            UserService service = ApplicationContextUtil.getSpringBean(UserService.class);
+            SimpleUser user = service.findUserByUserNameInAccount(typeId, sAccountId);
+            return CommonTooltipGenerator.generateTooltipUser(locale, user, siteURL, timeZone);
+        }
+
+        LOG.error("Can not generate tooltip for item has type " + type);
+        return null;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.esofthead.mycollab.module.crm.service;
 
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -29,6 +30,7 @@ import com.esofthead.mycollab.module.crm.domain.criteria.CallSearchCriteria;
  * @since 1.0
  * 
  */
+@CacheEvict(dependents = { EventService.class })
 public interface CallService extends
 		IDefaultService<Integer, CallWithBLOBs, CallSearchCriteria> {
 
@@ -18,6 +18,7 @@ package com.esofthead.mycollab.module.crm.service.ibatis;
 
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
+import com.esofthead.mycollab.common.search.TextSearchCriteriaResolver;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 import com.esofthead.mycollab.core.persistence.service.DefaultService;
@@ -46,6 +47,7 @@ import java.util.List;
 @Service
 @Transactional
 @Traceable(nameField = "accountname")
+@Searchable(nameFields = "accountname", contentFields = {"description", "website", "email"})
 @Auditable()
 @Watchable(userFieldName = "assignuser")
 @NotifyAgent(AccountRelayEmailNotificationAction.class)
@@ -64,6 +66,9 @@ public class AccountServiceImpl extends
     @Autowired
     protected AccountLeadMapper accountLeadMapper;
 
+    @Autowired
+    private TextSearchCriteriaResolver textSearchCriteriaResolver;
+
     @Override
     public ICrudGenericDAO<Integer, Account> getCrudMapper() {
         return accountMapper;
@@ -74,6 +79,13 @@ public class AccountServiceImpl extends
         return accountMapperExt;
     }
 
+    @Override
+    protected AccountSearchCriteria prepareSearchCriteria(
+            AccountSearchCriteria criteria) {
+        return textSearchCriteriaResolver.resolve(criteria, "accountname",
+                CrmTypeConstants.ACCOUNT, "m_crm_account.id");
+    }
+
     @Override
     public SimpleAccount findById(int id, int accountId) {
         return accountMapperExt.findById(id);
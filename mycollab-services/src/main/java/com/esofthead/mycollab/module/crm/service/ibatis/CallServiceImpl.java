@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.crm.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
@@ -29,13 +28,11 @@ import com.esofthead.mycollab.module.crm.domain.CallWithBLOBs;
 import com.esofthead.mycollab.module.crm.domain.SimpleCall;
 import com.esofthead.mycollab.module.crm.domain.criteria.CallSearchCriteria;
 import com.esofthead.mycollab.module.crm.service.CallService;
-import com.esofthead.mycollab.module.crm.service.EventService;
 import com.esofthead.mycollab.schedule.email.crm.CallRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 
 /**
  * @author MyCollab Ltd.
@@ -74,54 +71,4 @@ public class CallServiceImpl extends
     public ISearchableDAO<CallSearchCriteria> getSearchMapper() {
         return callMapperExt;
     }
-
-    @Override
-    public int saveWithSession(CallWithBLOBs record, String username) {
-        int result = super.saveWithSession(record, username);
-        CacheUtils.cleanCaches(record.getSaccountid(), EventService.class);
-        return result;
-    }
-
-    @Override
-    public int updateWithSession(CallWithBLOBs record, String username) {
-        int result = super.updateWithSession(record, username);
-        CacheUtils.cleanCaches(record.getSaccountid(), EventService.class);
-        return result;
-    }
-
-    @Override
-    public int removeWithSession(Integer primaryKey, String username,
-                                 int accountId) {
-        int result = super.removeWithSession(primaryKey, username, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-        return result;
-    }
-
-    @Override
-    public void removeByCriteria(CallSearchCriteria criteria, int accountId) {
-        super.removeByCriteria(criteria, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-    }
-
-    @Override
-    public void massRemoveWithSession(List<Integer> primaryKeys,
-                                      String username, int accountId) {
-        super.massRemoveWithSession(primaryKeys, username, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-    }
-
-    @Override
-    public void massUpdateWithSession(CallWithBLOBs record,
-                                      List<Integer> primaryKeys, int accountId) {
-        super.massUpdateWithSession(record, primaryKeys, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-    }
-
-    @Override
-    public void updateBySearchCriteria(CallWithBLOBs record,
-                                       CallSearchCriteria searchCriteria) {
-        super.updateBySearchCriteria(record, searchCriteria);
-        CacheUtils.cleanCaches((Integer) searchCriteria.getSaccountid()
-                .getValue(), EventService.class);
-    }
 }
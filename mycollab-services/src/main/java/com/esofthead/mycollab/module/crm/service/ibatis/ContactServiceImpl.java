@@ -18,6 +18,7 @@ package com.esofthead.mycollab.module.crm.service.ibatis;
 
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
+import com.esofthead.mycollab.common.search.TextSearchCriteriaResolver;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
@@ -45,6 +46,7 @@ import java.util.List;
 @Service
 @Transactional
 @Traceable(nameField = "lastname")
+@Searchable(nameFields = {"firstname", "lastname"}, contentFields = {"email", "description"})
 @Auditable()
 @Watchable(userFieldName = "assignuser")
 @NotifyAgent(ContactRelayEmailNotificationAction.class)
@@ -65,6 +67,8 @@ public class ContactServiceImpl extends
     private ContactCaseMapper contactCaseMapper;
     @Autowired
     private ContactLeadMapper contactLeadMapper;
+    @Autowired
+    private TextSearchCriteriaResolver textSearchCriteriaResolver;
 
     @Override
     public ICrudGenericDAO<Integer, Contact> getCrudMapper() {
@@ -76,6 +80,13 @@ public class ContactServiceImpl extends
         return contactMapperExt;
     }
 
+    @Override
+    protected ContactSearchCriteria prepareSearchCriteria(
+            ContactSearchCriteria criteria) {
+        return textSearchCriteriaResolver.resolve(criteria, "contactName",
+                CrmTypeConstants.CONTACT, "m_crm_contact.id");
+    }
+
     @Override
     public SimpleContact findById(int contactId, int sAccountId) {
         SimpleContact contact = contactMapperExt.findById(contactId);
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.esofthead.mycollab.common.ModuleNameConstants;
+import com.esofthead.mycollab.common.search.TextSearchCriteriaResolver;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
@@ -58,6 +59,8 @@ import com.esofthead.mycollab.spring.ApplicationContextUtil;
 @Service
 @Transactional
 @Traceable(nameField = "lastname")
+@Searchable(nameFields = { "firstname", "lastname" }, contentFields = {
+		"accountname", "email", "description" })
 @Auditable()
 @Watchable(userFieldName = "assignuser")
 @NotifyAgent(LeadRelayEmailNotificationAction.class)
@@ -73,6 +76,8 @@ public class LeadServiceImpl extends
 	private LeadMapper leadMapper;
 	@Autowired
 	private LeadMapperExt leadMapperExt;
+	@Autowired
+	private TextSearchCriteriaResolver textSearchCriteriaResolver;
 
 	@Override
 	public ICrudGenericDAO<Integer, Lead> getCrudMapper() {
@@ -84,6 +89,13 @@ public class LeadServiceImpl extends
 		return leadMapperExt;
 	}
 
+	@Override
+	protected LeadSearchCriteria prepareSearchCriteria(
+			LeadSearchCriteria criteria) {
+		return textSearchCriteriaResolver.resolve(criteria, "leadName",
+				CrmTypeConstants.LEAD, "m_crm_lead.id");
+	}
+
 	@Override
 	public SimpleLead findById(int leadId, int sAccountId) {
 		return leadMapperExt.findById(leadId);
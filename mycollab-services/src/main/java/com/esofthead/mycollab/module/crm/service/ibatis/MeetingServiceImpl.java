@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.crm.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
@@ -28,14 +27,12 @@ import com.esofthead.mycollab.module.crm.dao.MeetingMapperExt;
 import com.esofthead.mycollab.module.crm.domain.MeetingWithBLOBs;
 import com.esofthead.mycollab.module.crm.domain.SimpleMeeting;
 import com.esofthead.mycollab.module.crm.domain.criteria.MeetingSearchCriteria;
-import com.esofthead.mycollab.module.crm.service.EventService;
 import com.esofthead.mycollab.module.crm.service.MeetingService;
 import com.esofthead.mycollab.schedule.email.crm.MeetingRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 
 /**
  * @author MyCollab Ltd.
@@ -74,54 +71,4 @@ public class MeetingServiceImpl extends
     public ISearchableDAO<MeetingSearchCriteria> getSearchMapper() {
         return meetingMapperExt;
     }
-
-    @Override
-    public int saveWithSession(MeetingWithBLOBs record, String username) {
-        int result = super.saveWithSession(record, username);
-        CacheUtils.cleanCaches(record.getSaccountid(), EventService.class);
-        return result;
-    }
-
-    @Override
-    public int updateWithSession(MeetingWithBLOBs record, String username) {
-        int result = super.updateWithSession(record, username);
-        CacheUtils.cleanCaches(record.getSaccountid(), EventService.class);
-        return result;
-    }
-
-    @Override
-    public int removeWithSession(Integer primaryKey, String username,
-                                 int accountId) {
-        int result = super.removeWithSession(primaryKey, username, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-        return result;
-    }
-
-    @Override
-    public void removeByCriteria(MeetingSearchCriteria criteria, int accountId) {
-        super.removeByCriteria(criteria, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-    }
-
-    @Override
-    public void massRemoveWithSession(List<Integer> primaryKeys,
-                                      String username, int accountId) {
-        super.massRemoveWithSession(primaryKeys, username, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-    }
-
-    @Override
-    public void massUpdateWithSession(MeetingWithBLOBs record,
-                                      List<Integer> primaryKeys, int accountId) {
-        super.massUpdateWithSession(record, primaryKeys, accountId);
-        CacheUtils.cleanCaches(accountId, EventService.class);
-    }
-
-    @Override
-    public void updateBySearchCriteria(MeetingWithBLOBs record,
-                                       MeetingSearchCriteria searchCriteria) {
-        super.updateBySearchCriteria(record, searchCriteria);
-        CacheUtils.cleanCaches((Integer) searchCriteria.getSaccountid()
-                .getValue(), EventService.class);
-    }
 }
@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.crm.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
@@ -28,14 +27,12 @@ import com.esofthead.mycollab.module.crm.dao.CrmTaskMapperExt;
 import com.esofthead.mycollab.module.crm.domain.SimpleTask;
 import com.esofthead.mycollab.module.crm.domain.Task;
 import com.esofthead.mycollab.module.crm.domain.criteria.TodoSearchCriteria;
-import com.esofthead.mycollab.module.crm.service.EventService;
 import com.esofthead.mycollab.module.crm.service.TaskService;
 import com.esofthead.mycollab.schedule.email.crm.TaskRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 
 /**
  * 
@@ -78,54 +75,4 @@ public class TaskServiceImpl extends
 		return taskMapperExt.findById(taskId);
 	}
 
-	@Override
-	public int saveWithSession(Task record, String username) {
-		int result = super.saveWithSession(record, username);
-		CacheUtils.cleanCaches(record.getSaccountid(), EventService.class);
-		return result;
-	}
-
-	@Override
-	public int updateWithSession(Task record, String username) {
-		int result = super.updateWithSession(record, username);
-		CacheUtils.cleanCaches(record.getSaccountid(), EventService.class);
-		return result;
-	}
-
-	@Override
-	public int removeWithSession(Integer primaryKey, String username,
-			int accountId) {
-		int result = super.removeWithSession(primaryKey, username, accountId);
-		CacheUtils.cleanCaches(accountId, EventService.class);
-		return result;
-	}
-
-	@Override
-	public void removeByCriteria(TodoSearchCriteria criteria, int accountId) {
-		super.removeByCriteria(criteria, accountId);
-		CacheUtils.cleanCaches(accountId, EventService.class);
-	}
-
-	@Override
-	public void massRemoveWithSession(List<Integer> primaryKeys,
-			String username, int accountId) {
-		super.massRemoveWithSession(primaryKeys, username, accountId);
-		CacheUtils.cleanCaches(accountId, EventService.class);
-	}
-
-	@Override
-	public void massUpdateWithSession(Task record, List<Integer> primaryKeys,
-			int accountId) {
-		super.massUpdateWithSession(record, primaryKeys, accountId);
-		CacheUtils.cleanCaches(accountId, EventService.class);
-	}
-
-	@Override
-	public void updateBySearchCriteria(Task record,
-			TodoSearchCriteria searchCriteria) {
-		super.updateBySearchCriteria(record, searchCriteria);
-		CacheUtils.cleanCaches((Integer) searchCriteria.getAccountId()
-				.getValue(), EventService.class);
-	}
-
 }
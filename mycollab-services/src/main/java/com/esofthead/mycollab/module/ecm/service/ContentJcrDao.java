@@ -49,5 +49,11 @@ public interface ContentJcrDao {
 	List<Resource> searchResourcesByName(String baseFolderPath,
 			String resourceName);
 
+	List<Resource> searchResourcesByName(String baseFolderPath,
+			String resourceName, int offset, int limit);
+
+	int getTotalCountOfResourcesByName(String baseFolderPath,
+			String resourceName);
+
 	void moveResource(String oldPath, String destinationPath);
 }
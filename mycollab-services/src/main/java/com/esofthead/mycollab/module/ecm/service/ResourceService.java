@@ -114,6 +114,29 @@ public interface ResourceService extends IService {
 	List<Resource> searchResourcesByName(String baseFolderPath,
 			String resourceName);
 
+	/**
+	 * Resources under <code>baseFolderPath</code> whose name contains
+	 * <code>resourceName</code>, ignoring case. Names starting with
+	 * <code>resourceName</code> come first.
+	 * 
+	 * @param baseFolderPath
+	 * @param resourceName
+	 * @param offset
+	 * @param limit
+	 * @return
+	 */
+	List<Resource> searchResourcesByName(String baseFolderPath,
+			String resourceName, int offset, int limit);
+
+	/**
+	 * 
+	 * @param baseFolderPath
+	 * @param resourceName
+	 * @return
+	 */
+	int getTotalCountOfResourcesByName(String baseFolderPath,
+			String resourceName);
+
 	/**
 	 * 
 	 * @param oldPath
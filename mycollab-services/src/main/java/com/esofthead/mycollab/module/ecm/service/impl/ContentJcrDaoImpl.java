@@ -18,7 +18,9 @@ package com.esofthead.mycollab.module.ecm.service.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jcr.ItemExistsException;
 import javax.jcr.Node;
@@ -59,6 +61,11 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 	@Autowired
 	private JcrTemplate jcrTemplate;
 
+	@Autowired
+	private ResourceNameIndex resourceNameIndex;
+
+	private final Object nameIndexBuildLock = new Object();
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public void saveContent(final Content content, final String createdUser) {
@@ -70,6 +77,7 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 					RepositoryException {
 				Node rootNode = session.getRootNode();
 				Node node = getNode(rootNode, content.getPath());
+				List<String> createdFolders = new ArrayList<>();
 				// forward to current path
 				if (node != null) {
 					if (isNodeFolder(node)) {
@@ -82,6 +90,7 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 						LOG.debug("Found existing resource. Override");
 						convertContentToNode(content, node, createdUser);
 						session.save();
+						resourceNameIndex.add(content.getPath(), false);
 						return null;
 					} else {
 						String errorStr = String
@@ -120,6 +129,7 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 									pathStr[i], "mycollab:folder");
 							childNode.setProperty("mycollab:createdUser",
 									createdUser);
+							createdFolders.add(toResourcePath(childNode));
 						}
 						parentNode = childNode;
 					}
@@ -133,6 +143,10 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 					convertContentToNode(content, addNode, createdUser);
 					session.save();
 
+					for (String folderPath : createdFolders) {
+						resourceNameIndex.add(folderPath, true);
+					}
+					resourceNameIndex.add(content.getPath(), false);
 				}
 				return null;
 			}
@@ -181,6 +195,8 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 							childNode.setProperty("mycollab:createdUser",
 									createdUser);
 							session.save();
+							resourceNameIndex.add(toResourcePath(childNode),
+									true);
 						}
 
 						parentNode = childNode;
@@ -262,6 +278,7 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 				if (node != null) {
 					node.remove();
 					session.save();
+					resourceNameIndex.remove(path);
 				}
 				return null;
 			}
@@ -444,18 +461,103 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 	}
 
 	@Override
-	public List<Resource> searchResourcesByName(final String baseFolderPath,
-			final String resourceName) {
+	public List<Resource> searchResourcesByName(String baseFolderPath,
+			String resourceName) {
+		return searchResourcesByName(baseFolderPath, resourceName, 0,
+				getTotalCountOfResourcesByName(baseFolderPath, resourceName));
+	}
+
+	@Override
+	public List<Resource> searchResourcesByName(String baseFolderPath,
+			String resourceName, int offset, int limit) {
+		ensureNameIndexBuilt();
+		final List<String> paths = resourceNameIndex.search(baseFolderPath,
+				resourceName, offset, limit);
 		return jcrTemplate.execute(new JcrCallback<List<Resource>>() {
 
 			@Override
 			public List<Resource> doInJcr(Session session) throws IOException,
 					RepositoryException {
-				return new ArrayList<Resource>();
+				Node rootNode = session.getRootNode();
+				List<Resource> resources = new ArrayList<>(paths.size());
+				for (String path : paths) {
+					Node node = getNode(rootNode, path);
+					if (node != null && isNodeFolder(node)) {
+						resources.add(convertNodeToFolder(node));
+					} else if (node != null && isNodeContent(node)) {
+						resources.add(convertNodeToContent(node));
+					} else {
+						LOG.debug("Remove stale path {} of the name index",
+								path);
+						resourceNameIndex.remove(path);
+					}
+				}
+				return resources;
 			}
 		});
 	}
 
+	@Override
+	public int getTotalCountOfResourcesByName(String baseFolderPath,
+			String resourceName) {
+		ensureNameIndexBuilt();
+		return resourceNameIndex.count(baseFolderPath, resourceName);
+	}
+
+	/**
+	 * Walks the repository once to fill the name index of the installations
+	 * which had resources before the index existed. The walk does not hold
+	 * the lock of the index, so the resources can be changed meanwhile.
+	 */
+	private void ensureNameIndexBuilt() {
+		if (resourceNameIndex.isBuilt()) {
+			return;
+		}
+
+		synchronized (nameIndexBuildLock) {
+			if (resourceNameIndex.isBuilt()) {
+				return;
+			}
+			resourceNameIndex.startBuild();
+			try {
+				Map<String, Boolean> resources = jcrTemplate
+						.execute(new JcrCallback<Map<String, Boolean>>() {
+
+							@Override
+							public Map<String, Boolean> doInJcr(Session session)
+									throws IOException, RepositoryException {
+								Map<String, Boolean> resources = new LinkedHashMap<>();
+								collectResources(session.getRootNode(),
+										resources);
+								return resources;
+							}
+						});
+				resourceNameIndex.build(resources);
+			} finally {
+				resourceNameIndex.cancelBuild();
+			}
+		}
+	}
+
+	private static void collectResources(Node node,
+			Map<String, Boolean> resources) throws RepositoryException {
+		NodeIterator childNodes = node.getNodes();
+		while (childNodes.hasNext()) {
+			Node childNode = childNodes.nextNode();
+			if (isNodeFolder(childNode)) {
+				resources.put(toResourcePath(childNode), true);
+				collectResources(childNode, resources);
+			} else if (isNodeContent(childNode)) {
+				resources.put(toResourcePath(childNode), false);
+			}
+		}
+	}
+
+	private static String toResourcePath(Node node) throws RepositoryException {
+		String path = node.getPath();
+		return path.startsWith("/") ? path.substring(1) : path;
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public void rename(final String oldPath, final String newPath) {
@@ -474,6 +576,7 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 					currentNode.getSession().move(currentNode.getPath(),
 							"/" + newPath);
 					currentNode.getSession().save();
+					resourceNameIndex.move(oldPath, newPath);
 				} else {
 					throw new MyCollabException("Resource path " + oldPath
 							+ " not found");
@@ -501,6 +604,7 @@ public class ContentJcrDaoImpl implements ContentJcrDao {
 					}
 					session.move("/" + oldPath, "/" + destinationPath);
 					session.save();
+					resourceNameIndex.move(oldPath, destinationPath);
 				} catch (ItemExistsException e) {
 					throw new UserInvalidInputException(
 							"Please check duplicate file/folder before move.",
@@ -0,0 +1,452 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.ecm.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.esofthead.mycollab.configuration.FileStorageConfiguration;
+import com.esofthead.mycollab.core.MyCollabException;
+
+/**
+ * Side index of the paths of the ECM folders and contents, so resources can
+ * be searched by name under a folder without walking the JCR tree. It is kept
+ * up to date by {@link ContentJcrDaoImpl} and built from the repository the
+ * first time it is searched. Changes are visible to the next search right
+ * away (near real time reader) and committed to disk every
+ * {@link #COMMIT_INTERVAL_SECONDS} seconds. The repository is walked without
+ * the lock of the index, the changes made during the walk are recorded and
+ * applied again once the walked resources replaced the content of the index,
+ * so they are not lost whether the walk saw them or not.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class ResourceNameIndex implements InitializingBean, DisposableBean {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(ResourceNameIndex.class);
+
+	private static final String PATH = "path";
+	private static final String PATH_SORT = "pathSort";
+	private static final String ANCESTOR = "ancestor";
+	private static final String NAME = "name";
+	private static final String FOLDER = "folder";
+
+	private static final String BUILT_TIME = "builtTime";
+
+	private static final long COMMIT_INTERVAL_SECONDS = 10;
+
+	@Autowired
+	private Environment environment;
+
+	private Directory directory;
+
+	private IndexWriter writer;
+
+	private SearcherManager searcherManager;
+
+	private ScheduledExecutorService committer;
+
+	private volatile boolean built;
+
+	private final AtomicLong pendingChanges = new AtomicLong();
+
+	/**
+	 * Changes made since {@link #startBuild()}, null when no build is running.
+	 */
+	private List<Change> changesDuringBuild;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (environment.acceptsProfiles("test")) {
+			directory = new RAMDirectory();
+		} else {
+			directory = FSDirectory
+					.open(new File(FileStorageConfiguration.baseContentFolder,
+							"resource-index"));
+		}
+		IndexWriterConfig config = new IndexWriterConfig(Version.LUCENE_4_10_0,
+				new KeywordAnalyzer());
+		config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+		writer = new IndexWriter(directory, config);
+		searcherManager = new SearcherManager(writer, true, null);
+		built = writer.getCommitData().containsKey(BUILT_TIME);
+
+		committer = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable);
+						thread.setName("mycollab-resource-index-committer");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		committer.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				commit();
+			}
+		}, COMMIT_INTERVAL_SECONDS, COMMIT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	public boolean isBuilt() {
+		return built;
+	}
+
+	/**
+	 * Starts recording the changes, to be called before the repository is
+	 * walked for {@link #build(Map)}.
+	 */
+	public synchronized void startBuild() {
+		changesDuringBuild = new ArrayList<>();
+	}
+
+	/**
+	 * Stops recording the changes of a build which did not complete.
+	 */
+	public synchronized void cancelBuild() {
+		changesDuringBuild = null;
+	}
+
+	/**
+	 * Replaces the content of the index by the given resources, applies the
+	 * changes made since {@link #startBuild()} and records that the index is
+	 * complete.
+	 * 
+	 * @param resources
+	 *            folder flag of the resource paths
+	 */
+	public synchronized void build(Map<String, Boolean> resources) {
+		try {
+			writer.deleteAll();
+			for (Map.Entry<String, Boolean> resource : resources.entrySet()) {
+				writer.addDocument(toDocument(resource.getKey(),
+						resource.getValue()));
+			}
+			if (changesDuringBuild != null) {
+				for (Change change : changesDuringBuild) {
+					change.apply();
+				}
+				LOG.debug("Replayed {} changes made during the build",
+						changesDuringBuild.size());
+				changesDuringBuild = null;
+			}
+			Map<String, String> commitData = new HashMap<>();
+			commitData.put(BUILT_TIME,
+					String.valueOf(System.currentTimeMillis()));
+			writer.setCommitData(commitData);
+			pendingChanges.incrementAndGet();
+			commit();
+			built = true;
+			LOG.info("Indexed {} ECM resources", resources.size());
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
+	public synchronized void add(String path, final boolean folder) {
+		final String normalizedPath = normalize(path);
+		apply(new Change() {
+			@Override
+			public void apply() throws IOException {
+				writer.updateDocument(new Term(PATH, normalizedPath),
+						toDocument(normalizedPath, folder));
+			}
+		});
+	}
+
+	/**
+	 * Removes the resource and, if it is a folder, all its descendants.
+	 * 
+	 * @param path
+	 */
+	public synchronized void remove(String path) {
+		final String normalizedPath = normalize(path);
+		apply(new Change() {
+			@Override
+			public void apply() throws IOException {
+				if ("".equals(normalizedPath)) {
+					writer.deleteDocuments(new MatchAllDocsQuery());
+				} else {
+					writer.deleteDocuments(new Term(PATH, normalizedPath),
+							new Term(ANCESTOR, normalizedPath));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Moves the resource and all its descendants to <code>newPath</code>.
+	 * 
+	 * @param oldPath
+	 * @param newPath
+	 */
+	public synchronized void move(String oldPath, String newPath) {
+		final String normalizedOldPath = normalize(oldPath);
+		final String normalizedNewPath = normalize(newPath);
+		apply(new Change() {
+			@Override
+			public void apply() throws IOException {
+				moveDocuments(normalizedOldPath, normalizedNewPath);
+			}
+		});
+	}
+
+	private void apply(Change change) {
+		try {
+			change.apply();
+			pendingChanges.incrementAndGet();
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+		if (changesDuringBuild != null) {
+			changesDuringBuild.add(change);
+		}
+	}
+
+	private void moveDocuments(String oldPath, String newPath)
+			throws IOException {
+		BooleanQuery query = new BooleanQuery();
+		query.add(new TermQuery(new Term(PATH, oldPath)), Occur.SHOULD);
+		query.add(new TermQuery(new Term(ANCESTOR, oldPath)), Occur.SHOULD);
+
+		Map<String, Boolean> moved = new HashMap<>();
+		searcherManager.maybeRefreshBlocking();
+		IndexSearcher searcher = searcherManager.acquire();
+		try {
+			TopDocs topDocs = searcher.search(query,
+					Math.max(count(searcher, query), 1));
+			for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+				Document doc = searcher.doc(scoreDoc.doc);
+				String path = doc.get(PATH);
+				moved.put(newPath + path.substring(oldPath.length()),
+						Boolean.valueOf(doc.get(FOLDER)));
+			}
+		} finally {
+			searcherManager.release(searcher);
+		}
+
+		writer.deleteDocuments(query);
+		for (Map.Entry<String, Boolean> resource : moved.entrySet()) {
+			writer.updateDocument(new Term(PATH, resource.getKey()),
+					toDocument(resource.getKey(), resource.getValue()));
+		}
+	}
+
+	public synchronized void commit() {
+		long changes = pendingChanges.getAndSet(0);
+		if (changes == 0) {
+			return;
+		}
+		try {
+			writer.commit();
+		} catch (Exception e) {
+			pendingChanges.addAndGet(changes);
+			LOG.error("Error while committing the resource name index", e);
+		}
+	}
+
+	/**
+	 * 
+	 * @param baseFolderPath
+	 * @param resourceName
+	 * @return number of resources under <code>baseFolderPath</code> whose
+	 *         name contains <code>resourceName</code>
+	 */
+	public int count(String baseFolderPath, String resourceName) {
+		Query query = buildQuery(baseFolderPath, resourceName);
+		try {
+			searcherManager.maybeRefresh();
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				return count(searcher, query);
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
+	/**
+	 * Names starting with <code>resourceName</code> come first, then the
+	 * other names containing it, each group ordered by path.
+	 * 
+	 * @param baseFolderPath
+	 * @param resourceName
+	 * @param offset
+	 * @param limit
+	 * @return paths of the matched resources
+	 */
+	public List<String> search(String baseFolderPath, String resourceName,
+			int offset, int limit) {
+		Query query = buildQuery(baseFolderPath, resourceName);
+		List<String> paths = new ArrayList<>();
+		if (limit <= 0) {
+			return paths;
+		}
+		try {
+			searcherManager.maybeRefresh();
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(
+						PATH_SORT, SortField.Type.STRING));
+				TopDocs topDocs = searcher.search(query, offset + limit, sort);
+				ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+				for (int i = offset; i < scoreDocs.length; i++) {
+					paths.add(searcher.doc(scoreDocs[i].doc).get(PATH));
+				}
+				return paths;
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		}
+	}
+
+	private static int count(IndexSearcher searcher, Query query)
+			throws IOException {
+		TotalHitCountCollector collector = new TotalHitCountCollector();
+		searcher.search(query, collector);
+		return collector.getTotalHits();
+	}
+
+	private static Query buildQuery(String baseFolderPath, String resourceName) {
+		BooleanQuery query = new BooleanQuery();
+		String basePath = normalize(baseFolderPath);
+		if (!"".equals(basePath)) {
+			query.add(new TermQuery(new Term(ANCESTOR, basePath)), Occur.MUST);
+		}
+
+		String name = (resourceName == null) ? "" : resourceName.trim()
+				.toLowerCase();
+		if ("".equals(name)) {
+			query.add(new MatchAllDocsQuery(), Occur.MUST);
+		} else {
+			BooleanQuery nameQuery = new BooleanQuery();
+			PrefixQuery prefixQuery = new PrefixQuery(new Term(NAME, name));
+			prefixQuery.setBoost(2);
+			nameQuery.add(prefixQuery, Occur.SHOULD);
+			nameQuery.add(new WildcardQuery(new Term(NAME, "*"
+					+ escapeWildcard(name) + "*")), Occur.SHOULD);
+			query.add(nameQuery, Occur.MUST);
+		}
+		return query;
+	}
+
+	private static String escapeWildcard(String text) {
+		StringBuilder builder = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == WildcardQuery.WILDCARD_STRING
+					|| c == WildcardQuery.WILDCARD_CHAR
+					|| c == WildcardQuery.WILDCARD_ESCAPE) {
+				builder.append(WildcardQuery.WILDCARD_ESCAPE);
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+
+	private static Document toDocument(String path, boolean folder) {
+		Document doc = new Document();
+		doc.add(new StringField(PATH, path, Field.Store.YES));
+		doc.add(new SortedDocValuesField(PATH_SORT, new BytesRef(path)));
+		doc.add(new StringField(FOLDER, String.valueOf(folder),
+				Field.Store.YES));
+		int index = path.indexOf('/');
+		while (index > 0) {
+			doc.add(new StringField(ANCESTOR, path.substring(0, index),
+					Field.Store.NO));
+			index = path.indexOf('/', index + 1);
+		}
+		doc.add(new StringField(NAME, path.substring(path.lastIndexOf('/') + 1)
+				.toLowerCase(), Field.Store.NO));
+		return doc;
+	}
+
+	private static String normalize(String path) {
+		if (path == null) {
+			return "";
+		}
+		return StringUtils.strip(path, "/");
+	}
+
+	/**
+	 * Change of the index, kept to be applied again after a build.
+	 */
+	private interface Change {
+		void apply() throws IOException;
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		committer.shutdown();
+		commit();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+}
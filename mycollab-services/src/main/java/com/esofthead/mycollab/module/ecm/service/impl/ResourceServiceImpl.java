@@ -182,6 +182,20 @@ public class ResourceServiceImpl implements ResourceService {
 				.searchResourcesByName(baseFolderPath, resourceName);
 	}
 
+	@Override
+	public List<Resource> searchResourcesByName(String baseFolderPath,
+			String resourceName, int offset, int limit) {
+		return contentJcrDao.searchResourcesByName(baseFolderPath,
+				resourceName, offset, limit);
+	}
+
+	@Override
+	public int getTotalCountOfResourcesByName(String baseFolderPath,
+			String resourceName) {
+		return contentJcrDao.getTotalCountOfResourcesByName(baseFolderPath,
+				resourceName);
+	}
+
 	@Override
 	public void moveResource(String oldPath, String destinationFolderPath,
 			String userMove) {
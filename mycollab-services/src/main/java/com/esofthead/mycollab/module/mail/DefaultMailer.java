@@ -44,12 +44,14 @@ public class DefaultMailer implements IMailer {
 	private String username = null;
 	private String password = null;
 	private boolean isTLS = false;
+	private Integer port;
 
 	public DefaultMailer(EmailConfiguration emailConf) {
 		this.host = emailConf.getHost();
 		this.username = emailConf.getUser();
 		this.password = emailConf.getPassword();
 		this.isTLS = emailConf.getIsTls();
+		this.port = emailConf.getPort();
 	}
 
 	private HtmlEmail getBasicEmail(String fromEmail, String fromName,
@@ -58,6 +60,9 @@ public class DefaultMailer implements IMailer {
 		try {
 			HtmlEmail email = new HtmlEmail();
 			email.setHostName(host);
+			if (port != null && port > 0) {
+				email.setSmtpPort(port);
+			}
 			email.setFrom(fromEmail, fromName);
 			email.setCharset(EmailConstants.UTF_8);
 			for (int i = 0; i < toEmail.size(); i++) {
@@ -124,7 +129,7 @@ public class DefaultMailer implements IMailer {
 			HtmlEmail email = getBasicEmail(fromEmail, fromName, toEmail,
 					ccEmail, bccEmail, subject, html);
 
-			email.send();
+			send(email);
 		} catch (EmailException e) {
 			throw new MyCollabException(e);
 		}
@@ -147,7 +152,7 @@ public class DefaultMailer implements IMailer {
 					email.attach(attachment.getAttachmentObj());
 				}
 
-				email.send();
+				send(email);
 			}
 		} catch (EmailException e) {
 			throw new MyCollabException(e);
@@ -172,6 +177,34 @@ public class DefaultMailer implements IMailer {
 				subject, html, attachment);
 	}
 
+	@Override
+	public void sendHTMLMails(List<HtmlMailMessage> messages) {
+		for (HtmlMailMessage message : messages) {
+			try {
+				sendHTMLMail(message);
+			} catch (Exception e) {
+				LOG.error("Error while sending mail " + message.getSubject(), e);
+			}
+		}
+	}
+
+	protected void sendHTMLMail(HtmlMailMessage message) {
+		sendHTMLMail(message.getFromEmail(), message.getFromName(),
+				message.getToEmail(), message.getCcEmail(),
+				message.getBccEmail(), message.getSubject(), message.getHtml(),
+				message.getAttachments());
+	}
+
+	/**
+	 * Opens a new SMTP connection for the email.
+	 * 
+	 * @param email
+	 * @throws EmailException
+	 */
+	protected void send(HtmlEmail email) throws EmailException {
+		email.send();
+	}
+
 	private boolean isValidate(String val) {
 		return StringUtils.isNotBlank(val);
 	}
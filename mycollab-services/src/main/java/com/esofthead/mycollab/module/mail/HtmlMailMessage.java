@@ -0,0 +1,86 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.mail;
+
+import java.util.List;
+
+import com.esofthead.mycollab.common.domain.MailRecipientField;
+
+/**
+ * HTML mail queued to be sent in a batch with
+ * {@link IMailer#sendHTMLMails(List)}.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class HtmlMailMessage {
+	private final String fromEmail;
+	private final String fromName;
+	private final List<MailRecipientField> toEmail;
+	private final List<MailRecipientField> ccEmail;
+	private final List<MailRecipientField> bccEmail;
+	private final String subject;
+	private final String html;
+	private final List<EmailAttachementSource> attachments;
+
+	public HtmlMailMessage(String fromEmail, String fromName,
+			List<MailRecipientField> toEmail, List<MailRecipientField> ccEmail,
+			List<MailRecipientField> bccEmail, String subject, String html,
+			List<EmailAttachementSource> attachments) {
+		this.fromEmail = fromEmail;
+		this.fromName = fromName;
+		this.toEmail = toEmail;
+		this.ccEmail = ccEmail;
+		this.bccEmail = bccEmail;
+		this.subject = subject;
+		this.html = html;
+		this.attachments = attachments;
+	}
+
+	public String getFromEmail() {
+		return fromEmail;
+	}
+
+	public String getFromName() {
+		return fromName;
+	}
+
+	public List<MailRecipientField> getToEmail() {
+		return toEmail;
+	}
+
+	public List<MailRecipientField> getCcEmail() {
+		return ccEmail;
+	}
+
+	public List<MailRecipientField> getBccEmail() {
+		return bccEmail;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public String getHtml() {
+		return html;
+	}
+
+	public List<EmailAttachementSource> getAttachments() {
+		return attachments;
+	}
+}
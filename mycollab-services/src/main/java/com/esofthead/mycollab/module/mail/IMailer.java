@@ -71,4 +71,12 @@ public interface IMailer {
 	void sendHTMLMail(String fromEmail, String fromName,
 			List<SimpleUser> users, String subject, String html,
 			List<EmailAttachementSource> attachment);
+
+	/**
+	 * Sends all the messages, a message which can not be sent does not stop
+	 * the delivery of the others.
+	 * 
+	 * @param messages
+	 */
+	void sendHTMLMails(List<HtmlMailMessage> messages);
 }
@@ -55,4 +55,9 @@ public class NullMailer implements IMailer {
 
 	}
 
+	@Override
+	public void sendHTMLMails(List<HtmlMailMessage> messages) {
+		LOG.info("You did not configure email. So Email feature is disable and MyCollab can not send any notification via email.");
+	}
+
 }
@@ -0,0 +1,278 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.mail;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.commons.mail.EmailException;
+import org.apache.commons.mail.HtmlEmail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.esofthead.mycollab.configuration.EmailConfiguration;
+import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.core.MyCollabThread;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Mailer which keeps a pool of authenticated SMTP connections open and sends
+ * several mails through each of them, instead of connecting, negotiating TLS
+ * and authenticating for every mail. The mails of a batch are sent in
+ * parallel over the pool, no faster than the configured rate limit.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class PooledMailer extends DefaultMailer implements Closeable {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(PooledMailer.class);
+
+	private static final String TIMEOUT_MILLIS = "60000";
+
+	/**
+	 * Port of SMTP over SSL, on which the connection is encrypted from the
+	 * start instead of with STARTTLS.
+	 */
+	private static final int SSL_ON_CONNECT_PORT = 465;
+
+	private final String host;
+	private final int port;
+	private final String username;
+	private final String password;
+
+	private final Session session;
+	private final BlockingQueue<Transport> transports;
+	private final ExecutorService executor;
+	private final RateLimiter rateLimiter;
+
+	private final AtomicLong sentCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	public PooledMailer(EmailConfiguration emailConf) {
+		this(emailConf, createSession(emailConf));
+	}
+
+	/**
+	 * Pools the transports of the given session instead of a new SMTP one.
+	 */
+	PooledMailer(EmailConfiguration emailConf, Session session) {
+		super(emailConf);
+		this.host = emailConf.getHost();
+		this.port = getPort(emailConf);
+		this.username = emailConf.getUser();
+		this.password = emailConf.getPassword();
+		this.session = session;
+
+		int poolSize = Math.max(emailConf.getPoolSize(), 1);
+		transports = new ArrayBlockingQueue<>(poolSize);
+		try {
+			for (int i = 0; i < poolSize; i++) {
+				transports.add(session.getTransport());
+			}
+		} catch (MessagingException e) {
+			throw new MyCollabException(e);
+		}
+
+		executor = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+			private final AtomicInteger threadCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new MyCollabThread(runnable);
+				thread.setName("mycollab-mailer-"
+						+ threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		rateLimiter = (emailConf.getRateLimit() > 0) ? RateLimiter
+				.create(emailConf.getRateLimit()) : null;
+	}
+
+	static Session createSession(EmailConfiguration emailConf) {
+		Properties props = new Properties();
+		props.setProperty("mail.transport.protocol", "smtp");
+		props.setProperty("mail.smtp.host", emailConf.getHost());
+		if (getPort(emailConf) > 0) {
+			props.setProperty("mail.smtp.port",
+					String.valueOf(getPort(emailConf)));
+		}
+		props.setProperty("mail.smtp.auth",
+				String.valueOf(emailConf.getUser() != null));
+		if (getPort(emailConf) == SSL_ON_CONNECT_PORT) {
+			props.setProperty("mail.smtp.ssl.enable", "true");
+			props.setProperty("mail.smtp.ssl.checkserveridentity", "true");
+		} else {
+			props.setProperty("mail.smtp.starttls.enable",
+					String.valueOf(emailConf.getIsTls()));
+		}
+		props.setProperty("mail.smtp.connectiontimeout", TIMEOUT_MILLIS);
+		props.setProperty("mail.smtp.timeout", TIMEOUT_MILLIS);
+		return Session.getInstance(props);
+	}
+
+	private static int getPort(EmailConfiguration emailConf) {
+		return (emailConf.getPort() != null) ? emailConf.getPort() : -1;
+	}
+
+	@Override
+	protected void send(HtmlEmail email) throws EmailException {
+		email.setMailSession(session);
+		email.buildMimeMessage();
+		MimeMessage message = email.getMimeMessage();
+		try {
+			message.saveChanges();
+		} catch (MessagingException e) {
+			throw new EmailException(e);
+		}
+		deliver(message);
+	}
+
+	private void deliver(MimeMessage message) throws EmailException {
+		if (rateLimiter != null) {
+			rateLimiter.acquire();
+		}
+
+		Transport transport;
+		try {
+			transport = transports.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EmailException(e);
+		}
+
+		try {
+			connect(transport);
+			// a failure from now on may happen after the server got the
+			// message, so it is not retried to avoid sending it twice
+			transport.sendMessage(message, message.getAllRecipients());
+			sentCount.incrementAndGet();
+		} catch (MessagingException e) {
+			failedCount.incrementAndGet();
+			throw new EmailException(e);
+		} finally {
+			transports.offer(transport);
+		}
+	}
+
+	/**
+	 * Checking the connection of the SMTP transport sends a command to the
+	 * server, so an idle connection closed by the server is found and
+	 * replaced here, before the message is sent. Nothing has been sent when
+	 * connecting fails, so it is retried once.
+	 */
+	private void connect(Transport transport) throws MessagingException {
+		if (transport.isConnected()) {
+			return;
+		}
+
+		try {
+			transport.connect(host, port, username, password);
+		} catch (MessagingException e) {
+			LOG.debug("Reconnect to the SMTP server after error", e);
+			closeQuietly(transport);
+			transport.connect(host, port, username, password);
+		}
+	}
+
+	/**
+	 * Sends the messages in parallel over the pooled connections and waits
+	 * until all of them are sent.
+	 */
+	@Override
+	public void sendHTMLMails(List<HtmlMailMessage> messages) {
+		long start = System.currentTimeMillis();
+		List<Future<Void>> results = new ArrayList<>(messages.size());
+		for (final HtmlMailMessage message : messages) {
+			results.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					sendHTMLMail(message);
+					return null;
+				}
+			}));
+		}
+
+		int failed = 0;
+		for (int i = 0; i < results.size(); i++) {
+			try {
+				results.get(i).get();
+			} catch (ExecutionException e) {
+				failed++;
+				LOG.error("Error while sending mail "
+						+ messages.get(i).getSubject(), e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new MyCollabException(e);
+			}
+		}
+
+		long elapsed = System.currentTimeMillis() - start;
+		LOG.info("Sent {} of {} mails in {} ms ({} sent and {} failed since "
+				+ "the mailer started)", messages.size() - failed,
+				messages.size(), elapsed, sentCount.get(), failedCount.get());
+	}
+
+	long getSentCount() {
+		return sentCount.get();
+	}
+
+	long getFailedCount() {
+		return failedCount.get();
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (Transport transport : transports) {
+			closeQuietly(transport);
+		}
+	}
+
+	private static void closeQuietly(Transport transport) {
+		try {
+			transport.close();
+		} catch (MessagingException e) {
+			LOG.debug("Error while closing SMTP connection", e);
+		}
+	}
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import com.esofthead.mycollab.common.domain.MailRecipientField;
 import com.esofthead.mycollab.core.persistence.service.IService;
 import com.esofthead.mycollab.module.mail.EmailAttachementSource;
+import com.esofthead.mycollab.module.mail.HtmlMailMessage;
 
 /**
  * 
@@ -46,4 +47,13 @@ public interface IGenericMailService extends IService {
 			List<MailRecipientField> toEmail, List<MailRecipientField> ccEmail,
 			List<MailRecipientField> bccEmail, String subject, String html,
 			List<EmailAttachementSource> attachments);
+
+	/**
+	 * Sends the mails of a batch, for instance the notifications of the
+	 * followers of an item, so the mailer can share connections between
+	 * them.
+	 * 
+	 * @param messages
+	 */
+	void sendHTMLMails(List<HtmlMailMessage> messages);
 }
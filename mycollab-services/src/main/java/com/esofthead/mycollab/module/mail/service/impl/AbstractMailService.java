@@ -20,6 +20,7 @@ import java.util.List;
 
 import com.esofthead.mycollab.common.domain.MailRecipientField;
 import com.esofthead.mycollab.module.mail.EmailAttachementSource;
+import com.esofthead.mycollab.module.mail.HtmlMailMessage;
 import com.esofthead.mycollab.module.mail.IMailer;
 import com.esofthead.mycollab.module.mail.service.IGenericMailService;
 
@@ -42,4 +43,11 @@ public abstract class AbstractMailService implements IGenericMailService {
 		getMailer().sendHTMLMail(fromEmail, fromName, toEmail, ccEmail,
 				bccEmail, subject, html, attachments);
 	}
+
+	@Override
+	public void sendHTMLMails(List<HtmlMailMessage> messages) {
+		if (!messages.isEmpty()) {
+			getMailer().sendHTMLMails(messages);
+		}
+	}
 }
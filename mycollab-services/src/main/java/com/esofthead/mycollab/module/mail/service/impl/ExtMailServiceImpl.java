@@ -21,7 +21,9 @@ import com.esofthead.mycollab.configuration.SiteConfiguration;
 import com.esofthead.mycollab.module.mail.DefaultMailer;
 import com.esofthead.mycollab.module.mail.IMailer;
 import com.esofthead.mycollab.module.mail.NullMailer;
+import com.esofthead.mycollab.module.mail.PooledMailer;
 import com.esofthead.mycollab.module.mail.service.ExtMailService;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
 /**
@@ -31,7 +33,11 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class ExtMailServiceImpl extends AbstractMailService implements
-        ExtMailService {
+        ExtMailService, DisposableBean {
+
+    private PooledMailer pooledMailer;
+
+    private EmailConfiguration pooledMailerConfiguration;
 
     @Override
     public boolean isMailSetupValid() {
@@ -48,7 +54,34 @@ public class ExtMailServiceImpl extends AbstractMailService implements
             return new NullMailer();
         }
 
+        if (emailConfiguration.getPoolSize() > 0) {
+            return getPooledMailer(emailConfiguration);
+        }
         return new DefaultMailer(emailConfiguration);
     }
 
+    /**
+     * The pool is created again when the email configuration is replaced.
+     */
+    private synchronized PooledMailer getPooledMailer(
+            EmailConfiguration emailConfiguration) {
+        if (pooledMailer == null
+                || pooledMailerConfiguration != emailConfiguration) {
+            if (pooledMailer != null) {
+                pooledMailer.close();
+            }
+            pooledMailer = new PooledMailer(emailConfiguration);
+            pooledMailerConfiguration = emailConfiguration;
+        }
+        return pooledMailer;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (pooledMailer != null) {
+            pooledMailer.close();
+            pooledMailer = null;
+        }
+    }
+
 }
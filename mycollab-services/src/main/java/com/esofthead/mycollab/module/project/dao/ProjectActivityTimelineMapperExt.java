@@ -0,0 +1,70 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.dao;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.esofthead.mycollab.common.domain.criteria.ActivityStreamSearchCriteria;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
+import com.esofthead.mycollab.module.project.domain.ProjectActivityStream;
+
+/**
+ * Reads and maintains <code>m_prj_activity_timeline</code>, the project
+ * activities with the item, project and user names resolved when the activity
+ * is recorded, so the activity stream is read from one table.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+public interface ProjectActivityTimelineMapperExt {
+
+	int getTotalActivityStream(
+			@Param("searchCriteria") ActivityStreamSearchCriteria criteria);
+
+	/**
+	 * Activities are ordered by created time and id, newest first.
+	 * 
+	 * @param criteria
+	 * @param cursor
+	 *            created time and id of the last activity of the previous
+	 *            page, <code>null</code> to start at <code>offset</code>
+	 * @param offset
+	 * @param limit
+	 * @return
+	 */
+	List<ProjectActivityStream> getProjectActivityStreams(
+			@Param("searchCriteria") ActivityStreamSearchCriteria criteria,
+			@Param("cursor") SeekCursor cursor, @Param("offset") int offset,
+			@Param("limit") int limit);
+
+	/**
+	 * Adds the project activities of <code>activityIds</code> to the
+	 * timeline. Activities of other modules are ignored.
+	 */
+	void insertTimelineEntries(
+			@Param("activityIds") List<Integer> activityIds);
+
+	/**
+	 * Removes the activities which must not be displayed anymore once the
+	 * item <code>typeId</code> of <code>type</code> is removed.
+	 */
+	void removeItemEntries(@Param("type") String type,
+			@Param("typeId") String typeId);
+}
@@ -0,0 +1,69 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.dao;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Maintains <code>m_prj_assignment</code>, one row per task, bug, risk and
+ * problem with the fields listed and filtered by the assignment views, so
+ * they are read with a single indexed query instead of a union of the four
+ * item tables.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+public interface ProjectAssignmentMapperExt {
+
+	void refreshAssignments(@Param("type") String type,
+			@Param("typeIds") List<Integer> typeIds);
+
+	void refreshTaskListAssignments(@Param("taskListId") int taskListId);
+
+	void removeAssignments(@Param("type") String type,
+			@Param("typeIds") List<Integer> typeIds);
+
+	/**
+	 * Removes the rows of the tasks of the task lists, to be called before
+	 * the task lists and, by cascade, their tasks are deleted.
+	 */
+	void removeTaskListAssignments(
+			@Param("taskListIds") List<Integer> taskListIds);
+
+	void renameAssignUser(@Param("oldUsername") String oldUsername,
+			@Param("newUsername") String newUsername);
+
+	void clearAssignUser(@Param("usernames") List<String> usernames);
+
+	/**
+	 * Recomputes the rows of the items of type <code>type</code> whose id is
+	 * in range <code>(fromId, toId]</code>.
+	 */
+	void reconcileAssignments(@Param("type") String type,
+			@Param("fromId") int fromId, @Param("toId") int toId);
+
+	/**
+	 * Removes the rows of the items of type <code>type</code> which do not
+	 * exist anymore.
+	 */
+	void removeOrphanAssignments(@Param("type") String type);
+
+	Integer getMaxItemId(@Param("type") String type);
+}
@@ -33,18 +33,6 @@ import com.esofthead.mycollab.module.project.domain.criteria.ProjectGenericTaskS
  */
 public interface ProjectGenericTaskMapper extends
 		ISearchableDAO<ProjectGenericTaskSearchCriteria> {
-	int getTotalCountFromProblem(
-			@Param("searchCriteria") ProjectGenericTaskSearchCriteria criteria);
-
-	int getTotalCountFromRisk(
-			@Param("searchCriteria") ProjectGenericTaskSearchCriteria criteria);
-
-	int getTotalCountFromBug(
-			@Param("searchCriteria") ProjectGenericTaskSearchCriteria criteria);
-
-	int getTotalCountFromTask(
-			@Param("searchCriteria") ProjectGenericTaskSearchCriteria criteria);
-
 	List<ProjectGenericTaskCount> findPagableTaskCountListByCriteria(
 			@Param("searchCriteria") ProjectGenericTaskSearchCriteria criteria,
 			RowBounds rowBounds);
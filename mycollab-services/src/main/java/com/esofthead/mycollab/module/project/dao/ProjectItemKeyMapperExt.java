@@ -0,0 +1,39 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.dao;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Maintains <code>m_prj_item_key_sequence</code>, the next key of every item
+ * type of a project.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+public interface ProjectItemKeyMapperExt {
+
+	void createSequenceIfNotExist(@Param("projectId") int projectId,
+			@Param("type") String type);
+
+	int advanceSequence(@Param("projectId") int projectId,
+			@Param("type") String type, @Param("count") int count);
+
+	Integer getNextKey(@Param("projectId") int projectId,
+			@Param("type") String type);
+}
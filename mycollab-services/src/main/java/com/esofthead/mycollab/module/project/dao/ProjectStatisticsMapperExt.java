@@ -0,0 +1,88 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.dao;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.esofthead.mycollab.module.project.domain.ItemTimeLogging;
+import com.esofthead.mycollab.module.project.domain.Milestone;
+import com.esofthead.mycollab.module.project.domain.ProjectMember;
+import com.esofthead.mycollab.module.project.domain.Task;
+import com.esofthead.mycollab.module.tracker.domain.Bug;
+
+/**
+ * Maintains the per project counters of <code>m_prj_project_statistics</code>
+ * which are read by the project queries instead of counting the bugs, tasks,
+ * members, milestones and time logging of every project.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+public interface ProjectStatisticsMapperExt {
+
+	List<Task> findTaskStates(List<Integer> taskIds);
+
+	List<Bug> findBugStates(List<Integer> bugIds);
+
+	List<ProjectMember> findMemberStates(List<Integer> memberIds);
+
+	List<Milestone> findMilestoneStates(List<Integer> milestoneIds);
+
+	List<ItemTimeLogging> findTimeLoggingStates(List<Integer> timeLoggingIds);
+
+	/**
+	 * Adds the given differences to the counters of the project, returns the
+	 * number of updated rows which is 0 when the project has no statistics
+	 * yet.
+	 */
+	int addBugStatistics(@Param("projectId") int projectId,
+			@Param("numBugs") int numBugs,
+			@Param("numOpenBugs") int numOpenBugs);
+
+	int addTaskStatistics(@Param("projectId") int projectId,
+			@Param("numTasks") int numTasks,
+			@Param("numOpenTasks") int numOpenTasks);
+
+	int addMemberStatistics(@Param("projectId") int projectId,
+			@Param("numActiveMembers") int numActiveMembers);
+
+	int addMilestoneStatistics(@Param("projectId") int projectId,
+			@Param("numClosedPhase") int numClosedPhase,
+			@Param("numInProgressPhase") int numInProgressPhase,
+			@Param("numFuturePhase") int numFuturePhase);
+
+	int addTimeLoggingStatistics(@Param("projectId") int projectId,
+			@Param("billableHours") double billableHours,
+			@Param("nonBillableHours") double nonBillableHours);
+
+	/**
+	 * Recomputes all counters of the project.
+	 */
+	void refreshStatistics(int projectId);
+
+	/**
+	 * Recomputes all counters of the projects whose id is in range
+	 * <code>(fromProjectId, toProjectId]</code>.
+	 */
+	void reconcileStatistics(@Param("fromProjectId") int fromProjectId,
+			@Param("toProjectId") int toProjectId);
+
+	Integer getMaxProjectId();
+}
@@ -21,7 +21,7 @@ import java.util.List;
 import org.apache.ibatis.annotations.Param;
 
 import com.esofthead.mycollab.common.domain.GroupItem;
-import com.esofthead.mycollab.core.persistence.ISearchableDAO;
+import com.esofthead.mycollab.core.persistence.ISeekableDAO;
 import com.esofthead.mycollab.module.project.domain.SimpleTask;
 import com.esofthead.mycollab.module.project.domain.criteria.TaskSearchCriteria;
 
@@ -31,12 +31,10 @@ import com.esofthead.mycollab.module.project.domain.criteria.TaskSearchCriteria;
  * @since 1.0
  * 
  */
-public interface TaskMapperExt extends ISearchableDAO<TaskSearchCriteria> {
+public interface TaskMapperExt extends ISeekableDAO<TaskSearchCriteria> {
 
 	SimpleTask findTaskById(int taskId);
 
-	Integer getMaxKey(int projectId);
-
 	List<GroupItem> getPrioritySummary(
 			@Param("searchCriteria") TaskSearchCriteria criteria);
 
@@ -17,6 +17,9 @@
 package com.esofthead.mycollab.module.project.domain;
 
 import com.esofthead.mycollab.common.i18n.OptionI18nEnum;
+import com.esofthead.mycollab.core.arguments.NotBindable;
+import com.esofthead.mycollab.core.persistence.LazyBlobLoader;
+import com.esofthead.mycollab.core.persistence.LazyBlobRow;
 import com.esofthead.mycollab.core.utils.DateTimeUtils;
 import com.esofthead.mycollab.core.utils.StringUtils;
 
@@ -26,7 +29,7 @@ import java.util.Date;
  * @author MyCollab Ltd.
  * @since 1.0
  */
-public class SimpleTask extends Task {
+public class SimpleTask extends Task implements LazyBlobRow {
 
     private static final long serialVersionUID = 1L;
     private String projectName;
@@ -43,6 +46,10 @@ public class SimpleTask extends Task {
     private String parentTaskName;
     private Integer parentTaskKey;
     private Integer numSubTasks;
+    @NotBindable
+    private LazyBlobLoader<?> blobLoader;
+    @NotBindable
+    private boolean blobsLoaded;
 
     public Integer getNumComments() {
         return numComments;
@@ -162,7 +169,41 @@ public class SimpleTask extends Task {
         this.parentTaskName = parentTaskName;
     }
 
+    @Override
+    public String getNotes() {
+        loadBlobs();
+        return super.getNotes();
+    }
+
+    @Override
+    public void setNotes(String notes) {
+        loadBlobs();
+        super.setNotes(notes);
+    }
+
+    private void loadBlobs() {
+        LazyBlobLoader<?> loader = blobLoader;
+        if (loader != null) {
+            loader.load();
+        }
+    }
 
+    @Override
+    public void attachBlobLoader(LazyBlobLoader<?> loader) {
+        if (!blobsLoaded) {
+            blobLoader = loader;
+        }
+    }
+
+    @Override
+    public boolean detachBlobLoader(LazyBlobLoader<?> loader) {
+        if (loader != null && blobLoader == loader) {
+            blobLoader = null;
+            blobsLoaded = true;
+            return true;
+        }
+        return false;
+    }
 
     public boolean isCompleted() {
         return OptionI18nEnum.StatusI18nEnum.Closed.name().equals(getStatus()) && (getPercentagecomplete() !=  null)
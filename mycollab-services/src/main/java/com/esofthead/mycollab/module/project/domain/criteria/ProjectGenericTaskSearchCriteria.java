@@ -43,6 +43,12 @@ public class ProjectGenericTaskSearchCriteria extends SearchCriteria {
 
     private SetSearchField<String> tagNames;
 
+	/**
+	 * Whether the descriptions are joined from the task, bug, risk and problem
+	 * tables. Only the views that display them should ask for it.
+	 */
+	private boolean withDescription;
+
     public SetSearchField<String> getTagNames() {
         return tagNames;
     }
@@ -106,4 +112,12 @@ public class ProjectGenericTaskSearchCriteria extends SearchCriteria {
 	public void setTypes(SetSearchField<String> types) {
 		this.types = types;
 	}
+
+	public boolean isWithDescription() {
+		return withDescription;
+	}
+
+	public void setWithDescription(boolean withDescription) {
+		this.withDescription = withDescription;
+	}
 }
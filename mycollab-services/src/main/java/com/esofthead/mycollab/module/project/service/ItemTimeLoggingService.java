@@ -31,6 +31,7 @@ import com.esofthead.mycollab.module.project.domain.criteria.ItemTimeLoggingSear
  * @since 1.0
  * 
  */
+@CacheEvict(dependents = { ProjectService.class })
 public interface ItemTimeLoggingService
 		extends
 		IDefaultService<Integer, ItemTimeLogging, ItemTimeLoggingSearchCriteria> {
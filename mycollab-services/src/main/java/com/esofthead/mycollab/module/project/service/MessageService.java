@@ -16,6 +16,7 @@
  */
 package com.esofthead.mycollab.module.project.service;
 
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -23,6 +24,7 @@ import com.esofthead.mycollab.module.project.domain.Message;
 import com.esofthead.mycollab.module.project.domain.SimpleMessage;
 import com.esofthead.mycollab.module.project.domain.criteria.MessageSearchCriteria;
 
+@CacheEvict(dependents = { ProjectActivityStreamService.class })
 public interface MessageService extends
 		IDefaultService<Integer, Message, MessageSearchCriteria> {
 	@Cacheable
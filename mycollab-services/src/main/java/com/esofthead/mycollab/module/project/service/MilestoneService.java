@@ -17,6 +17,7 @@
 
 package com.esofthead.mycollab.module.project.service;
 
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -28,6 +29,7 @@ import com.esofthead.mycollab.module.project.domain.criteria.MilestoneSearchCrit
  * 
  * @author MyCollab Ltd.
  */
+@CacheEvict(dependents = { ProjectService.class })
 public interface MilestoneService extends
 		IDefaultService<Integer, Milestone, MilestoneSearchCriteria> {
 
@@ -16,6 +16,7 @@
  */
 package com.esofthead.mycollab.module.project.service;
 
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -23,6 +24,8 @@ import com.esofthead.mycollab.module.project.domain.Problem;
 import com.esofthead.mycollab.module.project.domain.SimpleProblem;
 import com.esofthead.mycollab.module.project.domain.criteria.ProblemSearchCriteria;
 
+@CacheEvict(dependents = { ProjectService.class,
+		ProjectGenericTaskService.class, ProjectActivityStreamService.class })
 public interface ProblemService extends
 		IDefaultService<Integer, Problem, ProblemSearchCriteria> {
 
@@ -20,7 +20,9 @@ import java.util.List;
 
 import com.esofthead.mycollab.common.domain.criteria.ActivityStreamSearchCriteria;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.cache.CacheKey;
+import com.esofthead.mycollab.core.cache.CacheScope;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IService;
 import com.esofthead.mycollab.module.project.domain.ProjectActivityStream;
@@ -31,6 +33,7 @@ import com.esofthead.mycollab.module.project.domain.ProjectActivityStream;
  * @since 4.0
  * 
  */
+@CacheScope(criteriaFields = { "extraTypeIds" })
 public interface ProjectActivityStreamService extends IService {
 	@Cacheable
 	int getTotalActivityStream(@CacheKey ActivityStreamSearchCriteria criteria);
@@ -38,4 +41,29 @@ public interface ProjectActivityStreamService extends IService {
 	@Cacheable
 	List<ProjectActivityStream> getProjectActivityStreams(
 			@CacheKey SearchRequest<ActivityStreamSearchCriteria> searchRequest);
+
+	/**
+	 * 
+	 * @param searchRequest
+	 * @param cursor
+	 *            created time and id of the last activity of the previous
+	 *            page, may be <code>null</code>. The page is read right after
+	 *            it instead of skipping the activities of the previous pages
+	 * @return
+	 */
+	@Cacheable
+	List<ProjectActivityStream> getProjectActivityStreams(
+			@CacheKey SearchRequest<ActivityStreamSearchCriteria> searchRequest,
+			SeekCursor cursor);
+
+	/**
+	 * The change set of an updated item is not read with the activity stream,
+	 * it is loaded when the user expands the activity.
+	 * 
+	 * @param auditLogId
+	 * @param sAccountId
+	 * @return the change set of the audit log, or null if the audit log does
+	 *         not exist in the account
+	 */
+	String findActivityChangeSet(int auditLogId, int sAccountId);
 }
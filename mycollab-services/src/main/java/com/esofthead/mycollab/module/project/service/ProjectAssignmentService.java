@@ -0,0 +1,87 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service;
+
+import java.util.List;
+
+import com.esofthead.mycollab.cache.IgnoreCacheClass;
+import com.esofthead.mycollab.core.persistence.service.IService;
+
+/**
+ * Keeps <code>m_prj_assignment</code>, the index of the assignable items
+ * (tasks, bugs, risks and problems) read by {@link ProjectGenericTaskService},
+ * up to date. The services of these items refresh the rows of the changed
+ * items, the reconciliation recomputes the whole index to repair the changes
+ * made outside of the services.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@IgnoreCacheClass
+public interface ProjectAssignmentService extends IService {
+
+	/**
+	 * 
+	 * @param type
+	 *            one of the task, bug, risk or problem types of
+	 *            {@link com.esofthead.mycollab.module.project.ProjectTypeConstants}
+	 * @param typeId
+	 */
+	void updateAssignment(String type, Integer typeId);
+
+	void updateAssignments(String type, List<Integer> typeIds);
+
+	void removeAssignment(String type, Integer typeId);
+
+	void removeAssignments(String type, List<Integer> typeIds);
+
+	/**
+	 * Refreshes the tasks of a task list, whose milestone is the one of the
+	 * task list.
+	 * 
+	 * @param taskListId
+	 */
+	void updateTaskListAssignments(Integer taskListId);
+
+	/**
+	 * Removes the tasks of the task lists, must be called in the transaction
+	 * deleting the task lists before they are deleted.
+	 * 
+	 * @param taskListIds
+	 */
+	void removeTaskListAssignments(List<Integer> taskListIds);
+
+	/**
+	 * Follows the rename of a user, which the foreign keys of the item tables
+	 * cascade to the items but not to their index rows.
+	 * 
+	 * @param oldUsername
+	 * @param newUsername
+	 */
+	void updateAssignUser(String oldUsername, String newUsername);
+
+	/**
+	 * Follows the deletion of users: the rows of the items deleted by cascade
+	 * are removed, the other items of the users are unassigned.
+	 * 
+	 * @param usernames
+	 */
+	void removeAssignUsers(List<String> usernames);
+
+	void reconcileAssignments();
+}
@@ -0,0 +1,44 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service;
+
+import com.esofthead.mycollab.cache.IgnoreCacheClass;
+import com.esofthead.mycollab.core.persistence.service.IService;
+
+/**
+ * Allocates the keys of tasks and bugs. Every server reserves blocks of keys
+ * of a project and item type, then hands them out from memory, so creating
+ * items of different projects never waits on each other and creating items
+ * of one project only waits when a new block is reserved. A key is never
+ * allocated twice, but the keys lost when a server stops are not reused.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@IgnoreCacheClass
+public interface ProjectItemKeyService extends IService {
+
+	/**
+	 * 
+	 * @param projectId
+	 * @param type
+	 *            the item type, such as <code>ProjectTypeConstants.TASK</code>
+	 * @return the key of the next item of <code>type</code> in the project
+	 */
+	int getNextKey(int projectId, String type);
+}
@@ -17,6 +17,7 @@
 package com.esofthead.mycollab.module.project.service;
 
 import com.esofthead.mycollab.core.cache.CacheKey;
+import com.esofthead.mycollab.core.cache.CacheScope;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
 import com.esofthead.mycollab.module.project.domain.Project;
@@ -32,6 +33,7 @@ import java.util.List;
  * @since 1.0
  * 
  */
+@CacheScope(projectField = "id")
 public interface ProjectService extends
 		IDefaultService<Integer, Project, ProjectSearchCriteria> {
 
@@ -0,0 +1,76 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service;
+
+import java.util.List;
+
+import com.esofthead.mycollab.cache.IgnoreCacheClass;
+import com.esofthead.mycollab.core.persistence.service.IService;
+import com.esofthead.mycollab.module.project.domain.ItemTimeLogging;
+import com.esofthead.mycollab.module.project.domain.Milestone;
+import com.esofthead.mycollab.module.project.domain.ProjectMember;
+import com.esofthead.mycollab.module.project.domain.Task;
+import com.esofthead.mycollab.module.tracker.domain.Bug;
+
+/**
+ * Keeps the statistics of projects (number of bugs, tasks, active members,
+ * milestones and the logged hours) up to date. The services of these items
+ * read the counted columns of the changed items before and after a change
+ * and add the difference to the counters of the affected projects, the
+ * reconciliation recomputes the counters of all projects to repair the
+ * changes made outside of the services.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@IgnoreCacheClass
+public interface ProjectStatisticsService extends IService {
+
+	List<Task> findTaskStates(List<Integer> taskIds);
+
+	List<Bug> findBugStates(List<Integer> bugIds);
+
+	List<ProjectMember> findMemberStates(List<Integer> memberIds);
+
+	List<Milestone> findMilestoneStates(List<Integer> milestoneIds);
+
+	List<ItemTimeLogging> findTimeLoggingStates(List<Integer> timeLoggingIds);
+
+	/**
+	 * Subtracts the counted values of <code>before</code> and adds the ones of
+	 * <code>after</code> to the statistics of their projects.
+	 */
+	void updateBugStatistics(List<? extends Bug> before,
+			List<? extends Bug> after);
+
+	void updateTaskStatistics(List<? extends Task> before,
+			List<? extends Task> after);
+
+	void updateMemberStatistics(List<? extends ProjectMember> before,
+			List<? extends ProjectMember> after);
+
+	void updateMilestoneStatistics(List<? extends Milestone> before,
+			List<? extends Milestone> after);
+
+	void updateTimeLoggingStatistics(List<? extends ItemTimeLogging> before,
+			List<? extends ItemTimeLogging> after);
+
+	void updateStatistics(Integer projectId);
+
+	void reconcileStatistics();
+}
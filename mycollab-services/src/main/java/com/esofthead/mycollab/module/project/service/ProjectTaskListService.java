@@ -30,6 +30,8 @@ import com.esofthead.mycollab.module.project.domain.criteria.TaskListSearchCrite
  * @author MyCollab Ltd.
  * @since 1.0
  */
+@CacheEvict(dependents = { ProjectGenericTaskService.class,
+		ProjectActivityStreamService.class })
 public interface ProjectTaskListService extends
 		IDefaultService<Integer, TaskList, TaskListSearchCriteria> {
 	@Cacheable
@@ -19,6 +19,7 @@ package com.esofthead.mycollab.module.project.service;
 import java.util.List;
 
 import com.esofthead.mycollab.common.domain.GroupItem;
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -32,6 +33,10 @@ import com.esofthead.mycollab.module.project.domain.criteria.TaskSearchCriteria;
  * @since 1.0
  * 
  */
+@CacheEvict(dependents = { ProjectService.class,
+		ProjectGenericTaskService.class, ProjectTaskListService.class,
+		ProjectActivityStreamService.class, ProjectMemberService.class,
+		MilestoneService.class, ItemTimeLoggingService.class })
 public interface ProjectTaskService extends
 		IDefaultService<Integer, Task, TaskSearchCriteria> {
 
@@ -16,6 +16,7 @@
  */
 package com.esofthead.mycollab.module.project.service;
 
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -23,6 +24,8 @@ import com.esofthead.mycollab.module.project.domain.Risk;
 import com.esofthead.mycollab.module.project.domain.SimpleRisk;
 import com.esofthead.mycollab.module.project.domain.criteria.RiskSearchCriteria;
 
+@CacheEvict(dependents = { ProjectService.class,
+		ProjectGenericTaskService.class, ProjectActivityStreamService.class })
 public interface RiskService extends
 		IDefaultService<Integer, Risk, RiskSearchCriteria> {
 	@Cacheable
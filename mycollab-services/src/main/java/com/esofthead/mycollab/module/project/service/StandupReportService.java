@@ -20,6 +20,7 @@ import java.util.Date;
 import java.util.List;
 
 import com.esofthead.mycollab.common.domain.GroupItem;
+import com.esofthead.mycollab.core.cache.CacheEvict;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.cache.Cacheable;
 import com.esofthead.mycollab.core.persistence.service.IDefaultService;
@@ -34,6 +35,7 @@ import com.esofthead.mycollab.module.user.domain.SimpleUser;
  * @since 1.0
  * 
  */
+@CacheEvict(dependents = { ProjectActivityStreamService.class })
 public interface StandupReportService
 extends
 IDefaultService<Integer, StandupReportWithBLOBs, StandupReportSearchCriteria> {
@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.project.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.service.ActivityStreamService;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
@@ -27,7 +26,7 @@ import com.esofthead.mycollab.module.project.dao.ItemTimeLoggingMapperExt;
 import com.esofthead.mycollab.module.project.domain.ItemTimeLogging;
 import com.esofthead.mycollab.module.project.domain.criteria.ItemTimeLoggingSearchCriteria;
 import com.esofthead.mycollab.module.project.service.ItemTimeLoggingService;
-import com.esofthead.mycollab.module.project.service.ProjectService;
+import com.esofthead.mycollab.module.project.service.ProjectStatisticsService;
 import com.esofthead.mycollab.spring.ApplicationContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
@@ -39,6 +38,8 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -62,6 +63,9 @@ public class ItemTimeLoggingServiceImpl extends
 	@Autowired
 	private ActivityStreamService activityStreamService;
 
+	@Autowired
+	private ProjectStatisticsService projectStatisticsService;
+
 	@Override
 	public ICrudGenericDAO getCrudMapper() {
 		return itemTimeLoggingMapper;
@@ -74,21 +78,78 @@ public class ItemTimeLoggingServiceImpl extends
 
 	@Override
 	public int saveWithSession(ItemTimeLogging record, String username) {
-        CacheUtils.cleanCaches(record.getSaccountid(), ItemTimeLoggingService.class, ProjectService.class);
-		return super.saveWithSession(record, username);
+		int timeLoggingId = super.saveWithSession(record, username);
+		projectStatisticsService.updateTimeLoggingStatistics(Collections
+				.<ItemTimeLogging> emptyList(), projectStatisticsService
+				.findTimeLoggingStates(Collections
+						.singletonList(timeLoggingId)));
+		return timeLoggingId;
 	}
 
 	@Override
 	public int updateWithSession(ItemTimeLogging record, String username) {
-        CacheUtils.cleanCaches(record.getSaccountid(), ItemTimeLoggingService.class, ProjectService.class);
-		return super.updateWithSession(record, username);
+		List<ItemTimeLogging> before = findTimeLoggingStates(record);
+		int result = super.updateWithSession(record, username);
+		updateTimeLoggingStatistics(before);
+		return result;
+	}
+
+	@Override
+	public int updateSelectiveWithSession(ItemTimeLogging record,
+			String username) {
+		List<ItemTimeLogging> before = findTimeLoggingStates(record);
+		int result = super.updateSelectiveWithSession(record, username);
+		updateTimeLoggingStatistics(before);
+		return result;
+	}
+
+	@Override
+	public void massUpdateWithSession(ItemTimeLogging record,
+			List<Integer> primaryKeys, int accountId) {
+		List<ItemTimeLogging> before = projectStatisticsService
+				.findTimeLoggingStates(primaryKeys);
+		super.massUpdateWithSession(record, primaryKeys, accountId);
+		updateTimeLoggingStatistics(before);
+	}
+
+	private List<ItemTimeLogging> findTimeLoggingStates(ItemTimeLogging record) {
+		return (record.getId() != null) ? projectStatisticsService
+				.findTimeLoggingStates(Collections.singletonList(record
+						.getId())) : Collections.<ItemTimeLogging> emptyList();
+	}
+
+	/**
+	 * Adds the difference between the given states and the current states of
+	 * the same time logging to the statistics of their projects.
+	 */
+	private void updateTimeLoggingStatistics(List<ItemTimeLogging> before) {
+		List<Integer> timeLoggingIds = new ArrayList<>(before.size());
+		for (ItemTimeLogging timeLogging : before) {
+			timeLoggingIds.add(timeLogging.getId());
+		}
+		projectStatisticsService.updateTimeLoggingStatistics(before,
+				projectStatisticsService.findTimeLoggingStates(timeLoggingIds));
 	}
 
 	@Override
 	public int removeWithSession(Integer primaryKey, String username,
 			int accountId) {
-		CacheUtils.cleanCaches(accountId, ItemTimeLoggingService.class, ProjectService.class);
-		return super.removeWithSession(primaryKey, username, accountId);
+		List<ItemTimeLogging> before = projectStatisticsService
+				.findTimeLoggingStates(Collections.singletonList(primaryKey));
+		int result = super.removeWithSession(primaryKey, username, accountId);
+		projectStatisticsService.updateTimeLoggingStatistics(before,
+				Collections.<ItemTimeLogging> emptyList());
+		return result;
+	}
+
+	@Override
+	public void massRemoveWithSession(List<Integer> primaryKeys,
+			String username, int accountId) {
+		List<ItemTimeLogging> before = projectStatisticsService
+				.findTimeLoggingStates(primaryKeys);
+		super.massRemoveWithSession(primaryKeys, username, accountId);
+		projectStatisticsService.updateTimeLoggingStatistics(before,
+				Collections.<ItemTimeLogging> emptyList());
 	}
 
 	@Override
@@ -145,7 +206,9 @@ public class ItemTimeLoggingServiceImpl extends
 								return timeLoggings.size();
 							}
 						});
-		CacheUtils.cleanCaches(sAccountId, ItemTimeLoggingService.class, ProjectService.class);
+
+		projectStatisticsService.updateTimeLoggingStatistics(
+				Collections.<ItemTimeLogging> emptyList(), timeLoggings);
 	}
 
 }
@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.project.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.ClassInfo;
 import com.esofthead.mycollab.common.interceptor.aspect.ClassInfoMap;
@@ -33,7 +32,6 @@ import com.esofthead.mycollab.module.project.domain.Message;
 import com.esofthead.mycollab.module.project.domain.SimpleMessage;
 import com.esofthead.mycollab.module.project.domain.criteria.MessageSearchCriteria;
 import com.esofthead.mycollab.module.project.service.MessageService;
-import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
 import com.esofthead.mycollab.schedule.email.project.MessageRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -71,28 +69,6 @@ public class MessageServiceImpl extends
 		return messageMapper;
 	}
 
-	@Override
-	public int saveWithSession(Message record, String username) {
-		int recordId = super.saveWithSession(record, username);
-		CacheUtils.cleanCaches(record.getSaccountid(),
-				ProjectActivityStreamService.class);
-		return recordId;
-	}
-
-	@Override
-	public int updateWithSession(Message record, String username) {
-		CacheUtils.cleanCaches(record.getSaccountid(),
-				ProjectActivityStreamService.class);
-		return super.updateWithSession(record, username);
-	}
-
-	@Override
-	public int removeWithSession(Integer primaryKey, String username,
-			int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectActivityStreamService.class);
-		return super.removeWithSession(primaryKey, username, accountId);
-	}
-
 	@Override
 	public ISearchableDAO<MessageSearchCriteria> getSearchMapper() {
 		return messageMapperExt;
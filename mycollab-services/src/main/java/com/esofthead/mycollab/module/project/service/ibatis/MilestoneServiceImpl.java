@@ -17,7 +17,6 @@
 
 package com.esofthead.mycollab.module.project.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
@@ -30,12 +29,16 @@ import com.esofthead.mycollab.module.project.domain.Milestone;
 import com.esofthead.mycollab.module.project.domain.SimpleMilestone;
 import com.esofthead.mycollab.module.project.domain.criteria.MilestoneSearchCriteria;
 import com.esofthead.mycollab.module.project.service.MilestoneService;
-import com.esofthead.mycollab.module.project.service.ProjectService;
+import com.esofthead.mycollab.module.project.service.ProjectStatisticsService;
 import com.esofthead.mycollab.schedule.email.project.ProjectMilestoneRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 
  * @author MyCollab Ltd.
@@ -60,6 +63,9 @@ public class MilestoneServiceImpl extends
 	@Autowired
 	protected MilestoneMapperExt milestoneMapperExt;
 
+	@Autowired
+	private ProjectStatisticsService projectStatisticsService;
+
 	@Override
 	public ICrudGenericDAO<Integer, Milestone> getCrudMapper() {
 		return milestoneMapper;
@@ -78,13 +84,74 @@ public class MilestoneServiceImpl extends
 	@Override
 	public int saveWithSession(Milestone record, String username) {
 		int recordId = super.saveWithSession(record, username);
-        CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class);
+		projectStatisticsService.updateMilestoneStatistics(
+				Collections.<Milestone> emptyList(), projectStatisticsService
+						.findMilestoneStates(Collections.singletonList(recordId)));
 		return recordId;
 	}
 
 	@Override
 	public int updateWithSession(Milestone record, String username) {
-        CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class);
-		return super.updateWithSession(record, username);
+		List<Milestone> before = findMilestoneStates(record);
+		int result = super.updateWithSession(record, username);
+		updateMilestoneStatistics(before);
+		return result;
+	}
+
+	@Override
+	public int updateSelectiveWithSession(Milestone record, String username) {
+		List<Milestone> before = findMilestoneStates(record);
+		int result = super.updateSelectiveWithSession(record, username);
+		updateMilestoneStatistics(before);
+		return result;
+	}
+
+	@Override
+	public void massUpdateWithSession(Milestone record,
+			List<Integer> primaryKeys, int accountId) {
+		List<Milestone> before = projectStatisticsService
+				.findMilestoneStates(primaryKeys);
+		super.massUpdateWithSession(record, primaryKeys, accountId);
+		updateMilestoneStatistics(before);
+	}
+
+	private List<Milestone> findMilestoneStates(Milestone record) {
+		return (record.getId() != null) ? projectStatisticsService
+				.findMilestoneStates(Collections.singletonList(record.getId()))
+				: Collections.<Milestone> emptyList();
+	}
+
+	/**
+	 * Adds the difference between the given states and the current states of
+	 * the same milestones to the statistics of their projects.
+	 */
+	private void updateMilestoneStatistics(List<Milestone> before) {
+		List<Integer> milestoneIds = new ArrayList<>(before.size());
+		for (Milestone milestone : before) {
+			milestoneIds.add(milestone.getId());
+		}
+		projectStatisticsService.updateMilestoneStatistics(before,
+				projectStatisticsService.findMilestoneStates(milestoneIds));
+	}
+
+	@Override
+	public int removeWithSession(Integer primaryKey, String username,
+			int accountId) {
+		List<Milestone> before = projectStatisticsService
+				.findMilestoneStates(Collections.singletonList(primaryKey));
+		int result = super.removeWithSession(primaryKey, username, accountId);
+		projectStatisticsService.updateMilestoneStatistics(before,
+				Collections.<Milestone> emptyList());
+		return result;
+	}
+
+	@Override
+	public void massRemoveWithSession(List<Integer> primaryKeys,
+			String username, int accountId) {
+		List<Milestone> before = projectStatisticsService
+				.findMilestoneStates(primaryKeys);
+		super.massRemoveWithSession(primaryKeys, username, accountId);
+		projectStatisticsService.updateMilestoneStatistics(before,
+				Collections.<Milestone> emptyList());
 	}
 }
@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.project.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import com.esofthead.mycollab.common.service.RelayEmailNotificationService;
@@ -29,15 +28,14 @@ import com.esofthead.mycollab.module.project.dao.ProblemMapperExt;
 import com.esofthead.mycollab.module.project.domain.Problem;
 import com.esofthead.mycollab.module.project.domain.SimpleProblem;
 import com.esofthead.mycollab.module.project.domain.criteria.ProblemSearchCriteria;
+import com.esofthead.mycollab.module.project.service.ProjectAssignmentService;
 import com.esofthead.mycollab.module.project.service.ProblemService;
-import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
-import com.esofthead.mycollab.module.project.service.ProjectGenericTaskService;
-import com.esofthead.mycollab.module.project.service.ProjectService;
 import com.esofthead.mycollab.schedule.email.project.ProjectProblemRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -66,6 +64,9 @@ public class ProblemServiceImpl extends
 	@Autowired
 	private ProblemMapperExt problemMapperExt;
 
+	@Autowired
+	private ProjectAssignmentService projectAssignmentService;
+
 	@Autowired
 	private RelayEmailNotificationService relayEmailNotificationService;
 
@@ -86,50 +87,62 @@ public class ProblemServiceImpl extends
 
 	@Override
 	public int saveWithSession(Problem record, String username) {
-		int recordId = super.saveWithSession(record, username);
-		CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		return recordId;
+		int problemId = super.saveWithSession(record, username);
+		projectAssignmentService.updateAssignment(ProjectTypeConstants.PROBLEM,
+				problemId);
+		return problemId;
+	}
+
+	@Override
+	public void massSaveWithSession(List<Problem> records, String username,
+			int sAccountId) {
+		super.massSaveWithSession(records, username, sAccountId);
+		List<Integer> problemIds = new ArrayList<>(records.size());
+		for (Problem record : records) {
+			problemIds.add(record.getId());
+		}
+		projectAssignmentService.updateAssignments(ProjectTypeConstants.PROBLEM,
+				problemIds);
 	}
 
 	@Override
 	public int updateWithSession(Problem record, String username) {
-		CacheUtils.cleanCaches(record.getSaccountid(),
-				ProjectActivityStreamService.class);
-		return super.updateWithSession(record, username);
+		int result = super.updateWithSession(record, username);
+		projectAssignmentService.updateAssignment(ProjectTypeConstants.PROBLEM,
+				record.getId());
+		return result;
 	}
 
 	@Override
-	public int removeWithSession(Integer primaryKey, String username,
+	public int updateSelectiveWithSession(Problem record, String username) {
+		int result = super.updateSelectiveWithSession(record, username);
+		projectAssignmentService.updateAssignment(ProjectTypeConstants.PROBLEM,
+				record.getId());
+		return result;
+	}
+
+	@Override
+	public void massUpdateWithSession(Problem record, List<Integer> primaryKeys,
 			int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		return super.removeWithSession(primaryKey, username, accountId);
+		super.massUpdateWithSession(record, primaryKeys, accountId);
+		projectAssignmentService.updateAssignments(ProjectTypeConstants.PROBLEM,
+				primaryKeys);
 	}
 
 	@Override
-	public void removeByCriteria(ProblemSearchCriteria criteria, int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		super.removeByCriteria(criteria, accountId);
+	public int removeWithSession(Integer primaryKey, String username,
+			int accountId) {
+		int result = super.removeWithSession(primaryKey, username, accountId);
+		projectAssignmentService.removeAssignment(ProjectTypeConstants.PROBLEM,
+				primaryKey);
+		return result;
 	}
 
 	@Override
 	public void massRemoveWithSession(List<Integer> primaryKeys,
 			String username, int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
 		super.massRemoveWithSession(primaryKeys, username, accountId);
-	}
-
-	@Override
-	public void massUpdateWithSession(Problem record,
-			List<Integer> primaryKeys, int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectActivityStreamService.class);
-		super.massUpdateWithSession(record, primaryKeys, accountId);
+		projectAssignmentService.removeAssignments(ProjectTypeConstants.PROBLEM,
+				primaryKeys);
 	}
 }
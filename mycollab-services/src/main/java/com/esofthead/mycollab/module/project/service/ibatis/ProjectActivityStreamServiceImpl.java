@@ -18,14 +18,16 @@ package com.esofthead.mycollab.module.project.service.ibatis;
 
 import java.util.List;
 
-import org.apache.ibatis.session.RowBounds;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.esofthead.mycollab.common.domain.criteria.ActivityStreamSearchCriteria;
+import com.esofthead.mycollab.common.dao.AuditLogMapper;
+import com.esofthead.mycollab.common.domain.AuditLog;
 import com.esofthead.mycollab.core.arguments.SearchRequest;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.cache.CacheKey;
-import com.esofthead.mycollab.module.project.dao.ProjectMapperExt;
+import com.esofthead.mycollab.module.project.dao.ProjectActivityTimelineMapperExt;
 import com.esofthead.mycollab.module.project.domain.ProjectActivityStream;
 import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
 
@@ -34,21 +36,42 @@ public class ProjectActivityStreamServiceImpl implements
 		ProjectActivityStreamService {
 
 	@Autowired
-	private ProjectMapperExt projectMapperExt;
+	private ProjectActivityTimelineMapperExt projectActivityTimelineMapperExt;
+
+	@Autowired
+	private AuditLogMapper auditLogMapper;
 
 	@Override
 	public int getTotalActivityStream(
 			@CacheKey ActivityStreamSearchCriteria criteria) {
-		return projectMapperExt.getTotalActivityStream(criteria);
+		return projectActivityTimelineMapperExt
+				.getTotalActivityStream(criteria);
 	}
 
 	@Override
 	public List<ProjectActivityStream> getProjectActivityStreams(
 			@CacheKey SearchRequest<ActivityStreamSearchCriteria> searchRequest) {
-		return projectMapperExt.getProjectActivityStreams(
-				searchRequest.getSearchCriteria(),
-				new RowBounds((searchRequest.getCurrentPage() - 1)
-						* searchRequest.getNumberOfItems(), searchRequest
-						.getNumberOfItems()));
+		return getProjectActivityStreams(searchRequest, null);
+	}
+
+	@Override
+	public List<ProjectActivityStream> getProjectActivityStreams(
+			@CacheKey SearchRequest<ActivityStreamSearchCriteria> searchRequest,
+			SeekCursor cursor) {
+		int offset = (cursor == null) ? (searchRequest.getCurrentPage() - 1)
+				* searchRequest.getNumberOfItems() : 0;
+		return projectActivityTimelineMapperExt.getProjectActivityStreams(
+				searchRequest.getSearchCriteria(), cursor, offset,
+				searchRequest.getNumberOfItems());
+	}
+
+	@Override
+	public String findActivityChangeSet(int auditLogId, int sAccountId) {
+		AuditLog auditLog = auditLogMapper.selectByPrimaryKey(auditLogId);
+		if (auditLog != null && auditLog.getSaccountid() != null
+				&& auditLog.getSaccountid() == sAccountId) {
+			return auditLog.getChangeset();
+		}
+		return null;
 	}
 }
@@ -0,0 +1,133 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service.ibatis;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.esofthead.mycollab.module.project.ProjectTypeConstants;
+import com.esofthead.mycollab.module.project.dao.ProjectAssignmentMapperExt;
+import com.esofthead.mycollab.module.project.service.ProjectAssignmentService;
+
+/**
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@Service
+public class ProjectAssignmentServiceImpl implements ProjectAssignmentService {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(ProjectAssignmentServiceImpl.class);
+
+	private static final List<String> TYPES = Arrays.asList(
+			ProjectTypeConstants.TASK, ProjectTypeConstants.BUG,
+			ProjectTypeConstants.RISK, ProjectTypeConstants.PROBLEM);
+
+	/**
+	 * Number of items recomputed by one statement of the reconciliation, so
+	 * the index rows are not locked for the whole run.
+	 */
+	private static final int RECONCILE_BATCH_SIZE = 1000;
+
+	@Autowired
+	private ProjectAssignmentMapperExt projectAssignmentMapperExt;
+
+	@Override
+	public void updateAssignment(String type, Integer typeId) {
+		if (typeId != null) {
+			updateAssignments(type, Arrays.asList(typeId));
+		}
+	}
+
+	@Override
+	public void updateAssignments(String type, List<Integer> typeIds) {
+		if (TYPES.contains(type) && typeIds != null && !typeIds.isEmpty()) {
+			projectAssignmentMapperExt.refreshAssignments(type, typeIds);
+		}
+	}
+
+	@Override
+	public void removeAssignment(String type, Integer typeId) {
+		if (typeId != null) {
+			removeAssignments(type, Arrays.asList(typeId));
+		}
+	}
+
+	@Override
+	public void removeAssignments(String type, List<Integer> typeIds) {
+		if (typeIds != null && !typeIds.isEmpty()) {
+			projectAssignmentMapperExt.removeAssignments(type, typeIds);
+		}
+	}
+
+	@Override
+	public void updateTaskListAssignments(Integer taskListId) {
+		if (taskListId != null) {
+			projectAssignmentMapperExt.refreshTaskListAssignments(taskListId);
+		}
+	}
+
+	@Override
+	public void removeTaskListAssignments(List<Integer> taskListIds) {
+		if (taskListIds != null && !taskListIds.isEmpty()) {
+			projectAssignmentMapperExt.removeTaskListAssignments(taskListIds);
+		}
+	}
+
+	@Override
+	public void updateAssignUser(String oldUsername, String newUsername) {
+		if (oldUsername != null && newUsername != null
+				&& !oldUsername.equals(newUsername)) {
+			projectAssignmentMapperExt.renameAssignUser(oldUsername,
+					newUsername);
+		}
+	}
+
+	@Override
+	public void removeAssignUsers(List<String> usernames) {
+		if (usernames != null && !usernames.isEmpty()) {
+			for (String type : TYPES) {
+				projectAssignmentMapperExt.removeOrphanAssignments(type);
+			}
+			projectAssignmentMapperExt.clearAssignUser(usernames);
+		}
+	}
+
+	@Override
+	public void reconcileAssignments() {
+		long startTime = System.currentTimeMillis();
+		for (String type : TYPES) {
+			Integer maxItemId = projectAssignmentMapperExt.getMaxItemId(type);
+			if (maxItemId != null) {
+				for (int fromId = 0; fromId < maxItemId; fromId += RECONCILE_BATCH_SIZE) {
+					projectAssignmentMapperExt.reconcileAssignments(type,
+							fromId,
+							Math.min(fromId + RECONCILE_BATCH_SIZE, maxItemId));
+				}
+			}
+			projectAssignmentMapperExt.removeOrphanAssignments(type);
+		}
+		LOG.info("Reconciled project assignments in {} ms",
+				System.currentTimeMillis() - startTime);
+	}
+}
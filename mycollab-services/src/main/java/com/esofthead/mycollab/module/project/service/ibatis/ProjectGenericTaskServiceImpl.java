@@ -49,14 +49,6 @@ public class ProjectGenericTaskServiceImpl extends
 		return projectGenericTaskMapper;
 	}
 
-	@Override
-	public int getTotalCount(ProjectGenericTaskSearchCriteria criteria) {
-		return projectGenericTaskMapper.getTotalCountFromProblem(criteria)
-				+ projectGenericTaskMapper.getTotalCountFromRisk(criteria)
-				+ projectGenericTaskMapper.getTotalCountFromBug(criteria)
-				+ projectGenericTaskMapper.getTotalCountFromTask(criteria);
-	}
-
 	@Override
 	public List<ProjectGenericTaskCount> findPagableTaskCountListByCriteria(
 			SearchRequest<ProjectGenericTaskSearchCriteria> searchRequest) {
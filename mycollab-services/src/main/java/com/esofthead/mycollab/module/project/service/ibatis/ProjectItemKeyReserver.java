@@ -0,0 +1,59 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service.ibatis;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.module.project.dao.ProjectItemKeyMapperExt;
+
+/**
+ * Reserves a block of keys in its own transaction, so the sequence row is
+ * locked only for the reservation and a reserved block is not given back
+ * when the transaction creating the item rolls back. A reservation made
+ * while the creating transaction is open holds a second pooled connection
+ * until it is committed, the blocks keep these reservations rare.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@Component
+public class ProjectItemKeyReserver {
+
+	@Autowired
+	private ProjectItemKeyMapperExt projectItemKeyMapperExt;
+
+	/**
+	 * 
+	 * @return the first key of the reserved block
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int reserveKeys(int projectId, String type, int count) {
+		if (projectItemKeyMapperExt.advanceSequence(projectId, type, count) == 0) {
+			projectItemKeyMapperExt.createSequenceIfNotExist(projectId, type);
+			if (projectItemKeyMapperExt.advanceSequence(projectId, type, count) == 0) {
+				throw new MyCollabException("Can not reserve keys of type "
+						+ type + " for project " + projectId);
+			}
+		}
+		return projectItemKeyMapperExt.getNextKey(projectId, type) - count;
+	}
+}
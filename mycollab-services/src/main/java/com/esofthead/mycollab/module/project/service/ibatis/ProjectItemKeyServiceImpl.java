@@ -0,0 +1,74 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service.ibatis;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.esofthead.mycollab.module.project.service.ProjectItemKeyService;
+
+/**
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@Service
+public class ProjectItemKeyServiceImpl implements ProjectItemKeyService {
+
+	/**
+	 * Number of keys reserved at once. At most this number of keys minus one
+	 * is lost per project and item type when the server stops.
+	 */
+	private static final int BLOCK_SIZE = 10;
+
+	private final ConcurrentMap<String, KeyBlock> keyBlocks = new ConcurrentHashMap<>();
+
+	@Autowired
+	private ProjectItemKeyReserver projectItemKeyReserver;
+
+	@Override
+	public int getNextKey(int projectId, String type) {
+		String blockId = projectId + "-" + type;
+		KeyBlock block = keyBlocks.get(blockId);
+		if (block == null) {
+			KeyBlock newBlock = new KeyBlock();
+			block = keyBlocks.putIfAbsent(blockId, newBlock);
+			if (block == null) {
+				block = newBlock;
+			}
+		}
+
+		// only the creations of the same project and item type share the lock
+		synchronized (block) {
+			if (block.nextKey >= block.limit) {
+				block.nextKey = projectItemKeyReserver.reserveKeys(projectId,
+						type, BLOCK_SIZE);
+				block.limit = block.nextKey + BLOCK_SIZE;
+			}
+			return block.nextKey++;
+		}
+	}
+
+	private static class KeyBlock {
+		int nextKey;
+		int limit;
+	}
+}
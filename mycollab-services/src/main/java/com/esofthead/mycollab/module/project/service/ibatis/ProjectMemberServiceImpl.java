@@ -17,6 +17,8 @@
 
 package com.esofthead.mycollab.module.project.service.ibatis;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
@@ -50,6 +52,7 @@ import com.esofthead.mycollab.module.project.esb.DeleteProjectMemberCommand;
 import com.esofthead.mycollab.module.project.esb.InviteProjectMembersCommand;
 import com.esofthead.mycollab.module.project.esb.ProjectEndPoints;
 import com.esofthead.mycollab.module.project.service.ProjectMemberService;
+import com.esofthead.mycollab.module.project.service.ProjectStatisticsService;
 import com.esofthead.mycollab.module.user.UserExistedException;
 import com.esofthead.mycollab.module.user.dao.UserAccountMapper;
 import com.esofthead.mycollab.module.user.dao.UserMapper;
@@ -90,6 +93,9 @@ public class ProjectMemberServiceImpl extends
 	@Autowired
 	private RoleService roleService;
 
+	@Autowired
+	private ProjectStatisticsService projectStatisticsService;
+
 	@Override
 	public ICrudGenericDAO getCrudMapper() {
 		return projectMemberMapper;
@@ -118,6 +124,68 @@ public class ProjectMemberServiceImpl extends
 		return projectMemberMapperExt.findMemberByUsername(username, projectId);
 	}
 
+	@Override
+	public int saveWithSession(ProjectMember record, String username) {
+		int memberId = super.saveWithSession(record, username);
+		projectStatisticsService.updateMemberStatistics(Collections
+				.<ProjectMember> emptyList(), projectStatisticsService
+				.findMemberStates(Collections.singletonList(memberId)));
+		return memberId;
+	}
+
+	@Override
+	public int updateWithSession(ProjectMember record, String username) {
+		List<ProjectMember> before = findMemberStates(record);
+		int result = super.updateWithSession(record, username);
+		updateMemberStatistics(before);
+		return result;
+	}
+
+	@Override
+	public int updateSelectiveWithSession(ProjectMember record, String username) {
+		List<ProjectMember> before = findMemberStates(record);
+		int result = super.updateSelectiveWithSession(record, username);
+		updateMemberStatistics(before);
+		return result;
+	}
+
+	@Override
+	public void massUpdateWithSession(ProjectMember record,
+			List<Integer> primaryKeys, int accountId) {
+		List<ProjectMember> before = projectStatisticsService
+				.findMemberStates(primaryKeys);
+		super.massUpdateWithSession(record, primaryKeys, accountId);
+		updateMemberStatistics(before);
+	}
+
+	@Override
+	public void massRemoveWithSession(List<Integer> primaryKeys,
+			String username, int accountId) {
+		List<ProjectMember> before = projectStatisticsService
+				.findMemberStates(primaryKeys);
+		super.massRemoveWithSession(primaryKeys, username, accountId);
+		updateMemberStatistics(before);
+	}
+
+	private List<ProjectMember> findMemberStates(ProjectMember record) {
+		return (record.getId() != null) ? projectStatisticsService
+				.findMemberStates(Collections.singletonList(record.getId()))
+				: Collections.<ProjectMember> emptyList();
+	}
+
+	/**
+	 * Adds the difference between the given states and the current states of
+	 * the same members to the statistics of their projects.
+	 */
+	private void updateMemberStatistics(List<ProjectMember> before) {
+		List<Integer> memberIds = new ArrayList<>(before.size());
+		for (ProjectMember member : before) {
+			memberIds.add(member.getId());
+		}
+		projectStatisticsService.updateMemberStatistics(before,
+				projectStatisticsService.findMemberStates(memberIds));
+	}
+
 	@Override
 	public int removeWithSession(Integer primaryKey, String username,
 			int accountId) {
@@ -140,8 +208,11 @@ public class ProjectMemberServiceImpl extends
 				LOG.error("Error while notify project member delete", e);
 			}
 
+			List<ProjectMember> before = projectStatisticsService
+					.findMemberStates(Collections.singletonList(primaryKey));
 			projectMember.setStatus(RegisterStatusConstants.DELETE);
 			projectMemberMapper.updateByPrimaryKeySelective(projectMember);
+			updateMemberStatistics(before);
 		}
 
 		return 1;
@@ -45,6 +45,7 @@ import com.esofthead.mycollab.module.project.esb.DeleteProjectCommand;
 import com.esofthead.mycollab.module.project.esb.ProjectEndPoints;
 import com.esofthead.mycollab.module.project.service.ProjectRoleService;
 import com.esofthead.mycollab.module.project.service.ProjectService;
+import com.esofthead.mycollab.module.project.service.ProjectStatisticsService;
 import com.esofthead.mycollab.module.project.service.ProjectTaskListService;
 import com.esofthead.mycollab.security.AccessPermissionFlag;
 import com.esofthead.mycollab.security.PermissionMap;
@@ -90,6 +91,9 @@ public class ProjectServiceImpl extends
     @Autowired
     private ProjectTaskListService taskListService;
 
+    @Autowired
+    private ProjectStatisticsService projectStatisticsService;
+
     @Autowired
     private BillingPlanCheckerService billingPlanCheckerService;
 
@@ -130,6 +134,7 @@ public class ProjectServiceImpl extends
         projectMember.setUsername(username);
         projectMember.setSaccountid(record.getSaccountid());
         projectMemberMapper.insert(projectMember);
+        projectStatisticsService.updateStatistics(projectId);
 
         // add client role to project
         ProjectRole clientRole = createProjectRole(projectId,
@@ -0,0 +1,325 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service.ibatis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.esofthead.mycollab.module.project.ProjectMemberStatusConstants;
+import com.esofthead.mycollab.module.project.dao.ProjectStatisticsMapperExt;
+import com.esofthead.mycollab.module.project.domain.ItemTimeLogging;
+import com.esofthead.mycollab.module.project.domain.Milestone;
+import com.esofthead.mycollab.module.project.domain.ProjectMember;
+import com.esofthead.mycollab.module.project.domain.Task;
+import com.esofthead.mycollab.module.project.i18n.OptionI18nEnum.MilestoneStatus;
+import com.esofthead.mycollab.module.project.service.ProjectStatisticsService;
+import com.esofthead.mycollab.module.tracker.domain.Bug;
+
+/**
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ *
+ */
+@Service
+public class ProjectStatisticsServiceImpl implements ProjectStatisticsService {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(ProjectStatisticsServiceImpl.class);
+
+	/**
+	 * Number of projects recomputed by one statement of the reconciliation,
+	 * so the statistics rows are not locked for the whole run.
+	 */
+	private static final int RECONCILE_BATCH_SIZE = 200;
+
+	/**
+	 * Statuses counted as open by <code>ProjectStatisticsMapperExt.xml</code>,
+	 * both places have to be changed together.
+	 */
+	private static final Set<String> OPEN_BUG_STATUSES = new HashSet<>(
+			Arrays.asList("Open", "InProgress", "Reopenned"));
+
+	private static final String OPEN_TASK_STATUS = "Open";
+
+	@Autowired
+	private ProjectStatisticsMapperExt projectStatisticsMapperExt;
+
+	@Override
+	public List<Task> findTaskStates(List<Integer> taskIds) {
+		return (taskIds.isEmpty()) ? new ArrayList<Task>()
+				: projectStatisticsMapperExt.findTaskStates(taskIds);
+	}
+
+	@Override
+	public List<Bug> findBugStates(List<Integer> bugIds) {
+		return (bugIds.isEmpty()) ? new ArrayList<Bug>()
+				: projectStatisticsMapperExt.findBugStates(bugIds);
+	}
+
+	@Override
+	public List<ProjectMember> findMemberStates(List<Integer> memberIds) {
+		return (memberIds.isEmpty()) ? new ArrayList<ProjectMember>()
+				: projectStatisticsMapperExt.findMemberStates(memberIds);
+	}
+
+	@Override
+	public List<Milestone> findMilestoneStates(List<Integer> milestoneIds) {
+		return (milestoneIds.isEmpty()) ? new ArrayList<Milestone>()
+				: projectStatisticsMapperExt.findMilestoneStates(milestoneIds);
+	}
+
+	@Override
+	public List<ItemTimeLogging> findTimeLoggingStates(
+			List<Integer> timeLoggingIds) {
+		return (timeLoggingIds.isEmpty()) ? new ArrayList<ItemTimeLogging>()
+				: projectStatisticsMapperExt
+						.findTimeLoggingStates(timeLoggingIds);
+	}
+
+	@Override
+	public void updateBugStatistics(List<? extends Bug> before,
+			List<? extends Bug> after) {
+		Map<Integer, double[]> deltas = new HashMap<>();
+		for (Bug bug : before) {
+			addBugDelta(deltas, bug, -1);
+		}
+		for (Bug bug : after) {
+			addBugDelta(deltas, bug, 1);
+		}
+		for (Map.Entry<Integer, double[]> entry : deltas.entrySet()) {
+			double[] delta = entry.getValue();
+			if (!isZero(delta)) {
+				int updated = projectStatisticsMapperExt.addBugStatistics(
+						entry.getKey(), (int) delta[0], (int) delta[1]);
+				seedStatistics(updated, entry.getKey());
+			}
+		}
+	}
+
+	private static void addBugDelta(Map<Integer, double[]> deltas, Bug bug,
+			int sign) {
+		double[] delta = getDelta(deltas, bug.getProjectid(), 2);
+		if (delta != null) {
+			delta[0] += sign;
+			if (OPEN_BUG_STATUSES.contains(bug.getStatus())) {
+				delta[1] += sign;
+			}
+		}
+	}
+
+	@Override
+	public void updateTaskStatistics(List<? extends Task> before,
+			List<? extends Task> after) {
+		Map<Integer, double[]> deltas = new HashMap<>();
+		for (Task task : before) {
+			addTaskDelta(deltas, task, -1);
+		}
+		for (Task task : after) {
+			addTaskDelta(deltas, task, 1);
+		}
+		for (Map.Entry<Integer, double[]> entry : deltas.entrySet()) {
+			double[] delta = entry.getValue();
+			if (!isZero(delta)) {
+				int updated = projectStatisticsMapperExt.addTaskStatistics(
+						entry.getKey(), (int) delta[0], (int) delta[1]);
+				seedStatistics(updated, entry.getKey());
+			}
+		}
+	}
+
+	private static void addTaskDelta(Map<Integer, double[]> deltas,
+			Task task, int sign) {
+		double[] delta = getDelta(deltas, task.getProjectid(), 2);
+		if (delta != null) {
+			delta[0] += sign;
+			if (OPEN_TASK_STATUS.equals(task.getStatus())) {
+				delta[1] += sign;
+			}
+		}
+	}
+
+	@Override
+	public void updateMemberStatistics(List<? extends ProjectMember> before,
+			List<? extends ProjectMember> after) {
+		Map<Integer, double[]> deltas = new HashMap<>();
+		for (ProjectMember member : before) {
+			addMemberDelta(deltas, member, -1);
+		}
+		for (ProjectMember member : after) {
+			addMemberDelta(deltas, member, 1);
+		}
+		for (Map.Entry<Integer, double[]> entry : deltas.entrySet()) {
+			double[] delta = entry.getValue();
+			if (!isZero(delta)) {
+				int updated = projectStatisticsMapperExt.addMemberStatistics(
+						entry.getKey(), (int) delta[0]);
+				seedStatistics(updated, entry.getKey());
+			}
+		}
+	}
+
+	private static void addMemberDelta(Map<Integer, double[]> deltas,
+			ProjectMember member, int sign) {
+		double[] delta = getDelta(deltas, member.getProjectid(), 1);
+		if (delta != null
+				&& ProjectMemberStatusConstants.ACTIVE.equals(member
+						.getStatus())) {
+			delta[0] += sign;
+		}
+	}
+
+	@Override
+	public void updateMilestoneStatistics(List<? extends Milestone> before,
+			List<? extends Milestone> after) {
+		Map<Integer, double[]> deltas = new HashMap<>();
+		for (Milestone milestone : before) {
+			addMilestoneDelta(deltas, milestone, -1);
+		}
+		for (Milestone milestone : after) {
+			addMilestoneDelta(deltas, milestone, 1);
+		}
+		for (Map.Entry<Integer, double[]> entry : deltas.entrySet()) {
+			double[] delta = entry.getValue();
+			if (!isZero(delta)) {
+				int updated = projectStatisticsMapperExt
+						.addMilestoneStatistics(entry.getKey(), (int) delta[0],
+								(int) delta[1], (int) delta[2]);
+				seedStatistics(updated, entry.getKey());
+			}
+		}
+	}
+
+	private static void addMilestoneDelta(Map<Integer, double[]> deltas,
+			Milestone milestone, int sign) {
+		double[] delta = getDelta(deltas, milestone.getProjectid(), 3);
+		if (delta == null) {
+			return;
+		}
+
+		String status = milestone.getStatus();
+		if (MilestoneStatus.Closed.name().equals(status)) {
+			delta[0] += sign;
+		} else if (MilestoneStatus.InProgress.name().equals(status)) {
+			delta[1] += sign;
+		} else if (MilestoneStatus.Future.name().equals(status)) {
+			delta[2] += sign;
+		}
+	}
+
+	@Override
+	public void updateTimeLoggingStatistics(
+			List<? extends ItemTimeLogging> before,
+			List<? extends ItemTimeLogging> after) {
+		Map<Integer, double[]> deltas = new HashMap<>();
+		for (ItemTimeLogging timeLogging : before) {
+			addTimeLoggingDelta(deltas, timeLogging, -1);
+		}
+		for (ItemTimeLogging timeLogging : after) {
+			addTimeLoggingDelta(deltas, timeLogging, 1);
+		}
+		for (Map.Entry<Integer, double[]> entry : deltas.entrySet()) {
+			double[] delta = entry.getValue();
+			if (!isZero(delta)) {
+				int updated = projectStatisticsMapperExt
+						.addTimeLoggingStatistics(entry.getKey(), delta[0],
+								delta[1]);
+				seedStatistics(updated, entry.getKey());
+			}
+		}
+	}
+
+	private static void addTimeLoggingDelta(Map<Integer, double[]> deltas,
+			ItemTimeLogging timeLogging, int sign) {
+		double[] delta = getDelta(deltas, timeLogging.getProjectid(), 2);
+		if (delta == null || timeLogging.getLogvalue() == null
+				|| timeLogging.getIsbillable() == null) {
+			return;
+		}
+
+		if (timeLogging.getIsbillable()) {
+			delta[0] += sign * timeLogging.getLogvalue();
+		} else {
+			delta[1] += sign * timeLogging.getLogvalue();
+		}
+	}
+
+	/**
+	 * A project whose statistics row is missing gets all counters computed
+	 * once, the changed items are already part of them.
+	 */
+	private void seedStatistics(int updatedRows, Integer projectId) {
+		if (updatedRows == 0) {
+			projectStatisticsMapperExt.refreshStatistics(projectId);
+		}
+	}
+
+	private static double[] getDelta(Map<Integer, double[]> deltas,
+			Integer projectId, int size) {
+		if (projectId == null) {
+			return null;
+		}
+
+		double[] delta = deltas.get(projectId);
+		if (delta == null) {
+			delta = new double[size];
+			deltas.put(projectId, delta);
+		}
+		return delta;
+	}
+
+	private static boolean isZero(double[] delta) {
+		for (double value : delta) {
+			if (value != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void updateStatistics(Integer projectId) {
+		if (projectId != null) {
+			projectStatisticsMapperExt.refreshStatistics(projectId);
+		}
+	}
+
+	@Override
+	public void reconcileStatistics() {
+		Integer maxProjectId = projectStatisticsMapperExt.getMaxProjectId();
+		if (maxProjectId == null) {
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+		for (int fromId = 0; fromId < maxProjectId; fromId += RECONCILE_BATCH_SIZE) {
+			projectStatisticsMapperExt.reconcileStatistics(fromId,
+					Math.min(fromId + RECONCILE_BATCH_SIZE, maxProjectId));
+		}
+		LOG.info("Reconciled statistics of projects up to id {} in {} ms",
+				maxProjectId, System.currentTimeMillis() - startTime);
+	}
+}
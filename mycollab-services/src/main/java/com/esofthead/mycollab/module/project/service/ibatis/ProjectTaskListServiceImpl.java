@@ -17,12 +17,14 @@
 
 package com.esofthead.mycollab.module.project.service.ibatis;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
@@ -33,8 +35,7 @@ import com.esofthead.mycollab.module.project.dao.TaskListMapperExt;
 import com.esofthead.mycollab.module.project.domain.SimpleTaskList;
 import com.esofthead.mycollab.module.project.domain.TaskList;
 import com.esofthead.mycollab.module.project.domain.criteria.TaskListSearchCriteria;
-import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
-import com.esofthead.mycollab.module.project.service.ProjectGenericTaskService;
+import com.esofthead.mycollab.module.project.service.ProjectAssignmentService;
 import com.esofthead.mycollab.module.project.service.ProjectTaskListService;
 import com.esofthead.mycollab.schedule.email.project.ProjectTaskGroupRelayEmailNotificationAction;
 
@@ -61,6 +62,8 @@ public class ProjectTaskListServiceImpl extends
 	protected TaskListMapper projectTaskListMapper;
 	@Autowired
 	protected TaskListMapperExt projectTaskListMapperExt;
+	@Autowired
+	private ProjectAssignmentService projectAssignmentService;
 
 	@Override
 	public ICrudGenericDAO<Integer, TaskList> getCrudMapper() {
@@ -72,32 +75,48 @@ public class ProjectTaskListServiceImpl extends
 		return projectTaskListMapperExt;
 	}
 
+	/**
+	 * The milestone of the tasks in the assignment index is the one of their
+	 * task list.
+	 */
 	@Override
-	public SimpleTaskList findById(int taskListId, int sAccountId) {
-		return projectTaskListMapperExt.findTaskListById(taskListId);
+	public int updateWithSession(TaskList record, String username) {
+		int result = super.updateWithSession(record, username);
+		projectAssignmentService.updateTaskListAssignments(record.getId());
+		return result;
+	}
+
+	@Override
+	public int updateSelectiveWithSession(TaskList record, String username) {
+		int result = super.updateSelectiveWithSession(record, username);
+		if (record.getMilestoneid() != null) {
+			projectAssignmentService.updateTaskListAssignments(record.getId());
+		}
+		return result;
 	}
 
+	/**
+	 * The tasks of the task list are deleted by cascade, their rows in the
+	 * assignment index are removed first in the same transaction.
+	 */
 	@Override
 	public int removeWithSession(Integer primaryKey, String username,
 			int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectGenericTaskService.class);
+		projectAssignmentService.removeTaskListAssignments(Arrays
+				.asList(primaryKey));
 		return super.removeWithSession(primaryKey, username, accountId);
 	}
 
 	@Override
-	public int saveWithSession(TaskList record, String username) {
-		CacheUtils.cleanCaches(record.getSaccountid(),
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		return super.saveWithSession(record, username);
+	public void massRemoveWithSession(List<Integer> primaryKeys,
+			String username, int accountId) {
+		projectAssignmentService.removeTaskListAssignments(primaryKeys);
+		super.massRemoveWithSession(primaryKeys, username, accountId);
 	}
 
 	@Override
-	public int updateWithSession(TaskList record, String username) {
-		CacheUtils.cleanCaches(record.getSaccountid(),
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		return super.updateWithSession(record, username);
+	public SimpleTaskList findById(int taskListId, int sAccountId) {
+		return projectTaskListMapperExt.findTaskListById(taskListId);
 	}
 
 	@Override
@@ -16,18 +16,16 @@
  */
 package com.esofthead.mycollab.module.project.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.domain.GroupItem;
 import com.esofthead.mycollab.common.i18n.OptionI18nEnum.StatusI18nEnum;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
-import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.common.search.TextSearchCriteriaResolver;
 import com.esofthead.mycollab.core.arguments.NumberSearchField;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 import com.esofthead.mycollab.core.persistence.service.DefaultService;
-import com.esofthead.mycollab.lock.DistributionLockUtil;
 import com.esofthead.mycollab.module.project.ProjectTypeConstants;
 import com.esofthead.mycollab.module.project.dao.TaskMapper;
 import com.esofthead.mycollab.module.project.dao.TaskMapperExt;
@@ -39,12 +37,14 @@ import com.esofthead.mycollab.schedule.email.project.ProjectTaskRelayEmailNotifi
 import org.apache.ibatis.session.RowBounds;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
+import java.util.Set;
 
 /**
  * @author MyCollab Ltd.
@@ -53,6 +53,7 @@ import java.util.concurrent.locks.Lock;
 @Service
 @Transactional
 @Traceable(nameField = "taskname", extraFieldName = "projectid")
+@Searchable(nameFields = "taskname", contentFields = "notes", extraFieldName = "projectid")
 @Auditable()
 @Watchable(userFieldName = "assignuser", extraTypeId = "projectid")
 @NotifyAgent(ProjectTaskRelayEmailNotificationAction.class)
@@ -65,10 +66,21 @@ public class ProjectTaskServiceImpl extends
                 .TASK));
     }
 
+    private static final Set<String> SEEKABLE_FIELDS = new HashSet<>(
+            Arrays.asList("id", "createdtime", "taskkey"));
+
     @Autowired
     private TaskMapper taskMapper;
     @Autowired
     private TaskMapperExt taskMapperExt;
+    @Autowired
+    private TextSearchCriteriaResolver textSearchCriteriaResolver;
+    @Autowired
+    private ProjectStatisticsService projectStatisticsService;
+    @Autowired
+    private ProjectItemKeyService projectItemKeyService;
+    @Autowired
+    private ProjectAssignmentService projectAssignmentService;
 
     @Override
     public ICrudGenericDAO<Integer, Task> getCrudMapper() {
@@ -80,12 +92,24 @@ public class ProjectTaskServiceImpl extends
         return taskMapperExt;
     }
 
+    @Override
+    protected Set<String> getSeekableFields() {
+        return SEEKABLE_FIELDS;
+    }
+
+    @Override
+    protected TaskSearchCriteria prepareSearchCriteria(
+            TaskSearchCriteria criteria) {
+        return textSearchCriteriaResolver.resolve(criteria, "taskName",
+                ProjectTypeConstants.TASK, "m_prj_task.id");
+    }
+
     @Override
     public SimpleTask findById(int taskId, int sAccountId) {
         return taskMapperExt.findTaskById(taskId);
     }
 
-    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    @Transactional
     @Override
     public int saveWithSession(Task record, String username) {
         if ((record.getPercentagecomplete() != null)
@@ -95,36 +119,36 @@ public class ProjectTaskServiceImpl extends
             record.setStatus(StatusI18nEnum.Open.name());
         }
         record.setLogby(username);
-        Lock lock = DistributionLockUtil.getLock("task-"
-                + record.getSaccountid());
-
-        try {
-            if (lock.tryLock(120, TimeUnit.SECONDS)) {
-                Integer key = taskMapperExt.getMaxKey(record.getProjectid());
-                record.setTaskkey((key == null) ? 1 : (key + 1));
-
-                CacheUtils.cleanCaches(record.getSaccountid(),
-                        ProjectService.class, ProjectGenericTaskService.class,
-                        ProjectTaskListService.class,
-                        ProjectActivityStreamService.class,
-                        ProjectMemberService.class, MilestoneService.class);
-
-                return super.saveWithSession(record, username);
-            } else {
-                throw new MyCollabException("Timeout operation.");
-            }
-        } catch (InterruptedException e) {
-            throw new MyCollabException(e);
-        } finally {
-            lock.unlock();
+        record.setTaskkey(projectItemKeyService.getNextKey(record.getProjectid(), ProjectTypeConstants.TASK));
+
+        int taskId = super.saveWithSession(record, username);
+        projectStatisticsService.updateTaskStatistics(
+                Collections.<Task>emptyList(), Collections.singletonList(record));
+        projectAssignmentService.updateAssignment(ProjectTypeConstants.TASK, taskId);
+        return taskId;
+    }
+
+    @Override
+    public void massSaveWithSession(List<Task> records, String username, int sAccountId) {
+        super.massSaveWithSession(records, username, sAccountId);
+        List<Integer> taskIds = new ArrayList<>(records.size());
+        for (Task record : records) {
+            taskIds.add(record.getId());
         }
+        projectStatisticsService.updateTaskStatistics(
+                Collections.<Task>emptyList(), projectStatisticsService.findTaskStates(taskIds));
+        projectAssignmentService.updateAssignments(ProjectTypeConstants.TASK, taskIds);
     }
 
     @Transactional
     @Override
     public int updateWithSession(Task record, String username) {
         beforeUpdate(record);
-        return super.updateWithSession(record, username);
+        List<Task> before = findTaskStates(record);
+        int result = super.updateWithSession(record, username);
+        updateTaskStatistics(before);
+        projectAssignmentService.updateAssignment(ProjectTypeConstants.TASK, record.getId());
+        return result;
     }
 
     private void beforeUpdate(Task record) {
@@ -134,31 +158,61 @@ public class ProjectTaskServiceImpl extends
         } else if (record.getStatus() == null) {
             record.setStatus(StatusI18nEnum.Open.name());
         }
-
-        CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class,
-                ProjectGenericTaskService.class, ProjectTaskListService.class,
-                ProjectActivityStreamService.class, ProjectMemberService.class,
-                MilestoneService.class, ItemTimeLoggingService.class);
     }
 
     @Override
     public int updateSelectiveWithSession(Task record, String username) {
         beforeUpdate(record);
-        return super.updateSelectiveWithSession(record, username);
+        List<Task> before = findTaskStates(record);
+        int result = super.updateSelectiveWithSession(record, username);
+        updateTaskStatistics(before);
+        projectAssignmentService.updateAssignment(ProjectTypeConstants.TASK, record.getId());
+        return result;
+    }
+
+    private List<Task> findTaskStates(Task record) {
+        return (record.getId() != null) ? projectStatisticsService.findTaskStates(Collections.singletonList(record
+                .getId())) : Collections.<Task>emptyList();
+    }
+
+    /**
+     * Adds the difference between the given states and the current states of
+     * the same tasks to the statistics of their projects.
+     */
+    private void updateTaskStatistics(List<Task> before) {
+        List<Integer> taskIds = new ArrayList<>(before.size());
+        for (Task task : before) {
+            taskIds.add(task.getId());
+        }
+        projectStatisticsService.updateTaskStatistics(before, projectStatisticsService.findTaskStates(taskIds));
     }
 
     @Override
     public int removeWithSession(Integer primaryKey, String username,
                                  int accountId) {
+        List<Task> before = projectStatisticsService.findTaskStates(Collections.singletonList(primaryKey));
         int result = super.removeWithSession(primaryKey, username, accountId);
-        CacheUtils.cleanCaches(accountId, ProjectTaskListService.class,
-                ProjectService.class, ProjectGenericTaskService.class,
-                ProjectActivityStreamService.class, MilestoneService.class,
-                ItemTimeLoggingService.class);
-
+        projectStatisticsService.updateTaskStatistics(before, Collections.<Task>emptyList());
+        projectAssignmentService.removeAssignment(ProjectTypeConstants.TASK, primaryKey);
         return result;
     }
 
+    @Override
+    public void massUpdateWithSession(Task record, List<Integer> primaryKeys, int accountId) {
+        List<Task> before = projectStatisticsService.findTaskStates(primaryKeys);
+        super.massUpdateWithSession(record, primaryKeys, accountId);
+        updateTaskStatistics(before);
+        projectAssignmentService.updateAssignments(ProjectTypeConstants.TASK, primaryKeys);
+    }
+
+    @Override
+    public void massRemoveWithSession(List<Integer> primaryKeys, String username, int accountId) {
+        List<Task> before = projectStatisticsService.findTaskStates(primaryKeys);
+        super.massRemoveWithSession(primaryKeys, username, accountId);
+        projectStatisticsService.updateTaskStatistics(before, Collections.<Task>emptyList());
+        projectAssignmentService.removeAssignments(ProjectTypeConstants.TASK, primaryKeys);
+    }
+
     @Override
     public List<GroupItem> getPrioritySummary(TaskSearchCriteria criteria) {
         return taskMapperExt.getPrioritySummary(criteria);
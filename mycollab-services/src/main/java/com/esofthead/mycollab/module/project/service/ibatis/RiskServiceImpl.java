@@ -16,7 +16,6 @@
  */
 package com.esofthead.mycollab.module.project.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
 import com.esofthead.mycollab.common.service.RelayEmailNotificationService;
@@ -29,15 +28,14 @@ import com.esofthead.mycollab.module.project.dao.RiskMapperExt;
 import com.esofthead.mycollab.module.project.domain.Risk;
 import com.esofthead.mycollab.module.project.domain.SimpleRisk;
 import com.esofthead.mycollab.module.project.domain.criteria.RiskSearchCriteria;
-import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
-import com.esofthead.mycollab.module.project.service.ProjectGenericTaskService;
-import com.esofthead.mycollab.module.project.service.ProjectService;
+import com.esofthead.mycollab.module.project.service.ProjectAssignmentService;
 import com.esofthead.mycollab.module.project.service.RiskService;
 import com.esofthead.mycollab.schedule.email.project.ProjectRiskRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -66,6 +64,9 @@ public class RiskServiceImpl extends
 	@Autowired
 	private RiskMapperExt riskMapperExt;
 
+	@Autowired
+	private ProjectAssignmentService projectAssignmentService;
+
 	@Override
 	public ICrudGenericDAO<Integer, Risk> getCrudMapper() {
 		return riskMapper;
@@ -83,43 +84,62 @@ public class RiskServiceImpl extends
 
 	@Override
 	public int saveWithSession(Risk record, String username) {
-		int recordId = super.saveWithSession(record, username);
-		CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		return recordId;
+		int riskId = super.saveWithSession(record, username);
+		projectAssignmentService.updateAssignment(ProjectTypeConstants.RISK,
+				riskId);
+		return riskId;
+	}
+
+	@Override
+	public void massSaveWithSession(List<Risk> records, String username,
+			int sAccountId) {
+		super.massSaveWithSession(records, username, sAccountId);
+		List<Integer> riskIds = new ArrayList<>(records.size());
+		for (Risk record : records) {
+			riskIds.add(record.getId());
+		}
+		projectAssignmentService.updateAssignments(ProjectTypeConstants.RISK,
+				riskIds);
 	}
 
 	@Override
 	public int updateWithSession(Risk record, String username) {
-		CacheUtils.cleanCaches(record.getSaccountid(),
-				ProjectActivityStreamService.class);
-		return super.updateWithSession(record, username);
+		int result = super.updateWithSession(record, username);
+		projectAssignmentService.updateAssignment(ProjectTypeConstants.RISK,
+				record.getId());
+		return result;
 	}
 
 	@Override
-	public int removeWithSession(Integer primaryKey, String username,
+	public int updateSelectiveWithSession(Risk record, String username) {
+		int result = super.updateSelectiveWithSession(record, username);
+		projectAssignmentService.updateAssignment(ProjectTypeConstants.RISK,
+				record.getId());
+		return result;
+	}
+
+	@Override
+	public void massUpdateWithSession(Risk record, List<Integer> primaryKeys,
 			int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		return super.removeWithSession(primaryKey, username, accountId);
+		super.massUpdateWithSession(record, primaryKeys, accountId);
+		projectAssignmentService.updateAssignments(ProjectTypeConstants.RISK,
+				primaryKeys);
 	}
 
 	@Override
-	public void removeByCriteria(RiskSearchCriteria criteria, int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
-		super.removeByCriteria(criteria, accountId);
+	public int removeWithSession(Integer primaryKey, String username,
+			int accountId) {
+		int result = super.removeWithSession(primaryKey, username, accountId);
+		projectAssignmentService.removeAssignment(ProjectTypeConstants.RISK,
+				primaryKey);
+		return result;
 	}
 
 	@Override
 	public void massRemoveWithSession(List<Integer> primaryKeys,
 			String username, int accountId) {
-		CacheUtils.cleanCaches(accountId, ProjectService.class,
-				ProjectGenericTaskService.class,
-				ProjectActivityStreamService.class);
 		super.massRemoveWithSession(primaryKeys, username, accountId);
+		projectAssignmentService.removeAssignments(ProjectTypeConstants.RISK,
+				primaryKeys);
 	}
 }
@@ -0,0 +1,75 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.project.service.ibatis;
+
+import com.esofthead.mycollab.core.persistence.LazyBlobInterceptor;
+import com.esofthead.mycollab.core.persistence.LazyBlobReader;
+import com.esofthead.mycollab.module.project.dao.TaskMapper;
+import com.esofthead.mycollab.module.project.domain.SimpleTask;
+import com.esofthead.mycollab.module.project.domain.Task;
+import com.esofthead.mycollab.module.project.domain.TaskExample;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Reads the notes of the tasks listed without them.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class TaskBlobReader implements LazyBlobReader<SimpleTask>, InitializingBean {
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private LazyBlobInterceptor lazyBlobInterceptor;
+
+    @Override
+    public void afterPropertiesSet() {
+        lazyBlobInterceptor.registerReader(this);
+    }
+
+    @Override
+    public Class<SimpleTask> getRowType() {
+        return SimpleTask.class;
+    }
+
+    @Override
+    public Collection<String> getBlobProperties() {
+        return Collections.singletonList("notes");
+    }
+
+    @Override
+    public void readBlobs(Map<Integer, SimpleTask> rows) {
+        TaskExample ex = new TaskExample();
+        ex.createCriteria().andIdIn(new ArrayList<>(rows.keySet()));
+        for (Task task : taskMapper.selectByExampleWithBLOBs(ex)) {
+            SimpleTask row = rows.get(task.getId());
+            if (row != null) {
+                row.setNotes(task.getNotes());
+            }
+        }
+    }
+}
@@ -21,7 +21,7 @@ import java.util.List;
 import org.apache.ibatis.annotations.Param;
 
 import com.esofthead.mycollab.common.domain.GroupItem;
-import com.esofthead.mycollab.core.persistence.ISearchableDAO;
+import com.esofthead.mycollab.core.persistence.ISeekableDAO;
 import com.esofthead.mycollab.module.tracker.domain.BugStatusGroupItem;
 import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
 import com.esofthead.mycollab.module.tracker.domain.criteria.BugSearchCriteria;
@@ -32,7 +32,7 @@ import com.esofthead.mycollab.module.tracker.domain.criteria.BugSearchCriteria;
  * @since 1.0
  * 
  */
-public interface BugMapperExt extends ISearchableDAO<BugSearchCriteria> {
+public interface BugMapperExt extends ISeekableDAO<BugSearchCriteria> {
 
 	SimpleBug getBugById(int bugid);
 
@@ -63,6 +63,4 @@ public interface BugMapperExt extends ISearchableDAO<BugSearchCriteria> {
 
 	List<BugStatusGroupItem> getBugStatusGroupItemBaseComponent(
 			@Param("searchCriteria") BugSearchCriteria criteria);
-
-	Integer getMaxKey(int projectId);
 }
@@ -17,6 +17,8 @@
 package com.esofthead.mycollab.module.tracker.domain;
 
 import com.esofthead.mycollab.core.arguments.NotBindable;
+import com.esofthead.mycollab.core.persistence.LazyBlobLoader;
+import com.esofthead.mycollab.core.persistence.LazyBlobRow;
 import com.esofthead.mycollab.module.project.i18n.OptionI18nEnum.BugStatus;
 import org.apache.commons.lang3.StringUtils;
 
@@ -30,7 +32,7 @@ import java.util.List;
  * @since 1.0
  * 
  */
-public class SimpleBug extends BugWithBLOBs {
+public class SimpleBug extends BugWithBLOBs implements LazyBlobRow {
 	private static final long serialVersionUID = 1L;
 
 	private String loguserFullName;
@@ -52,6 +54,12 @@ public class SimpleBug extends BugWithBLOBs {
 	private String comment;
 	private String milestoneName;
 
+	@NotBindable
+	private LazyBlobLoader<?> blobLoader;
+
+	@NotBindable
+	private boolean blobsLoaded;
+
 	public static enum Field {
         selected,
 		components,
@@ -183,4 +191,64 @@ public class SimpleBug extends BugWithBLOBs {
 	public void setProjectShortName(String projectShortName) {
 		this.projectShortName = projectShortName;
 	}
+
+	@Override
+	public String getDetail() {
+		loadBlobs();
+		return super.getDetail();
+	}
+
+	@Override
+	public void setDetail(String detail) {
+		loadBlobs();
+		super.setDetail(detail);
+	}
+
+	@Override
+	public String getEnvironment() {
+		loadBlobs();
+		return super.getEnvironment();
+	}
+
+	@Override
+	public void setEnvironment(String environment) {
+		loadBlobs();
+		super.setEnvironment(environment);
+	}
+
+	@Override
+	public String getDescription() {
+		loadBlobs();
+		return super.getDescription();
+	}
+
+	@Override
+	public void setDescription(String description) {
+		loadBlobs();
+		super.setDescription(description);
+	}
+
+	private void loadBlobs() {
+		LazyBlobLoader<?> loader = blobLoader;
+		if (loader != null) {
+			loader.load();
+		}
+	}
+
+	@Override
+	public void attachBlobLoader(LazyBlobLoader<?> loader) {
+		if (!blobsLoaded) {
+			blobLoader = loader;
+		}
+	}
+
+	@Override
+	public boolean detachBlobLoader(LazyBlobLoader<?> loader) {
+		if (loader != null && blobLoader == loader) {
+			blobLoader = null;
+			blobsLoaded = true;
+			return true;
+		}
+		return false;
+	}
 }
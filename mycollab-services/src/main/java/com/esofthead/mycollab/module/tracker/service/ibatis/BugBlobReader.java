@@ -0,0 +1,78 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.tracker.service.ibatis;
+
+import com.esofthead.mycollab.core.persistence.LazyBlobInterceptor;
+import com.esofthead.mycollab.core.persistence.LazyBlobReader;
+import com.esofthead.mycollab.module.tracker.dao.BugMapper;
+import com.esofthead.mycollab.module.tracker.domain.BugExample;
+import com.esofthead.mycollab.module.tracker.domain.BugWithBLOBs;
+import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads the detail, environment and description of the bugs listed without
+ * them.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+@Component
+public class BugBlobReader implements LazyBlobReader<SimpleBug>, InitializingBean {
+
+    @Autowired
+    private BugMapper bugMapper;
+
+    @Autowired
+    private LazyBlobInterceptor lazyBlobInterceptor;
+
+    @Override
+    public void afterPropertiesSet() {
+        lazyBlobInterceptor.registerReader(this);
+    }
+
+    @Override
+    public Class<SimpleBug> getRowType() {
+        return SimpleBug.class;
+    }
+
+    @Override
+    public Collection<String> getBlobProperties() {
+        return Arrays.asList("detail", "environment", "description");
+    }
+
+    @Override
+    public void readBlobs(Map<Integer, SimpleBug> rows) {
+        BugExample ex = new BugExample();
+        ex.createCriteria().andIdIn(new ArrayList<>(rows.keySet()));
+        for (BugWithBLOBs bug : bugMapper.selectByExampleWithBLOBs(ex)) {
+            SimpleBug row = rows.get(bug.getId());
+            if (row != null) {
+                row.setDetail(bug.getDetail());
+                row.setEnvironment(bug.getEnvironment());
+                row.setDescription(bug.getDescription());
+            }
+        }
+    }
+}
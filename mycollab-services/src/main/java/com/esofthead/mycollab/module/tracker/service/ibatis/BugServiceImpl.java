@@ -16,23 +16,22 @@
  */
 package com.esofthead.mycollab.module.tracker.service.ibatis;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.common.ModuleNameConstants;
 import com.esofthead.mycollab.common.domain.GroupItem;
 import com.esofthead.mycollab.common.interceptor.aspect.*;
-import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.common.search.TextSearchCriteriaResolver;
 import com.esofthead.mycollab.core.cache.CacheKey;
 import com.esofthead.mycollab.core.persistence.ICrudGenericDAO;
 import com.esofthead.mycollab.core.persistence.ISearchableDAO;
 import com.esofthead.mycollab.core.persistence.service.DefaultService;
 import com.esofthead.mycollab.esb.CamelProxyBuilderUtil;
-import com.esofthead.mycollab.lock.DistributionLockUtil;
 import com.esofthead.mycollab.module.project.ProjectTypeConstants;
 import com.esofthead.mycollab.module.project.esb.DeleteProjectBugCommand;
 import com.esofthead.mycollab.module.project.esb.ProjectEndPoints;
 import com.esofthead.mycollab.module.project.service.*;
 import com.esofthead.mycollab.module.tracker.dao.BugMapper;
 import com.esofthead.mycollab.module.tracker.dao.BugMapperExt;
+import com.esofthead.mycollab.module.tracker.domain.Bug;
 import com.esofthead.mycollab.module.tracker.domain.BugStatusGroupItem;
 import com.esofthead.mycollab.module.tracker.domain.BugWithBLOBs;
 import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
@@ -41,16 +40,20 @@ import com.esofthead.mycollab.module.tracker.service.BugService;
 import com.esofthead.mycollab.schedule.email.project.BugRelayEmailNotificationAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
+import java.util.Set;
 
 @Service
 @Transactional
 @Traceable(nameField = "summary", extraFieldName = "projectid")
+@Searchable(nameFields = "summary", contentFields = {"description", "detail",
+        "environment"}, extraFieldName = "projectid")
 @Auditable()
 @NotifyAgent(BugRelayEmailNotificationAction.class)
 public class BugServiceImpl extends
@@ -60,12 +63,27 @@ public class BugServiceImpl extends
         ClassInfoMap.put(BugServiceImpl.class, new ClassInfo(ModuleNameConstants.PRJ, ProjectTypeConstants.BUG));
     }
 
+    private static final Set<String> SEEKABLE_FIELDS = new HashSet<>(
+            Arrays.asList("id", "createdtime", "bugkey"));
+
     @Autowired
     protected BugMapper bugMapper;
 
     @Autowired
     protected BugMapperExt bugMapperExt;
 
+    @Autowired
+    private TextSearchCriteriaResolver textSearchCriteriaResolver;
+
+    @Autowired
+    private ProjectStatisticsService projectStatisticsService;
+
+    @Autowired
+    private ProjectItemKeyService projectItemKeyService;
+
+    @Autowired
+    private ProjectAssignmentService projectAssignmentService;
+
     @Override
     public ICrudGenericDAO<Integer, BugWithBLOBs> getCrudMapper() {
         return bugMapper;
@@ -76,62 +94,105 @@ public class BugServiceImpl extends
         return bugMapperExt;
     }
 
-    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    @Override
+    protected Set<String> getSeekableFields() {
+        return SEEKABLE_FIELDS;
+    }
+
+    @Override
+    protected BugSearchCriteria prepareSearchCriteria(
+            BugSearchCriteria criteria) {
+        return textSearchCriteriaResolver.resolve(criteria, "summary",
+                ProjectTypeConstants.BUG, "m_tracker_bug.id");
+    }
+
     @Override
     public int saveWithSession(BugWithBLOBs record, String username) {
-        Lock lock = DistributionLockUtil.getLock("bug-"
-                + record.getSaccountid());
-        try {
-            if (lock.tryLock(120, TimeUnit.SECONDS)) {
-                Integer maxKey = bugMapperExt.getMaxKey(record.getProjectid());
-                record.setBugkey((maxKey == null) ? 1 : (maxKey + 1));
-
-                CacheUtils.cleanCaches(record.getSaccountid(),
-                        ProjectService.class, ProjectGenericTaskService.class,
-                        ProjectMemberService.class,
-                        ProjectActivityStreamService.class);
-
-                return super.saveWithSession(record, username);
-            } else {
-                throw new MyCollabException("Timeout operation");
-            }
-        } catch (InterruptedException e) {
-            throw new MyCollabException(e);
-        } finally {
-            lock.unlock();
+        record.setBugkey(projectItemKeyService.getNextKey(record.getProjectid(), ProjectTypeConstants.BUG));
+
+        int bugId = super.saveWithSession(record, username);
+        projectStatisticsService.updateBugStatistics(Collections.<Bug>emptyList(),
+                projectStatisticsService.findBugStates(Collections.singletonList(bugId)));
+        projectAssignmentService.updateAssignment(ProjectTypeConstants.BUG, bugId);
+        return bugId;
+    }
+
+    @Override
+    public void massSaveWithSession(List<BugWithBLOBs> records, String username, int sAccountId) {
+        super.massSaveWithSession(records, username, sAccountId);
+        List<Integer> bugIds = new ArrayList<>(records.size());
+        for (BugWithBLOBs record : records) {
+            bugIds.add(record.getId());
         }
+        projectStatisticsService.updateBugStatistics(Collections.<Bug>emptyList(),
+                projectStatisticsService.findBugStates(bugIds));
+        projectAssignmentService.updateAssignments(ProjectTypeConstants.BUG, bugIds);
     }
 
     @Override
     public int updateWithSession(BugWithBLOBs record, String username) {
-        CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class,
-                ProjectActivityStreamService.class,
-                ItemTimeLoggingService.class);
-        return super.updateWithSession(record, username);
+        List<Bug> before = findBugStates(record);
+        int result = super.updateWithSession(record, username);
+        updateBugStatistics(before);
+        projectAssignmentService.updateAssignment(ProjectTypeConstants.BUG, record.getId());
+        return result;
     }
 
     @Override
     public int updateSelectiveWithSession(BugWithBLOBs record, String username) {
-        CacheUtils.cleanCaches(record.getSaccountid(), ProjectService.class,
-                ProjectActivityStreamService.class,
-                ItemTimeLoggingService.class);
-        return super.updateSelectiveWithSession(record, username);
+        List<Bug> before = findBugStates(record);
+        int result = super.updateSelectiveWithSession(record, username);
+        updateBugStatistics(before);
+        projectAssignmentService.updateAssignment(ProjectTypeConstants.BUG, record.getId());
+        return result;
+    }
+
+    private List<Bug> findBugStates(BugWithBLOBs record) {
+        return (record.getId() != null) ? projectStatisticsService.findBugStates(Collections.singletonList(record
+                .getId())) : Collections.<Bug>emptyList();
+    }
+
+    /**
+     * Adds the difference between the given states and the current states of
+     * the same bugs to the statistics of their projects.
+     */
+    private void updateBugStatistics(List<Bug> before) {
+        List<Integer> bugIds = new ArrayList<>(before.size());
+        for (Bug bug : before) {
+            bugIds.add(bug.getId());
+        }
+        projectStatisticsService.updateBugStatistics(before, projectStatisticsService.findBugStates(bugIds));
     }
 
     @Override
     public int removeWithSession(Integer primaryKey, String username,
                                  int accountId) {
-        CacheUtils.cleanCaches(accountId, ProjectService.class,
-                ProjectGenericTaskService.class, ProjectMemberService.class,
-                ProjectActivityStreamService.class,
-                ItemTimeLoggingService.class);
         DeleteProjectBugCommand deleteProjectBugCommand = CamelProxyBuilderUtil
                 .build(ProjectEndPoints.PROJECT_BUG_REMOVE_ENDPOINT,
                         DeleteProjectBugCommand.class);
         SimpleBug bug = findById(primaryKey, accountId);
         deleteProjectBugCommand.bugRemoved(username, accountId,
                 bug.getProjectid(), primaryKey);
-        return super.removeWithSession(primaryKey, username, accountId);
+        int result = super.removeWithSession(primaryKey, username, accountId);
+        projectStatisticsService.updateBugStatistics(Collections.singletonList(bug), Collections.<Bug>emptyList());
+        projectAssignmentService.removeAssignment(ProjectTypeConstants.BUG, primaryKey);
+        return result;
+    }
+
+    @Override
+    public void massUpdateWithSession(BugWithBLOBs record, List<Integer> primaryKeys, int accountId) {
+        List<Bug> before = projectStatisticsService.findBugStates(primaryKeys);
+        super.massUpdateWithSession(record, primaryKeys, accountId);
+        updateBugStatistics(before);
+        projectAssignmentService.updateAssignments(ProjectTypeConstants.BUG, primaryKeys);
+    }
+
+    @Override
+    public void massRemoveWithSession(List<Integer> primaryKeys, String username, int accountId) {
+        List<Bug> before = projectStatisticsService.findBugStates(primaryKeys);
+        super.massRemoveWithSession(primaryKeys, username, accountId);
+        projectStatisticsService.updateBugStatistics(before, Collections.<Bug>emptyList());
+        projectAssignmentService.removeAssignments(ProjectTypeConstants.BUG, primaryKeys);
     }
 
     @Override
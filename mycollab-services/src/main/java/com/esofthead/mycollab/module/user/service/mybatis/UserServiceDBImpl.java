@@ -28,7 +28,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.esofthead.mycollab.cache.CacheUtils;
 import com.esofthead.mycollab.configuration.PasswordEncryptHelper;
 import com.esofthead.mycollab.configuration.SiteConfiguration;
 import com.esofthead.mycollab.core.DeploymentMode;
@@ -45,6 +44,7 @@ import com.esofthead.mycollab.esb.CamelProxyBuilderUtil;
 import com.esofthead.mycollab.module.billing.RegisterStatusConstants;
 import com.esofthead.mycollab.module.billing.service.BillingPlanCheckerService;
 import com.esofthead.mycollab.module.file.service.UserAvatarService;
+import com.esofthead.mycollab.module.project.service.ProjectAssignmentService;
 import com.esofthead.mycollab.module.user.dao.RolePermissionMapper;
 import com.esofthead.mycollab.module.user.dao.UserAccountInvitationMapper;
 import com.esofthead.mycollab.module.user.dao.UserAccountMapper;
@@ -99,6 +99,9 @@ public class UserServiceDBImpl extends
 	@Autowired
 	private BillingPlanCheckerService billingPlanCheckerService;
 
+	@Autowired
+	private ProjectAssignmentService projectAssignmentService;
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public ICrudGenericDAO getCrudMapper() {
@@ -244,10 +247,14 @@ public class UserServiceDBImpl extends
 		}
 
 		// now we keep username similar than email
+		String oldUsername = record.getUsername();
 		UserExample ex = new UserExample();
-		ex.createCriteria().andUsernameEqualTo(record.getUsername());
+		ex.createCriteria().andUsernameEqualTo(oldUsername);
 		record.setUsername(record.getEmail());
-		return userMapper.updateByExampleSelective(record, ex);
+		int result = userMapper.updateByExampleSelective(record, ex);
+		projectAssignmentService.updateAssignUser(oldUsername,
+				record.getUsername());
+		return result;
 	}
 
 	@Override
@@ -266,10 +273,13 @@ public class UserServiceDBImpl extends
 		}
 
 		// now we keep username similar than email
+		String oldUsername = record.getUsername();
 		UserExample ex = new UserExample();
-		ex.createCriteria().andUsernameEqualTo(record.getUsername());
+		ex.createCriteria().andUsernameEqualTo(oldUsername);
 		record.setUsername(record.getEmail());
 		userMapper.updateByExampleSelective(record, ex);
+		projectAssignmentService.updateAssignUser(oldUsername,
+				record.getUsername());
 
 		UserAccountExample userAccountEx = new UserAccountExample();
 		userAccountEx.createCriteria().andUsernameEqualTo(record.getUsername())
@@ -291,10 +301,19 @@ public class UserServiceDBImpl extends
 		}
 	}
 
+	@Override
+	public int removeWithSession(String primaryKey, String username,
+			int accountId) {
+		int result = super.removeWithSession(primaryKey, username, accountId);
+		projectAssignmentService.removeAssignUsers(Arrays.asList(primaryKey));
+		return result;
+	}
+
 	@Override
 	public void massRemoveWithSession(List<String> primaryKeys,
 			String username, int accountId) {
 		userMapperExt.removeKeysWithSession(primaryKeys);
+		projectAssignmentService.removeAssignUsers(primaryKeys);
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -374,9 +393,6 @@ public class UserServiceDBImpl extends
 	@Override
 	public void pendingUserAccount(String username, Integer accountId) {
 		pendingUserAccounts(Arrays.asList(username), accountId);
-
-		// clean cache of related items
-		CacheUtils.cleanCaches(accountId, UserService.class);
 	}
 
 	private void internalPendingUserAccount(String username, Integer accountId) {
@@ -423,9 +439,6 @@ public class UserServiceDBImpl extends
 		for (String username : usernames) {
 			internalPendingUserAccount(username, accountId);
 		}
-
-		// clean cache of related items
-		CacheUtils.cleanCaches(accountId, UserService.class);
 	}
 
 	@Override
@@ -33,6 +33,8 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.persistence.LazyBlobInterceptor;
+import com.esofthead.mycollab.core.persistence.StreamingStatements;
 import com.esofthead.mycollab.core.persistence.VelocityDriverDeclare;
 
 /**
@@ -75,7 +77,18 @@ public class MyBatisConfiguration {
 				"classpath:sqlMap/tracker/*Mapper.xml",
 				"classpath:sqlMap/tracker/*MapperExt.xml"));
 
-		return sqlSessionFactory.getObject();
+		SqlSessionFactory factory = sqlSessionFactory.getObject();
+		StreamingStatements.register(factory.getConfiguration());
+		factory.getConfiguration().addInterceptor(lazyBlobInterceptor());
+		return factory;
+	}
+
+	/**
+	 * The BLOB readers of the domain types register themselves in it.
+	 */
+	@Bean
+	public LazyBlobInterceptor lazyBlobInterceptor() {
+		return new LazyBlobInterceptor();
 	}
 
 	@Bean
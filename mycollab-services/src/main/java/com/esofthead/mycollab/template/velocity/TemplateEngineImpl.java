@@ -0,0 +1,164 @@
+/**
+ * This file is part of mycollab-services.
+ *
+ * mycollab-services is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-services is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-services.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.template.velocity;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.esofthead.mycollab.configuration.SiteConfiguration;
+import com.esofthead.mycollab.core.MyCollabException;
+
+/**
+ * Keeps the template files parsed once, with their locale variants as
+ * separate entries. With <code>template.reload</code> enabled a template file
+ * which has changed on disk is parsed again at its next rendering.
+ * 
+ * @author MyCollab Ltd.
+ * @since 4.3.0
+ * 
+ */
+@Component
+public class TemplateEngineImpl implements TemplateEngine {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(TemplateEngineImpl.class);
+
+	private static final String ENCODING = "UTF-8";
+
+	@Autowired
+	private VelocityEngine voEngine;
+
+	private final boolean reloadTemplates;
+
+	private final ConcurrentMap<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+	public TemplateEngineImpl() {
+		this.reloadTemplates = SiteConfiguration.isTemplateReload();
+	}
+
+	TemplateEngineImpl(VelocityEngine voEngine, boolean reloadTemplates) {
+		this.voEngine = voEngine;
+		this.reloadTemplates = reloadTemplates;
+	}
+
+	@Override
+	public void evaluate(TemplateContext context, Writer writer,
+			String message, Reader reader) {
+		voEngine.evaluate(context.getVelocityContext(), writer, "log", reader);
+	}
+
+	@Override
+	public boolean hasTemplate(String templatePath) {
+		return getTemplate(templatePath).template != null;
+	}
+
+	@Override
+	public void renderTemplate(TemplateContext context, Writer writer,
+			String templatePath) {
+		Template template = getTemplate(templatePath).template;
+		if (template == null) {
+			throw new MyCollabException("Can not find template "
+					+ templatePath);
+		}
+
+		long startTime = System.currentTimeMillis();
+		template.merge(context.getVelocityContext(), writer);
+		TemplateStatistics.getCounter(templatePath).recordRender(
+				System.currentTimeMillis() - startTime);
+	}
+
+	private CachedTemplate getTemplate(String templatePath) {
+		CachedTemplate cachedTemplate = templates.get(templatePath);
+		if (cachedTemplate == null
+				|| (reloadTemplates && cachedTemplate.isModified())) {
+			// concurrent first renderings may parse the template twice, the
+			// last parsed one is kept
+			cachedTemplate = loadTemplate(templatePath);
+			templates.put(templatePath, cachedTemplate);
+		}
+		return cachedTemplate;
+	}
+
+	private CachedTemplate loadTemplate(String templatePath) {
+		long lastModified = lastModified(templatePath);
+		long startTime = System.currentTimeMillis();
+		Template template;
+		try {
+			template = voEngine.getTemplate(templatePath, ENCODING);
+		} catch (ResourceNotFoundException e) {
+			template = null;
+		}
+
+		if (template != null) {
+			long parseMillis = System.currentTimeMillis() - startTime;
+			TemplateStatistics.getCounter(templatePath)
+					.recordParse(parseMillis);
+			LOG.debug("Parsed template {} in {} ms", templatePath,
+					parseMillis);
+		}
+		return new CachedTemplate(templatePath, template, lastModified);
+	}
+
+	/**
+	 * @return modification time of a template file on disk, 0 for a template
+	 *         packaged in a jar and -1 if there is no such template
+	 */
+	private static long lastModified(String templatePath) {
+		URL url = TemplateEngineImpl.class.getClassLoader().getResource(
+				templatePath);
+		if (url == null) {
+			return -1;
+		} else if (!"file".equals(url.getProtocol())) {
+			return 0;
+		}
+
+		try {
+			return new File(url.toURI()).lastModified();
+		} catch (URISyntaxException e) {
+			return 0;
+		}
+	}
+
+	private static class CachedTemplate {
+		private final String templatePath;
+		private final Template template;
+		private final long lastModified;
+
+		CachedTemplate(String templatePath, Template template,
+				long lastModified) {
+			this.templatePath = templatePath;
+			this.template = template;
+			this.lastModified = lastModified;
+		}
+
+		boolean isModified() {
+			return lastModified(templatePath) != lastModified;
+		}
+	}
+}
@@ -22,8 +22,7 @@ import java.util.Locale
 import com.esofthead.mycollab.configuration.{SharingOptions, SiteConfiguration}
 import com.esofthead.mycollab.core.MyCollabException
 import com.esofthead.mycollab.i18n.LocalizationHelper
-import com.esofthead.mycollab.template.velocity.TemplateContext
-import org.apache.velocity.app.VelocityEngine
+import com.esofthead.mycollab.template.velocity.{TemplateContext, TemplateEngine}
 import org.springframework.beans.factory.InitializingBean
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.beans.factory.config.BeanDefinition
@@ -38,7 +37,7 @@ import org.springframework.stereotype.Component
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 class ContentGenerator extends IContentGenerator with InitializingBean {
   private var templateContext: TemplateContext = _
-  @Autowired private val templateEngine: VelocityEngine = null
+  @Autowired private val templateEngine: TemplateEngine = null
 
   @throws(classOf[Exception])
   def afterPropertiesSet() {
@@ -64,43 +63,33 @@ class ContentGenerator extends IContentGenerator with InitializingBean {
 
   override def generateBodyContent(templateFilePath: String): String = {
     val writer = new StringWriter
-    val resourceStream = classOf[LocalizationHelper].getClassLoader.getResourceAsStream(templateFilePath)
-
-    var reader: Reader = null
-    try {
-      reader = new InputStreamReader(resourceStream, "UTF-8")
-    }
-    catch {
-      case e: UnsupportedEncodingException => reader = new InputStreamReader(resourceStream)
-    }
-
-    templateEngine.evaluate(templateContext.getVelocityContext, writer, "log task", reader)
+    templateEngine.renderTemplate(templateContext, writer, templateFilePath)
     writer.toString
   }
 
   override def generateBodyContent(templateFilePath: String, currentLocale: Locale): String = this.generateBodyContent(templateFilePath, currentLocale, null)
 
   override def generateBodyContent(templateFilePath: String, currentLocale: Locale, defaultLocale: Locale): String = {
-    val writer = new StringWriter
-    var reader = LocalizationHelper.templateReader(templateFilePath, currentLocale)
-    if (reader == null) {
+    var templatePath = LocalizationHelper.templatePath(templateFilePath, currentLocale)
+    if (!templateEngine.hasTemplate(templatePath)) {
       if (defaultLocale == null) {
         throw new MyCollabException("Can not find file " + templateFilePath + " in locale " + currentLocale)
       }
-      reader = LocalizationHelper.templateReader(templateFilePath, defaultLocale)
-      if (reader == null) {
+      templatePath = LocalizationHelper.templatePath(templateFilePath, defaultLocale)
+      if (!templateEngine.hasTemplate(templatePath)) {
         throw new MyCollabException("Can not find file " + templateFilePath + " in locale " + currentLocale + " and default locale " + defaultLocale)
       }
     }
 
-    templateEngine.evaluate(templateContext.getVelocityContext, writer, "log task", reader)
+    val writer = new StringWriter
+    templateEngine.renderTemplate(templateContext, writer, templatePath)
     writer.toString
   }
 
   override def generateSubjectContent(subject: String): String = {
     val writer = new StringWriter
     val reader = new StringReader(subject)
-    templateEngine.evaluate(templateContext.getVelocityContext, writer, "log task", reader)
+    templateEngine.evaluate(templateContext, writer, "log task", reader)
     writer.toString
   }
 }
\ No newline at end of file
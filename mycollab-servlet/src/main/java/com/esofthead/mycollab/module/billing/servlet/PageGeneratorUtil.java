@@ -18,20 +18,18 @@ package com.esofthead.mycollab.module.billing.servlet;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.Reader;
 import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.velocity.app.VelocityEngine;
-
 import com.esofthead.mycollab.configuration.SharingOptions;
 import com.esofthead.mycollab.configuration.SiteConfiguration;
 import com.esofthead.mycollab.i18n.LocalizationHelper;
 import com.esofthead.mycollab.spring.ApplicationContextUtil;
 import com.esofthead.mycollab.template.velocity.TemplateContext;
+import com.esofthead.mycollab.template.velocity.TemplateEngine;
 
 /**
  * 
@@ -46,9 +44,6 @@ class PageGeneratorUtil {
 		String pageNotFoundTemplate = "templates/page/UserNotExistPage.mt";
 		TemplateContext context = new TemplateContext();
 
-		Reader reader = LocalizationHelper.templateReader(pageNotFoundTemplate,
-				SiteConfiguration.getDefaultLocale());
-
 		context.put("loginURL", loginURL);
 		context.put("username", username);
 		Map<String, String> defaultUrls = new HashMap<String, String>();
@@ -63,10 +58,11 @@ class PageGeneratorUtil {
 		context.put("defaultUrls", defaultUrls);
 
 		StringWriter writer = new StringWriter();
-		VelocityEngine templateEngine = ApplicationContextUtil
-				.getSpringBean(VelocityEngine.class);
-		templateEngine.evaluate(context.getVelocityContext(), writer,
-				"log task", reader);
+		TemplateEngine templateEngine = ApplicationContextUtil
+				.getSpringBean(TemplateEngine.class);
+		templateEngine.renderTemplate(context, writer, LocalizationHelper
+				.templatePath(pageNotFoundTemplate,
+						SiteConfiguration.getDefaultLocale()));
 
 		String html = writer.toString();
 		PrintWriter out = response.getWriter();
@@ -0,0 +1,244 @@
+/**
+ * This file is part of mycollab-servlet.
+ *
+ * mycollab-servlet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-servlet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-servlet.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.file.servlet;
+
+import com.esofthead.mycollab.configuration.MyCollabAssets;
+import com.esofthead.mycollab.core.utils.MimeTypesUtil;
+import com.esofthead.mycollab.servlet.DownloadContent;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the assets of the class path folders {@link MyCollabAssets#ASSET_FOLDERS}
+ * in memory, with their mime type, content fingerprint and gzip variant, so an
+ * asset request neither looks up the class loader nor detects the mime type.
+ * Only assets found on the class path are kept, the cache can not grow past
+ * the asset folders.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public class AssetCache {
+    /**
+     * Larger assets are streamed from the class path on every request
+     */
+    static final int MAX_CACHED_SIZE = 1024 * 1024;
+
+    private final ClassLoader classLoader;
+
+    private final ConcurrentMap<String, Asset> assets = new ConcurrentHashMap<>();
+
+    public AssetCache(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @param path path of the asset inside the asset folders, without leading
+     *             slash
+     * @return null if the asset is not found
+     * @throws IOException
+     */
+    public Asset getAsset(String path) throws IOException {
+        Asset asset = assets.get(path);
+        if (asset == null) {
+            asset = loadAsset(path);
+            if (asset != null) {
+                Asset existing = assets.putIfAbsent(path, asset);
+                if (existing != null) {
+                    asset = existing;
+                }
+            }
+        }
+        return asset;
+    }
+
+    private Asset loadAsset(String path) throws IOException {
+        for (String folder : MyCollabAssets.ASSET_FOLDERS) {
+            URL resource = classLoader.getResource(folder + path);
+            if (resource != null) {
+                return Asset.load(path, resource);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads every asset of the asset folders.
+     *
+     * @return number of assets in the cache
+     * @throws IOException
+     */
+    public int warmUp() throws IOException {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String folder : MyCollabAssets.ASSET_FOLDERS) {
+            Enumeration<URL> roots = classLoader.getResources(folder);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    try {
+                        listFiles(new File(root.toURI()), "", paths);
+                    } catch (URISyntaxException e) {
+                        throw new IOException(e);
+                    }
+                } else if ("jar".equals(root.getProtocol())) {
+                    listJarEntries((JarURLConnection) root.openConnection(), folder, paths);
+                }
+            }
+        }
+
+        for (String path : paths) {
+            getAsset(path);
+        }
+        return assets.size();
+    }
+
+    private static void listFiles(File folder, String prefix, Set<String> paths) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                listFiles(file, prefix + file.getName() + "/", paths);
+            } else {
+                paths.add(prefix + file.getName());
+            }
+        }
+    }
+
+    private static void listJarEntries(JarURLConnection connection, String folder, Set<String> paths)
+            throws IOException {
+        connection.setUseCaches(false);
+        try (JarFile jarFile = connection.getJarFile()) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().startsWith(folder)) {
+                    paths.add(entry.getName().substring(folder.length()));
+                }
+            }
+        }
+    }
+
+    public static class Asset {
+        private final URL resource;
+        private final String mimeType;
+        private final long lastModified;
+        private final byte[] content;
+        private final byte[] gzipContent;
+        private final String fingerprint;
+
+        private Asset(URL resource, String mimeType, long lastModified, byte[] content) throws IOException {
+            this.resource = resource;
+            this.mimeType = mimeType;
+            this.lastModified = lastModified;
+            this.content = content;
+            if (content != null) {
+                fingerprint = MyCollabAssets.fingerprint(content);
+                gzipContent = isCompressible(mimeType) ? gzip(content) : null;
+            } else {
+                fingerprint = null;
+                gzipContent = null;
+            }
+        }
+
+        static Asset load(String path, URL resource) throws IOException {
+            String mimeType = MimeTypesUtil.detectMimeType(path);
+            URLConnection connection = resource.openConnection();
+            connection.setUseCaches(false);
+            // the stream is opened in any case, it releases the jar file
+            // of the connection when it is closed
+            try (InputStream inputStream = connection.getInputStream()) {
+                long lastModified = connection.getLastModified();
+                long length = connection.getContentLengthLong();
+                if (length < 0 || length > MAX_CACHED_SIZE) {
+                    return new Asset(resource, mimeType, lastModified, null);
+                }
+                return new Asset(resource, mimeType, lastModified, IOUtils.toByteArray(inputStream));
+            }
+        }
+
+        private static boolean isCompressible(String mimeType) {
+            return MimeTypesUtil.isText(mimeType) || mimeType.contains("javascript") || mimeType.contains("json")
+                    || mimeType.contains("xml") || mimeType.equals("image/x-icon")
+                    || mimeType.equals("image/vnd.microsoft.icon");
+        }
+
+        /**
+         * @return the compressed bytes, null if they do not save at least a
+         * tenth of the content
+         */
+        private static byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(content);
+            }
+            return (out.size() < content.length * 9L / 10) ? out.toByteArray() : null;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        /**
+         * @return fingerprint of the content, null if the asset is too large
+         * to be cached
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public boolean isCached() {
+            return content != null;
+        }
+
+        public boolean hasGzipContent() {
+            return gzipContent != null;
+        }
+
+        /**
+         * @param gzip serve the gzip variant, if there is one
+         * @return
+         * @throws IOException
+         */
+        public DownloadContent newContent(boolean gzip) throws IOException {
+            if (content == null) {
+                return DownloadContent.ofResource(resource, mimeType);
+            } else if (gzip && gzipContent != null) {
+                return DownloadContent.ofBytes(gzipContent, mimeType, lastModified,
+                        "\"" + fingerprint + "-gzip\"");
+            }
+            return DownloadContent.ofBytes(content, mimeType, lastModified, "\"" + fingerprint + "\"");
+        }
+    }
+}
@@ -16,78 +16,100 @@
  */
 package com.esofthead.mycollab.module.file.servlet;
 
-import com.esofthead.mycollab.core.utils.MimeTypesUtil;
+import com.esofthead.mycollab.configuration.MyCollabAssets;
+import com.esofthead.mycollab.servlet.ContentDownloader;
 import com.esofthead.mycollab.servlet.GenericHttpServlet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 /**
  * @author MyCollab Ltd.
  * @since 3.0
  */
-@WebServlet(urlPatterns = "/assets/*", name = "assetHandler")
+@WebServlet(urlPatterns = "/assets/*", name = "assetHandler", loadOnStartup = 1)
 public class AssetHandler extends GenericHttpServlet {
 
     private static final Logger LOG = LoggerFactory
             .getLogger(AssetHandler.class);
 
-    @Override
-    protected void onHandleRequest(HttpServletRequest request,
-                                   HttpServletResponse response) throws ServletException, IOException {
-        String path = request.getPathInfo();
-        String resourcePath = "assets" + path;
+    /**
+     * Links carrying the fingerprint of the asset change with its content
+     */
+    private static final String FINGERPRINTED_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String REVALIDATED_CACHE_CONTROL = "public, no-cache";
 
-        InputStream inputStream = AssetHandler.class
-                .getClassLoader().getResourceAsStream(resourcePath);
+    private final AssetCache assetCache = new AssetCache(AssetHandler.class.getClassLoader());
 
-        if (inputStream == null) {
-            resourcePath = "VAADIN/themes/mycollab" + path;
-            inputStream = AssetHandler.class.getClassLoader()
-                    .getResourceAsStream(resourcePath);
+    @Override
+    public void init(ServletConfig config) throws ServletException {
+        super.init(config);
+        long startTime = System.currentTimeMillis();
+        try {
+            int count = assetCache.warmUp();
+            LOG.info("Load {} assets in {} ms", count, System.currentTimeMillis() - startTime);
+        } catch (IOException e) {
+            LOG.error("Error while loading assets, they are loaded on request", e);
         }
+    }
 
-        if (inputStream != null) {
-            LOG.debug("Get resource {} successfully ", resourcePath);
-            response.setHeader("Content-Type",
-                    MimeTypesUtil.detectMimeType(path));
-            response.setHeader("Content-Length",
-                    String.valueOf(inputStream.available()));
+    @Override
+    protected void onHandleRequest(HttpServletRequest request,
+                                   HttpServletResponse response) throws ServletException, IOException {
+        String path = request.getPathInfo();
+        AssetCache.Asset asset = (path != null && path.startsWith("/") && !path.contains("..")) ?
+                assetCache.getAsset(path.substring(1)) : null;
 
-            BufferedInputStream input = null;
-            BufferedOutputStream output = null;
+        if (asset != null) {
+            String fingerprint = asset.getFingerprint();
+            boolean fingerprinted = (fingerprint != null)
+                    && fingerprint.equals(request.getParameter(MyCollabAssets.FINGERPRINT_PARAM));
+            response.setHeader("Cache-Control", fingerprinted ? FINGERPRINTED_CACHE_CONTROL
+                    : REVALIDATED_CACHE_CONTROL);
 
-            try {
-                input = new BufferedInputStream(inputStream);
-                output = new BufferedOutputStream(response.getOutputStream());
-                byte[] buffer = new byte[8192];
-                int length;
-                while ((length = input.read(buffer)) > 0) {
-                    output.write(buffer, 0, length);
+            boolean gzip = false;
+            if (asset.hasGzipContent()) {
+                response.setHeader("Vary", "Accept-Encoding");
+                gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+                if (gzip) {
+                    response.setHeader("Content-Encoding", "gzip");
                 }
-            } finally {
-                if (output != null)
-                    try {
-                        output.close();
-                    } catch (IOException logOrIgnore) {
-                    }
-                if (input != null)
-                    try {
-                        input.close();
-                    } catch (IOException logOrIgnore) {
-                    }
             }
+            ContentDownloader.download("assetHandler", request, response, asset.newContent(gzip));
         } else {
             LOG.error("Can not find resource has path {}", path);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
         }
     }
 
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim();
+            if ("gzip".equalsIgnoreCase(name) || "*".equals(name)) {
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -16,8 +16,13 @@
  */
 package com.esofthead.mycollab.module.file.servlet;
 
+import com.esofthead.mycollab.configuration.FileStorageConfiguration;
+import com.esofthead.mycollab.configuration.StorageManager;
 import com.esofthead.mycollab.core.utils.MimeTypesUtil;
 import com.esofthead.mycollab.module.ecm.service.ResourceService;
+import com.esofthead.mycollab.module.file.service.RawContentService;
+import com.esofthead.mycollab.servlet.ContentDownloader;
+import com.esofthead.mycollab.servlet.DownloadContent;
 import com.esofthead.mycollab.servlet.GenericHttpServlet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,8 +32,7 @@ import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -47,45 +51,45 @@ public class ResourceGetHandler extends GenericHttpServlet {
 	@Autowired
 	private ResourceService resourceService;
 
+	@Autowired
+	private RawContentService rawContentService;
+
 	@Override
 	protected void onHandleRequest(HttpServletRequest request,
 			HttpServletResponse response) throws ServletException, IOException {
 		String path = request.getPathInfo();
-		InputStream inputStream = resourceService.getContentStream(path);
+		DownloadContent content = (path != null) ? getContent(path) : null;
 
-		if (inputStream != null) {
+		if (content != null) {
 			LOG.debug("Get resource {} successfully ", path);
-			response.setHeader("Content-Type",
-					MimeTypesUtil.detectMimeType(path));
-			response.setHeader("Content-Length",
-					String.valueOf(inputStream.available()));
-
-			BufferedInputStream input = null;
-			BufferedOutputStream output = null;
-
-			try {
-				input = new BufferedInputStream(inputStream);
-				output = new BufferedOutputStream(response.getOutputStream());
-				byte[] buffer = new byte[8192];
-				int length = 0;
-				while ((length = input.read(buffer)) > 0) {
-					output.write(buffer, 0, length);
-				}
-			} finally {
-				if (output != null)
-					try {
-						output.close();
-					} catch (IOException logOrIgnore) {
-					}
-				if (input != null)
-					try {
-						input.close();
-					} catch (IOException logOrIgnore) {
-					}
-			}
+			ContentDownloader.download("resourceGetHandler", request,
+					response, content);
 		} else {
 			LOG.error("Can not find resource has path {}", path);
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+		}
+	}
+
+	private DownloadContent getContent(String path) throws IOException {
+		String mimeType = MimeTypesUtil.detectMimeType(path);
+		if (StorageManager.isFileStorage()) {
+			File baseFolder = FileStorageConfiguration.baseContentFolder;
+			File file = new File(baseFolder, path);
+			// reject paths which escape the content folder
+			if (file.isFile()
+					&& file.getCanonicalPath().startsWith(
+							baseFolder.getCanonicalPath() + File.separator)) {
+				return DownloadContent.ofFile(file, mimeType);
+			}
+			return null;
 		}
 
+		InputStream inputStream = resourceService.getContentStream(path);
+		if (inputStream == null) {
+			return null;
+		}
+		long size = rawContentService.getSize(path);
+		return DownloadContent.ofStream(inputStream, mimeType,
+				(size > 0) ? size : -1, 0);
 	}
 }
@@ -19,6 +19,8 @@ package com.esofthead.mycollab.module.file.servlet;
 import com.esofthead.mycollab.configuration.FileStorageConfiguration;
 import com.esofthead.mycollab.configuration.StorageManager;
 import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.servlet.ContentDownloader;
+import com.esofthead.mycollab.servlet.DownloadContent;
 import com.esofthead.mycollab.servlet.GenericHttpServlet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +29,9 @@ import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
 
 /**
  * 
@@ -75,42 +79,23 @@ public class UserAvatarHttpServletRequestHandler extends
 		FileStorageConfiguration fileConfiguration = (FileStorageConfiguration) StorageManager
 				.getConfiguration();
 		avatarFile = fileConfiguration.getAvatarFile(username, size);
-		InputStream avatarInputStream;
+		DownloadContent content;
 		if (avatarFile != null) {
-			avatarInputStream = new FileInputStream(avatarFile);
+			content = DownloadContent.ofFile(avatarFile, "image/png");
 		} else {
 			String userAvatarPath = "assets/icon/default_user_avatar_" + size
 					+ ".png";
-			avatarInputStream = UserAvatarHttpServletRequestHandler.class
-					.getClassLoader().getResourceAsStream(userAvatarPath);
-		}
-
-		response.setHeader("Content-Type", "image/png");
-		response.setHeader("Content-Length",
-				String.valueOf(avatarInputStream.available()));
-
-		BufferedInputStream input = null;
-		BufferedOutputStream output = null;
-
-		try {
-			input = new BufferedInputStream(avatarInputStream);
-			output = new BufferedOutputStream(response.getOutputStream());
-			byte[] buffer = new byte[8192];
-			int length;
-			while ((length = input.read(buffer)) > 0) {
-				output.write(buffer, 0, length);
+			URL resource = UserAvatarHttpServletRequestHandler.class
+					.getClassLoader().getResource(userAvatarPath);
+			if (resource == null) {
+				LOG.error("Can not find default avatar {}", userAvatarPath);
+				response.sendError(HttpServletResponse.SC_NOT_FOUND);
+				return;
 			}
-		} finally {
-			if (output != null)
-				try {
-					output.close();
-				} catch (IOException logOrIgnore) {
-				}
-			if (input != null)
-				try {
-					input.close();
-				} catch (IOException logOrIgnore) {
-				}
+			content = DownloadContent.ofResource(resource, "image/png");
 		}
+
+		ContentDownloader.download("userAvatarFSServlet", request, response,
+				content);
 	}
 }
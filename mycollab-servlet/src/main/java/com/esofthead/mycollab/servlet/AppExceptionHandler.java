@@ -30,7 +30,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.Reader;
 import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
@@ -86,9 +85,6 @@ public class AppExceptionHandler extends GenericHttpServlet {
 		String pageNotFoundTemplate = "templates/page/404Page.mt";
 		TemplateContext context = new TemplateContext();
 
-		Reader reader = LocalizationHelper.templateReader(pageNotFoundTemplate,
-				response.getLocale());
-
 		Map<String, String> defaultUrls = new HashMap<String, String>();
 
 		defaultUrls.put("cdn_url", SiteConfiguration.getCdnUrl());
@@ -96,7 +92,9 @@ public class AppExceptionHandler extends GenericHttpServlet {
 		context.put("defaultUrls", defaultUrls);
 
 		StringWriter writer = new StringWriter();
-		templateEngine.evaluate(context, writer, "log task", reader);
+		templateEngine.renderTemplate(context, writer,
+				LocalizationHelper.templatePath(pageNotFoundTemplate,
+						response.getLocale()));
 
 		String html = writer.toString();
 		PrintWriter out = response.getWriter();
@@ -108,8 +106,6 @@ public class AppExceptionHandler extends GenericHttpServlet {
 		String errorPage = "templates/page/500Page.mt";
 		TemplateContext context = new TemplateContext();
 
-		Reader reader = LocalizationHelper.templateReader(errorPage,
-				response.getLocale());
 		Map<String, String> defaultUrls = new HashMap<String, String>();
 
 		defaultUrls.put("cdn_url", SiteConfiguration.getCdnUrl());
@@ -117,7 +113,9 @@ public class AppExceptionHandler extends GenericHttpServlet {
 		context.put("defaultUrls", defaultUrls);
 
 		StringWriter writer = new StringWriter();
-		templateEngine.evaluate(context, writer, "log task", reader);
+		templateEngine.renderTemplate(context, writer,
+				LocalizationHelper.templatePath(errorPage,
+						response.getLocale()));
 
 		String html = writer.toString();
 		PrintWriter out = response.getWriter();
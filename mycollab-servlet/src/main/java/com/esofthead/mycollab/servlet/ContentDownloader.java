@@ -0,0 +1,208 @@
+/**
+ * This file is part of mycollab-servlet.
+ *
+ * mycollab-servlet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-servlet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-servlet.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Writes {@link DownloadContent} to the servlet response. File contents are
+ * transferred by the file channel, validators (<code>ETag</code>,
+ * <code>Last-Modified</code>) are derived from the content metadata so
+ * conditional requests are answered with 304, and a single byte range is
+ * answered with 206 so interrupted downloads can be resumed.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public final class ContentDownloader {
+
+    private ContentDownloader() {
+    }
+
+    /**
+     * Writes the content to the response and closes it.
+     *
+     * @param name     name of the counters in {@link DownloadStatistics}
+     * @param request
+     * @param response
+     * @param content
+     * @throws IOException
+     */
+    public static void download(String name, HttpServletRequest request, HttpServletResponse response,
+                                DownloadContent content) throws IOException {
+        long startTime = System.nanoTime();
+        int status = HttpServletResponse.SC_OK;
+        long bytes = 0;
+        try {
+            String eTag = content.getETag();
+            long lastModified = content.getLastModified();
+            long length = content.getLength();
+
+            if (eTag != null) {
+                response.setHeader("ETag", eTag);
+            }
+            if (lastModified > 0) {
+                response.setDateHeader("Last-Modified", lastModified);
+            }
+            response.setHeader("Accept-Ranges", (length >= 0) ? "bytes" : "none");
+
+            if (isNotModified(request, eTag, lastModified)) {
+                status = HttpServletResponse.SC_NOT_MODIFIED;
+                response.setStatus(status);
+                return;
+            }
+
+            long offset = 0;
+            long count = length;
+            ByteRange range = (length >= 0 && isRangeValid(request, eTag, lastModified)) ?
+                    ByteRange.parse(request.getHeader("Range"), length) : null;
+            if (range == ByteRange.UNSATISFIABLE) {
+                status = HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+                response.setStatus(status);
+                response.setHeader("Content-Range", "bytes */" + length);
+                return;
+            } else if (range != null) {
+                status = HttpServletResponse.SC_PARTIAL_CONTENT;
+                response.setStatus(status);
+                response.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + length);
+                offset = range.start;
+                count = range.end - range.start + 1;
+            }
+
+            response.setContentType(content.getMimeType());
+            if (count >= 0) {
+                response.setContentLengthLong(count);
+            }
+
+            if (!"HEAD".equals(request.getMethod())) {
+                content.writeTo(response.getOutputStream(), offset, count);
+                bytes = count;
+            }
+        } finally {
+            content.close();
+            DownloadStatistics.getCounter(name).record(status, Math.max(bytes, 0),
+                    (System.nanoTime() - startTime) / 1000000);
+        }
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when the request carries entity tags
+            return eTag != null && matchesAny(ifNoneMatch, eTag);
+        }
+
+        long ifModifiedSince = getDateHeader(request, "If-Modified-Since");
+        return lastModified > 0 && ifModifiedSince >= 0 && ifModifiedSince >= truncateToSeconds(lastModified);
+    }
+
+    /**
+     * @return true if the content has not changed since the validator of the
+     * <code>If-Range</code> header, or if the header is absent
+     */
+    private static boolean isRangeValid(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        } else if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+
+        long date = getDateHeader(request, "If-Range");
+        return lastModified > 0 && date == truncateToSeconds(lastModified);
+    }
+
+    private static boolean matchesAny(String header, String eTag) {
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static long truncateToSeconds(long time) {
+        return time / 1000 * 1000;
+    }
+
+    private static class ByteRange {
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        final long start;
+        final long end;
+
+        ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @param header value of the <code>Range</code> header
+         * @param length size of the content
+         * @return null if the whole content should be sent, because the header
+         * is absent, invalid or asks for several ranges
+         */
+        static ByteRange parse(String header, long length) {
+            if (header == null || !header.startsWith("bytes=")) {
+                return null;
+            }
+
+            String spec = header.substring("bytes=".length()).trim();
+            int dashIndex = spec.indexOf('-');
+            if (spec.indexOf(',') >= 0 || dashIndex < 0) {
+                return null;
+            }
+
+            String first = spec.substring(0, dashIndex).trim();
+            String last = spec.substring(dashIndex + 1).trim();
+            try {
+                if (first.isEmpty()) {
+                    long suffixLength = Long.parseLong(last);
+                    if (suffixLength <= 0 || length == 0) {
+                        return UNSATISFIABLE;
+                    }
+                    return new ByteRange(Math.max(0, length - suffixLength), length - 1);
+                }
+
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return null;
+                } else if (start >= length) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(start, Math.min(end, length - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
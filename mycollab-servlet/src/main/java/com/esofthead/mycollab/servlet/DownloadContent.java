@@ -0,0 +1,240 @@
+/**
+ * This file is part of mycollab-servlet.
+ *
+ * mycollab-servlet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-servlet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-servlet.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.servlet;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Content served by {@link ContentDownloader}, with the metadata needed to
+ * answer conditional and range requests.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public abstract class DownloadContent implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String mimeType;
+    private final long length;
+    private final long lastModified;
+
+    protected DownloadContent(String mimeType, long length, long lastModified) {
+        this.mimeType = mimeType;
+        this.length = length;
+        this.lastModified = lastModified;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @return size of the content in bytes, -1 if it is unknown
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return last modified time in milliseconds, 0 if it is unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return entity tag built from the size and last modified time of the
+     * content, null if one of them is unknown
+     */
+    public String getETag() {
+        if (length < 0 || lastModified <= 0) {
+            return null;
+        }
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Writes <code>count</code> bytes of the content starting at
+     * <code>offset</code>, or the rest of the content if <code>count</code>
+     * is -1. The output stream is left open.
+     *
+     * @param out
+     * @param offset
+     * @param count
+     * @throws IOException
+     */
+    public abstract void writeTo(OutputStream out, long offset, long count) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    public static DownloadContent ofFile(File file, String mimeType) {
+        return new FileContent(file, mimeType);
+    }
+
+    /**
+     * @param url      class path or file resource
+     * @param mimeType
+     * @return
+     * @throws IOException
+     */
+    public static DownloadContent ofResource(URL url, String mimeType) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return ofFile(new File(url.toURI()), mimeType);
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        URLConnection connection = url.openConnection();
+        // jar connections share the opened archive by default, it is
+        // kept open as long as the class loader
+        connection.setUseCaches(false);
+        return new StreamContent(connection.getInputStream(), mimeType,
+                connection.getContentLengthLong(), connection.getLastModified());
+    }
+
+    /**
+     * @param inputStream  stream which is closed with the content
+     * @param mimeType
+     * @param length       size of the stream, -1 if it is unknown
+     * @param lastModified last modified time, 0 if it is unknown
+     * @return
+     */
+    public static DownloadContent ofStream(InputStream inputStream, String mimeType, long length,
+                                           long lastModified) {
+        return new StreamContent(inputStream, mimeType, length, lastModified);
+    }
+
+    /**
+     * @param content      bytes of the content, they are not copied
+     * @param mimeType
+     * @param lastModified last modified time, 0 if it is unknown
+     * @param eTag         quoted entity tag of the content
+     * @return
+     */
+    public static DownloadContent ofBytes(byte[] content, String mimeType, long lastModified, String eTag) {
+        return new BytesContent(content, mimeType, lastModified, eTag);
+    }
+
+    private static class BytesContent extends DownloadContent {
+        private final byte[] content;
+        private final String eTag;
+
+        BytesContent(byte[] content, String mimeType, long lastModified, String eTag) {
+            super(mimeType, content.length, lastModified);
+            this.content = content;
+            this.eTag = eTag;
+        }
+
+        @Override
+        public String getETag() {
+            return eTag;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, long offset, long count) throws IOException {
+            out.write(content, (int) offset, (count < 0) ? content.length - (int) offset : (int) count);
+        }
+    }
+
+    private static class FileContent extends DownloadContent {
+        private final File file;
+
+        FileContent(File file, String mimeType) {
+            super(mimeType, file.length(), file.lastModified());
+            this.file = file;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, long offset, long count) throws IOException {
+            WritableByteChannel target = (out instanceof WritableByteChannel) ? (WritableByteChannel) out
+                    : Channels.newChannel(out);
+            try (FileInputStream input = new FileInputStream(file);
+                 FileChannel channel = input.getChannel()) {
+                long position = offset;
+                long remaining = count;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(position, remaining, target);
+                    if (transferred <= 0) {
+                        throw new EOFException("File " + file.getPath() + " is shorter than " + (offset + count)
+                                + " bytes");
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+        }
+    }
+
+    private static class StreamContent extends DownloadContent {
+        private final InputStream inputStream;
+
+        StreamContent(InputStream inputStream, String mimeType, long length, long lastModified) {
+            super(mimeType, length, lastModified);
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, long offset, long count) throws IOException {
+            long skipped = 0;
+            while (skipped < offset) {
+                long n = inputStream.skip(offset - skipped);
+                if (n <= 0) {
+                    throw new EOFException("Stream is shorter than " + offset + " bytes");
+                }
+                skipped += n;
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = count;
+            while (remaining != 0) {
+                int toRead = (remaining < 0 || remaining > BUFFER_SIZE) ? BUFFER_SIZE : (int) remaining;
+                int read = inputStream.read(buffer, 0, toRead);
+                if (read < 0) {
+                    if (remaining > 0) {
+                        throw new EOFException("Stream is shorter than " + (offset + count) + " bytes");
+                    }
+                    return;
+                }
+                out.write(buffer, 0, read);
+                if (remaining > 0) {
+                    remaining -= read;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+    }
+}
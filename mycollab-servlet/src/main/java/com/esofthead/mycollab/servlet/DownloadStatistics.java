@@ -0,0 +1,118 @@
+/**
+ * This file is part of mycollab-servlet.
+ *
+ * mycollab-servlet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-servlet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-servlet.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.servlet;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request, byte and latency counters of the {@link ContentDownloader}, grouped
+ * by the name of the servlet serving the content.
+ *
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ */
+public class DownloadStatistics {
+    private static final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public static Counter getCounter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = new Counter();
+            Counter existing = counters.putIfAbsent(name, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * @return snapshot of all counters, sorted by servlet name
+     */
+    public static Map<String, Counter> getStatistics() {
+        return new TreeMap<>(counters);
+    }
+
+    public static void reset() {
+        counters.clear();
+    }
+
+    public static class Counter {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        private final AtomicLong partialContents = new AtomicLong();
+        private final AtomicLong bytesServed = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        void record(int status, long bytes, long millis) {
+            requests.incrementAndGet();
+            if (status == 304) {
+                notModified.incrementAndGet();
+            } else if (status == 206) {
+                partialContents.incrementAndGet();
+            }
+            bytesServed.addAndGet(bytes);
+            totalMillis.addAndGet(millis);
+
+            long max = maxMillis.get();
+            while (millis > max && !maxMillis.compareAndSet(max, millis)) {
+                max = maxMillis.get();
+            }
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getNotModified() {
+            return notModified.get();
+        }
+
+        public long getPartialContents() {
+            return partialContents.get();
+        }
+
+        public long getBytesServed() {
+            return bytesServed.get();
+        }
+
+        public long getTotalMillis() {
+            return totalMillis.get();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        public double getAverageMillis() {
+            long total = requests.get();
+            return (total == 0) ? 0 : (double) totalMillis.get() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, notModified=%d, partial=%d, bytes=%d, avgMillis=%.2f, maxMillis=%d",
+                    getRequests(), getNotModified(), getPartialContents(), getBytesServed(),
+                    getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -16,42 +16,32 @@
  */
 package com.esofthead.mycollab.servlet;
 
+import com.esofthead.mycollab.common.service.TooltipService;
 import com.esofthead.mycollab.configuration.LocaleHelper;
+import com.esofthead.mycollab.core.utils.JsonDeSerializer;
 import com.esofthead.mycollab.core.utils.TimezoneMapper;
-import com.esofthead.mycollab.module.crm.CrmTooltipGenerator;
-import com.esofthead.mycollab.module.crm.CrmTypeConstants;
-import com.esofthead.mycollab.module.crm.domain.*;
-import com.esofthead.mycollab.module.crm.service.*;
-import com.esofthead.mycollab.module.page.domain.Page;
-import com.esofthead.mycollab.module.project.ProjectTooltipGenerator;
-import com.esofthead.mycollab.module.project.ProjectTypeConstants;
-import com.esofthead.mycollab.module.project.domain.*;
-import com.esofthead.mycollab.module.project.domain.SimpleTask;
-import com.esofthead.mycollab.module.project.service.*;
-import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
-import com.esofthead.mycollab.module.tracker.domain.SimpleComponent;
-import com.esofthead.mycollab.module.tracker.domain.SimpleVersion;
-import com.esofthead.mycollab.module.tracker.service.BugService;
-import com.esofthead.mycollab.module.tracker.service.ComponentService;
-import com.esofthead.mycollab.module.tracker.service.VersionService;
-import com.esofthead.mycollab.module.user.CommonTooltipGenerator;
-import com.esofthead.mycollab.module.user.domain.SimpleUser;
-import com.esofthead.mycollab.module.user.service.UserService;
-import com.esofthead.mycollab.spring.ApplicationContextUtil;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 
 /**
- * 
+ * Answers the tooltip of an item, or with path <code>/batch</code> the
+ * tooltips of the items listed by the <code>items</code> parameters (formatted
+ * as <code>type:typeId</code>) as a JSON object keyed by item. Responses carry
+ * an ETag so the browser revalidates a tooltip it has already loaded.
+ *
  * @author MyCollab Ltd.
  * @since 1.0
  * 
@@ -63,192 +53,75 @@ public class TooltipGeneratorServletRequestHandler extends
 	private static final Logger LOG = LoggerFactory
 			.getLogger(TooltipGeneratorServletRequestHandler.class);
 
+	private static final int MAX_BATCH_ITEMS = 100;
+
+	@Autowired
+	private TooltipService tooltipService;
+
 	@Override
 	protected void onHandleRequest(HttpServletRequest request,
 			HttpServletResponse response) throws ServletException, IOException {
-		try {
-			String type = request.getParameter("type");
-			String typeId = request.getParameter("typeId");
-			Integer sAccountId = Integer.parseInt(request
-					.getParameter("sAccountId"));
-			String siteURL = request.getParameter("siteURL");
-			String timeZoneId = request.getParameter("timeZone");
-			TimeZone timeZone = TimezoneMapper.getTimezone(timeZoneId);
-			String username = request.getParameter("username");
-			String localeParam = request.getParameter("locale");
-			Locale locale = LocaleHelper.toLocale(localeParam);
+		Integer sAccountId = Integer.parseInt(request
+				.getParameter("sAccountId"));
+		String siteURL = request.getParameter("siteURL");
+		TimeZone timeZone = TimezoneMapper.getTimezone(request
+				.getParameter("timeZone"));
+		String username = request.getParameter("username");
+		Locale locale = LocaleHelper.toLocale(request.getParameter("locale"));
 
-			String html = "";
-			if (ProjectTypeConstants.PROJECT.equals(type)) {
-				ProjectService service = ApplicationContextUtil
-						.getSpringBean(ProjectService.class);
-				SimpleProject project = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipProject(locale,
-						project, siteURL, timeZone);
-			} else if (ProjectTypeConstants.MESSAGE.equals(type)) {
-				MessageService service = ApplicationContextUtil
-						.getSpringBean(MessageService.class);
-				SimpleMessage message = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipMessage(locale,
-						message, siteURL, timeZone);
-			} else if (ProjectTypeConstants.MILESTONE.equals(type)) {
-				MilestoneService service = ApplicationContextUtil
-						.getSpringBean(MilestoneService.class);
-				SimpleMilestone mileStone = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipMilestone(locale,
-						mileStone, siteURL, timeZone);
-			} else if (ProjectTypeConstants.TASK_LIST.equals(type)) {
-				ProjectTaskListService service = ApplicationContextUtil
-						.getSpringBean(ProjectTaskListService.class);
-				SimpleTaskList taskList = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipTaskList(locale,
-						taskList, siteURL, timeZone);
-			} else if (ProjectTypeConstants.BUG.equals(type)) {
-				BugService service = ApplicationContextUtil
-						.getSpringBean(BugService.class);
-				SimpleBug bug = service.findById(Integer.parseInt(typeId),
-						sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipBug(locale, bug,
-						siteURL, timeZone);
-			} else if (ProjectTypeConstants.TASK.equals(type)) {
-				ProjectTaskService service = ApplicationContextUtil
-						.getSpringBean(ProjectTaskService.class);
-				SimpleTask task = service.findById(Integer.parseInt(typeId),
-						sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipTask(locale,
-						task, siteURL, timeZone);
-			} else if (ProjectTypeConstants.RISK.equals(type)) {
-				RiskService service = ApplicationContextUtil
-						.getSpringBean(RiskService.class);
-				SimpleRisk risk = service.findById(Integer.parseInt(typeId),
-						sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipRisk(locale,
-						risk, siteURL, timeZone);
-			} else if (ProjectTypeConstants.PROBLEM.equals(type)) {
-				ProblemService service = ApplicationContextUtil
-						.getSpringBean(ProblemService.class);
-				SimpleProblem problem = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipProblem(locale,
-						problem, siteURL, timeZone);
-			} else if (ProjectTypeConstants.BUG_VERSION.equals(type)) {
-				VersionService service = ApplicationContextUtil
-						.getSpringBean(VersionService.class);
-				SimpleVersion version = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipVersion(locale,
-						version, siteURL, timeZone);
-			} else if (ProjectTypeConstants.BUG_COMPONENT.equals(type)) {
-				ComponentService service = ApplicationContextUtil
-						.getSpringBean(ComponentService.class);
-				SimpleComponent component = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipComponent(locale,
-						component, siteURL, timeZone);
-			} else if (ProjectTypeConstants.PAGE.equals(type)) {
-				ProjectPageService pageService = ApplicationContextUtil
-						.getSpringBean(ProjectPageService.class);
-				Page page = pageService.getPage(typeId, username);
-				html = ProjectTooltipGenerator.generateToolTipPage(locale,
-						page, siteURL, timeZone);
-			} else if (ProjectTypeConstants.STANDUP.equals(type)) {
-				StandupReportService service = ApplicationContextUtil
-						.getSpringBean(StandupReportService.class);
-				SimpleStandupReport standup = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = ProjectTooltipGenerator.generateToolTipStandUp(locale,
-						standup, siteURL, timeZone);
-			} else if (CrmTypeConstants.ACCOUNT.equals(type)) {
-				AccountService service = ApplicationContextUtil
-						.getSpringBean(AccountService.class);
-				SimpleAccount account = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = CrmTooltipGenerator.generateToolTipAccount(locale,
-						account, siteURL);
-			} else if (CrmTypeConstants.CONTACT.equals(type)) {
-				ContactService service = ApplicationContextUtil
-						.getSpringBean(ContactService.class);
-				SimpleContact contact = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = CrmTooltipGenerator.generateToolTipContact(locale,
-						contact, siteURL, timeZone);
-			} else if (CrmTypeConstants.CAMPAIGN.equals(type)) {
-				CampaignService service = ApplicationContextUtil
-						.getSpringBean(CampaignService.class);
-				SimpleCampaign account = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = CrmTooltipGenerator.generateTooltipCampaign(locale,
-						account, siteURL, timeZone);
-			} else if (CrmTypeConstants.LEAD.equals(type)) {
-				LeadService service = ApplicationContextUtil
-						.getSpringBean(LeadService.class);
-				SimpleLead lead = service.findById(Integer.parseInt(typeId),
-						sAccountId);
-				html = CrmTooltipGenerator.generateTooltipLead(locale, lead,
-						siteURL, timeZone);
-			} else if (CrmTypeConstants.OPPORTUNITY.equals(type)) {
-				OpportunityService service = ApplicationContextUtil
-						.getSpringBean(OpportunityService.class);
-				SimpleOpportunity opportunity = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = CrmTooltipGenerator.generateTooltipOpportunity(locale,
-						opportunity, siteURL, timeZone);
-			} else if (CrmTypeConstants.CASE.equals(type)) {
-				CaseService service = ApplicationContextUtil
-						.getSpringBean(CaseService.class);
-				SimpleCase cases = service.findById(Integer.parseInt(typeId),
-						sAccountId);
-				html = CrmTooltipGenerator.generateTooltipCases(locale, cases,
-						siteURL, timeZone);
-			} else if (CrmTypeConstants.MEETING.equals(type)) {
-				MeetingService service = ApplicationContextUtil
-						.getSpringBean(MeetingService.class);
-				SimpleMeeting meeting = service.findById(
-						Integer.parseInt(typeId), sAccountId);
-				html = CrmTooltipGenerator.generateToolTipMeeting(locale,
-						meeting, siteURL, timeZone);
-			} else if (CrmTypeConstants.CALL.equals(type)) {
-				CallService service = ApplicationContextUtil
-						.getSpringBean(CallService.class);
-				SimpleCall call = service.findById(Integer.parseInt(typeId),
-						sAccountId);
-				html = CrmTooltipGenerator.generateToolTipCall(locale, call,
-						siteURL, timeZone);
-			} else if ("CRMTask".equals(type)) {
-				TaskService service = ApplicationContextUtil
-						.getSpringBean(TaskService.class);
-				com.esofthead.mycollab.module.crm.domain.SimpleTask crmTask = service
-						.findById(Integer.parseInt(typeId), sAccountId);
-				html = CrmTooltipGenerator.generateToolTipCrmTask(locale,
-						crmTask, siteURL, timeZone);
-			} else if ("User".equals(type)) {
-				UserService service = ApplicationContextUtil
-						.getSpringBean(UserService.class);
-				SimpleUser user = service.findUserByUserNameInAccount(username,
-						sAccountId);
-				html = CommonTooltipGenerator.generateTooltipUser(locale, user,
-						siteURL, timeZone);
-			} else {
-				LOG.error("Can not generate tooltip for item has type " + type);
+		if ("/batch".equals(request.getPathInfo())) {
+			String[] items = request.getParameterValues("items");
+			Map<String, String> tooltips = new LinkedHashMap<>();
+			if (items != null) {
+				for (int i = 0; i < items.length && i < MAX_BATCH_ITEMS; i++) {
+					int separatorIndex = items[i].indexOf(':');
+					if (separatorIndex > 0) {
+						tooltips.put(items[i], getTooltip(
+								items[i].substring(0, separatorIndex),
+								items[i].substring(separatorIndex + 1),
+								sAccountId, username, siteURL, timeZone, locale));
+					}
+				}
 			}
+			writeResponse(request, response, JsonDeSerializer.toJson(tooltips),
+					"application/json;charset=UTF-8");
+		} else {
+			String type = request.getParameter("type");
+			String typeId = TooltipService.USER.equals(type) ? username
+					: request.getParameter("typeId");
+			writeResponse(request, response, getTooltip(type, typeId,
+					sAccountId, username, siteURL, timeZone, locale),
+					"text/html;charset=UTF-8");
+		}
+	}
 
-			response.setCharacterEncoding("UTF-8");
-			response.setContentType("text/html;charset=UTF-8");
-			PrintWriter out = response.getWriter();
-			out.println(html);
-			return;
+	/**
+	 * 
+	 * @return html of the tooltip, <code>"null"</code> if it can not be
+	 *         generated
+	 */
+	private String getTooltip(String type, String typeId, Integer sAccountId,
+			String username, String siteURL, TimeZone timeZone, Locale locale) {
+		try {
+			String html = tooltipService.getTooltip(type, typeId, sAccountId,
+					username, siteURL, timeZone, locale);
+			return (html != null) ? html : "null";
 		} catch (Exception e) {
 			LOG.error(
 					"Error while get html tooltip attachForm TooltipGeneratorServletRequestHandler",
 					e);
-			String html = null;
-			PrintWriter out = response.getWriter();
-			out.println(html);
-			return;
+			return "null";
 		}
 	}
+
+	private static void writeResponse(HttpServletRequest request,
+			HttpServletResponse response, String body, String contentType)
+			throws IOException {
+		String eTag = "\""
+				+ Hashing.murmur3_128().hashString(body, Charsets.UTF_8) + "\"";
+		response.setHeader("Cache-Control", "private, no-cache");
+		ContentDownloader.download("tooltipGeneratorServlet", request,
+				response, DownloadContent.ofBytes(body.getBytes(Charsets.UTF_8),
+						contentType, 0, eTag));
+	}
 }
@@ -23,7 +23,6 @@ import com.esofthead.mycollab.template.velocity.TemplateContext;
 import com.esofthead.mycollab.template.velocity.TemplateEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.io.Reader;
 import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Locale;
@@ -45,8 +44,6 @@ public abstract class VelocityWebServletRequestHandler extends
 
 	public String generatePageByTemplate(Locale locale, String templatePath,
 			Map<String, Object> params) {
-		Reader reader = LocalizationHelper.templateReader(templatePath, locale);
-
 		if (params != null) {
 			for (String key : params.keySet()) {
 				pageContext.put(key, params.get(key));
@@ -69,7 +66,8 @@ public abstract class VelocityWebServletRequestHandler extends
 		pageContext.put("defaultUrls", defaultUrls);
 
 		StringWriter writer = new StringWriter();
-		templateEngine.evaluate(pageContext, writer, "log task", reader);
+		templateEngine.renderTemplate(pageContext, writer,
+				LocalizationHelper.templatePath(templatePath, locale));
 		return writer.toString();
 	}
 }
@@ -0,0 +1,94 @@
+/**
+ * This file is part of mycollab-servlet.
+ *
+ * mycollab-servlet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-servlet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-servlet.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.file.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.esofthead.mycollab.configuration.MyCollabAssets;
+
+public class AssetCacheTest {
+
+	private File baseFolder;
+
+	private AssetCache assetCache;
+
+	@Before
+	public void setUp() throws IOException {
+		baseFolder = new File(FileUtils.getTempDirectory(), "assetCache"
+				+ System.nanoTime());
+		FileUtils.writeStringToFile(new File(baseFolder, "assets/css/app.css"),
+				StringUtils.repeat(".v-button { color: red; }\n", 100),
+				StandardCharsets.UTF_8);
+		FileUtils.writeByteArrayToFile(new File(baseFolder,
+				"assets/icons/logo.png"), new byte[] { 1, 2, 3 });
+		FileUtils.writeByteArrayToFile(new File(baseFolder,
+				"VAADIN/themes/mycollab/icons/logo.png"), new byte[] { 4, 5 });
+		FileUtils.writeByteArrayToFile(new File(baseFolder,
+				"VAADIN/themes/mycollab/img/bg.png"), new byte[] { 6 });
+
+		assetCache = new AssetCache(new URLClassLoader(new URL[] { baseFolder
+				.toURI().toURL() }, null));
+	}
+
+	@After
+	public void tearDown() {
+		FileUtils.deleteQuietly(baseFolder);
+	}
+
+	@Test
+	public void testWarmUp() throws IOException {
+		assertThat(assetCache.warmUp()).isEqualTo(3);
+	}
+
+	@Test
+	public void testGetAsset() throws IOException {
+		AssetCache.Asset css = assetCache.getAsset("css/app.css");
+		assertThat(css.getMimeType()).isEqualTo("text/css");
+		assertThat(css.isCached()).isTrue();
+		assertThat(css.hasGzipContent()).isTrue();
+		assertThat(css.getFingerprint()).isEqualTo(
+				MyCollabAssets.fingerprint(FileUtils.readFileToByteArray(new File(
+						baseFolder, "assets/css/app.css"))));
+
+		assertThat(assetCache.getAsset("icons/logo.png").getFingerprint())
+				.isEqualTo(MyCollabAssets.fingerprint(new byte[] { 1, 2, 3 }));
+		assertThat(assetCache.getAsset("img/bg.png").hasGzipContent())
+				.isFalse();
+		assertThat(assetCache.getAsset("img/missing.png")).isNull();
+	}
+
+	@Test
+	public void testAcceptsGzip() {
+		assertThat(AssetHandler.acceptsGzip("gzip, deflate")).isTrue();
+		assertThat(AssetHandler.acceptsGzip("deflate, gzip;q=0.5")).isTrue();
+		assertThat(AssetHandler.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(AssetHandler.acceptsGzip("identity")).isFalse();
+		assertThat(AssetHandler.acceptsGzip(null)).isFalse();
+	}
+}
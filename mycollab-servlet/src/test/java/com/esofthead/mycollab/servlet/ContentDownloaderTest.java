@@ -0,0 +1,151 @@
+/**
+ * This file is part of mycollab-servlet.
+ *
+ * mycollab-servlet is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-servlet is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-servlet.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.esofthead.mycollab.module.servlet.GenericServletTest;
+
+public class ContentDownloaderTest extends GenericServletTest {
+
+	private File file;
+
+	private ByteArrayOutputStream body;
+
+	@Before
+	public void setUpContent() throws IOException {
+		file = File.createTempFile("download", ".txt");
+		FileUtils.writeStringToFile(file, "0123456789", StandardCharsets.UTF_8);
+
+		body = new ByteArrayOutputStream();
+		when(request.getMethod()).thenReturn("GET");
+		when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				body.write(b);
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+		});
+	}
+
+	@After
+	public void tearDownContent() {
+		FileUtils.deleteQuietly(file);
+	}
+
+	private void download() throws IOException {
+		ContentDownloader.download("test", request, response,
+				DownloadContent.ofFile(file, "text/plain"));
+	}
+
+	@Test
+	public void testDownloadWholeFile() throws IOException {
+		download();
+
+		assertThat(body.toString("UTF-8")).isEqualTo("0123456789");
+		verify(response).setContentLengthLong(10);
+		verify(response).setHeader("ETag",
+				DownloadContent.ofFile(file, "text/plain").getETag());
+		verify(response, never()).setStatus(anyInt());
+	}
+
+	@Test
+	public void testDownloadRange() throws IOException {
+		when(request.getHeader("Range")).thenReturn("bytes=2-5");
+		download();
+
+		assertThat(body.toString("UTF-8")).isEqualTo("2345");
+		verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+		verify(response).setHeader("Content-Range", "bytes 2-5/10");
+		verify(response).setContentLengthLong(4);
+	}
+
+	@Test
+	public void testDownloadSuffixRange() throws IOException {
+		when(request.getHeader("Range")).thenReturn("bytes=-3");
+		download();
+
+		assertThat(body.toString("UTF-8")).isEqualTo("789");
+		verify(response).setHeader("Content-Range", "bytes 7-9/10");
+	}
+
+	@Test
+	public void testDownloadUnsatisfiableRange() throws IOException {
+		when(request.getHeader("Range")).thenReturn("bytes=10-");
+		download();
+
+		assertThat(body.size()).isEqualTo(0);
+		verify(response).setStatus(
+				HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+		verify(response).setHeader("Content-Range", "bytes */10");
+	}
+
+	@Test
+	public void testDownloadRangeOfChangedFile() throws IOException {
+		when(request.getHeader("Range")).thenReturn("bytes=2-5");
+		when(request.getHeader("If-Range")).thenReturn("\"outdated\"");
+		download();
+
+		assertThat(body.toString("UTF-8")).isEqualTo("0123456789");
+		verify(response, never()).setStatus(anyInt());
+	}
+
+	@Test
+	public void testNotModified() throws IOException {
+		String eTag = DownloadContent.ofFile(file, "text/plain").getETag();
+		when(request.getHeader("If-None-Match")).thenReturn(eTag);
+		download();
+
+		assertThat(body.size()).isEqualTo(0);
+		verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+	}
+
+	@Test
+	public void testHeadRequest() throws IOException {
+		when(request.getMethod()).thenReturn("HEAD");
+		download();
+
+		assertThat(body.size()).isEqualTo(0);
+		verify(response).setContentLengthLong(10);
+	}
+}
@@ -455,7 +455,7 @@ public class AppContext implements Serializable {
      */
     public static String formatDateTime(Date date) {
         return DateTimeUtils.formatDate(date, AppContext.getUserDateFormat().getDateTimeFormat(),
-                (TimeZone) MyCollabSession.getVariable(USER_TIMEZONE));
+                (TimeZone) MyCollabSession.getVariable(USER_TIMEZONE), getUserLocale());
     }
 
     /**
@@ -464,7 +464,7 @@ public class AppContext implements Serializable {
      */
     public static String formatDate(Date date) {
         return DateTimeUtils.formatDate(date, AppContext.getUserDateFormat().getDateFormat(),
-                (TimeZone) MyCollabSession.getVariable(USER_TIMEZONE));
+                (TimeZone) MyCollabSession.getVariable(USER_TIMEZONE), getUserLocale());
     }
 
     /**
@@ -481,7 +481,8 @@ public class AppContext implements Serializable {
     }
 
     public static String formatDayMonth(Date date) {
-        return DateTimeUtils.formatDate(date, AppContext.getUserDateFormat().getDayMonthFormat());
+        return DateTimeUtils.formatDate(date, AppContext.getUserDateFormat().getDayMonthFormat(),
+                (TimeZone) MyCollabSession.getVariable(USER_TIMEZONE), getUserLocale());
     }
 
     /**
@@ -0,0 +1,87 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.iexporter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.List;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+import com.esofthead.mycollab.iexporter.CSVObjectEntityConverter.CSVItemMapperDef;
+import com.esofthead.mycollab.iexporter.CSVObjectEntityConverter.ImportFieldDef;
+
+/**
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <E>
+ */
+public class CSVImportItemReader<E> implements ImportItemReader<E> {
+	private final CSVReader csvReader;
+
+	private final Class<E> beanCls;
+
+	private final ImportFieldDef[] fieldDefs;
+
+	private final CSVObjectEntityConverter<E> converter = new CSVObjectEntityConverter<>();
+
+	private int rowIndex;
+
+	public CSVImportItemReader(File file, boolean isHasHeader,
+			Class<E> beanCls, List<ImportFieldDef> fieldDefs)
+			throws IOException {
+		this.csvReader = new CSVReader(new InputStreamReader(
+				new FileInputStream(file), "UTF-8"));
+		this.beanCls = beanCls;
+		this.fieldDefs = fieldDefs.toArray(new ImportFieldDef[fieldDefs
+				.size()]);
+		if (isHasHeader) {
+			csvReader.readNext();
+			rowIndex++;
+		}
+	}
+
+	@Override
+	public E readNext() throws IOException {
+		String[] rowData = csvReader.readNext();
+		if (rowData == null) {
+			return null;
+		}
+
+		rowIndex++;
+		E bean = converter.convert(beanCls, new CSVItemMapperDef(rowData,
+				fieldDefs));
+		if (bean == null) {
+			throw new IllegalArgumentException("Can not convert the row");
+		}
+		return bean;
+	}
+
+	@Override
+	public int getRowIndex() {
+		return rowIndex;
+	}
+
+	@Override
+	public void close() throws IOException {
+		csvReader.close();
+	}
+}
@@ -0,0 +1,326 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.iexporter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.esofthead.mycollab.common.ActivityStreamConstants;
+import com.esofthead.mycollab.common.domain.ActivityStreamWithBLOBs;
+import com.esofthead.mycollab.common.interceptor.aspect.ClassInfoMap;
+import com.esofthead.mycollab.common.interceptor.aspect.Traceable;
+import com.esofthead.mycollab.common.service.ActivityStreamService;
+import com.esofthead.mycollab.configuration.SiteConfiguration;
+import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.core.persistence.service.ICrudService;
+import com.esofthead.mycollab.core.utils.BeanAccessor;
+import com.esofthead.mycollab.spring.ApplicationContextUtil;
+
+/**
+ * Imports the items of an {@link ImportItemReader} in batches. The items of a
+ * batch are validated in parallel and the valid ones are inserted with
+ * {@link ICrudService#massSaveWithSession(List, String, int)}, in one
+ * transaction per batch. When a batch can not be inserted its rows are
+ * inserted one by one to find the failing rows. A single activity
+ * summarizes the import instead of an activity per item.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <E>
+ */
+public class ImportEntityProcess<E> {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(ImportEntityProcess.class);
+
+	private final ICrudService<?, E> service;
+
+	private final String username;
+
+	private final int accountId;
+
+	private final Validator validator;
+
+	private int batchSize = SiteConfiguration.getImportBatchSize();
+
+	private int validationThreads = SiteConfiguration
+			.getImportValidationThreads();
+
+	private E firstImportedItem;
+
+	private ProgressListener progressListener;
+
+	public ImportEntityProcess(ICrudService<?, E> service, String username,
+			int accountId) {
+		this.service = service;
+		this.username = username;
+		this.accountId = accountId;
+		this.validator = ApplicationContextUtil
+				.getSpringBean(LocalValidatorFactoryBean.class);
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	public void setValidationThreads(int validationThreads) {
+		this.validationThreads = Math.max(1, validationThreads);
+	}
+
+	public void setProgressListener(ProgressListener progressListener) {
+		this.progressListener = progressListener;
+	}
+
+	/**
+	 * 
+	 * @param reader
+	 *            it is closed when the import finishes
+	 * @param sourceName
+	 *            name of the imported file, displayed in the activity stream
+	 * @return
+	 */
+	public ImportResult doImport(ImportItemReader<E> reader, String sourceName) {
+		long startTime = System.currentTimeMillis();
+		ImportResult result = new ImportResult();
+		ExecutorService validationPool = (validationThreads > 1) ? Executors
+				.newFixedThreadPool(validationThreads) : null;
+		try {
+			List<ImportRow<E>> batch = new ArrayList<>(batchSize);
+			while (true) {
+				E item;
+				try {
+					item = reader.readNext();
+				} catch (IllegalArgumentException e) {
+					result.addError(reader.getRowIndex(), e.getMessage());
+					continue;
+				}
+
+				if (item == null) {
+					break;
+				}
+				batch.add(new ImportRow<>(reader.getRowIndex(), item));
+				if (batch.size() >= batchSize) {
+					importBatch(batch, validationPool, result);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				importBatch(batch, validationPool, result);
+			}
+		} catch (IOException e) {
+			throw new MyCollabException(e);
+		} finally {
+			if (validationPool != null) {
+				validationPool.shutdownNow();
+			}
+			try {
+				reader.close();
+			} catch (IOException e) {
+				LOG.warn("Can not close the import reader", e);
+			}
+		}
+
+		result.setElapsedMillis(System.currentTimeMillis() - startTime);
+		saveImportActivity(sourceName, result.getNumRowSuccess());
+		LOG.info("Import {} of account {}: {}", sourceName, accountId, result);
+		return result;
+	}
+
+	private void importBatch(List<ImportRow<E>> batch,
+			ExecutorService validationPool, ImportResult result) {
+		String[] violations = validate(batch, validationPool);
+		List<ImportRow<E>> validRows = new ArrayList<>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			if (violations[i] == null) {
+				validRows.add(batch.get(i));
+			} else {
+				result.addError(batch.get(i).rowIndex, violations[i]);
+			}
+		}
+		if (validRows.isEmpty()) {
+			fireProgress(result);
+			return;
+		}
+
+		List<E> items = new ArrayList<>(validRows.size());
+		for (ImportRow<E> row : validRows) {
+			items.add(row.item);
+		}
+		try {
+			service.massSaveWithSession(items, username, accountId);
+			result.addSuccess(items.size());
+			if (firstImportedItem == null) {
+				firstImportedItem = items.get(0);
+			}
+		} catch (Exception e) {
+			LOG.debug("Can not insert a batch of {} rows, insert them one by one",
+					items.size(), e);
+			for (ImportRow<E> row : validRows) {
+				saveRow(row, result);
+			}
+		}
+		fireProgress(result);
+	}
+
+	private void fireProgress(ImportResult result) {
+		if (progressListener != null) {
+			progressListener.onProgress(result.getNumRowSuccess(),
+					result.getNumRowError());
+		}
+	}
+
+	/**
+	 * The keys generated for the rolled back batch are cleared before the row
+	 * is inserted again.
+	 */
+	private void saveRow(ImportRow<E> row, ImportResult result) {
+		BeanAccessor.of(row.item.getClass()).setIfWritable(row.item, "id",
+				null);
+		try {
+			service.massSaveWithSession(Collections.singletonList(row.item),
+					username, accountId);
+			result.addSuccess(1);
+			if (firstImportedItem == null) {
+				firstImportedItem = row.item;
+			}
+		} catch (Exception e) {
+			result.addError(row.rowIndex, ExceptionUtils.getRootCauseMessage(e));
+		}
+	}
+
+	/**
+	 * 
+	 * @return the violation message of every row, null if the row is valid
+	 */
+	private String[] validate(final List<ImportRow<E>> batch,
+			ExecutorService validationPool) {
+		final String[] violations = new String[batch.size()];
+		if (validationPool == null || batch.size() < 2 * validationThreads) {
+			for (int i = 0; i < batch.size(); i++) {
+				violations[i] = validate(batch.get(i).item);
+			}
+			return violations;
+		}
+
+		int sliceSize = (batch.size() + validationThreads - 1)
+				/ validationThreads;
+		List<Callable<Void>> tasks = new ArrayList<>(validationThreads);
+		for (int start = 0; start < batch.size(); start += sliceSize) {
+			final int from = start;
+			final int to = Math.min(start + sliceSize, batch.size());
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					for (int i = from; i < to; i++) {
+						violations[i] = validate(batch.get(i).item);
+					}
+					return null;
+				}
+			});
+		}
+
+		try {
+			for (Future<Void> future : validationPool.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MyCollabException(e);
+		} catch (ExecutionException e) {
+			throw new MyCollabException(e.getCause());
+		}
+		return violations;
+	}
+
+	private String validate(E item) {
+		Set<ConstraintViolation<E>> violations = validator.validate(item);
+		if (violations.isEmpty()) {
+			return null;
+		}
+
+		StringBuilder errorMsg = new StringBuilder();
+		for (ConstraintViolation<E> violation : violations) {
+			errorMsg.append(violation.getPropertyPath().toString())
+					.append(": ").append(violation.getMessage()).append(".");
+		}
+		return errorMsg.toString();
+	}
+
+	private void saveImportActivity(String sourceName, int numRowSuccess) {
+		Class<?> serviceCls = AopProxyUtils.ultimateTargetClass(service);
+		Traceable traceable = serviceCls.getAnnotation(Traceable.class);
+		if (traceable == null || firstImportedItem == null) {
+			return;
+		}
+
+		try {
+			ActivityStreamWithBLOBs activity = new ActivityStreamWithBLOBs();
+			activity.setModule(ClassInfoMap.getModule(serviceCls));
+			activity.setType(ClassInfoMap.getType(serviceCls));
+			activity.setTypeid(String.valueOf(BeanAccessor.of(
+					firstImportedItem.getClass()).get(firstImportedItem,
+					traceable.idField())));
+			activity.setItemcount(numRowSuccess);
+			activity.setNamefield(sourceName);
+			activity.setAction(ActivityStreamConstants.ACTION_IMPORT);
+			activity.setSaccountid(accountId);
+			activity.setCreateduser(username);
+			activity.setCreatedtime(new GregorianCalendar().getTime());
+			ApplicationContextUtil.getSpringBean(ActivityStreamService.class)
+					.save(activity);
+		} catch (Exception e) {
+			LOG.error("Error while saving the activity of import "
+					+ sourceName, e);
+		}
+	}
+
+	/**
+	 * Receives the number of imported and rejected rows after each batch, on
+	 * the thread which runs the import.
+	 */
+	public interface ProgressListener {
+		void onProgress(int numRowSuccess, int numRowError);
+	}
+
+	private static class ImportRow<E> {
+		final int rowIndex;
+		final E item;
+
+		ImportRow(int rowIndex, E item) {
+			this.rowIndex = rowIndex;
+			this.item = item;
+		}
+	}
+}
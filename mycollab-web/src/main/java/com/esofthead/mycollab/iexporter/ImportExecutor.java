@@ -0,0 +1,57 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.iexporter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.esofthead.mycollab.core.MyCollabThread;
+
+/**
+ * Runs the imports of the users outside of the Vaadin request threads. Few
+ * imports run at a time, the other ones wait in the order they were started.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public final class ImportExecutor {
+	private static final int MAX_CONCURRENT_IMPORTS = 2;
+
+	private static final ExecutorService executor = Executors
+			.newFixedThreadPool(MAX_CONCURRENT_IMPORTS, new ThreadFactory() {
+				private final AtomicInteger threadCount = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new MyCollabThread(runnable);
+					thread.setName("mycollab-import-"
+							+ threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private ImportExecutor() {
+	}
+
+	public static void execute(Runnable importTask) {
+		executor.execute(importTask);
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.iexporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the items of an imported file one at a time, so the file is never
+ * held in memory as a whole.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <E>
+ */
+public interface ImportItemReader<E> extends Closeable {
+
+	/**
+	 * 
+	 * @return the next item, or null at the end of the file
+	 * @throws IOException
+	 * @throws IllegalArgumentException
+	 *             if the current row can not be converted, the next call
+	 *             continues with the following row
+	 */
+	E readNext() throws IOException;
+
+	/**
+	 * 
+	 * @return the row, counted from 1, of the item read last
+	 */
+	int getRowIndex();
+}
@@ -0,0 +1,125 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.iexporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an import: the number of imported rows, the errors of the
+ * rejected rows and the throughput of the import.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class ImportResult {
+	/**
+	 * Only the first errors are kept, a file with a wrong column mapping
+	 * would otherwise hold an error of every row in memory.
+	 */
+	static final int MAX_REPORTED_ERRORS = 1000;
+
+	private int numRowSuccess;
+
+	private int numRowError;
+
+	private final List<RowError> errors = new ArrayList<>();
+
+	private long elapsedMillis;
+
+	void addSuccess(int numRows) {
+		numRowSuccess += numRows;
+	}
+
+	void addError(int rowIndex, String message) {
+		numRowError++;
+		if (errors.size() < MAX_REPORTED_ERRORS) {
+			errors.add(new RowError(rowIndex, message));
+		}
+	}
+
+	void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public int getNumRowSuccess() {
+		return numRowSuccess;
+	}
+
+	public int getNumRowError() {
+		return numRowError;
+	}
+
+	public int getNumRows() {
+		return numRowSuccess + numRowError;
+	}
+
+	/**
+	 * 
+	 * @return the errors sorted by row, at most {@link #MAX_REPORTED_ERRORS}
+	 */
+	public List<RowError> getErrors() {
+		Collections.sort(errors);
+		return errors;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public double getRowsPerSecond() {
+		return (elapsedMillis > 0) ? getNumRows() * 1000d / elapsedMillis
+				: getNumRows();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d rows imported, %d rows failed in %d ms (%.1f rows/s)",
+				numRowSuccess, numRowError, elapsedMillis, getRowsPerSecond());
+	}
+
+	public static class RowError implements Comparable<RowError> {
+		private final int rowIndex;
+
+		private final String message;
+
+		RowError(int rowIndex, String message) {
+			this.rowIndex = rowIndex;
+			this.message = message;
+		}
+
+		public int getRowIndex() {
+			return rowIndex;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		@Override
+		public int compareTo(RowError other) {
+			return Integer.compare(rowIndex, other.rowIndex);
+		}
+
+		@Override
+		public String toString() {
+			return "Row " + rowIndex + ": " + message;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.iexporter;
+
+import java.io.File;
+import java.io.IOException;
+
+import ezvcard.VCard;
+import ezvcard.io.text.VCardReader;
+
+/**
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ * @param <E>
+ */
+public class VCardImportItemReader<E> implements ImportItemReader<E> {
+	private final VCardReader vcardReader;
+
+	private final Class<E> beanCls;
+
+	private final VCardObjectEntityConverter<E> converter;
+
+	private int rowIndex;
+
+	public VCardImportItemReader(File file, Class<E> beanCls,
+			VCardObjectEntityConverter<E> converter) throws IOException {
+		this.vcardReader = new VCardReader(file);
+		this.beanCls = beanCls;
+		this.converter = converter;
+	}
+
+	/**
+	 * The row index of a vCard is its position in the file.
+	 */
+	@Override
+	public E readNext() throws IOException {
+		VCard vcard = vcardReader.readNext();
+		if (vcard == null) {
+			return null;
+		}
+
+		rowIndex++;
+		E bean = converter.convert(beanCls, vcard);
+		if (bean == null) {
+			throw new IllegalArgumentException("Can not convert the vCard");
+		}
+		return bean;
+	}
+
+	@Override
+	public int getRowIndex() {
+		return rowIndex;
+	}
+
+	@Override
+	public void close() throws IOException {
+		vcardReader.close();
+	}
+}
@@ -21,7 +21,17 @@ import com.esofthead.mycollab.common.i18n.FileI18nEnum;
 import com.esofthead.mycollab.common.i18n.GenericI18Enum;
 import com.esofthead.mycollab.core.MyCollabException;
 import com.esofthead.mycollab.core.persistence.service.ICrudService;
+import com.esofthead.mycollab.eventmanager.EventBusFactory;
+import com.esofthead.mycollab.iexporter.CSVImportItemReader;
 import com.esofthead.mycollab.iexporter.CSVObjectEntityConverter.FieldMapperDef;
+import com.esofthead.mycollab.iexporter.CSVObjectEntityConverter.ImportFieldDef;
+import com.esofthead.mycollab.iexporter.ImportEntityProcess;
+import com.esofthead.mycollab.iexporter.ImportExecutor;
+import com.esofthead.mycollab.iexporter.ImportItemReader;
+import com.esofthead.mycollab.iexporter.ImportResult;
+import com.esofthead.mycollab.iexporter.VCardImportItemReader;
+import com.esofthead.mycollab.iexporter.VCardObjectEntityConverter;
+import com.esofthead.mycollab.shell.events.ShellEvent;
 import com.esofthead.mycollab.vaadin.AppContext;
 import com.esofthead.mycollab.vaadin.ui.ConfirmDialogExt;
 import com.esofthead.mycollab.vaadin.ui.GridFormLayoutHelper;
@@ -35,15 +45,19 @@ import com.vaadin.ui.AbstractSelect.ItemCaptionMode;
 import com.vaadin.ui.*;
 import com.vaadin.ui.Button.ClickEvent;
 import com.vaadin.ui.Button.ClickListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.vaadin.dialogs.ConfirmDialog;
 import org.vaadin.easyuploads.SingleFileUploadField;
 import org.vaadin.maddon.layouts.MHorizontalLayout;
 import org.vaadin.maddon.layouts.MVerticalLayout;
 
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -56,8 +70,12 @@ import java.util.List;
 public abstract class EntityImportWindow<E> extends Window {
     private static final long serialVersionUID = 1L;
 
+    private static final Logger LOG = LoggerFactory.getLogger(EntityImportWindow.class);
+
     private static final String[] fileType = {"CSV", "VCard"};
 
+    private static final int MAX_DISPLAYED_ERRORS = 3;
+
     private FileConfigurationLayout fileConfigurationLayout;
     private MappingCrmConfigurationLayout mappingCrmFieldLayout;
     private boolean isSupportCSV = true;
@@ -85,6 +103,107 @@ public abstract class EntityImportWindow<E> extends Window {
 
     abstract protected void reloadWhenBackToListView();
 
+    /**
+     * @return the converter of the imported vCards, the windows that support
+     * vCard files override it
+     */
+    protected VCardObjectEntityConverter<E> constructVCardConverter() {
+        throw new MyCollabException("Import of vCard files is not supported");
+    }
+
+    private static CSVReader openCSVReader(File file) throws IOException {
+        return new CSVReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+    }
+
+    private static String formatImportResult(ImportResult result) {
+        return AppContext.getMessage(FileI18nEnum.IMPORT_FILE_RESULT, result.getNumRowSuccess(),
+                result.getNumRowError());
+    }
+
+    /**
+     * Imports a file on the {@link ImportExecutor} instead of the request
+     * thread. The UI polls the server while the import runs, so the progress
+     * label is refreshed after each batch.
+     */
+    private abstract class ImportTask implements Runnable {
+        private final UI ui = UI.getCurrent();
+        private final Label progressLabel;
+        private final String sourceName;
+        private final ImportEntityProcess<E> importProcess;
+
+        ImportTask(Label progressLabel, String sourceName) {
+            this.progressLabel = progressLabel;
+            this.sourceName = sourceName;
+            importProcess = new ImportEntityProcess<>(services, AppContext.getUsername(),
+                    AppContext.getAccountId());
+            importProcess.setProgressListener(new ImportEntityProcess.ProgressListener() {
+                @Override
+                public void onProgress(final int numRowSuccess, final int numRowError) {
+                    ui.access(new Runnable() {
+                        @Override
+                        public void run() {
+                            showProgress(numRowSuccess, numRowError);
+                        }
+                    });
+                }
+            });
+        }
+
+        void start() {
+            showProgress(0, 0);
+            ui.setPollInterval(1000);
+            ImportExecutor.execute(this);
+        }
+
+        private void showProgress(int numRowSuccess, int numRowError) {
+            progressLabel.setValue(AppContext.getMessage(FileI18nEnum.IMPORT_FILE_PROGRESS,
+                    numRowSuccess, numRowError));
+        }
+
+        @Override
+        public void run() {
+            ImportResult result = null;
+            Exception error = null;
+            try {
+                result = importProcess.doImport(openReader(), sourceName);
+            } catch (Exception e) {
+                LOG.error("Can not import " + sourceName, e);
+                error = e;
+            }
+
+            final ImportResult importResult = result;
+            final Exception importError = error;
+            ui.access(new Runnable() {
+                @Override
+                public void run() {
+                    ui.setPollInterval(-1);
+                    if (importError != null) {
+                        EventBusFactory.getInstance().post(new ShellEvent.NotifyErrorEvent(
+                                EntityImportWindow.this, importError));
+                        onFailure();
+                    } else {
+                        onSuccess(importResult);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Opens the reader of the file, on the import thread.
+         */
+        abstract protected ImportItemReader<E> openReader() throws IOException;
+
+        /**
+         * Displays the result of the import, on the UI thread.
+         */
+        abstract protected void onSuccess(ImportResult result);
+
+        /**
+         * Lets the user retry after an import failed, on the UI thread.
+         */
+        abstract protected void onFailure();
+    }
+
     private class FileConfigurationLayout extends VerticalLayout {
         private static final long serialVersionUID = 1L;
         private InputStream contentStream;
@@ -93,6 +212,8 @@ public abstract class EntityImportWindow<E> extends Window {
         private VerticalLayout uploadFieldVerticalLayout;
 
         private ComboBox fileformatComboBox;
+        private Button nextBtn;
+        private Label progressLabel;
 
         public FileConfigurationLayout() {
             MVerticalLayout layout = new MVerticalLayout().withWidth("100%");
@@ -108,7 +229,7 @@ public abstract class EntityImportWindow<E> extends Window {
 
             MHorizontalLayout controlGroupBtn = new MHorizontalLayout()
                     .withSpacing(true);
-            Button nextBtn = new Button("Next");
+            nextBtn = new Button("Next");
 
             nextBtn.addClickListener(new ClickListener() {
                 private static final long serialVersionUID = 1L;
@@ -140,9 +261,7 @@ public abstract class EntityImportWindow<E> extends Window {
                                         @Override
                                         public void onClose(ConfirmDialog dialog) {
                                             if (dialog.isConfirmed()) {
-
-                                                throw new MyCollabException(
-                                                        "did not support this feature");
+                                                importVCardFile();
                                             }
                                         }
                                     });
@@ -152,15 +271,8 @@ public abstract class EntityImportWindow<E> extends Window {
                                 mappingCrmFieldLayout = new MappingCrmConfigurationLayout(
                                         hasHeaderCheckBox.getValue(),
                                         uploadFile);
-                                // EntityImportWindow.this
-                                // .removeComponent(fileConfigurationLayout);
-                                //
-                                // EntityImportWindow.this.setWidth("800px");
-                                //
-                                // EntityImportWindow.this.center();
-                                //
-                                // EntityImportWindow.this
-                                // .addComponent(mappingCrmFieldLayout);
+                                EntityImportWindow.this.setContent(mappingCrmFieldLayout);
+                                EntityImportWindow.this.center();
                             }
 
                         } else {
@@ -219,10 +331,39 @@ public abstract class EntityImportWindow<E> extends Window {
 
             layout.with(controlGroupBtn).withAlign(controlGroupBtn,
                     Alignment.MIDDLE_CENTER);
+            progressLabel = new Label();
+            layout.with(progressLabel).withAlign(progressLabel, Alignment.MIDDLE_CENTER);
             this.addComponent(layout);
         }
 
-        @SuppressWarnings("unchecked")
+        private void importVCardFile() {
+            final File uploadFile = uploadField.getContentAsFile();
+            if (uploadFile == null) {
+                return;
+            }
+
+            nextBtn.setEnabled(false);
+            new ImportTask(progressLabel, uploadField.getFileName()) {
+                @Override
+                protected ImportItemReader<E> openReader() throws IOException {
+                    return new VCardImportItemReader<>(uploadFile, cls, constructVCardConverter());
+                }
+
+                @Override
+                protected void onSuccess(ImportResult result) {
+                    NotificationUtil.showNotification(formatImportResult(result));
+                    EntityImportWindow.this.close();
+                    reloadWhenBackToListView();
+                }
+
+                @Override
+                protected void onFailure() {
+                    progressLabel.setValue("");
+                    nextBtn.setEnabled(true);
+                }
+            }.start();
+        }
+
         private CssLayout fileConfigurationLayout() {
             final CssLayout bodyLayoutWapper = new CssLayout();
             bodyLayoutWapper.addStyleName(UIConstants.BORDER_BOX_2);
@@ -369,7 +510,9 @@ public abstract class EntityImportWindow<E> extends Window {
         private GridFormLayoutHelper gridCrmMapping;
         private File uploadFile;
         private final List<FieldMapperDef> contactCrmFields = constructCSVFieldMapper();
+        private final List<CSVBeanFieldComboBox> fieldComboBoxes = new ArrayList<>();
         private VerticalLayout messageImportVerticalLayout;
+        private Button saveBtn;
 
         public MappingCrmConfigurationLayout(final boolean checkboxChecked,
                                              final File uploadFile) {
@@ -393,11 +536,10 @@ public abstract class EntityImportWindow<E> extends Window {
             Label infoLabel = new Label("Map the columns to Module fields");
             infoLabel.addStyleName("h3");
             columnMappingCrmLayout.addComponent(infoLabel);
-            try {
-                gridCrmMapping = new GridFormLayoutHelper(2, (new CSVReader(
-                        new FileReader(uploadFile))).readNext().length + 2,
+            try (CSVReader csvReader = openCSVReader(uploadFile)) {
+                gridCrmMapping = new GridFormLayoutHelper(2, csvReader.readNext().length + 2,
                         "100%", "200px");
-            } catch (Exception e) {
+            } catch (IOException e) {
                 throw new MyCollabException(e);
             }
             gridCrmMapping.getLayout().setMargin(true);
@@ -424,100 +566,14 @@ public abstract class EntityImportWindow<E> extends Window {
             columnMappingCrmLayout.with(controlGroupBtn).withAlign(
                     controlGroupBtn, Alignment.MIDDLE_CENTER);
 
-            Button saveBtn = new Button(
+            saveBtn = new Button(
                     AppContext.getMessage(GenericI18Enum.BUTTON_SAVE),
                     new ClickListener() {
                         private static final long serialVersionUID = 1L;
 
                         @Override
                         public void buttonClick(ClickEvent event) {
-                            // try {
-                            // if (messageImportVerticalLayout != null) {
-                            // columnMappingCrmLayout
-                            // .removeComponent(messageImportVerticalLayout);
-                            // }
-                            // List<ImportFieldDef> listImportFieldDef = new
-                            // ArrayList<ImportFieldDef>();
-                            // for (int i = 0; i < gridCrmMapping.getLayout()
-                            // .getRows(); i++) {
-                            // Component componentOnGrid = gridCrmMapping
-                            // .getComponent(1, i + 1);
-                            // if (componentOnGrid instanceof HorizontalLayout)
-                            // {
-                            // Iterator<Component> lstComponentOnGrid =
-                            // ((HorizontalLayout) componentOnGrid)
-                            // .iterator();
-                            // Component compent = lstComponentOnGrid
-                            // .next();
-                            // if (compent instanceof CSVBeanFieldComboBox) {
-                            // ImportFieldDef importFieldDef = new
-                            // ImportFieldDef(
-                            // i,
-                            // (FieldMapperDef) ((CSVBeanFieldComboBox) compent)
-                            // .getValue());
-                            // listImportFieldDef
-                            // .add(importFieldDef);
-                            // }
-                            // }
-                            // }
-                            //
-                            // CSVImportEntityProcess importProcess = new
-                            // CSVImportEntityProcess();
-                            // try {
-                            // importProcess.doImport(uploadFile,
-                            // checkboxChecked, services, cls,
-                            // listImportFieldDef);
-                            // } catch (IllegalArgumentException e) {
-                            // StringBuffer msg = new StringBuffer(e
-                            // .getMessage());
-                            // if (msg.indexOf("numRowSuccess") > 0) {
-                            // int numRowSuccess =
-                            // Integer.parseInt(msg.substring(
-                            // msg.indexOf("numRowSuccess:")
-                            // + "numRowSuccess:"
-                            // .length(),
-                            // msg.indexOf("numRowError:")));
-                            // int numRowError = Integer.parseInt(msg.substring(
-                            // msg.indexOf("numRowError:")
-                            // + "numRowError:"
-                            // .length(),
-                            // msg.indexOf("Detail:")));
-                            // messageImportVerticalLayout = new
-                            // VerticalLayout();
-                            // messageImportVerticalLayout
-                            // .setSpacing(true);
-                            //
-                            // Label msgLabel = new Label(
-                            // "Import successfull "
-                            // + numRowSuccess
-                            // + " rows, " + "fail "
-                            // + numRowError
-                            // + " rows.");
-                            // messageImportVerticalLayout
-                            // .addComponent(msgLabel);
-                            //
-                            // final String[] errorDetail = msg
-                            // .substring(
-                            // msg.indexOf("Detail:")
-                            // + "Detail:"
-                            // .length())
-                            // .split("//");
-                            // int numErrMsgShowLimit = 3;
-                            // for (String errMsg : errorDetail) {
-                            // messageImportVerticalLayout
-                            // .addComponent(new Label(
-                            // errMsg));
-                            // if (numErrMsgShowLimit == 0)
-                            // break;
-                            // numErrMsgShowLimit--;
-                            // }
-                            // columnMappingCrmLayout
-                            // .addComponent(messageImportVerticalLayout);
-                            // }
-                            // }
-                            // } catch (Exception e) {
-                            // throw new MyCollabException(e);
-                            // }
+                            importCSVFile(checkboxChecked);
                         }
                     });
 
@@ -529,10 +585,7 @@ public abstract class EntityImportWindow<E> extends Window {
 
                 @Override
                 public void buttonClick(ClickEvent event) {
-                    // EntityImportWindow.this.removeAllComponents();
-                    // EntityImportWindow.this.setWidth("950px");
-                    // EntityImportWindow.this
-                    // .addComponent(fileConfigurationLayout);
+                    EntityImportWindow.this.setContent(fileConfigurationLayout);
                     EntityImportWindow.this.center();
                 }
             });
@@ -556,26 +609,64 @@ public abstract class EntityImportWindow<E> extends Window {
             fillDataToGridLayout();
         }
 
-        @SuppressWarnings({"resource"})
+        private void importCSVFile(final boolean hasHeader) {
+            if (messageImportVerticalLayout != null) {
+                columnMappingCrmLayout.removeComponent(messageImportVerticalLayout);
+            }
+
+            final List<ImportFieldDef> importFieldDefs = new ArrayList<>();
+            for (int i = 0; i < fieldComboBoxes.size(); i++) {
+                FieldMapperDef fieldMapperDef = (FieldMapperDef) fieldComboBoxes.get(i).getValue();
+                if (fieldMapperDef != null) {
+                    importFieldDefs.add(new ImportFieldDef(i, fieldMapperDef));
+                }
+            }
+            if (importFieldDefs.isEmpty()) {
+                NotificationUtil.showWarningNotification(AppContext
+                        .getMessage(FileI18nEnum.IMPORT_MAP_FIELD_WARNING));
+                return;
+            }
+
+            messageImportVerticalLayout = new VerticalLayout();
+            messageImportVerticalLayout.setSpacing(true);
+            final Label progressLabel = new Label();
+            messageImportVerticalLayout.addComponent(progressLabel);
+            columnMappingCrmLayout.addComponent(messageImportVerticalLayout);
+
+            saveBtn.setEnabled(false);
+            new ImportTask(progressLabel, uploadFile.getName()) {
+                @Override
+                protected ImportItemReader<E> openReader() throws IOException {
+                    return new CSVImportItemReader<>(uploadFile, hasHeader, cls, importFieldDefs);
+                }
+
+                @Override
+                protected void onSuccess(ImportResult result) {
+                    progressLabel.setValue(formatImportResult(result));
+                    List<ImportResult.RowError> errors = result.getErrors();
+                    for (int i = 0; i < Math.min(errors.size(), MAX_DISPLAYED_ERRORS); i++) {
+                        messageImportVerticalLayout.addComponent(new Label(errors.get(i).toString()));
+                    }
+                    saveBtn.setEnabled(true);
+                }
+
+                @Override
+                protected void onFailure() {
+                    progressLabel.setValue("");
+                    saveBtn.setEnabled(true);
+                }
+            }.start();
+        }
+
         private void fillDataToGridLayout() {
-            CSVReader csvReader;
-            try {
-                csvReader = new CSVReader(new FileReader(uploadFile));
+            try (CSVReader csvReader = openCSVReader(uploadFile)) {
                 String[] stringHeader = csvReader.readNext();
                 for (int i = 0; i < stringHeader.length; i++) {
+                    CSVBeanFieldComboBox crmFieldComboBox = new CSVBeanFieldComboBox(contactCrmFields);
+                    fieldComboBoxes.add(crmFieldComboBox);
 
-                    final CSVBeanFieldComboBox crmFieldComboBox = new CSVBeanFieldComboBox(
-                            contactCrmFields);
-
-                    // String headerStr = stringHeader[i];
-                    // gridCrmMapping.addComponent(new Label(headerStr),
-                    // new Label(), "0px", "200px", 0, i + 1,
-                    // Alignment.MIDDLE_CENTER);
-                    // Label fieldCaptionColumnIndex = new Label("Column "
-                    // + (i + 1));
-                    // gridCrmMapping.addComponent(crmFieldComboBox,
-                    // fieldCaptionColumnIndex, "200px", "200px", 1,
-                    // i + 1, Alignment.MIDDLE_CENTER);
+                    gridCrmMapping.addComponent(new Label(stringHeader[i]), "Column " + (i + 1), 0, i + 1);
+                    gridCrmMapping.addComponent(crmFieldComboBox, null, 1, i + 1);
                 }
             } catch (IOException e) {
                 throw new MyCollabException(e);
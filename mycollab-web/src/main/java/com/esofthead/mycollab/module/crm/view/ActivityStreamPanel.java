@@ -46,6 +46,7 @@ import com.vaadin.shared.ui.MarginInfo;
 import com.vaadin.shared.ui.label.ContentMode;
 import com.vaadin.ui.*;
 import com.vaadin.ui.Button.ClickEvent;
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.vaadin.maddon.layouts.MHorizontalLayout;
@@ -236,6 +237,13 @@ public class ActivityStreamPanel extends CssLayout {
 				content.append(AppContext.getMessage(
 						CrmCommonI18nEnum.WIDGET_ACTIVITY_UPDATE_ACTION,
 						assigneeValue, itemType, itemValue));
+			} else if (ActivityStreamConstants.ACTION_IMPORT
+					.equals(activityStream.getAction())) {
+				content.append(AppContext.getMessage(
+						CrmCommonI18nEnum.WIDGET_ACTIVITY_IMPORT_ACTION,
+						assigneeValue, activityStream.getItemcount(),
+						itemType, StringEscapeUtils.escapeHtml4(activityStream
+								.getNamefield())));
 			} else if (ActivityStreamConstants.ACTION_COMMENT
 					.equals(activityStream.getAction())) {
 
@@ -23,6 +23,7 @@ import com.esofthead.mycollab.common.i18n.GenericI18Enum;
 import com.esofthead.mycollab.core.arguments.StringSearchField;
 import com.esofthead.mycollab.eventmanager.EventBusFactory;
 import com.esofthead.mycollab.iexporter.CSVObjectEntityConverter.FieldMapperDef;
+import com.esofthead.mycollab.iexporter.VCardObjectEntityConverter;
 import com.esofthead.mycollab.iexporter.csv.CSVBooleanFormatter;
 import com.esofthead.mycollab.iexporter.csv.CSVDateFormatter;
 import com.esofthead.mycollab.module.crm.domain.Contact;
@@ -87,6 +88,11 @@ public class ContactImportWindow extends EntityImportWindow<Contact> {
 		return Arrays.asList(fields);
 	}
 
+	@Override
+	protected VCardObjectEntityConverter<Contact> constructVCardConverter() {
+		return new ContactVCardObjectEntityConverter();
+	}
+
 	@Override
 	protected void reloadWhenBackToListView() {
 		ContactSearchCriteria contactSearchCriteria = new ContactSearchCriteria();
@@ -0,0 +1,148 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.module.crm.view.contact;
+
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.esofthead.mycollab.iexporter.VCardObjectEntityConverter;
+import com.esofthead.mycollab.module.crm.domain.Contact;
+import com.esofthead.mycollab.vaadin.AppContext;
+
+import ezvcard.VCard;
+import ezvcard.parameter.TelephoneType;
+import ezvcard.property.Address;
+import ezvcard.property.Email;
+import ezvcard.property.Note;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Title;
+
+/**
+ * Maps the name, organization, emails, phones, addresses, birthday and notes
+ * of a vCard to a contact.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class ContactVCardObjectEntityConverter implements
+		VCardObjectEntityConverter<Contact> {
+
+	/**
+	 * 
+	 * @return null if the vCard has no name, a contact requires its last name
+	 */
+	@Override
+	public Contact convert(Class<Contact> cls, VCard vcard) {
+		Contact contact = new Contact();
+		contact.setSaccountid(AppContext.getAccountId());
+
+		StructuredName name = vcard.getStructuredName();
+		if (name != null) {
+			contact.setFirstname(name.getGiven());
+			contact.setLastname(name.getFamily());
+		}
+		if (StringUtils.isBlank(contact.getLastname())
+				&& vcard.getFormattedName() != null) {
+			contact.setLastname(vcard.getFormattedName().getValue());
+		}
+		if (StringUtils.isBlank(contact.getLastname())) {
+			return null;
+		}
+
+		List<Title> titles = vcard.getTitles();
+		if (!titles.isEmpty()) {
+			contact.setTitle(titles.get(0).getValue());
+		}
+		if (vcard.getOrganization() != null) {
+			List<String> units = vcard.getOrganization().getValues();
+			if (units.size() > 1) {
+				contact.setDepartment(units.get(1));
+			}
+		}
+
+		List<Email> emails = vcard.getEmails();
+		if (!emails.isEmpty()) {
+			contact.setEmail(emails.get(0).getValue());
+		}
+
+		for (Telephone telephone : vcard.getTelephoneNumbers()) {
+			setPhone(contact, telephone);
+		}
+
+		List<Address> addresses = vcard.getAddresses();
+		if (addresses.size() > 0) {
+			Address address = addresses.get(0);
+			contact.setPrimaddress(address.getStreetAddress());
+			contact.setPrimcity(address.getLocality());
+			contact.setPrimstate(address.getRegion());
+			contact.setPrimpostalcode(address.getPostalCode());
+			contact.setPrimcountry(address.getCountry());
+		}
+		if (addresses.size() > 1) {
+			Address address = addresses.get(1);
+			contact.setOtheraddress(address.getStreetAddress());
+			contact.setOthercity(address.getLocality());
+			contact.setOtherstate(address.getRegion());
+			contact.setOtherpostalcode(address.getPostalCode());
+			contact.setOthercountry(address.getCountry());
+		}
+
+		if (vcard.getBirthday() != null) {
+			contact.setBirthday(vcard.getBirthday().getDate());
+		}
+
+		List<Note> notes = vcard.getNotes();
+		if (!notes.isEmpty()) {
+			contact.setDescription(notes.get(0).getValue());
+		}
+		return contact;
+	}
+
+	/**
+	 * Keeps the first number of each type, the numbers without a known type
+	 * go to the other phone.
+	 */
+	private static void setPhone(Contact contact, Telephone telephone) {
+		String number = telephone.getText();
+		if (StringUtils.isBlank(number)) {
+			return;
+		}
+
+		if (telephone.getTypes().contains(TelephoneType.FAX)) {
+			if (contact.getFax() == null) {
+				contact.setFax(number);
+			}
+		} else if (telephone.getTypes().contains(TelephoneType.CELL)) {
+			if (contact.getMobile() == null) {
+				contact.setMobile(number);
+			}
+		} else if (telephone.getTypes().contains(TelephoneType.HOME)) {
+			if (contact.getHomephone() == null) {
+				contact.setHomephone(number);
+			}
+		} else if (telephone.getTypes().contains(TelephoneType.WORK)) {
+			if (contact.getOfficephone() == null) {
+				contact.setOfficephone(number);
+			}
+		} else if (contact.getOtherphone() == null) {
+			contact.setOtherphone(number);
+		}
+	}
+}
@@ -72,7 +72,7 @@ public class ExportTimeLoggingStreamResource extends ExportItemsStreamResource {
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	protected void fillReport() throws Exception {
-		reportBuilder.setDataSource(new GroupIteratorDataSource(searchService,
-				searchCriteria));
+		reportBuilder.setDataSource(closeAfterExport(new GroupIteratorDataSource(
+				searchService, searchCriteria)));
 	}
 }
\ No newline at end of file
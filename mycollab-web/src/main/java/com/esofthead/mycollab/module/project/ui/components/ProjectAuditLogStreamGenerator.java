@@ -20,10 +20,20 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.esofthead.mycollab.common.domain.SimpleActivityStream;
+import com.esofthead.mycollab.common.i18n.GenericI18Enum;
 import com.esofthead.mycollab.module.project.ProjectTypeConstants;
+import com.esofthead.mycollab.module.project.service.ProjectActivityStreamService;
 import com.esofthead.mycollab.module.project.view.problem.ProblemFormatter;
 import com.esofthead.mycollab.module.project.view.risk.RiskFormatter;
+import com.esofthead.mycollab.spring.ApplicationContextUtil;
 import com.esofthead.mycollab.utils.AuditLogPrinter;
+import com.esofthead.mycollab.vaadin.AppContext;
+import com.esofthead.mycollab.vaadin.ui.UIConstants;
+import com.vaadin.shared.ui.label.ContentMode;
+import com.vaadin.ui.Button;
+import com.vaadin.ui.Button.ClickEvent;
+import com.vaadin.ui.CssLayout;
+import com.vaadin.ui.Label;
 
 import static com.esofthead.mycollab.module.project.view.bug.BugHistoryList.bugFomatter;
 import static com.esofthead.mycollab.module.project.view.bug.ComponentHistoryLogList.componentFormatter;
@@ -74,4 +84,44 @@ public class ProjectAuditLogStreamGenerator {
 		}
 		return "";
 	}
+
+	/**
+	 * The activity stream is read without the change set of the updates. The
+	 * returned button loads the change set of <code>activityStream</code> and
+	 * displays it in <code>streamWrapper</code>.
+	 * 
+	 * @return the button, or null if the activity has no change set to display
+	 */
+	public static Button buildDetailChangeOfActivityButton(
+			final SimpleActivityStream activityStream,
+			final CssLayout streamWrapper) {
+		if (activityStream.getAssoAuditLog() == null
+				|| activityStream.getAssoAuditLog().getId() == null
+				|| !auditPrinters.containsKey(activityStream.getType())) {
+			return null;
+		}
+
+		Button moreBtn = new Button(
+				AppContext.getMessage(GenericI18Enum.BUTTON_MORE),
+				new Button.ClickListener() {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public void buttonClick(ClickEvent event) {
+						ProjectActivityStreamService activityStreamService = ApplicationContextUtil
+								.getSpringBean(ProjectActivityStreamService.class);
+						activityStream.getAssoAuditLog().setChangeset(
+								activityStreamService.findActivityChangeSet(
+										activityStream.getAssoAuditLog()
+												.getId(), AppContext
+												.getAccountId()));
+						streamWrapper.removeComponent(event.getButton());
+						streamWrapper.addComponent(new Label(
+								generatorDetailChangeOfActivity(activityStream),
+								ContentMode.HTML));
+					}
+				});
+		moreBtn.setStyleName(UIConstants.THEME_LINK);
+		return moreBtn;
+	}
 }
@@ -21,6 +21,7 @@ import com.esofthead.mycollab.eventmanager.EventBusFactory;
 import com.esofthead.mycollab.module.project.domain.FollowingTicket;
 import com.esofthead.mycollab.module.project.domain.criteria.FollowingTicketSearchCriteria;
 import com.esofthead.mycollab.module.project.service.ProjectFollowingTicketService;
+import com.esofthead.mycollab.reporting.ExportFileDownloader;
 import com.esofthead.mycollab.reporting.ExportItemsStreamResource;
 import com.esofthead.mycollab.reporting.ReportExportType;
 import com.esofthead.mycollab.reporting.RpParameterBuilder;
@@ -36,7 +37,6 @@ import com.esofthead.mycollab.vaadin.ui.OptionPopupContent;
 import com.esofthead.mycollab.vaadin.ui.SplitButton;
 import com.esofthead.mycollab.vaadin.ui.UIConstants;
 import com.esofthead.mycollab.vaadin.ui.table.AbstractPagedBeanTable;
-import com.vaadin.server.FileDownloader;
 import com.vaadin.server.FontAwesome;
 import com.vaadin.server.StreamResource;
 import com.vaadin.server.StreamResource.StreamSource;
@@ -127,14 +127,14 @@ public class FollowingTicketViewImpl extends AbstractPageView implements
 		exportButtonControl.setContent(popupButtonsControl);
 
 		Button exportPdfBtn = new Button("Pdf");
-		FileDownloader pdfDownloader = new FileDownloader(
+		ExportFileDownloader pdfDownloader = new ExportFileDownloader(
 				constructStreamResource(ReportExportType.PDF));
 		pdfDownloader.extend(exportPdfBtn);
 		exportPdfBtn.setIcon(FontAwesome.FILE_PDF_O);
 		popupButtonsControl.addOption(exportPdfBtn);
 
 		Button exportExcelBtn = new Button("Excel");
-		FileDownloader excelDownloader = new FileDownloader(
+		ExportFileDownloader excelDownloader = new ExportFileDownloader(
 				constructStreamResource(ReportExportType.EXCEL));
 		excelDownloader.extend(exportExcelBtn);
 		exportExcelBtn.setIcon(FontAwesome.FILE_EXCEL_O);
@@ -37,6 +37,7 @@ import com.esofthead.mycollab.module.project.view.parameters.ProjectScreenData;
 import com.esofthead.mycollab.module.project.view.parameters.TaskScreenData;
 import com.esofthead.mycollab.module.project.view.time.TimeTableFieldDef;
 import com.esofthead.mycollab.module.user.domain.SimpleUser;
+import com.esofthead.mycollab.reporting.ExportFileDownloader;
 import com.esofthead.mycollab.reporting.ExportItemsStreamResource;
 import com.esofthead.mycollab.reporting.ReportExportType;
 import com.esofthead.mycollab.reporting.RpParameterBuilder;
@@ -52,7 +53,6 @@ import com.esofthead.mycollab.vaadin.resources.LazyStreamSource;
 import com.esofthead.mycollab.vaadin.ui.*;
 import com.esofthead.mycollab.vaadin.ui.table.IPagedBeanTable.TableClickEvent;
 import com.esofthead.mycollab.vaadin.ui.table.IPagedBeanTable.TableClickListener;
-import com.vaadin.server.FileDownloader;
 import com.vaadin.server.FontAwesome;
 import com.vaadin.server.StreamResource;
 import com.vaadin.server.StreamResource.StreamSource;
@@ -340,14 +340,14 @@ public class TimeTrackingSummaryViewImpl extends AbstractPageView implements
 			exportButtonControl.setContent(popupButtonsControl);
 
 			Button exportPdfBtn = new Button("Pdf");
-			FileDownloader pdfDownloader = new FileDownloader(
+			ExportFileDownloader pdfDownloader = new ExportFileDownloader(
 					constructStreamResource(ReportExportType.PDF));
 			pdfDownloader.extend(exportPdfBtn);
 			exportPdfBtn.setIcon(FontAwesome.FILE_PDF_O);
 			popupButtonsControl.addOption(exportPdfBtn);
 
 			Button exportExcelBtn = new Button("Excel");
-			FileDownloader excelDownloader = new FileDownloader(
+			ExportFileDownloader excelDownloader = new ExportFileDownloader(
 					constructStreamResource(ReportExportType.EXCEL));
 			excelDownloader.extend(exportExcelBtn);
 			exportExcelBtn.setIcon(FontAwesome.FILE_EXCEL_O);
@@ -26,6 +26,7 @@ import com.esofthead.mycollab.vaadin.ui.OptionPopupContent;
 import com.esofthead.mycollab.module.tracker.domain.SimpleBug;
 import com.esofthead.mycollab.module.tracker.domain.criteria.BugSearchCriteria;
 import com.esofthead.mycollab.module.tracker.service.BugService;
+import com.esofthead.mycollab.reporting.ExportFileDownloader;
 import com.esofthead.mycollab.reporting.ReportExportType;
 import com.esofthead.mycollab.reporting.RpParameterBuilder;
 import com.esofthead.mycollab.reporting.SimpleGridExportItemsStreamResource;
@@ -39,7 +40,6 @@ import com.esofthead.mycollab.vaadin.mvp.AbstractPageView;
 import com.esofthead.mycollab.vaadin.mvp.ViewComponent;
 import com.esofthead.mycollab.vaadin.mvp.ViewScope;
 import com.esofthead.mycollab.vaadin.resources.StreamResourceFactory;
-import com.esofthead.mycollab.vaadin.resources.StreamWrapperFileDownloader;
 import com.esofthead.mycollab.vaadin.ui.UIConstants;
 import com.esofthead.mycollab.vaadin.ui.table.AbstractPagedBeanTable;
 import com.esofthead.mycollab.vaadin.ui.table.IPagedBeanTable.TableClickEvent;
@@ -135,7 +135,7 @@ public class BugListViewImpl extends AbstractPageView implements BugListView {
         Button exportPdfBtn = new Button(
                 AppContext.getMessage(FileI18nEnum.PDF));
 
-        StreamWrapperFileDownloader fileDownloader = new StreamWrapperFileDownloader(
+        ExportFileDownloader fileDownloader = new ExportFileDownloader(
                 new StreamResourceFactory() {
 
                     @Override
@@ -168,7 +168,7 @@ public class BugListViewImpl extends AbstractPageView implements BugListView {
 
         Button exportExcelBtn = new Button(
                 AppContext.getMessage(FileI18nEnum.EXCEL));
-        StreamWrapperFileDownloader excelDownloader = new StreamWrapperFileDownloader(
+        ExportFileDownloader excelDownloader = new ExportFileDownloader(
                 new StreamResourceFactory() {
 
                     @Override
@@ -201,7 +201,7 @@ public class BugListViewImpl extends AbstractPageView implements BugListView {
         Button exportCsvBtn = new Button(
                 AppContext.getMessage(FileI18nEnum.CSV));
 
-        StreamWrapperFileDownloader csvFileDownloader = new StreamWrapperFileDownloader(
+        ExportFileDownloader csvFileDownloader = new ExportFileDownloader(
                 new StreamResourceFactory() {
 
                     @Override
@@ -39,6 +39,7 @@ import com.esofthead.mycollab.module.project.service.ProjectTaskListService;
 import com.esofthead.mycollab.module.project.ui.ProjectAssetsManager;
 import com.esofthead.mycollab.vaadin.ui.OptionPopupContent;
 import com.esofthead.mycollab.module.project.view.parameters.TaskFilterParameter;
+import com.esofthead.mycollab.reporting.ExportFileDownloader;
 import com.esofthead.mycollab.reporting.ReportExportType;
 import com.esofthead.mycollab.spring.ApplicationContextUtil;
 import com.esofthead.mycollab.vaadin.AppContext;
@@ -53,7 +54,6 @@ import com.esofthead.mycollab.vaadin.ui.table.AbstractPagedBeanTable;
 import com.esofthead.vaadin.floatingcomponent.FloatingComponent;
 import com.vaadin.event.ShortcutAction;
 import com.vaadin.event.ShortcutListener;
-import com.vaadin.server.FileDownloader;
 import com.vaadin.server.FontAwesome;
 import com.vaadin.server.StreamResource;
 import com.vaadin.shared.ui.MarginInfo;
@@ -278,7 +278,7 @@ public class TaskGroupDisplayViewImpl extends AbstractLazyPageView implements Ta
 
         Button exportPdfBtn = new Button(
                 AppContext.getMessage(FileI18nEnum.PDF));
-        FileDownloader pdfDownloader = new FileDownloader(
+        ExportFileDownloader pdfDownloader = new ExportFileDownloader(
                 constructStreamResource(ReportExportType.PDF));
         pdfDownloader.extend(exportPdfBtn);
         exportPdfBtn.setIcon(FontAwesome.FILE_PDF_O);
@@ -286,7 +286,7 @@ public class TaskGroupDisplayViewImpl extends AbstractLazyPageView implements Ta
 
         Button exportExcelBtn = new Button(
                 AppContext.getMessage(FileI18nEnum.EXCEL));
-        FileDownloader excelDownloader = new FileDownloader(
+        ExportFileDownloader excelDownloader = new ExportFileDownloader(
                 constructStreamResource(ReportExportType.EXCEL));
         excelDownloader.extend(exportExcelBtn);
         exportExcelBtn.setIcon(FontAwesome.FILE_EXCEL_O);
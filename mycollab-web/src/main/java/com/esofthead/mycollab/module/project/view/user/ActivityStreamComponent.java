@@ -41,6 +41,7 @@ import com.hp.gagawa.java.elements.A;
 import com.hp.gagawa.java.elements.Img;
 import com.hp.gagawa.java.elements.Text;
 import com.vaadin.shared.ui.label.ContentMode;
+import com.vaadin.ui.Button;
 import com.vaadin.ui.CssLayout;
 import com.vaadin.ui.Label;
 import org.apache.commons.collections.CollectionUtils;
@@ -105,8 +106,7 @@ public class ActivityStreamComponent extends CssLayout {
                 }
             }
 
-            List<ProjectActivityStream> currentListData = projectActivityStreamService
-                    .getProjectActivityStreams(searchRequest);
+            List<ProjectActivityStream> currentListData = queryActivityStreams();
             listContainer.removeAllComponents();
 
             Date currentDate = new GregorianCalendar(2100, 1, 1).getTime();
@@ -172,10 +172,6 @@ public class ActivityStreamComponent extends CssLayout {
                                             ProjectCommonI18nEnum.FEED_PROJECT_USER_ACTIVITY_UPDATE_ACTION_TITLE,
                                             assigneeValue, type, itemLink, projectLink));
                         }
-                        if (activityStream.getAssoAuditLog() != null) {
-                            content.append(ProjectAuditLogStreamGenerator
-                                    .generatorDetailChangeOfActivity(activityStream));
-                        }
                     } else if (ActivityStreamConstants.ACTION_COMMENT
                             .equals(activityStream.getAction())) {
                         content.append(AppContext
@@ -197,6 +193,11 @@ public class ActivityStreamComponent extends CssLayout {
                     streamWrapper.setWidth("100%");
                     streamWrapper.addStyleName("stream-wrapper");
                     streamWrapper.addComponent(actionLbl);
+                    Button moreChangesBtn = ProjectAuditLogStreamGenerator
+                            .buildDetailChangeOfActivityButton(activityStream, streamWrapper);
+                    if (moreChangesBtn != null) {
+                        streamWrapper.addComponent(moreChangesBtn);
+                    }
                     currentFeedBlock.addComponent(streamWrapper);
                 }
             } catch (final Exception e) {
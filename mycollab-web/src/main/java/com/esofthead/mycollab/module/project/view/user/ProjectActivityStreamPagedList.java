@@ -22,6 +22,7 @@ import com.esofthead.mycollab.common.domain.criteria.ActivityStreamSearchCriteri
 import com.esofthead.mycollab.common.i18n.GenericI18Enum;
 import com.esofthead.mycollab.configuration.StorageManager;
 import com.esofthead.mycollab.core.MyCollabException;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.html.DivLessFormatter;
 import com.esofthead.mycollab.module.page.domain.Page;
 import com.esofthead.mycollab.module.project.ProjectLinkBuilder;
@@ -64,6 +65,14 @@ public class ProjectActivityStreamPagedList extends
 
     protected final ProjectActivityStreamService projectActivityStreamService;
 
+    /**
+     * Last activity of the page <code>cursorPage</code>, used to seek the
+     * next page.
+     */
+    private SeekCursor nextPageCursor;
+
+    private int cursorPage;
+
     public ProjectActivityStreamPagedList() {
         super(null, 20);
         this.projectActivityStreamService = ApplicationContextUtil
@@ -71,6 +80,26 @@ public class ProjectActivityStreamPagedList extends
 
     }
 
+    @Override
+    public int setSearchCriteria(ActivityStreamSearchCriteria searchCriteria) {
+        nextPageCursor = null;
+        return super.setSearchCriteria(searchCriteria);
+    }
+
+    protected List<ProjectActivityStream> queryActivityStreams() {
+        int page = searchRequest.getCurrentPage();
+        SeekCursor cursor = (page > 1 && page == cursorPage + 1) ? nextPageCursor : null;
+        List<ProjectActivityStream> activityStreams = projectActivityStreamService
+                .getProjectActivityStreams(searchRequest, cursor);
+        if (activityStreams.isEmpty()) {
+            nextPageCursor = null;
+        } else {
+            nextPageCursor = SeekCursor.fromBean(activityStreams.get(activityStreams.size() - 1), "createdtime");
+            cursorPage = page;
+        }
+        return activityStreams;
+    }
+
     @Override
     public void doSearch() {
         this.totalCount = this.projectActivityStreamService
@@ -92,8 +121,7 @@ public class ProjectActivityStreamPagedList extends
             }
         }
 
-        final List<ProjectActivityStream> currentListData = this.projectActivityStreamService
-                .getProjectActivityStreams(this.searchRequest);
+        final List<ProjectActivityStream> currentListData = queryActivityStreams();
         this.listContainer.removeAllComponents();
         Date currentDate = new GregorianCalendar(2100, 1, 1).getTime();
 
@@ -139,10 +167,6 @@ public class ProjectActivityStreamPagedList extends
                             .getMessage(
                                     ProjectCommonI18nEnum.FEED_USER_ACTIVITY_UPDATE_ACTION_TITLE,
                                     assigneeParam, itemType, itemParam));
-                    if (activityStream.getAssoAuditLog() != null) {
-                        content.append(ProjectAuditLogStreamGenerator
-                                .generatorDetailChangeOfActivity(activityStream));
-                    }
                 } else if (ActivityStreamConstants.ACTION_COMMENT
                         .equals(activityStream.getAction())) {
                     content.append(AppContext
@@ -163,6 +187,11 @@ public class ProjectActivityStreamPagedList extends
                 streamWrapper.setWidth("100%");
                 streamWrapper.addStyleName("stream-wrapper");
                 streamWrapper.addComponent(actionLbl);
+                Button moreChangesBtn = ProjectAuditLogStreamGenerator
+                        .buildDetailChangeOfActivityButton(activityStream, streamWrapper);
+                if (moreChangesBtn != null) {
+                    streamWrapper.addComponent(moreChangesBtn);
+                }
                 currentFeedBlock.addComponent(streamWrapper);
             }
         } catch (final Exception e) {
@@ -118,6 +118,7 @@ public class TaskStatusComponent extends MVerticalLayout {
     public void showProjectTasksByStatus(List<Integer> prjKeys) {
         searchCriteria = new ProjectGenericTaskSearchCriteria();
         searchCriteria.setProjectIds(new SetSearchField<>(prjKeys.toArray(new Integer[prjKeys.size()])));
+        searchCriteria.setWithDescription(true);
         searchCriteria.setIsOpenned(new SearchField());
         updateSearchResult();
     }
@@ -0,0 +1,89 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.esofthead.mycollab.common.i18n.GenericI18Enum;
+import com.esofthead.mycollab.vaadin.AppContext;
+import com.esofthead.mycollab.vaadin.resources.StreamResourceFactory;
+import com.esofthead.mycollab.vaadin.ui.NotificationUtil;
+import com.vaadin.server.FileDownloader;
+import com.vaadin.server.StreamResource;
+import com.vaadin.server.VaadinRequest;
+import com.vaadin.server.VaadinResponse;
+import com.vaadin.ui.AbstractComponent;
+import com.vaadin.ui.Button;
+import com.vaadin.ui.Button.ClickEvent;
+
+/**
+ * Downloads an export of {@link ExportItemsStreamResource}. The browser opens
+ * the download as soon as the button is clicked, so the click listener only
+ * warns the user when the {@link ExportJobExecutor} has no free thread for the
+ * account. The download request itself answers with
+ * <code>503 Service Unavailable</code> when the executor refuses the export,
+ * it never waits for a thread.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class ExportFileDownloader extends FileDownloader {
+	private static final long serialVersionUID = 1L;
+
+	public ExportFileDownloader(StreamResource resource) {
+		super(resource);
+	}
+
+	public ExportFileDownloader(StreamResourceFactory factory) {
+		super(factory.getStreamResource());
+	}
+
+	@Override
+	public void extend(AbstractComponent target) {
+		super.extend(target);
+		if (target instanceof Button) {
+			((Button) target).addClickListener(new Button.ClickListener() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void buttonClick(ClickEvent event) {
+					if (!ExportJobExecutor.getInstance().canStart(
+							AppContext.getAccountId())) {
+						NotificationUtil.showWarningNotification(AppContext
+								.getMessage(GenericI18Enum.NOTIFICATION_EXPORT_REJECTED));
+					}
+				}
+			});
+		}
+	}
+
+	@Override
+	public boolean handleConnectorRequest(VaadinRequest request,
+			VaadinResponse response, String path) throws IOException {
+		try {
+			return super.handleConnectorRequest(request, response, path);
+		} catch (RejectedExecutionException e) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+					e.getMessage());
+			return true;
+		}
+	}
+}
@@ -17,10 +17,11 @@
 package com.esofthead.mycollab.reporting;
 
 import com.esofthead.mycollab.core.MyCollabException;
-import com.esofthead.mycollab.core.MyCollabThread;
 import com.esofthead.mycollab.eventmanager.EventBusFactory;
 import com.esofthead.mycollab.shell.events.ShellEvent;
+import com.esofthead.mycollab.vaadin.AppContext;
 import com.vaadin.server.StreamResource;
+import com.vaadin.server.VaadinSession;
 import net.sf.dynamicreports.jasper.builder.JasperReportBuilder;
 import net.sf.dynamicreports.jasper.builder.export.JasperCsvExporterBuilder;
 import net.sf.dynamicreports.jasper.builder.export.JasperXlsxExporterBuilder;
@@ -30,11 +31,17 @@ import net.sf.dynamicreports.report.constant.PageType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
 
 import static net.sf.dynamicreports.report.builder.DynamicReports.*;
 
@@ -59,9 +66,14 @@ public abstract class ExportItemsStreamResource implements StreamResource.Stream
 
 	private Locale language;
 
+	private TimeZone timeZone;
+
+	private transient List<Closeable> exportResources;
+
 	public ExportItemsStreamResource(Locale languageSupport,
 			String reportTitle, ReportExportType outputForm) {
 		this.language = languageSupport;
+		this.timeZone = AppContext.getTimezone();
 		this.reportTemplate = ReportTemplateFactory.getTemplate(languageSupport);
 		this.reportTitle = reportTitle;
 		this.outputForm = outputForm;
@@ -91,52 +103,124 @@ public abstract class ExportItemsStreamResource implements StreamResource.Stream
 			return null;
 		}
 
-		Thread threadExport = new MyCollabThread(new Runnable() {
+		ExportJob job = new ExportJob(AppContext.getAccountId(),
+				VaadinSession.getCurrent(), outStream, inStream) {
+			@Override
+			protected void export(OutputStream outStream) throws Exception {
+				exportItems(outStream);
+			}
+
 			@Override
-			public void run() {
-				try {
-					reportBuilder = createReport();
-
-					initReport();
-					fillReport();
-
-					if (outputForm == ReportExportType.PDF) {
-						reportBuilder.toPdf(outStream);
-					} else if (outputForm == ReportExportType.CSV) {
-						JasperCsvExporterBuilder csvExporter = export
-								.csvExporter(outStream);
-						reportBuilder.ignorePageWidth();
-						reportBuilder.toCsv(csvExporter);
-					} else if (outputForm == ReportExportType.EXCEL) {
-						JasperXlsxExporterBuilder xlsExporter = export
-								.xlsxExporter(outStream)
-								.setDetectCellType(true)
-								.setIgnorePageMargins(true)
-								.setWhitePageBackground(false)
-								.setRemoveEmptySpaceBetweenColumns(true);
-						reportBuilder.toXlsx(xlsExporter);
-					} else {
-						throw new IllegalArgumentException(
-								"Do not support output type " + outputForm);
-					}
-
-				} catch (Exception e) {
-					EventBusFactory.getInstance().post(
-							new ShellEvent.NotifyErrorEvent(
-									ExportItemsStreamResource.this, e));
-				} finally {
-					try {
-						outStream.close();
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-				}
+			protected void onCancel() {
+				closeExportResources();
 			}
-		});
-		threadExport.start();
+
+			@Override
+			protected void onError(Exception e) {
+				EventBusFactory.getInstance().post(
+						new ShellEvent.NotifyErrorEvent(
+								ExportItemsStreamResource.this, e));
+			}
+		};
+
+		try {
+			ExportJobExecutor.getInstance().submit(job);
+		} catch (RejectedExecutionException e) {
+			// ExportFileDownloader answers the download request with an error
+			closeQuietly(outStream);
+			closeQuietly(inStream);
+			throw e;
+		}
+
 		return inStream;
 	}
 
+	private void exportItems(OutputStream outStream) throws Exception {
+		if (isTabularExport() && TabularExporter.isSupported(outputForm)) {
+			exportTabular(TabularExporter.createWriter(outputForm, outStream,
+					language, timeZone));
+			return;
+		}
+
+		exportResources = new CopyOnWriteArrayList<>();
+		try {
+			reportBuilder = createReport();
+
+			initReport();
+			fillReport();
+			writeReport(outStream);
+		} finally {
+			closeExportResources();
+		}
+	}
+
+	private void writeReport(OutputStream outStream) throws Exception {
+		if (outputForm == ReportExportType.PDF) {
+			reportBuilder.toPdf(outStream);
+		} else if (outputForm == ReportExportType.CSV) {
+			JasperCsvExporterBuilder csvExporter = export
+					.csvExporter(outStream);
+			reportBuilder.ignorePageWidth();
+			reportBuilder.toCsv(csvExporter);
+		} else if (outputForm == ReportExportType.EXCEL) {
+			JasperXlsxExporterBuilder xlsExporter = export
+					.xlsxExporter(outStream).setDetectCellType(true)
+					.setIgnorePageMargins(true)
+					.setWhitePageBackground(false)
+					.setRemoveEmptySpaceBetweenColumns(true);
+			reportBuilder.toXlsx(xlsExporter);
+		} else {
+			throw new IllegalArgumentException("Do not support output type "
+					+ outputForm);
+		}
+	}
+
+	/**
+	 * Registers a resource the report reads from, such as a
+	 * {@link GroupIteratorDataSource}. It is closed when the export ends,
+	 * fails or is cancelled.
+	 * 
+	 * @param resource
+	 * @return <code>resource</code>
+	 */
+	protected <T extends Closeable> T closeAfterExport(T resource) {
+		exportResources.add(resource);
+		return resource;
+	}
+
+	private void closeExportResources() {
+		List<Closeable> resources = exportResources;
+		if (resources != null) {
+			for (Closeable resource : resources) {
+				closeQuietly(resource);
+			}
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			LOG.debug("Can not close export stream", e);
+		}
+	}
+
+	/**
+	 * Exports which only list the rows of a table return true, their CSV and
+	 * Excel outputs are written by {@link #exportTabular(TabularWriter)}
+	 * instead of a report. PDF is always exported as a report.
+	 * 
+	 * @return
+	 */
+	protected boolean isTabularExport() {
+		return false;
+	}
+
+	protected void exportTabular(TabularWriter writer) throws Exception {
+		throw new MyCollabException("Do not support tabular export of "
+				+ getClass().getName());
+	}
+
 	abstract protected void initReport() throws Exception;
 
 	abstract protected void fillReport() throws Exception;
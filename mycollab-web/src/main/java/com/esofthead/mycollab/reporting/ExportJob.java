@@ -0,0 +1,244 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.util.CurrentInstance;
+
+/**
+ * An export run by the {@link ExportJobExecutor}. The job writes to the
+ * output stream of a pipe, the other end of the pipe is read by the download
+ * request and is closed when the job is cancelled, so a running export stops
+ * at its next write. The job runs with the Vaadin session and UI of the
+ * request which created it, as the thread started for each export did before.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public abstract class ExportJob {
+	private static final Logger LOG = LoggerFactory.getLogger(ExportJob.class);
+
+	enum State {
+		SUBMITTED, RUNNING, FINISHED, FAILED, CANCELLED
+	}
+
+	private final Integer accountId;
+
+	private final Object owner;
+
+	private final OutputStream outStream;
+
+	private final Closeable reader;
+
+	private final Map<Class<?>, CurrentInstance> currentInstances = CurrentInstance
+			.getInstances(true);
+
+	private final AtomicLong bytes = new AtomicLong();
+
+	private volatile long startTime;
+
+	private volatile long endTime;
+
+	private volatile State state = State.SUBMITTED;
+
+	private volatile Thread worker;
+
+	/**
+	 * 
+	 * @param accountId
+	 *            account of the user who exports, the executor limits the
+	 *            number of running exports per account
+	 * @param owner
+	 *            the jobs of an owner are cancelled together, for instance
+	 *            when the user session ends
+	 * @param outStream
+	 *            stream the export is written to
+	 * @param reader
+	 *            closed to stop the export when the job is cancelled
+	 */
+	public ExportJob(Integer accountId, Object owner, OutputStream outStream,
+			Closeable reader) {
+		this.accountId = (accountId != null) ? accountId : 0;
+		this.owner = owner;
+		this.outStream = outStream;
+		this.reader = reader;
+	}
+
+	abstract protected void export(OutputStream outStream) throws Exception;
+
+	/**
+	 * Called when the export fails, but not when it fails because the job is
+	 * cancelled.
+	 * 
+	 * @param e
+	 */
+	protected void onError(Exception e) {
+		LOG.error("Export failed", e);
+	}
+
+	/**
+	 * Called by {@link #cancel()} from the cancelling thread, to release the
+	 * resources the running export holds, such as the connection of a
+	 * streaming query.
+	 */
+	protected void onCancel() {
+	}
+
+	void run() {
+		synchronized (this) {
+			if (state != State.SUBMITTED) {
+				closeQuietly(outStream);
+				return;
+			}
+			state = State.RUNNING;
+			worker = Thread.currentThread();
+			startTime = System.currentTimeMillis();
+		}
+
+		try {
+			CurrentInstance.restoreInstances(currentInstances);
+			export(new CountingOutputStream(outStream));
+			synchronized (this) {
+				if (state == State.RUNNING) {
+					state = State.FINISHED;
+				}
+			}
+		} catch (Exception e) {
+			boolean cancelled;
+			synchronized (this) {
+				cancelled = (state == State.CANCELLED);
+				if (!cancelled) {
+					state = State.FAILED;
+				}
+			}
+			if (cancelled) {
+				LOG.debug("Export of account {} is cancelled", accountId);
+			} else {
+				onError(e);
+			}
+		} finally {
+			synchronized (this) {
+				worker = null;
+				endTime = System.currentTimeMillis();
+			}
+			// clear the session and the interrupt of a cancellation before
+			// the thread goes back to the pool
+			CurrentInstance.clearAll();
+			Thread.interrupted();
+			closeQuietly(outStream);
+		}
+	}
+
+	/**
+	 * Stops the job. A job which did not start yet will not run, a running
+	 * job fails at its next write to the closed pipe.
+	 * 
+	 * @return true if the job was not finished yet
+	 */
+	boolean cancel() {
+		Thread runningWorker;
+		synchronized (this) {
+			if (state != State.SUBMITTED && state != State.RUNNING) {
+				return false;
+			}
+			state = State.CANCELLED;
+			runningWorker = worker;
+		}
+
+		closeQuietly(reader);
+		onCancel();
+		if (runningWorker != null) {
+			runningWorker.interrupt();
+		} else {
+			closeQuietly(outStream);
+		}
+		return true;
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			LOG.debug("Can not close export stream", e);
+		}
+	}
+
+	public Integer getAccountId() {
+		return accountId;
+	}
+
+	public Object getOwner() {
+		return owner;
+	}
+
+	State getState() {
+		return state;
+	}
+
+	public boolean isCancelled() {
+		return state == State.CANCELLED;
+	}
+
+	/**
+	 * 
+	 * @return number of bytes the export has written so far
+	 */
+	public long getBytes() {
+		return bytes.get();
+	}
+
+	/**
+	 * 
+	 * @return milliseconds the job has been running
+	 */
+	public long getRunMillis() {
+		if (startTime == 0) {
+			return 0;
+		}
+		return ((endTime > 0) ? endTime : System.currentTimeMillis())
+				- startTime;
+	}
+
+	private class CountingOutputStream extends FilterOutputStream {
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			bytes.incrementAndGet();
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			bytes.addAndGet(len);
+		}
+	}
+}
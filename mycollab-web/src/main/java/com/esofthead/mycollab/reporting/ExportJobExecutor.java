@@ -0,0 +1,218 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.esofthead.mycollab.configuration.SiteConfiguration;
+import com.esofthead.mycollab.core.MyCollabThread;
+import com.vaadin.server.SessionDestroyEvent;
+import com.vaadin.server.SessionDestroyListener;
+import com.vaadin.server.VaadinService;
+import com.vaadin.server.VaadinSession;
+
+/**
+ * Runs the exports on a fixed pool of threads. At most
+ * <code>export.maxConcurrent</code> exports run at a time, and at most
+ * <code>export.maxConcurrentPerAccount</code> of them for the same account, so
+ * the users of one account can not take all threads. An export is streamed to
+ * the download request, so it is refused rather than queued when the limits
+ * are reached: a queued export would hold the servlet thread of its download
+ * until it starts. The jobs of a Vaadin session are cancelled when the session
+ * ends.
+ * 
+ * @author MyCollab Ltd.
+ * @since 5.0.4
+ * 
+ */
+public class ExportJobExecutor {
+	private static final Logger LOG = LoggerFactory
+			.getLogger(ExportJobExecutor.class);
+
+	private static volatile ExportJobExecutor instance;
+
+	private final int maxConcurrent;
+
+	private final int maxConcurrentPerAccount;
+
+	private final ExecutorService executor;
+
+	private final Set<ExportJob> runningJobs = new HashSet<>();
+
+	private final Map<Integer, Integer> runningJobsPerAccount = new HashMap<>();
+
+	private final Set<VaadinService> listenedServices = Collections
+			.newSetFromMap(new WeakHashMap<VaadinService, Boolean>());
+
+	public static ExportJobExecutor getInstance() {
+		if (instance == null) {
+			synchronized (ExportJobExecutor.class) {
+				if (instance == null) {
+					instance = new ExportJobExecutor(
+							SiteConfiguration.getExportMaxConcurrent(),
+							SiteConfiguration
+									.getExportMaxConcurrentPerAccount());
+				}
+			}
+		}
+		return instance;
+	}
+
+	ExportJobExecutor(int maxConcurrent, int maxConcurrentPerAccount) {
+		this.maxConcurrent = Math.max(maxConcurrent, 1);
+		this.maxConcurrentPerAccount = Math.max(maxConcurrentPerAccount, 1);
+		executor = Executors.newFixedThreadPool(this.maxConcurrent,
+				new ThreadFactory() {
+					private final AtomicInteger threadCount = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new MyCollabThread(runnable);
+						thread.setName("mycollab-export-"
+								+ threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	/**
+	 * Starts the job on a free thread.
+	 * 
+	 * @param job
+	 * @throws RejectedExecutionException
+	 *             if the limits do not allow the job to start now
+	 */
+	public void submit(ExportJob job) throws RejectedExecutionException {
+		if (job.getOwner() instanceof VaadinSession) {
+			listenSessionDestroy(((VaadinSession) job.getOwner()).getService());
+		}
+
+		synchronized (this) {
+			if (!canStart(job.getAccountId())) {
+				LOG.warn("Refuse export of account {}, {} exports are running",
+						job.getAccountId(), runningJobs.size());
+				throw new RejectedExecutionException(
+						"Too many exports are running");
+			}
+			start(job);
+		}
+	}
+
+	/**
+	 * 
+	 * @param accountId
+	 * @return true if an export of the account would start now
+	 */
+	public synchronized boolean canStart(Integer accountId) {
+		if (runningJobs.size() >= maxConcurrent) {
+			return false;
+		}
+		Integer accountJobs = runningJobsPerAccount
+				.get((accountId != null) ? accountId : 0);
+		return accountJobs == null || accountJobs < maxConcurrentPerAccount;
+	}
+
+	/**
+	 * Cancels the running jobs of the owner.
+	 * 
+	 * @param owner
+	 */
+	public void cancelJobs(Object owner) {
+		List<ExportJob> ownerJobs = new ArrayList<>();
+		synchronized (this) {
+			for (ExportJob job : runningJobs) {
+				if (job.getOwner() == owner) {
+					ownerJobs.add(job);
+				}
+			}
+		}
+
+		for (ExportJob job : ownerJobs) {
+			job.cancel();
+		}
+		if (!ownerJobs.isEmpty()) {
+			LOG.debug("Cancel {} exports of an ended session", ownerJobs.size());
+		}
+	}
+
+	private void listenSessionDestroy(VaadinService service) {
+		synchronized (listenedServices) {
+			if (!listenedServices.add(service)) {
+				return;
+			}
+		}
+
+		service.addSessionDestroyListener(new SessionDestroyListener() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void sessionDestroy(SessionDestroyEvent event) {
+				cancelJobs(event.getSession());
+			}
+		});
+	}
+
+	private void start(final ExportJob job) {
+		runningJobs.add(job);
+		Integer accountJobs = runningJobsPerAccount.get(job.getAccountId());
+		runningJobsPerAccount.put(job.getAccountId(),
+				(accountJobs == null) ? 1 : accountJobs + 1);
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					job.run();
+				} finally {
+					finish(job);
+				}
+			}
+		});
+	}
+
+	private void finish(ExportJob job) {
+		synchronized (this) {
+			runningJobs.remove(job);
+			Integer accountJobs = runningJobsPerAccount.get(job.getAccountId());
+			if (accountJobs == null || accountJobs <= 1) {
+				runningJobsPerAccount.remove(job.getAccountId());
+			} else {
+				runningJobsPerAccount.put(job.getAccountId(), accountJobs - 1);
+			}
+		}
+
+		LOG.info("Export of account {} {} after {} ms, wrote {} bytes",
+				job.getAccountId(), job.getState(), job.getRunMillis(),
+				job.getBytes());
+	}
+}
@@ -19,6 +19,7 @@ package com.esofthead.mycollab.reporting;
 import static net.sf.dynamicreports.report.builder.DynamicReports.col;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -104,6 +105,26 @@ public abstract class SimpleGridExportItemsStreamResource<T> extends ExportItems
 		LOG.debug("Accomplish init report");
 	}
 
+	@Override
+	protected boolean isTabularExport() {
+		return true;
+	}
+
+	@Override
+	protected void exportTabular(TabularWriter writer) throws Exception {
+		List<TableViewFieldDecorator> fields = parameters.getFields();
+		List<String> titles = new ArrayList<>(fields.size());
+		for (TableViewFieldDecorator field : fields) {
+			titles.add(AppContext.getMessage(field.getDescKey()));
+		}
+
+		fillTabular(new TabularExporter(TabularColumn.buildColumns(classType,
+				fields, titles)), writer);
+	}
+
+	abstract protected void fillTabular(TabularExporter exporter,
+			TabularWriter writer) throws Exception;
+
 	public static class AllItems<S extends SearchCriteria, T> extends
 			SimpleGridExportItemsStreamResource<T> {
 		private static final long serialVersionUID = 1L;
@@ -122,8 +143,14 @@ public abstract class SimpleGridExportItemsStreamResource<T> extends ExportItems
 		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected void fillReport() {
-			reportBuilder.setDataSource(new GroupIteratorDataSource(
-					searchService, searchCriteria));
+			reportBuilder.setDataSource(closeAfterExport(new GroupIteratorDataSource(
+					searchService, searchCriteria)));
+		}
+
+		@Override
+		protected void fillTabular(TabularExporter exporter,
+				TabularWriter writer) throws Exception {
+			exporter.export(writer, searchService, searchCriteria);
 		}
 
 	}
@@ -145,5 +172,11 @@ public abstract class SimpleGridExportItemsStreamResource<T> extends ExportItems
 			BeanDataSource ds = new BeanDataSource(data);
 			reportBuilder.setDataSource(ds);
 		}
+
+		@Override
+		protected void fillTabular(TabularExporter exporter,
+				TabularWriter writer) throws Exception {
+			exporter.export(writer, data);
+		}
 	}
 }
\ No newline at end of file
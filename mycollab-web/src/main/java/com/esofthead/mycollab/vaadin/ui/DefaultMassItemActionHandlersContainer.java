@@ -25,9 +25,9 @@ import java.util.Set;
 import org.vaadin.maddon.layouts.MHorizontalLayout;
 import org.vaadin.peter.buttongroup.ButtonGroup;
 
+import com.esofthead.mycollab.reporting.ExportFileDownloader;
 import com.esofthead.mycollab.vaadin.events.HasMassItemActionHandlers;
 import com.esofthead.mycollab.vaadin.events.MassItemActionHandler;
-import com.vaadin.server.FileDownloader;
 import com.vaadin.server.Resource;
 import com.vaadin.server.StreamResource;
 import com.vaadin.server.StreamResource.StreamSource;
@@ -92,7 +92,7 @@ public class DefaultMassItemActionHandlersContainer extends MHorizontalLayout
 		}
 
 		Button optionBtn = new Button("");
-		FileDownloader fileDownler = new FileDownloader(new StreamResource(
+		ExportFileDownloader fileDownler = new ExportFileDownloader(new StreamResource(
 				new LazyStreamSource(id), downloadFileName));
 		fileDownler.extend(optionBtn);
 		optionBtn.setIcon(resource);
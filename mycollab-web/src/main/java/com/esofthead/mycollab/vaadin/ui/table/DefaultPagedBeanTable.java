@@ -17,7 +17,9 @@
 package com.esofthead.mycollab.vaadin.ui.table;
 
 import com.esofthead.mycollab.common.TableViewField;
+import com.esofthead.mycollab.core.arguments.PagedResult;
 import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.arguments.SeekCursor;
 import com.esofthead.mycollab.core.persistence.service.ISearchableService;
 
 import java.util.List;
@@ -37,6 +39,22 @@ public class DefaultPagedBeanTable<SearchService extends ISearchableService<S>,
 
 	private final SearchService searchService;
 
+	/**
+	 * Last row of the page <code>cursorPage</code>, used to seek the next
+	 * page when the list is sorted by a seekable column.
+	 */
+	private SeekCursor nextPageCursor;
+
+	private int cursorPage;
+
+	/**
+	 * Page loaded with its total count by {@link #queryTotalCount()}, served
+	 * by the following {@link #queryCurrentData()}.
+	 */
+	private PagedResult<T> pagedResult;
+
+	private int resultPage;
+
 	public DefaultPagedBeanTable(final SearchService searchService,
 			final Class<T> type, List<TableViewField> displayColumns) {
 		super(type, displayColumns);
@@ -58,13 +76,46 @@ public class DefaultPagedBeanTable<SearchService extends ISearchableService<S>,
 
 	@Override
 	protected int queryTotalCount() {
-		return searchService.getTotalCount(searchRequest.getSearchCriteria());
+		queryPage();
+		return pagedResult.getTotalCount();
+	}
+
+	@Override
+	public int setSearchCriteria(final S searchCriteria) {
+		nextPageCursor = null;
+		return super.setSearchCriteria(searchCriteria);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	protected List<T> queryCurrentData() {
-		return searchService.findPagableListByCriteria(searchRequest);
+		// the current page is moved back when it is after the last page
+		if (pagedResult == null
+				|| resultPage != searchRequest.getCurrentPage()) {
+			queryPage();
+		}
+		List<T> data = pagedResult.getItems();
+		pagedResult = null;
+		return data;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void queryPage() {
+		S criteria = searchRequest.getSearchCriteria();
+		int page = searchRequest.getCurrentPage();
+		boolean seekable = searchService.isSeekable(criteria);
+		SeekCursor cursor = (seekable && page > 1 && page == cursorPage + 1) ? nextPageCursor
+				: null;
+		pagedResult = searchService.findPagedResult(searchRequest, cursor);
+		resultPage = page;
+
+		List<T> data = pagedResult.getItems();
+		if (!seekable || data.isEmpty()) {
+			nextPageCursor = null;
+		} else {
+			nextPageCursor = SeekCursor.fromBean(data.get(data.size() - 1),
+					criteria.getOrderByField());
+			cursorPage = page;
+		}
 	}
 
 }
@@ -65,49 +65,76 @@ var stickytooltip = {
   }
 }
 
+// pending or done tooltip requests, keyed by "type:typeId"
+var tooltipRequests = {};
+
+// at most this number of visible items are prefetched by the first hover
+var MAX_PREFETCH_ITEMS = 100;
+
 function overIt(uid, type, typeId, url, sAccountId, siteURL, timeZone, locale) {
+  showItemTooltip(uid, type, typeId, url, sAccountId, siteURL, timeZone, locale);
+}
+
+function crmActivityOverIt(uid, type, typeId, url, sAccountId, siteURL, timeZone, locale) { 
+  if(type=="Task") type="CRMTask";
+  showItemTooltip(uid, type, typeId, url, sAccountId, siteURL, timeZone, locale);
+}
+
+function showItemTooltip(uid, type, typeId, url, sAccountId, siteURL, timeZone, locale) {
   var idDIVserverdata = "div14" + uid;
   var idStickyToolTipDiv = "div1" + uid;
   var idTagA = "tag" + uid;
-  if($("#" + idDIVserverdata).html()== "") { 
-    $.ajax({
-      type: 'POST',
-      url: url,
-      data : { type: type, typeId: typeId , sAccountId : sAccountId, siteURL: siteURL , timeZone: timeZone, locale:locale},
-      success: function(data) { 
-        if(data.trim()!= "null") {
-          $("#" + idTagA).attr('data-tooltip', idStickyToolTipDiv);
-          $("#" + idDIVserverdata).html(data);
-          stickytooltip.init("*[data-tooltip]", idStickyToolTipDiv);
-        }
-      }
-    });
-  } else {
+  if($("#" + idDIVserverdata).html()!= "") {
     stickytooltip.init("*[data-tooltip]", idStickyToolTipDiv);
+    return;
+  }
+
+  var key = type + ":" + typeId;
+  if (!tooltipRequests.hasOwnProperty(key)) {
+    prefetchTooltips(key, url, { sAccountId : sAccountId, siteURL: siteURL , timeZone: timeZone, locale:locale});
   }
+  tooltipRequests[key].done(function(data) {
+    if(data != null && data.trim()!= "null" && $("#" + idDIVserverdata).html()== "") {
+      $("#" + idTagA).attr('data-tooltip', idStickyToolTipDiv);
+      $("#" + idDIVserverdata).html(data);
+      stickytooltip.init("*[data-tooltip]", idStickyToolTipDiv);
+    }
+  });
 }
 
-function crmActivityOverIt(uid, type, typeId, url, sAccountId, siteURL, timeZone, locale) { 
-  var idDIVserverdata = "div14" + uid;
-  var idStickyToolTipDiv = "div1" + uid;
-  var idTagA = "tag" + uid;
-  if(type=="Task") type="CRMTask";
-  if($("#" + idDIVserverdata).html()== "") { 
-    $.ajax({
-      type: 'POST',
-      url: url,
-      data : { type: type, typeId: typeId , sAccountId : sAccountId, siteURL: siteURL , timeZone: timeZone, locale:locale},
-      success: function(data) { 
-        if(data.trim()!= "null") { 
-          $("#" + idTagA).attr('data-tooltip', idStickyToolTipDiv);
-          $("#" + idDIVserverdata).html(data);
-          stickytooltip.init("*[data-tooltip]", idStickyToolTipDiv);
-        }
+// loads the tooltip of the hovered item together with the tooltips of the
+// other visible items of the page in one request
+function prefetchTooltips(key, url, params) {
+  var items = [key];
+  $("*[onmouseover*='overIt(']:visible").each(function() {
+    var args = /overIt\('[^']*','([^']*)','([^']*)'/.exec($(this).attr("onmouseover"));
+    if (args != null && items.length < MAX_PREFETCH_ITEMS) {
+      var itemType = (args[1] == "Task" && $(this).attr("onmouseover").indexOf("crmActivityOverIt(") >= 0) ? "CRMTask" : args[1];
+      var item = itemType + ":" + args[2];
+      if (!tooltipRequests.hasOwnProperty(item) && $.inArray(item, items) < 0) {
+        items.push(item);
       }
+    }
+  });
+
+  var batch = $.ajax({
+    type: 'GET',
+    url: url + "batch",
+    traditional: true,
+    dataType: 'json',
+    data : $.extend({ items: items }, params)
+  });
+  $.each(items, function(index, item) {
+    tooltipRequests[item] = batch.then(function(data) {
+      return data[item];
     });
-  } else {
-    stickytooltip.init("*[data-tooltip]", idStickyToolTipDiv);
-  }
+  });
+  // a failed request is retried by the next hover
+  batch.fail(function() {
+    $.each(items, function(index, item) {
+      delete tooltipRequests[item];
+    });
+  });
 }
 
 function showUserTooltip(uid, username, url, siteURL, timeZone, sAccountId, locale) {
@@ -117,7 +144,7 @@ function showUserTooltip(uid, username, url, siteURL, timeZone, sAccountId, loca
 
   if($("#" + idDIVserverdata).html()== "") { 
     $.ajax({
-      type: 'POST',
+      type: 'GET',
       url: url,
       data : { type: "User", username: username ,siteURL: siteURL , timeZone: timeZone, sAccountId:sAccountId, locale:locale},
       success: function(data) { 
@@ -0,0 +1,122 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExportJobExecutorTest {
+
+	@Test
+	public void testLimitRunningExportsPerAccount() throws Exception {
+		ExportJobExecutor executor = new ExportJobExecutor(2, 1);
+		Object session = new Object();
+
+		BlockingJob firstJob = new BlockingJob(1, session);
+		BlockingJob otherAccountJob = new BlockingJob(2, session);
+
+		executor.submit(firstJob);
+		Assert.assertFalse(executor.canStart(1));
+		Assert.assertTrue(executor.canStart(2));
+		try {
+			executor.submit(new BlockingJob(1, session));
+			Assert.fail("The account already runs its maximum of exports");
+		} catch (RejectedExecutionException e) {
+		}
+
+		executor.submit(otherAccountJob);
+		Assert.assertTrue(firstJob.awaitStarted());
+		Assert.assertFalse(executor.canStart(3));
+
+		// cancels the running jobs of the session
+		executor.cancelJobs(session);
+		Assert.assertTrue(firstJob.isCancelled());
+		Assert.assertTrue(otherAccountJob.isCancelled());
+		Assert.assertTrue(firstJob.awaitFinished());
+		Assert.assertTrue(otherAccountJob.awaitFinished());
+	}
+
+	@Test
+	public void testStartExportWhenAnotherEnds() throws Exception {
+		ExportJobExecutor executor = new ExportJobExecutor(1, 1);
+		BlockingJob runningJob = new BlockingJob(1, null);
+		executor.submit(runningJob);
+		try {
+			executor.submit(new BlockingJob(2, null));
+			Assert.fail("All export threads are busy");
+		} catch (RejectedExecutionException e) {
+		}
+
+		runningJob.release();
+		Assert.assertTrue(runningJob.awaitFinished());
+		Assert.assertEquals(16, runningJob.getBytes());
+
+		BlockingJob nextJob = new BlockingJob(2, null);
+		for (int i = 0; i < 50 && !executor.canStart(2); i++) {
+			Thread.sleep(100);
+		}
+		executor.submit(nextJob);
+		nextJob.release();
+		Assert.assertTrue(nextJob.awaitFinished());
+	}
+
+	private static class BlockingJob extends ExportJob {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+		private final CountDownLatch finished = new CountDownLatch(1);
+
+		BlockingJob(Integer accountId, Object owner) {
+			super(accountId, owner, new ByteArrayOutputStream(),
+					new Closeable() {
+						@Override
+						public void close() throws IOException {
+						}
+					});
+		}
+
+		@Override
+		protected void export(OutputStream outStream) throws Exception {
+			started.countDown();
+			try {
+				released.await();
+				outStream.write(new byte[16]);
+			} finally {
+				finished.countDown();
+			}
+		}
+
+		boolean awaitStarted() throws InterruptedException {
+			return started.await(5, TimeUnit.SECONDS);
+		}
+
+		boolean awaitFinished() throws InterruptedException {
+			return finished.await(5, TimeUnit.SECONDS);
+		}
+
+		void release() {
+			released.countDown();
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * This file is part of mycollab-web.
+ *
+ * mycollab-web is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * mycollab-web is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with mycollab-web.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.esofthead.mycollab.reporting;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.esofthead.mycollab.core.arguments.SearchCriteria;
+import com.esofthead.mycollab.core.persistence.service.ISearchableService;
+
+public class GroupIteratorDataSourceTest {
+
+	@SuppressWarnings("unchecked")
+	private final ISearchableService<SearchCriteria> searchService = mock(ISearchableService.class);
+
+	@SuppressWarnings("serial")
+	private final SearchCriteria searchCriteria = new SearchCriteria() {
+	};
+
+	private final CountDownLatch readerStopped = new CountDownLatch(1);
+
+	/**
+	 * The service streams items until the handler stops it.
+	 */
+	private void streamEndlessItems() {
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) {
+				ResultHandler handler = (ResultHandler) invocation
+						.getArguments()[1];
+				CountingResultContext context = new CountingResultContext();
+				try {
+					while (!context.isStopped()) {
+						context.next("item " + context.getResultCount());
+						handler.handleResult(context);
+					}
+				} finally {
+					readerStopped.countDown();
+				}
+				return null;
+			}
+		}).when(searchService).streamListByCriteria(any(SearchCriteria.class),
+				any(ResultHandler.class));
+	}
+
+	@Test
+	public void testReaderStartsAtFirstRead() throws Exception {
+		streamEndlessItems();
+		GroupIteratorDataSource<ISearchableService<SearchCriteria>, SearchCriteria> dataSource = new GroupIteratorDataSource<>(
+				searchService, searchCriteria);
+		verify(searchService, never()).streamListByCriteria(
+				any(SearchCriteria.class), any(ResultHandler.class));
+
+		Assert.assertTrue(dataSource.next());
+		dataSource.close();
+		Assert.assertTrue(readerStopped.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCloseBeforeReadDoesNotQuery() throws Exception {
+		streamEndlessItems();
+		GroupIteratorDataSource<ISearchableService<SearchCriteria>, SearchCriteria> dataSource = new GroupIteratorDataSource<>(
+				searchService, searchCriteria);
+		dataSource.close();
+
+		Assert.assertFalse(dataSource.next());
+		verify(searchService, never()).streamListByCriteria(
+				any(SearchCriteria.class), any(ResultHandler.class));
+	}
+
+	@Test
+	public void testEarlyCloseStopsReader() throws Exception {
+		streamEndlessItems();
+		GroupIteratorDataSource<ISearchableService<SearchCriteria>, SearchCriteria> dataSource = new GroupIteratorDataSource<>(
+				searchService, searchCriteria);
+		for (int i = 0; i < 10; i++) {
+			Assert.assertTrue(dataSource.next());
+		}
+
+		// the reader waits on the full queue and must not wait for the
+		// queue timeout
+		dataSource.close();
+		Assert.assertTrue(readerStopped.await(10, TimeUnit.SECONDS));
+		Assert.assertFalse(dataSource.next());
+	}
+
+	@Test
+	public void testCloseFromOtherThreadWakesUpReport() throws Exception {
+		final CountDownLatch queryStarted = new CountDownLatch(1);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation)
+					throws InterruptedException {
+				// a query which does not return any row yet
+				queryStarted.countDown();
+				try {
+					new CountDownLatch(1).await();
+				} finally {
+					readerStopped.countDown();
+				}
+				return null;
+			}
+		}).when(searchService).streamListByCriteria(any(SearchCriteria.class),
+				any(ResultHandler.class));
+
+		final GroupIteratorDataSource<ISearchableService<SearchCriteria>, SearchCriteria> dataSource = new GroupIteratorDataSource<>(
+				searchService, searchCriteria);
+		Thread canceller = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					queryStarted.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				dataSource.close();
+			}
+		});
+		canceller.start();
+
+		Assert.assertFalse(dataSource.next());
+		Assert.assertTrue(readerStopped.await(10, TimeUnit.SECONDS));
+	}
+
+	private static class CountingResultContext implements ResultContext {
+		private Object resultObject;
+		private int resultCount;
+		private boolean stopped;
+
+		void next(Object item) {
+			resultObject = item;
+			resultCount++;
+		}
+
+		@Override
+		public Object getResultObject() {
+			return resultObject;
+		}
+
+		@Override
+		public int getResultCount() {
+			return resultCount;
+		}
+
+		@Override
+		public boolean isStopped() {
+			return stopped;
+		}
+
+		@Override
+		public void stop() {
+			stopped = true;
+		}
+	}
+}